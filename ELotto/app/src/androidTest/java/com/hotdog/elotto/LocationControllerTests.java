@@ -1,20 +1,34 @@
 package com.hotdog.elotto;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 import android.location.Location;
 
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
+import com.hotdog.elotto.controller.CachedLocationProvider;
 import com.hotdog.elotto.controller.FakeLocationController;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
 
 public class LocationControllerTests {
 
+    private static final long MAX_AGE = 60_000;
+    private static final long FALLBACK_MAX_AGE = 600_000;
+
     private FakeLocationController controller;
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private CachedLocationProvider provider(FakeLocationController source) {
+        return new CachedLocationProvider(source, MAX_AGE, FALLBACK_MAX_AGE, now::get);
+    }
 
     @Before
     public void setUp() {
@@ -55,4 +69,73 @@ public class LocationControllerTests {
             assertEquals(null, coords);
         });
     }
+    @Test
+    public void testCachedLocation_ReusedWithinMaxAge() throws Exception {
+        FakeLocationController source = new FakeLocationController(now::get, 0);
+        CachedLocationProvider provider = provider(source);
+
+        Tasks.await(provider.getLocation());
+        now.addAndGet(MAX_AGE - 1000);
+        Location location = Tasks.await(provider.getLocation());
+
+        assertEquals(1, source.getCurrentLocationRequests());
+        assertEquals(41.9, location.getLatitude(), 0.001);
+    }
+    @Test
+    public void testCachedLocation_RefreshedAfterMaxAge() throws Exception {
+        FakeLocationController source = new FakeLocationController(now::get, 0);
+        CachedLocationProvider provider = provider(source);
+
+        Tasks.await(provider.getLocation());
+        now.addAndGet(MAX_AGE + 1000);
+        Tasks.await(provider.getLocation());
+
+        assertEquals(2, source.getCurrentLocationRequests());
+    }
+    @Test
+    public void testCachedLocation_RecentLastLocationSkipsFix() throws Exception {
+        FakeLocationController source = new FakeLocationController(now::get, 0);
+        source.setLastLocation(FakeLocationController.location(53.5, -113.5, now.get() - 1000));
+
+        Location location = Tasks.await(provider(source).getLocation());
+
+        assertEquals(0, source.getCurrentLocationRequests());
+        assertEquals(53.5, location.getLatitude(), 0.001);
+    }
+    @Test
+    public void testCachedLocation_ConcurrentCallersShareOneFix() throws Exception {
+        FakeLocationController source = new FakeLocationController(now::get, 300);
+        CachedLocationProvider provider = provider(source);
+
+        Task<Location> first = provider.getLocation();
+        Task<Location> second = provider.getLocation();
+
+        assertSame(first, second);
+        Tasks.await(first);
+        assertEquals(1, source.getCurrentLocationRequests());
+    }
+    @Test
+    public void testCachedLocation_FallsBackToLastLocation() throws Exception {
+        FakeLocationController source = new FakeLocationController(now::get, 0);
+        source.setCurrentLocationFails(true);
+        source.setLastLocation(FakeLocationController.location(53.5, -113.5, now.get() - 5 * MAX_AGE));
+
+        Location location = Tasks.await(provider(source).getLocation());
+
+        assertEquals(1, source.getCurrentLocationRequests());
+        assertEquals(53.5, location.getLatitude(), 0.001);
+    }
+    @Test
+    public void testCachedLocation_FailsWithNothingRecent() throws Exception {
+        FakeLocationController source = new FakeLocationController(now::get, 0);
+        source.setCurrentLocationFails(true);
+        source.setLastLocation(FakeLocationController.location(53.5, -113.5, now.get() - 2 * FALLBACK_MAX_AGE));
+
+        try {
+            Tasks.await(provider(source).getLocation());
+            fail("Expected no location");
+        } catch (ExecutionException expected) {
+            // No fix and the last location is too old
+        }
+    }
 }
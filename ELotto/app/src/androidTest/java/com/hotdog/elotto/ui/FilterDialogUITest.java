@@ -8,6 +8,7 @@ import static androidx.test.espresso.matcher.ViewMatchers.isDisplayed;
 import static androidx.test.espresso.matcher.ViewMatchers.isNotChecked;
 import static androidx.test.espresso.matcher.ViewMatchers.withId;
 import static androidx.test.espresso.matcher.ViewMatchers.withText;
+import static org.hamcrest.CoreMatchers.startsWith;
 
 import androidx.test.ext.junit.rules.ActivityScenarioRule;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
@@ -22,6 +23,7 @@ import org.junit.runner.RunWith;
 /**
  * UI tests for the filter dialog functionality
  * Tests opening the dialog, selecting/deselecting options, and applying filters.
+ * Options are matched by the start of their label, which ends with a live event count.
  */
 @RunWith(AndroidJUnit4.class)
 public class FilterDialogUITest {
@@ -54,19 +56,19 @@ public class FilterDialogUITest {
         onView(withId(R.id.filterButton)).perform(click());
 
 
-        onView(withText("Music"))
+        onView(withText(startsWith("Music")))
                 .check(matches(isDisplayed()))
                 .check(matches(isNotChecked()))
                 .perform(click());
 
 
-        onView(withText("Music")).check(matches(isChecked()));
+        onView(withText(startsWith("Music"))).check(matches(isChecked()));
 
 
-        onView(withText("Music")).perform(click());
+        onView(withText(startsWith("Music"))).perform(click());
 
 
-        onView(withText("Music")).check(matches(isNotChecked()));
+        onView(withText(startsWith("Music"))).check(matches(isNotChecked()));
     }
 
     @Test
@@ -76,18 +78,18 @@ public class FilterDialogUITest {
         onView(withId(R.id.filterButton)).perform(click());
 
 
-        onView(withText("Music")).perform(click());
+        onView(withText(startsWith("Music"))).perform(click());
 
-        onView(withText("Sports")).perform(click());
+        onView(withText(startsWith("Sports"))).perform(click());
 
-        onView(withText("Technology")).perform(click());
+        onView(withText(startsWith("Technology"))).perform(click());
 
 
-        onView(withText("Music")).check(matches(isChecked()));
+        onView(withText(startsWith("Music"))).check(matches(isChecked()));
 
-        onView(withText("Sports")).check(matches(isChecked()));
+        onView(withText(startsWith("Sports"))).check(matches(isChecked()));
 
-        onView(withText("Technology")).check(matches(isChecked()));
+        onView(withText(startsWith("Technology"))).check(matches(isChecked()));
     }
 
     @Test
@@ -100,17 +102,17 @@ public class FilterDialogUITest {
         onView(withText("Date")).perform(click());
 
 
-        onView(withText("Today")).check(matches(isDisplayed()));
+        onView(withText(startsWith("Today"))).check(matches(isDisplayed()));
 
-        onView(withText("Tomorrow")).check(matches(isDisplayed()));
+        onView(withText(startsWith("Tomorrow"))).check(matches(isDisplayed()));
 
-        onView(withText("Within 7 days")).check(matches(isDisplayed()));
+        onView(withText(startsWith("Within 7 days"))).check(matches(isDisplayed()));
 
-        onView(withText("Within 14 Days")).check(matches(isDisplayed()));
+        onView(withText(startsWith("Within 14 Days"))).check(matches(isDisplayed()));
 
-        onView(withText("This Month")).check(matches(isDisplayed()));
+        onView(withText(startsWith("This Month"))).check(matches(isDisplayed()));
 
-        onView(withText("All Dates")).check(matches(isDisplayed()));
+        onView(withText(startsWith("All Dates"))).check(matches(isDisplayed()));
     }
 
     @Test
@@ -126,7 +128,7 @@ public class FilterDialogUITest {
         onView(withId(R.id.radioAllDates)).check(matches(isChecked()));
 
 
-        onView(withText("Within 7 days")).perform(click());
+        onView(withText(startsWith("Within 7 days"))).perform(click());
 
 
         onView(withId(R.id.radioWithin7Days)).check(matches(isChecked()));
@@ -143,17 +145,17 @@ public class FilterDialogUITest {
         onView(withId(R.id.filterButton)).perform(click());
 
 
-        onView(withText("Music")).perform(click());
+        onView(withText(startsWith("Music"))).perform(click());
 
-        onView(withText("Sports")).perform(click());
+        onView(withText(startsWith("Sports"))).perform(click());
 
 
         onView(withId(R.id.clearFiltersButton)).perform(click());
 
 
-        onView(withText("Music")).check(matches(isNotChecked()));
+        onView(withText(startsWith("Music"))).check(matches(isNotChecked()));
 
-        onView(withText("Sports")).check(matches(isNotChecked()));
+        onView(withText(startsWith("Sports"))).check(matches(isNotChecked()));
     }
 
     @Test
@@ -163,13 +165,13 @@ public class FilterDialogUITest {
         onView(withId(R.id.filterButton)).perform(click());
 
 
-        onView(withText("Technology")).perform(click());
+        onView(withText(startsWith("Technology"))).perform(click());
 
 
         onView(withText("Date")).perform(click());
 
 
-        onView(withText("Within 14 Days")).perform(click());
+        onView(withText(startsWith("Within 14 Days"))).perform(click());
 
 
         onView(withId(R.id.applyFiltersButton)).perform(click());
@@ -22,6 +22,8 @@ import com.hotdog.elotto.helpers.UserStatus;
 import com.hotdog.elotto.helpers.UserType;
 import com.hotdog.elotto.model.Organizer;
 import com.hotdog.elotto.model.User;
+import com.hotdog.elotto.repository.CascadeDelete;
+import com.hotdog.elotto.repository.WriteOutbox;
 
 @RequiresApi(api = Build.VERSION_CODES.O)
 public class MainActivity extends AppCompatActivity {
@@ -55,6 +57,11 @@ public class MainActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
+        // Replay any writes queued before the app was last closed
+        WriteOutbox.init(getApplicationContext());
+        // Finish any admin delete that was interrupted
+        CascadeDelete.init(getApplicationContext());
+
         curUser = new User(getApplicationContext(), this::gotUser);
     }
 
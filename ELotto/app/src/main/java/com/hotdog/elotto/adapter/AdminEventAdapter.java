@@ -7,14 +7,18 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.model.Event;
+import com.hotdog.elotto.repository.RepositoryExecutors;
 
 import java.text.SimpleDateFormat;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * Adapter for displaying events in the Admin's event management RecyclerView.
@@ -24,9 +28,27 @@ import java.util.Locale;
  * @version 1.0
  * @since 2025-12-01
  */
-public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.EventViewHolder> {
+public class AdminEventAdapter extends ListAdapter<Event, AdminEventAdapter.EventViewHolder> {
+
+    /**
+     * Identifies events by ID and redraws a row only when something it shows changed.
+     */
+    static final DiffUtil.ItemCallback<Event> DIFF = new DiffUtil.ItemCallback<Event>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Event oldEvent, @NonNull Event newEvent) {
+            return Objects.equals(oldEvent.getId(), newEvent.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Event oldEvent, @NonNull Event newEvent) {
+            return Objects.equals(oldEvent.getName(), newEvent.getName())
+                    && Objects.equals(oldEvent.getLocation(), newEvent.getLocation())
+                    && Objects.equals(oldEvent.getEventDateTime(), newEvent.getEventDateTime())
+                    && oldEvent.getCurrentAcceptedCount() == newEvent.getCurrentAcceptedCount()
+                    && oldEvent.getMaxEntrants() == newEvent.getMaxEntrants();
+        }
+    };
 
-    private final List<Event> events;
     private final OnEventActionListener listener;
 
     /**
@@ -50,13 +72,15 @@ public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.Ev
     }
 
     /**
-     * Constructs a new AdminEventAdapter.
+     * Constructs a new AdminEventAdapter. Lists are shown with {@link #submitList} and
+     * diffed off the main thread.
      *
-     * @param events the list of events to display
      * @param listener the listener to handle event action callbacks
      */
-    public AdminEventAdapter(List<Event> events, OnEventActionListener listener) {
-        this.events = events;
+    public AdminEventAdapter(OnEventActionListener listener) {
+        super(new AsyncDifferConfig.Builder<>(DIFF)
+                .setBackgroundThreadExecutor(RepositoryExecutors.background())
+                .build());
         this.listener = listener;
     }
 
@@ -81,18 +105,9 @@ public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.Ev
      */
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
-        Event event = events.get(position);
+        Event event = getItem(position);
         holder.bind(event, listener);
     }
-    /**
-     * Returns the total number of events in the adapter.
-     *
-     * @return the size of the events list
-     */
-    @Override
-    public int getItemCount() {
-        return events.size();
-    }
     /**
      * ViewHolder class for individual event items in the admin event list.
      *
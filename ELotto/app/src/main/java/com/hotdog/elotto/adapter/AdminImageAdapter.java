@@ -11,14 +11,18 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.model.Event;
+import com.hotdog.elotto.repository.RepositoryExecutors;
 
-import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter for displaying event poster images in the Admin's image management interface.
@@ -34,14 +38,25 @@ import java.util.List;
  * @author Tatsat
  * @version 1.0
  */
-public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.ImageViewHolder> {
+public class AdminImageAdapter extends ListAdapter<Event, AdminImageAdapter.ImageViewHolder> {
 
     private static final String TAG = "AdminImageAdapter";
 
     /**
-     * The list of events whose poster images are being displayed.
+     * Identifies events by ID and redraws a tile only when its name or poster changed.
      */
-    private final List<Event> events;
+    static final DiffUtil.ItemCallback<Event> DIFF = new DiffUtil.ItemCallback<Event>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Event oldEvent, @NonNull Event newEvent) {
+            return Objects.equals(oldEvent.getId(), newEvent.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Event oldEvent, @NonNull Event newEvent) {
+            return Objects.equals(oldEvent.getName(), newEvent.getName())
+                    && Objects.equals(oldEvent.getPosterImageUrl(), newEvent.getPosterImageUrl());
+        }
+    };
 
     /**
      * Listener for handling image deletion actions.
@@ -64,13 +79,15 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Im
     }
 
     /**
-     * Constructs a new AdminImageAdapter with the specified events and action listener.
+     * Constructs a new AdminImageAdapter with the specified action listener. Lists are
+     * shown with {@link #submitList} and diffed off the main thread.
      *
-     * @param events the list of events with poster images to display
      * @param listener the callback listener for handling image deletion
      */
-    public AdminImageAdapter(List<Event> events, OnImageActionListener listener) {
-        this.events = events;
+    public AdminImageAdapter(OnImageActionListener listener) {
+        super(new AsyncDifferConfig.Builder<>(DIFF)
+                .setBackgroundThreadExecutor(RepositoryExecutors.background())
+                .build());
         this.listener = listener;
     }
 
@@ -96,20 +113,10 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Im
      */
     @Override
     public void onBindViewHolder(@NonNull ImageViewHolder holder, int position) {
-        Event event = events.get(position);
+        Event event = getItem(position);
         holder.bind(event, listener);
     }
 
-    /**
-     * Returns the total number of events in the adapter.
-     *
-     * @return the size of the events list
-     */
-    @Override
-    public int getItemCount() {
-        return events.size();
-    }
-
     /**
      * ViewHolder class for individual event poster image items.
      *
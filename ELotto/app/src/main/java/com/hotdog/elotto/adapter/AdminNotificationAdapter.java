@@ -7,12 +7,16 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.model.Notification;
+import com.hotdog.elotto.repository.RepositoryExecutors;
 
-import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter for displaying notifications in the Admin's notification management interface.
@@ -28,12 +32,27 @@ import java.util.List;
  * @author Admin Module
  * @version 1.0
  */
-public class AdminNotificationAdapter extends RecyclerView.Adapter<AdminNotificationAdapter.NotificationViewHolder> {
+public class AdminNotificationAdapter extends ListAdapter<Notification, AdminNotificationAdapter.NotificationViewHolder> {
 
     /**
-     * The list of notifications to display in the RecyclerView.
+     * Identifies notifications by recipient and UUID and redraws a row only when something
+     * it shows changed.
      */
-    private List<Notification> notifications;
+    static final DiffUtil.ItemCallback<Notification> DIFF = new DiffUtil.ItemCallback<Notification>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Notification oldItem, @NonNull Notification newItem) {
+            return Objects.equals(oldItem.getUserId(), newItem.getUserId())
+                    && Objects.equals(oldItem.getUuid(), newItem.getUuid());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Notification oldItem, @NonNull Notification newItem) {
+            return Objects.equals(oldItem.getEventId(), newItem.getEventId())
+                    && Objects.equals(oldItem.getMessage(), newItem.getMessage())
+                    && Objects.equals(oldItem.getTimestamp(), newItem.getTimestamp())
+                    && oldItem.isRead() == newItem.isRead();
+        }
+    };
 
     /**
      * Listener for handling notification actions.
@@ -63,13 +82,15 @@ public class AdminNotificationAdapter extends RecyclerView.Adapter<AdminNotifica
     }
 
     /**
-     * Constructs a new AdminNotificationAdapter with the specified notifications and listener.
+     * Constructs a new AdminNotificationAdapter with the specified listener. Lists are shown
+     * with {@link #submitList} and diffed off the main thread.
      *
-     * @param notifications the list of notifications to display
      * @param listener the callback listener for handling notification actions
      */
-    public AdminNotificationAdapter(List<Notification> notifications, OnNotificationActionListener listener) {
-        this.notifications = notifications;
+    public AdminNotificationAdapter(OnNotificationActionListener listener) {
+        super(new AsyncDifferConfig.Builder<>(DIFF)
+                .setBackgroundThreadExecutor(RepositoryExecutors.background())
+                .build());
         this.listener = listener;
     }
 
@@ -96,20 +117,10 @@ public class AdminNotificationAdapter extends RecyclerView.Adapter<AdminNotifica
      */
     @Override
     public void onBindViewHolder(@NonNull NotificationViewHolder holder, int position) {
-        Notification notification = notifications.get(position);
+        Notification notification = getItem(position);
         holder.bind(notification);
     }
 
-    /**
-     * Returns the total number of notifications in the adapter.
-     *
-     * @return the size of the notifications list
-     */
-    @Override
-    public int getItemCount() {
-        return notifications.size();
-    }
-
     /**
      * ViewHolder class for individual notification items in the admin notification list.
      *
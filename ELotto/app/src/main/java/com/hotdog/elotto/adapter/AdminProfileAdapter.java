@@ -8,13 +8,17 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.helpers.UserType;
 import com.hotdog.elotto.model.User;
+import com.hotdog.elotto.repository.RepositoryExecutors;
 
-import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter for displaying user profiles in the Admin's profile management interface.
@@ -31,12 +35,24 @@ import java.util.List;
  * @author Tatsat
  * @version 1.0
  */
-public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapter.ProfileViewHolder> {
+public class AdminProfileAdapter extends ListAdapter<User, AdminProfileAdapter.ProfileViewHolder> {
 
     /**
-     * The list of users to display in the RecyclerView.
+     * Identifies users by device ID and redraws a row only when something it shows changed.
      */
-    private final List<User> users;
+    static final DiffUtil.ItemCallback<User> DIFF = new DiffUtil.ItemCallback<User>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull User oldUser, @NonNull User newUser) {
+            return Objects.equals(oldUser.getId(), newUser.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull User oldUser, @NonNull User newUser) {
+            return Objects.equals(oldUser.getName(), newUser.getName())
+                    && Objects.equals(oldUser.getEmail(), newUser.getEmail())
+                    && oldUser.getType() == newUser.getType();
+        }
+    };
 
     /**
      * Listener for handling profile actions.
@@ -73,13 +89,15 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
     }
 
     /**
-     * Constructs a new AdminProfileAdapter with the specified users and action listener.
+     * Constructs a new AdminProfileAdapter with the specified action listener. Lists are
+     * shown with {@link #submitList} and diffed off the main thread.
      *
-     * @param users the list of users to display
      * @param listener the callback listener for handling profile actions
      */
-    public AdminProfileAdapter(List<User> users, OnProfileActionListener listener) {
-        this.users = users;
+    public AdminProfileAdapter(OnProfileActionListener listener) {
+        super(new AsyncDifferConfig.Builder<>(DIFF)
+                .setBackgroundThreadExecutor(RepositoryExecutors.background())
+                .build());
         this.listener = listener;
     }
 
@@ -105,20 +123,10 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
      */
     @Override
     public void onBindViewHolder(@NonNull ProfileViewHolder holder, int position) {
-        User user = users.get(position);
+        User user = getItem(position);
         holder.bind(user, listener);
     }
 
-    /**
-     * Returns the total number of users in the adapter.
-     *
-     * @return the size of the users list
-     */
-    @Override
-    public int getItemCount() {
-        return users.size();
-    }
-
     /**
      * ViewHolder class for individual user profile items in the admin profile list.
      *
@@ -0,0 +1,215 @@
+package com.hotdog.elotto.controller;
+
+import android.content.Context;
+import android.location.Location;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.google.android.gms.location.Priority;
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out the device's location for joining geolocation-required events without asking
+ * for a new fix every time.
+ *
+ * <p>A location no older than the max age is reused as it is: first the one kept from the
+ * last request, then the one the system last saw. Only when neither is recent enough is a
+ * new fix requested, at balanced power accuracy, which is plenty for showing where entrants
+ * joined from and far cheaper than a GPS fix. If the fix fails, the newest known location is
+ * used as long as it is within the fallback max age.</p>
+ *
+ * <p>Callers asking while a request is already running share its result instead of starting
+ * another. Ages are measured on the elapsed-realtime clock that {@link Location} fixes are
+ * stamped with; tests can inject their own clock and a {@link FakeLocationController} as the
+ * source.</p>
+ *
+ * <p><b>Design Pattern:</b> Singleton, like {@code WriteOutbox}.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class CachedLocationProvider {
+
+    /**
+     * Oldest location reused without asking for a new fix.
+     */
+    public static final long DEFAULT_MAX_AGE_MILLIS = 2 * 60 * 1000;
+
+    /**
+     * Oldest location used when a new fix can't be had.
+     */
+    public static final long DEFAULT_FALLBACK_MAX_AGE_MILLIS = 30 * 60 * 1000;
+
+    /**
+     * Where locations come from: {@link LocationController} on a device,
+     * {@link FakeLocationController} in tests.
+     */
+    public interface Source {
+        /**
+         * @return the location the system last saw, which may be null
+         */
+        Task<Location> getLastLocation();
+
+        /**
+         * Requests a new fix.
+         *
+         * @param priority one of the {@link Priority} constants
+         * @param token    cancels the request, or null
+         * @return the fix, which may be null
+         */
+        Task<Location> getCurrentLocation(int priority, @Nullable CancellationToken token);
+    }
+
+    private static CachedLocationProvider instance;
+
+    private final Source source;
+    private final long maxAgeMillis;
+    private final long fallbackMaxAgeMillis;
+    private final LongSupplier clock;
+
+    /**
+     * The newest location seen, or null.
+     */
+    private Location cached;
+
+    /**
+     * The request running now, shared by every caller until it completes, or null.
+     */
+    private Task<Location> pending;
+
+    /**
+     * Returns the singleton instance, reading locations through a {@link LocationController}.
+     *
+     * @param context any context; only its application context is kept
+     * @return the shared location provider
+     */
+    public static synchronized CachedLocationProvider getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new CachedLocationProvider(new LocationController(context.getApplicationContext()),
+                    DEFAULT_MAX_AGE_MILLIS, DEFAULT_FALLBACK_MAX_AGE_MILLIS, SystemClock::elapsedRealtime);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a provider; use {@link #getInstance} outside tests.
+     *
+     * @param source               where locations come from
+     * @param maxAgeMillis         oldest location reused without a new fix
+     * @param fallbackMaxAgeMillis oldest location used when a new fix fails
+     * @param clock                milliseconds on the clock fixes are stamped with
+     */
+    @VisibleForTesting
+    public CachedLocationProvider(@NonNull Source source, long maxAgeMillis, long fallbackMaxAgeMillis,
+                                  @NonNull LongSupplier clock) {
+        this.source = source;
+        this.maxAgeMillis = maxAgeMillis;
+        this.fallbackMaxAgeMillis = fallbackMaxAgeMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets a location no older than the max age if one can be had, otherwise the newest one
+     * within the fallback max age.
+     *
+     * @return a Task with the location, never null; failed if there is none recent enough
+     * or location permission is missing
+     */
+    public synchronized Task<Location> getLocation() {
+        if (cached != null && ageMillis(cached) <= maxAgeMillis) {
+            return Tasks.forResult(cached);
+        }
+        if (pending != null) {
+            return pending;
+        }
+
+        TaskCompletionSource<Location> result = new TaskCompletionSource<>();
+        pending = result.getTask();
+        source.getLastLocation().addOnCompleteListener(lastTask -> {
+            Location last = lastTask.isSuccessful() ? lastTask.getResult() : null;
+            if (last != null && ageMillis(last) <= maxAgeMillis) {
+                finish(result, last, null);
+                return;
+            }
+            source.getCurrentLocation(Priority.PRIORITY_BALANCED_POWER_ACCURACY, null)
+                    .addOnCompleteListener(fixTask -> {
+                        Location fix = fixTask.isSuccessful() ? fixTask.getResult() : null;
+                        if (fix != null) {
+                            finish(result, fix, null);
+                            return;
+                        }
+                        Exception error = fixTask.getException();
+                        Location fallback = newest(last);
+                        // Without permission nothing may be handed out, however recent
+                        if (!(error instanceof SecurityException)
+                                && fallback != null && ageMillis(fallback) <= fallbackMaxAgeMillis) {
+                            finish(result, fallback, null);
+                        } else {
+                            finish(result, null, error != null ? error
+                                    : new IllegalStateException("No location available"));
+                        }
+                    });
+        });
+        return pending;
+    }
+
+    /**
+     * Gets a location as {@link #getLocation} does and hands over its latitude and longitude,
+     * or NaN for both if there is none.
+     *
+     * @param callback the callback invoked with the resolved latitude and longitude
+     */
+    public void getLatLon(LocationController.LocationCallBack callback) {
+        getLocation()
+                .addOnSuccessListener(location ->
+                        callback.onLocationReady(location.getLatitude(), location.getLongitude()))
+                .addOnFailureListener(e -> callback.onLocationReady(Double.NaN, Double.NaN));
+    }
+
+    /**
+     * Starts getting a location ahead of time, so a join moments later doesn't wait for it.
+     */
+    public void prefetch() {
+        getLocation();
+    }
+
+    private void finish(TaskCompletionSource<Location> result, @Nullable Location location,
+                        @Nullable Exception error) {
+        synchronized (this) {
+            if (location != null && (cached == null
+                    || location.getElapsedRealtimeNanos() >= cached.getElapsedRealtimeNanos())) {
+                cached = location;
+            }
+            pending = null;
+        }
+        if (location != null) {
+            result.setResult(location);
+        } else {
+            result.setException(error);
+        }
+    }
+
+    /**
+     * @return whichever of a location and the cached one is newer, or null if there are neither
+     */
+    @Nullable
+    private synchronized Location newest(@Nullable Location location) {
+        if (location == null) return cached;
+        if (cached == null) return location;
+        return location.getElapsedRealtimeNanos() >= cached.getElapsedRealtimeNanos() ? location : cached;
+    }
+
+    private long ageMillis(Location location) {
+        return clock.getAsLong() - location.getElapsedRealtimeNanos() / 1_000_000;
+    }
+}
@@ -1,12 +1,13 @@
 package com.hotdog.elotto.controller;
 
+import com.hotdog.elotto.repository.EventQuery;
 import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventSearchIndex;
 import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.callback.FirestoreListCallback;
 import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.model.Event;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -32,11 +33,16 @@ public class EventController {
      */
     private final EventRepository repository;
 
+    /**
+     * The index text searches run on.
+     */
+    private final EventSearchIndex searchIndex;
+
     /**
      * Default constructor that initializes the controller with a new EventRepository.
      */
     public EventController(){
-        this.repository = new EventRepository();
+        this(new EventRepository(), EventSearchIndex.getInstance());
     }
 
     /**
@@ -45,7 +51,18 @@ public class EventController {
      * @param repository the EventRepository instance to use for data operations
      */
     public EventController(EventRepository repository){
+        this(repository, new EventSearchIndex());
+    }
+
+    /**
+     * Constructor for dependency injection, useful for testing.
+     *
+     * @param repository  the EventRepository instance to use for data operations
+     * @param searchIndex the index to search
+     */
+    public EventController(EventRepository repository, EventSearchIndex searchIndex){
         this.repository = repository;
+        this.searchIndex = searchIndex;
     }
 
     /**
@@ -80,30 +97,25 @@ public class EventController {
     /**
      * Loads only events that are currently open for registration.
      *
-     * <p>Filters all events and returns only those where registration is currently open.</p>
+     * <p>Firestore returns just the events whose registration window contains the current
+     * time, closing soonest first, so closed events are never read; see
+     * {@link EventRepository#getOpenEvents(FirestoreListCallback)}.</p>
      *
      * @param callback the callback to receive the list of open events or error message
      */
     public void loadOpenEvents(FirestoreListCallback<Event> callback) {
-        repository.getAllEvents(new FirestoreListCallback<Event>() {
-            @Override
-            public void onSuccess(List<Event> events) {
-                List<Event> openEvents = new ArrayList<>();
-
-                for (Event event : events) {
-                    if (event.isRegistrationOpen()) {
-                        openEvents.add(event);
-                    }
-                }
-
-                callback.onSuccess(openEvents);
-            }
+        repository.getOpenEvents(callback);
+    }
 
-            @Override
-            public void onError(String errorMessage) {
-                callback.onError(errorMessage);
-            }
-        });
+    /**
+     * Loads the events currently open for registration one page at a time, closing soonest
+     * first.
+     *
+     * @param after the previous page, or null for the first page
+     * @param callback the callback to receive the page or error message
+     */
+    public void loadOpenEvents(EventRepository.EventPage after, FirestoreCallback<EventRepository.EventPage> callback) {
+        repository.getOpenEvents(after, callback);
     }
 
     /**
@@ -117,37 +129,34 @@ public class EventController {
     }
 
     /**
-     * Searches for events where the query matches the event name or description.
+     * Searches for events matching every word of the query in their name, description,
+     * location, organizer or tags, best matches first.
      *
-     * <p>Performs a case-insensitive search across event names and descriptions.</p>
+     * <p>Runs on the {@link EventSearchIndex}, which the home feed keeps up to date. When
+     * nothing has been indexed yet, or the index is being updated, the first page of a
+     * server-side keyword search is returned instead of downloading every event or waiting;
+     * see {@link #searchEvents(String, EventRepository.SearchPage, FirestoreCallback)}.</p>
+     *
+     * <p>The two don't match the same events. The index matches each query word anywhere in
+     * the name, description, location, organizer or tags, while the server matches only the
+     * start of a word in the name, location or tags, so "run" finds "Charity Run" and
+     * "Brunch" locally but only "Charity Run" on the server, and descriptions and organizers
+     * are only searched locally.</p>
      *
      * @param query the search query string
      * @param callback the callback to receive the list of matching events or error message
      */
     public void searchEvents(String query, FirestoreListCallback<Event> callback) {
-        repository.getAllEvents(new FirestoreListCallback<Event>() {
-            @Override
-            public void onSuccess(List<Event> events) {
-                List<Event> searchedEvents = new ArrayList<>();
-                String lowerCaseQuery = query.toLowerCase();
-
-                for (Event event : events) {
-                    String name = "";
-                    if (event.getName() != null) {
-                        name = event.getName().toLowerCase();
-                    }
-
-                    String description = "";
-                    if (event.getDescription() != null) {
-                        description = event.getDescription().toLowerCase();
-                    }
-
-                    if (name.contains(lowerCaseQuery) || description.contains(lowerCaseQuery)) {
-                        searchedEvents.add(event);
-                    }
-                }
+        List<Event> indexed = searchIndex.searchIfCurrent(null, query);
+        if (indexed != null) {
+            callback.onSuccess(indexed);
+            return;
+        }
 
-                callback.onSuccess(searchedEvents);
+        searchEvents(query, null, new FirestoreCallback<EventRepository.SearchPage>() {
+            @Override
+            public void onSuccess(EventRepository.SearchPage page) {
+                callback.onSuccess(page.getEvents());
             }
 
             @Override
@@ -157,41 +166,46 @@ public class EventController {
         });
     }
 
+    /**
+     * Searches for events by the start of the words in their name, location or tags on the
+     * server, one page at a time, reading only matching events.
+     *
+     * @param query the search query string
+     * @param after the previous page of the same search, or null for the first page
+     * @param callback the callback to receive the page or error message
+     */
+    public void searchEvents(String query, EventRepository.SearchPage after,
+                             FirestoreCallback<EventRepository.SearchPage> callback) {
+        repository.searchEvents(query, after, callback);
+    }
+
+    /**
+     * Runs a combined search and filter query on the server.
+     *
+     * <p>Firestore narrows the events down by whatever part of the query it can index and
+     * the rest is checked on the device; see {@link EventRepository#queryEvents}. Over the
+     * loaded feed, {@code EventQueryPlanner} answers the same query without the server.</p>
+     *
+     * @param query the query
+     * @param callback the callback to receive the matching events or error message
+     */
+    public void queryEvents(EventQuery query, FirestoreListCallback<Event> callback) {
+        repository.queryEvents(query, callback);
+    }
+
     /**
      * Filters events by location.
      *
      * <p>Performs a case-insensitive search to find events whose location contains
-     * the specified location string.</p>
+     * the specified location string, as an {@link EventQuery} with only a location.</p>
      *
      * @param location the location string to filter by
      * @param callback the callback to receive the filtered list of events or error message
      */
     public void filterEventsByLocation(String location, FirestoreListCallback<Event> callback) {
-        repository.getAllEvents(new FirestoreListCallback<Event>() {
-            @Override
-            public void onSuccess(List<Event> events) {
-                List<Event> filteredEvents = new ArrayList<>();
-                String lowerLocation = location.toLowerCase();
-
-                for (Event event : events) {
-                    String eventLocation = "";
-                    if (event.getLocation() != null) {
-                        eventLocation = event.getLocation().toLowerCase();
-                    }
-
-                    if (eventLocation.contains(lowerLocation)) {
-                        filteredEvents.add(event);
-                    }
-                }
-
-                callback.onSuccess(filteredEvents);
-            }
-
-            @Override
-            public void onError(String errorMessage) {
-                callback.onError(errorMessage);
-            }
-        });
+        EventQuery query = new EventQuery();
+        query.setLocation(location);
+        queryEvents(query, callback);
     }
 
     /**
@@ -12,6 +12,7 @@ import android.widget.Toast;
 
 import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.GeoPoint;
 import com.google.firebase.storage.FirebaseStorage;
 import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.helpers.UserType;
@@ -69,6 +70,11 @@ public class EventCreationController {
     private EventRepository repository;
     private boolean testMode;
 
+    /**
+     * Coordinates of the location, when it was picked from a map search.
+     */
+    private GeoPoint coordinates;
+
     /**
      * Constructs a new EventCreationController with default repository.
      *
@@ -94,6 +100,15 @@ public class EventCreationController {
         this.repository = repository;
     }
 
+    /**
+     * Sets the coordinates of the location passed to the next {@link #SaveEvent} or
+     * {@link #UpdateEvent}, so the event can be found by area.
+     *
+     * @param coordinates the coordinates, or null if the location was typed in
+     */
+    public void setCoordinates(GeoPoint coordinates) {
+        this.coordinates = coordinates;
+    }
 
     /**
      * Encodes an image URI into a Base64 string for storage in Firestore.
@@ -179,6 +194,7 @@ public class EventCreationController {
         event.setPosterImageUrl(bannerUrl);
         event.setPrice(price);
         event.setTagList(tagList);
+        event.setCoordinates(coordinates);
         Organizer org = new Organizer(context);
         event.setOrganizerId(org.getId());
 
@@ -252,6 +268,7 @@ public class EventCreationController {
         event.setPosterImageUrl(bannerUrl);
         event.setPrice(price);
         event.setTagList(tagList);
+        event.setCoordinates(coordinates);
 
         // Keep the organizer ID (don't change it)
         Organizer org = new Organizer(context);
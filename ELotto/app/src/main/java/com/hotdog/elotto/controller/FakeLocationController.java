@@ -1,28 +1,112 @@
 package com.hotdog.elotto.controller;
 
 import android.location.Location;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 
 import com.google.android.gms.tasks.CancellationToken;
 import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
 import com.google.android.gms.tasks.Tasks;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 /**
- * A fake locationcontroller class used soley for testing
+ * A fake locationcontroller class used soley for testing.
+ * Fixes are stamped with the injected clock and arrive after the injected latency,
+ * and the number of fixes requested is counted.
  */
-public class FakeLocationController {
+public class FakeLocationController implements CachedLocationProvider.Source {
+
+    private final LongSupplier clock;
+    private final long latencyMillis;
+    private final AtomicInteger currentLocationRequests = new AtomicInteger();
+    private Location lastLocation;
+    private boolean currentLocationFails;
+
+    /**
+     * Creates a fake whose fixes arrive straight away, stamped with the real clock.
+     */
+    public FakeLocationController() {
+        this(SystemClock::elapsedRealtime, 0);
+    }
+
+    /**
+     * Creates a fake with its own clock and latency.
+     *
+     * @param clock         milliseconds to stamp fixes with
+     * @param latencyMillis how long each fix takes to arrive
+     */
+    public FakeLocationController(LongSupplier clock, long latencyMillis) {
+        this.clock = clock;
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Builds a location as a fix at a given time would.
+     *
+     * @param lat           the latitude
+     * @param lon           the longitude
+     * @param elapsedMillis when the fix was taken, on the elapsed-realtime clock
+     * @return the location
+     */
+    public static Location location(double lat, double lon, long elapsedMillis) {
+        Location location = new Location("fake");
+        location.setLatitude(lat);
+        location.setLongitude(lon);
+        location.setElapsedRealtimeNanos(elapsedMillis * 1_000_000);
+        return location;
+    }
 
     /**
      * Mimics the real getCurrentLocation method.
      * Ignores priority and token and just returns a fixed location.
      */
+    @Override
     public Task<Location> getCurrentLocation(int priority, CancellationToken token) {
-        Location fakeLocation = new Location("fake");
-        fakeLocation.setLatitude(41.9);
-        fakeLocation.setLongitude(-87.6);
+        currentLocationRequests.incrementAndGet();
+        if (currentLocationFails) {
+            return Tasks.forException(new IllegalStateException("No fix"));
+        }
+        if (latencyMillis <= 0) {
+            return Tasks.forResult(location(41.9, -87.6, clock.getAsLong()));
+        }
+        TaskCompletionSource<Location> fix = new TaskCompletionSource<>();
+        new Handler(Looper.getMainLooper()).postDelayed(
+                () -> fix.setResult(location(41.9, -87.6, clock.getAsLong())), latencyMillis);
+        return fix.getTask();
+    }
 
-        return Tasks.forResult(fakeLocation);
+    /**
+     * Mimics the real getLastLocation method, returning whatever was set.
+     */
+    @Override
+    public Task<Location> getLastLocation() {
+        return Tasks.forResult(lastLocation);
+    }
+
+    /**
+     * @param lastLocation the location getLastLocation returns, or null
+     */
+    public void setLastLocation(Location lastLocation) {
+        this.lastLocation = lastLocation;
+    }
+
+    /**
+     * @param currentLocationFails true to make every new fix fail
+     */
+    public void setCurrentLocationFails(boolean currentLocationFails) {
+        this.currentLocationFails = currentLocationFails;
+    }
+
+    /**
+     * @return how many new fixes have been requested
+     */
+    public int getCurrentLocationRequests() {
+        return currentLocationRequests.get();
     }
 
     /**
@@ -5,10 +5,12 @@ import android.content.Context;
 import android.content.pm.PackageManager;
 import android.location.Location;
 
+import androidx.annotation.Nullable;
 import androidx.core.app.ActivityCompat;
 
 import com.google.android.gms.location.FusedLocationProviderClient;
 import com.google.android.gms.location.LocationServices;
+import com.google.android.gms.tasks.CancellationToken;
 import com.google.android.gms.tasks.CancellationTokenSource;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
@@ -21,7 +23,7 @@ import java.util.List;
  * Controller class responsible for managing event creation logic, including
  * data processing, image encoding, and interaction with Firestore and Storage.
  */
-public class LocationController {
+public class LocationController implements CachedLocationProvider.Source {
     //https://stackoverflow.com/questions/64951824/how-to-get-current-location-with-android-studio used for a majority of the methods
     private final FusedLocationProviderClient fusedLocationProviderClient;
     private Context context;
@@ -41,11 +43,40 @@ public class LocationController {
      * @return a Task that coincides to the current location, or a failed Task if permissions are missing
      */
     public Task<Location> getCurrentLocation(){
-        CancellationTokenSource cancellationToken = new CancellationTokenSource();
-        if (ActivityCompat.checkSelfPermission(context, Manifest.permission.ACCESS_FINE_LOCATION) != PackageManager.PERMISSION_GRANTED && ActivityCompat.checkSelfPermission(context, Manifest.permission.ACCESS_COARSE_LOCATION) != PackageManager.PERMISSION_GRANTED) {
+        return getCurrentLocation(Priority.PRIORITY_HIGH_ACCURACY, null);
+    }
+    /**
+     * Retrieves the current device location at a given accuracy.
+     *
+     * @param priority one of the {@link Priority} constants
+     * @param token    cancels the request, or null
+     * @return a Task that coincides to the current location, or a failed Task if permissions are missing
+     */
+    @Override
+    public Task<Location> getCurrentLocation(int priority, @Nullable CancellationToken token){
+        if (!hasPermission()) {
             return Tasks.forException(new SecurityException("Permission Not Granted"));
         }
-        return fusedLocationProviderClient.getCurrentLocation(Priority.PRIORITY_HIGH_ACCURACY, cancellationToken.getToken());
+        if (token == null) {
+            token = new CancellationTokenSource().getToken();
+        }
+        return fusedLocationProviderClient.getCurrentLocation(priority, token);
+    }
+    /**
+     * Retrieves the location the system last saw, without asking for a new fix.
+     *
+     * @return a Task with the last location, which may be null, or a failed Task if permissions are missing
+     */
+    @Override
+    public Task<Location> getLastLocation(){
+        if (!hasPermission()) {
+            return Tasks.forException(new SecurityException("Permission Not Granted"));
+        }
+        return fusedLocationProviderClient.getLastLocation();
+    }
+    private boolean hasPermission(){
+        return ActivityCompat.checkSelfPermission(context, Manifest.permission.ACCESS_FINE_LOCATION) == PackageManager.PERMISSION_GRANTED
+                || ActivityCompat.checkSelfPermission(context, Manifest.permission.ACCESS_COARSE_LOCATION) == PackageManager.PERMISSION_GRANTED;
     }
     /**
      * Callback interface for receiving coordinate results returning as a list of 2 doubles.
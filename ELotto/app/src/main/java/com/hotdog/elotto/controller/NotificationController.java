@@ -1,9 +1,18 @@
 package com.hotdog.elotto.controller;
 
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.ListenerRegistration;
+import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.callback.FirestoreListCallback;
 import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.model.Notification;
+import com.hotdog.elotto.model.NotificationTemplate;
+import com.hotdog.elotto.repository.NotificationFanOut;
 import com.hotdog.elotto.repository.NotificationRepository;
+import com.hotdog.elotto.repository.ReadPolicy;
+
+import java.util.List;
 
 /**
  * Controller class responsible for managing notification logic.
@@ -15,13 +24,15 @@ import com.hotdog.elotto.repository.NotificationRepository;
  */
 public class NotificationController {
     private final NotificationRepository repository;
+    private final NotificationFanOut fanOut;
 
     public NotificationController() {
         this.repository = new NotificationRepository();
+        this.fanOut = NotificationFanOut.getInstance();
     }
 
     /**
-     * Loads all notifications for a specific user.
+     * Loads the newest page of notifications for a specific user.
      *
      * @param userId   The ID of the user.
      * @param callback Callback to receive the list of notifications.
@@ -30,6 +41,64 @@ public class NotificationController {
         repository.getNotifications(userId, callback);
     }
 
+    /**
+     * Loads the newest page of a user's notifications under a {@link ReadPolicy}, so the
+     * cached inbox can be shown while the server copy loads.
+     *
+     * @param userId         The ID of the user.
+     * @param policy         Where to read from.
+     * @param cachedCallback Receives the cached page, only used with CACHE_THEN_SERVER.
+     * @param callback       Callback to receive the page.
+     */
+    public void loadFirstPage(String userId, ReadPolicy policy,
+            FirestoreCallback<NotificationRepository.Page> cachedCallback,
+            FirestoreCallback<NotificationRepository.Page> callback) {
+        repository.getNotificationsPage(userId, policy, cachedCallback, callback);
+    }
+
+    /**
+     * Loads the page of notifications following the given one.
+     *
+     * @param userId   The ID of the user.
+     * @param previous The last page loaded.
+     * @param callback Callback to receive the next page.
+     */
+    public void loadNextPage(String userId, NotificationRepository.Page previous,
+            FirestoreCallback<NotificationRepository.Page> callback) {
+        repository.getNotificationsPage(userId, previous, callback);
+    }
+
+    /**
+     * Moves a user's notifications out of the old single-document array, if there are any.
+     *
+     * @param userId   The ID of the user.
+     * @param callback Receives the number of notifications moved.
+     */
+    public void migrateInbox(String userId, FirestoreCallback<Integer> callback) {
+        repository.migrateLegacyInbox(userId, callback);
+    }
+
+    /**
+     * Listens to a user's unread notification count, for the inbox badge.
+     *
+     * @param userId   The ID of the user.
+     * @param callback Receives the count now and after every change.
+     * @return The registration, to be removed when the badge is no longer shown.
+     */
+    public ListenerRegistration listenUnreadCount(String userId, FirestoreCallback<Integer> callback) {
+        return repository.listenUnreadCount(userId, callback);
+    }
+
+    /**
+     * Recounts a user's unread notifications and fixes the stored counter if needed.
+     *
+     * @param userId   The ID of the user.
+     * @param callback Receives the correct count.
+     */
+    public void recountUnread(String userId, FirestoreCallback<Integer> callback) {
+        repository.recountUnread(userId, callback);
+    }
+
     /**
      * Sends a notification to a user.
      *
@@ -49,9 +118,87 @@ public class NotificationController {
         repository.addNotification(userId, notification, callback);
     }
 
+    /**
+     * Sends the same notification to many users.
+     *
+     * <p>The content is saved once as a {@link NotificationTemplate}, and each user gets a
+     * small notification that refers to it, instead of a full copy per recipient.</p>
+     *
+     * @param userIds       The IDs of the users to notify.
+     * @param title         The title of the notification.
+     * @param message       The message content.
+     * @param eventId       The ID of the related event (optional).
+     * @param eventTitle    The title of the related event (optional).
+     * @param eventImageUrl The image URL of the related event (optional).
+     * @param callback      Called once every recipient has been tried.
+     */
+    public void broadcastNotification(List<String> userIds, String title, String message, String eventId,
+            String eventTitle, String eventImageUrl, OperationCallback callback) {
+        broadcastNotification(userIds, title, message, eventId, eventTitle, eventImageUrl, null, callback);
+    }
+
+    /**
+     * Sends the same notification to many users, reporting progress as it goes.
+     *
+     * <p>Delivery is paced by the {@link NotificationFanOut}, so a broadcast to a large event
+     * can take a while. The callback fails if any recipient could not be reached.</p>
+     *
+     * @param userIds       The IDs of the users to notify.
+     * @param title         The title of the notification.
+     * @param message       The message content.
+     * @param eventId       The ID of the related event (optional).
+     * @param eventTitle    The title of the related event (optional).
+     * @param eventImageUrl The image URL of the related event (optional).
+     * @param progress      Receives delivered/failed counts as chunks finish (optional).
+     * @param callback      Called once every recipient has been tried.
+     */
+    public void broadcastNotification(List<String> userIds, String title, String message, String eventId,
+            String eventTitle, String eventImageUrl, @Nullable NotificationFanOut.Listener progress,
+            OperationCallback callback) {
+        if (userIds == null || userIds.isEmpty()) {
+            callback.onSuccess();
+            return;
+        }
+
+        NotificationTemplate template = new NotificationTemplate(title, message, eventId, eventTitle, eventImageUrl);
+        repository.createTemplate(template, new FirestoreCallback<String>() {
+            @Override
+            public void onSuccess(String templateId) {
+                fanOut.send(template, userIds, new NotificationFanOut.Listener() {
+                    @Override
+                    public void onProgress(int delivered, int failed, int total) {
+                        if (progress != null) progress.onProgress(delivered, failed, total);
+                    }
+
+                    @Override
+                    public void onComplete(int delivered, int failed) {
+                        if (progress != null) progress.onComplete(delivered, failed);
+                        if (failed == 0) {
+                            callback.onSuccess();
+                        } else if (delivered > 0) {
+                            callback.onError("Some notifications failed. " + delivered + " sent, "
+                                    + failed + " failed");
+                        } else {
+                            callback.onError("All notifications failed");
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError("All notifications failed");
+            }
+        });
+    }
+
     /**
      * Marks a notification as read.
      *
+     * <p>Online, a transaction sets the flag and lowers the unread count only if the
+     * notification was still unread. Offline, the flag is queued in the write outbox, so it is
+     * saved even if the app is closed, and the callback succeeds as soon as it is queued.</p>
+     *
      * @param userId         The ID of the user.
      * @param notificationId The UUID of the notification.
      * @param callback       Callback for success/error.
@@ -10,6 +10,7 @@ import com.hotdog.elotto.model.EntrantInfo;
 import com.hotdog.elotto.model.Event;
 import com.hotdog.elotto.model.User;
 import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.NotificationFanOut;
 import com.hotdog.elotto.repository.UserRepository;
 
 import java.util.ArrayList;
@@ -294,49 +295,45 @@ public class OrganizerEventController {
 
 
         // Send win notifications
-        for (String userId : winners) {
-            notificationController.sendNotification(
-                    userId,
-                    "Lottery Win",
-                    "Congratulations! You have been selected in the lottery draw for " + event.getName() + ".",
-                    event.getId(),
-                    event.getName(),
-                    event.getPosterImageUrl(),
-                    new OperationCallback() {
-                        @Override
-                        public void onSuccess() {
-                            Log.d(TAG, "Win notification sent to: " + userId);
-                        }
+        notificationController.broadcastNotification(
+                winners,
+                "Lottery Win",
+                "Congratulations! You have been selected in the lottery draw for " + event.getName() + ".",
+                event.getId(),
+                event.getName(),
+                event.getPosterImageUrl(),
+                new OperationCallback() {
+                    @Override
+                    public void onSuccess() {
+                        Log.d(TAG, "Win notifications sent to " + winners.size() + " users");
+                    }
 
-                        @Override
-                        public void onError(String errorMessage) {
-                            Log.e(TAG, "Failed to send win notification: " + errorMessage);
-                        }
-                    });
-        }
+                    @Override
+                    public void onError(String errorMessage) {
+                        Log.e(TAG, "Failed to send win notifications: " + errorMessage);
+                    }
+                });
 
         // Send lose notifications
-        for (String userId : losers) {
-            notificationController.sendNotification(
-                    userId,
-                    "Lottery Result",
-                    "Unfortunately, you were not selected in the lottery draw for " + event.getName()
-                            + ". You remain on the waiting list.",
-                    event.getId(),
-                    event.getName(),
-                    event.getPosterImageUrl(),
-                    new OperationCallback() {
-                        @Override
-                        public void onSuccess() {
-                            Log.d(TAG, "Lose notification sent to: " + userId);
-                        }
+        notificationController.broadcastNotification(
+                losers,
+                "Lottery Result",
+                "Unfortunately, you were not selected in the lottery draw for " + event.getName()
+                        + ". You remain on the waiting list.",
+                event.getId(),
+                event.getName(),
+                event.getPosterImageUrl(),
+                new OperationCallback() {
+                    @Override
+                    public void onSuccess() {
+                        Log.d(TAG, "Lose notifications sent to " + losers.size() + " users");
+                    }
 
-                        @Override
-                        public void onError(String errorMessage) {
-                            Log.e(TAG, "Failed to send lose notification: " + errorMessage);
-                        }
-                    });
-        }
+                    @Override
+                    public void onError(String errorMessage) {
+                        Log.e(TAG, "Failed to send lose notifications: " + errorMessage);
+                    }
+                });
 
         // Return success after initiating all notifications
         callback.onSuccess();
@@ -353,6 +350,21 @@ public class OrganizerEventController {
      */
     public void sendNotificationToEntrants(String eventId, List<String> userIds, String message,
             OperationCallback callback) {
+        sendNotificationToEntrants(eventId, userIds, message, null, callback);
+    }
+
+    /**
+     * Sends a custom notification to a list of entrants, reporting delivery progress.
+     * Delivery is paced, so large lists can take a while to finish.
+     *
+     * @param eventId  the event ID
+     * @param userIds  the list of user IDs to notify
+     * @param message  the notification message
+     * @param progress receives delivered/failed counts as the broadcast proceeds (optional)
+     * @param callback the callback to receive success or error
+     */
+    public void sendNotificationToEntrants(String eventId, List<String> userIds, String message,
+            NotificationFanOut.Listener progress, OperationCallback callback) {
         if (userIds == null || userIds.isEmpty()) {
             callback.onError("No entrants to notify");
             return;
@@ -367,48 +379,8 @@ public class OrganizerEventController {
         eventRepository.getEventById(eventId, new FirestoreCallback<Event>() {
             @Override
             public void onSuccess(Event event) {
-                int totalNotifications = userIds.size();
-                int[] successCount = { 0 };
-                int[] errorCount = { 0 };
-
-                for (String userId : userIds) {
-                    notificationController.sendNotification(userId, "Event Update", message, eventId, event.getName(),
-                            event.getPosterImageUrl(), new OperationCallback() {
-                                @Override
-                                public void onSuccess() {
-                                    successCount[0]++;
-                                    Log.d(TAG, "Notification sent to: " + userId);
-
-                                    // Check if all notifications have been processed
-                                    if (successCount[0] + errorCount[0] == totalNotifications) {
-                                        if (errorCount[0] == 0) {
-                                            callback.onSuccess();
-                                        } else {
-                                            callback.onError("Some notifications failed. " + successCount[0] + " sent, "
-                                                    + errorCount[0]
-                                                    + " failed");
-                                        }
-                                    }
-                                }
-
-                                @Override
-                                public void onError(String errorMessage) {
-                                    errorCount[0]++;
-                                    Log.e(TAG, "Failed to send notification to " + userId + ": " + errorMessage);
-
-                                    // Check if all notifications have been processed
-                                    if (successCount[0] + errorCount[0] == totalNotifications) {
-                                        if (successCount[0] > 0) {
-                                            callback.onError("Some notifications failed. " + successCount[0] + " sent, "
-                                                    + errorCount[0]
-                                                    + " failed");
-                                        } else {
-                                            callback.onError("All notifications failed");
-                                        }
-                                    }
-                                }
-                            });
-                }
+                notificationController.broadcastNotification(userIds, "Event Update", message, eventId,
+                        event.getName(), event.getPosterImageUrl(), progress, callback);
             }
 
             @Override
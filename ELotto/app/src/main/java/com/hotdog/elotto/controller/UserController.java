@@ -1,7 +1,5 @@
 package com.hotdog.elotto.controller;
 
-import static java.lang.Thread.sleep;
-
 import android.os.Build;
 
 import androidx.annotation.RequiresApi;
@@ -11,6 +9,7 @@ import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.helpers.UserStatus;
 import com.hotdog.elotto.model.User;
 import com.hotdog.elotto.repository.UserRepository;
+import com.hotdog.elotto.repository.WriteOutbox;
 
 import java.lang.reflect.Field;
 import java.util.concurrent.CountDownLatch;
@@ -19,14 +18,14 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /**
- * Controller for managing user update operations with retry logic.
+ * Controller for managing user update operations.
  *
- * <p>This controller handles updating user data in Firestore with built-in error
- * handling and retry mechanisms. It ensures data integrity by verifying user existence
- * before updates and automatically retrying failed operations until successful.</p>
+ * <p>This controller handles saving user data to Firestore. It ensures data integrity by
+ * verifying user existence before updates, then hands the write to the {@link WriteOutbox},
+ * which persists it and retries it until Firestore accepts it, even across app restarts.</p>
  *
- * <p>The controller uses background threads to perform updates asynchronously and
- * implements a retry mechanism that waits 60 seconds between failed attempts.</p>
+ * <p>The existence check runs on a background thread so it can block while the user is
+ * fetched.</p>
  *
  * <p>Controller layer component in MVC architecture pattern.</p>
  *
@@ -56,11 +55,6 @@ public class UserController {
      */
     Boolean doUpdate = true;
 
-    /**
-     * Flag indicating whether the update was successful.
-     */
-    Boolean updateSuccess = false;
-
     /**
      * Constructs a new UserController for the specified user.
      *
@@ -71,11 +65,11 @@ public class UserController {
     }
 
     /**
-     * Starts the asynchronous update cycle for the user.
+     * Starts the asynchronous update for the user.
      *
-     * <p>This method executes the update operation on a background thread. In the event
-     * that updating the user results in an error, the update will continue to retry
-     * automatically until successful or the app closes.</p>
+     * <p>This method executes the update operation on a background thread. Once the user's
+     * existence is confirmed the write is queued in the {@link WriteOutbox}, which retries it
+     * until successful, including after the app is restarted.</p>
      *
      * <p><b>Note:</b> This method returns immediately and performs updates asynchronously.</p>
      */
@@ -84,7 +78,7 @@ public class UserController {
     }
 
     /**
-     * Attempts to update the user with automatic retry logic.
+     * Confirms the user exists and queues the update.
      *
      * <p><b>WARNING:</b> This method <b>WILL</b> block the thread it runs on and is
      * intended only for internal use by the UserController on the background thread.</p>
@@ -93,96 +87,65 @@ public class UserController {
      * <ol>
      *     <li>If user existence is unknown, attempts to fetch user from Firestore</li>
      *     <li>Merges fetched data with local user object if found</li>
-     *     <li>Attempts to update user in Firestore</li>
-     *     <li>On failure, waits 60 seconds and retries</li>
-     *     <li>Continues retry loop until successful</li>
+     *     <li>Queues the user write in the {@link WriteOutbox}</li>
      * </ol>
      *
-     * <p>This retry mechanism maintains data integrity by ensuring the user actually
-     * exists before overwriting data, and guarantees eventual consistency by retrying
-     * failed operations.</p>
+     * <p>This maintains data integrity by ensuring the user actually exists before
+     * overwriting data, and the outbox guarantees eventual consistency.</p>
      *
      * <p>The method uses reflection to update the user's status field, which is
      * otherwise private to maintain encapsulation.</p>
      */
     private void attemptUpdate() {
-        while (!updateSuccess) {// If the user was never able to be properly fetched, we retry to make sure we aren't overriding data.
-            if (this.user.exists() == UserStatus.Error) {
-                UserRepository.getInstance().getUserById(user.getId(), new FirestoreCallback<User>() {
-                    @Override
-                    public void onSuccess(User result) {
-                        user.Merge(result);
-                        try {
-                            // Status should only ever be accessed publicly here
-                            Field field = User.class.getDeclaredField("status");
-                            field.setAccessible(true);
-                            field.set(user, UserStatus.Existent);
-                        } catch (NoSuchFieldException | IllegalAccessException e) {
-                            throw new RuntimeException(e);
-                        }
-                        doUpdate = true;
-                        updateLatch.countDown();
-                    }
-
-                    @Override
-                    public void onError(String errorMessage) {
-                        // If the db was accessed and user wasn't there, update, otherwise an error occurred and we wait.
-                        doUpdate = errorMessage.toLowerCase().contains("user not found");
-                        updateLatch.countDown();
-                    }
-                });
-                // Wait for result of user fetch
-                try {
-                    updateLatch.await();
-                } catch (InterruptedException e) {
-                    // If we are interrupted before getting our result we play it safe
-                    updateSuccess = false;
-                    continue;
-                }
-            }
-
-            // If we hit an error and can't confirm whether the user existed or not, we return
-            // Assume we are updating
-            if (!doUpdate) return;
+        // If the user was never able to be properly fetched, we retry to make sure we aren't overriding data.
+        if (this.user.exists() == UserStatus.Error) {
             updateLatch = new CountDownLatch(1);
-            UserRepository.getInstance().updateUser(user, new OperationCallback() {
+            UserRepository.getInstance().getUserById(user.getId(), new FirestoreCallback<User>() {
                 @Override
-                public void onSuccess() {
-                    // Update the user status to existent if we successfully set their info
-                    if (user.exists() == UserStatus.Nonexistent) {
-                        try {
-                            Field field = User.class.getDeclaredField("status");
-                            field.setAccessible(true);
-                            field.set(user, UserStatus.Existent);
-                        } catch (NoSuchFieldException | IllegalAccessException e) {
-                            throw new RuntimeException(e);
-                        }
-                    }
-                    updateSuccess = true;
+                public void onSuccess(User result) {
+                    user.Merge(result);
+                    setExistent();
+                    doUpdate = true;
                     updateLatch.countDown();
                 }
 
                 @Override
                 public void onError(String errorMessage) {
-                    // We don't finish this thread and continue to attempt periodically until we are successful
-                    updateSuccess = false;
+                    // If the db was accessed and user wasn't there, update, otherwise an error occurred and we wait.
+                    doUpdate = errorMessage.toLowerCase().contains("user not found");
+                    updateLatch.countDown();
                 }
             });
-            // Again wait for confirmation of update
+            // Wait for result of user fetch
             try {
                 updateLatch.await();
             } catch (InterruptedException e) {
                 // If we are interrupted before getting our result we play it safe
-                updateSuccess = false;
-                continue;
+                return;
             }
+        }
 
-            if(!updateSuccess) {
-                // If we are interrupted here then we can just try again
-                try {
-                    sleep(60000);
-                } catch (InterruptedException ignored) {}
-            }
+        // If we hit an error and can't confirm whether the user existed or not, we return
+        if (!doUpdate) return;
+
+        UserRepository.getInstance().enqueueUpdateUser(user);
+
+        // The write is durable now, so the user will exist once the outbox drains
+        if (user.exists() == UserStatus.Nonexistent) {
+            setExistent();
+        }
+    }
+
+    /**
+     * Marks the user as existing in Firestore. Status should only ever be set publicly here.
+     */
+    private void setExistent() {
+        try {
+            Field field = User.class.getDeclaredField("status");
+            field.setAccessible(true);
+            field.set(user, UserStatus.Existent);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+}
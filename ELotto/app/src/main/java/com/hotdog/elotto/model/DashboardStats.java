@@ -0,0 +1,73 @@
+package com.hotdog.elotto.model;
+
+/**
+ * Counts shown on the admin dashboard.
+ *
+ * <p>Every value comes from a server-side count, so none of the collections is downloaded.
+ * A count that could not be loaded is {@link #UNKNOWN}.</p>
+ *
+ * <p>Model layer.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class DashboardStats {
+
+    /**
+     * Value of a count that failed to load.
+     */
+    public static final int UNKNOWN = -1;
+
+    private final int totalEvents;
+    private final int openEvents;
+    private final int pendingDraws;
+    private final int eventsWithImages;
+    private final int totalUsers;
+    private final int organizers;
+
+    /**
+     * Creates a set of dashboard counts.
+     *
+     * @param totalEvents      every event
+     * @param openEvents       events open for registration now
+     * @param pendingDraws     events whose registration has closed and whose lottery has not been drawn
+     * @param eventsWithImages events that have a poster image
+     * @param totalUsers       every user profile
+     * @param organizers       users who have created an event
+     */
+    public DashboardStats(int totalEvents, int openEvents, int pendingDraws, int eventsWithImages,
+                          int totalUsers, int organizers) {
+        this.totalEvents = totalEvents;
+        this.openEvents = openEvents;
+        this.pendingDraws = pendingDraws;
+        this.eventsWithImages = eventsWithImages;
+        this.totalUsers = totalUsers;
+        this.organizers = organizers;
+    }
+
+    public int getTotalEvents() {
+        return totalEvents;
+    }
+
+    public int getOpenEvents() {
+        return openEvents;
+    }
+
+    public int getPendingDraws() {
+        return pendingDraws;
+    }
+
+    public int getEventsWithImages() {
+        return eventsWithImages;
+    }
+
+    public int getTotalUsers() {
+        return totalUsers;
+    }
+
+    public int getOrganizers() {
+        return organizers;
+    }
+}
@@ -41,6 +41,7 @@ public class Event implements Serializable {
     private String name;
     private String description;
     private String location;
+    private GeoPoint coordinates;           // Where the location is, if it was picked from a map search
     private Date eventDateTime;
 
     // Registration Information
@@ -71,6 +72,7 @@ public class Event implements Serializable {
     // Lists (stored as references in Firebase, not full objects)
     private List<String> waitlistEntrantIds;    // List of entrant IDs on waiting list
     private List<String> selectedEntrantIds;    // List of entrant IDs selected in lottery
+    private boolean drawn;                      // True once the lottery has been drawn
     private List<String> acceptedEntrantIds;    // List of entrant IDs who accepted
     private List<String> cancelledEntrantIds;   // List of entrant IDs who cancelled/declined
     //HashMap of the entrants locations
@@ -387,6 +389,24 @@ public class Event implements Serializable {
         this.price = price;
     }
 
+    /**
+     * Gets the coordinates of the event's location.
+     *
+     * @return the coordinates, or null if the location was typed in rather than picked
+     */
+    public GeoPoint getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * Sets the coordinates of the event's location.
+     *
+     * @param coordinates the coordinates, or null if unknown
+     */
+    public void setCoordinates(GeoPoint coordinates) {
+        this.coordinates = coordinates;
+    }
+
     /**
      * Checks if geolocation verification is required to join the waiting list.
      *
@@ -459,6 +479,24 @@ public class Event implements Serializable {
         this.selectedEntrantIds = selectedEntrantIds;
     }
 
+    /**
+     * Checks if the lottery has been drawn for this event.
+     *
+     * @return true once entrants have been selected, false otherwise
+     */
+    public boolean isDrawn() {
+        return drawn;
+    }
+
+    /**
+     * Sets whether the lottery has been drawn for this event.
+     *
+     * @param drawn true once entrants have been selected
+     */
+    public void setDrawn(boolean drawn) {
+        this.drawn = drawn;
+    }
+
     /**
      * Gets the list of entrant IDs who accepted their invitation.
      *
@@ -0,0 +1,171 @@
+package com.hotdog.elotto.model;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.GeoPoint;
+
+import java.util.Date;
+
+/**
+ * Compact, parcelable snapshot of an {@link Event} used as a navigation argument.
+ *
+ * <p>Only the fields needed to render a screen header or centre a map are kept (no poster
+ * image and no entrant lists or locations), so the summary stays well under the Binder transaction limit and is cheap
+ * to write into the saved instance state. Destination fragments use it to show something
+ * immediately and to restore after process death, while the full event is resolved by ID
+ * through {@link com.hotdog.elotto.repository.EventStore}.</p>
+ *
+ * <p>Model layer.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class EventSummary implements Parcelable {
+
+    /**
+     * Marker stored in place of a missing event date.
+     */
+    private static final long NO_DATE = -1L;
+
+    private final String id;
+    private final String name;
+    private final String location;
+    private final long eventDateTimeMillis;
+    private final String organizerId;
+    private final boolean geolocationRequired;
+    private final double latitude;
+    private final double longitude;
+
+    /**
+     * Builds a summary from a full event.
+     *
+     * @param event the event to summarize
+     */
+    public EventSummary(@NonNull Event event) {
+        this.id = event.getId();
+        this.name = event.getName();
+        this.location = event.getLocation();
+        this.eventDateTimeMillis = event.getEventDateTime() != null
+                ? event.getEventDateTime().getTime() : NO_DATE;
+        this.organizerId = event.getOrganizerId();
+        this.geolocationRequired = event.isGeolocationRequired();
+        GeoPoint coordinates = event.getCoordinates();
+        this.latitude = coordinates != null ? coordinates.getLatitude() : Double.NaN;
+        this.longitude = coordinates != null ? coordinates.getLongitude() : Double.NaN;
+    }
+
+    /**
+     * Recreates a summary from a parcel.
+     *
+     * @param in the parcel written by {@link #writeToParcel(Parcel, int)}
+     */
+    protected EventSummary(Parcel in) {
+        id = in.readString();
+        name = in.readString();
+        location = in.readString();
+        eventDateTimeMillis = in.readLong();
+        organizerId = in.readString();
+        geolocationRequired = in.readByte() != 0;
+        latitude = in.readDouble();
+        longitude = in.readDouble();
+    }
+
+    public static final Creator<EventSummary> CREATOR = new Creator<EventSummary>() {
+        @Override
+        public EventSummary createFromParcel(Parcel in) {
+            return new EventSummary(in);
+        }
+
+        @Override
+        public EventSummary[] newArray(int size) {
+            return new EventSummary[size];
+        }
+    };
+
+    @Override
+    public void writeToParcel(@NonNull Parcel dest, int flags) {
+        dest.writeString(id);
+        dest.writeString(name);
+        dest.writeString(location);
+        dest.writeLong(eventDateTimeMillis);
+        dest.writeString(organizerId);
+        dest.writeByte((byte) (geolocationRequired ? 1 : 0));
+        dest.writeDouble(latitude);
+        dest.writeDouble(longitude);
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    /**
+     * Gets the ID of the summarized event.
+     *
+     * @return the event ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the name of the summarized event.
+     *
+     * @return the event name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the location of the summarized event.
+     *
+     * @return the event location
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Gets the date and time of the summarized event.
+     *
+     * @return the event date, or null if the event has none
+     */
+    public Date getEventDateTime() {
+        return eventDateTimeMillis == NO_DATE ? null : new Date(eventDateTimeMillis);
+    }
+
+    /**
+     * Gets the organizer ID of the summarized event.
+     *
+     * @return the organizer's ID
+     */
+    public String getOrganizerId() {
+        return organizerId;
+    }
+
+    /**
+     * Checks if the summarized event requires geolocation to join.
+     *
+     * @return true if geolocation is required, false otherwise
+     */
+    public boolean isGeolocationRequired() {
+        return geolocationRequired;
+    }
+
+    /**
+     * Gets the coordinates of the summarized event.
+     *
+     * @return the coordinates, or null if the event's location was typed in rather than picked
+     */
+    @Nullable
+    public GeoPoint getCoordinates() {
+        return Double.isNaN(latitude) ? null : new GeoPoint(latitude, longitude);
+    }
+}
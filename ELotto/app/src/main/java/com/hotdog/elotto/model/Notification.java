@@ -68,6 +68,12 @@ public class Notification {
      */
     private String userId;
 
+    /**
+     * The ID of the shared {@link NotificationTemplate} holding this notification's content,
+     * or null if the content is stored on the notification itself.
+     */
+    private String templateId;
+
     /**
      * Default constructor required for Firestore serialization.
      */
@@ -255,6 +261,37 @@ public class Notification {
         this.userId = userId;
     }
 
+    /**
+     * Gets the ID of the template holding this notification's content.
+     *
+     * @return the template ID, or null if the content is stored on the notification
+     */
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    /**
+     * Sets the ID of the template holding this notification's content.
+     *
+     * @param templateId the template ID to set
+     */
+    public void setTemplateId(String templateId) {
+        this.templateId = templateId;
+    }
+
+    /**
+     * Copies the shared content of a template onto this notification for display.
+     *
+     * @param template the template this notification refers to
+     */
+    public void applyTemplate(NotificationTemplate template) {
+        this.title = template.getTitle();
+        this.message = template.getMessage();
+        this.eventId = template.getEventId();
+        this.eventTitle = template.getEventTitle();
+        this.eventImageUrl = template.getEventImageUrl();
+    }
+
     /**
      * Gets a formatted timestamp string for display purposes.
      *
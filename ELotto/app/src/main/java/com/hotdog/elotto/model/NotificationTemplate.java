@@ -0,0 +1,140 @@
+package com.hotdog.elotto.model;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentId;
+
+/**
+ * Model class for the shared content of a notification sent to many users.
+ *
+ * <p>A broadcast stores its title, message and event details once in the
+ * "notificationTemplates" collection. Each recipient's {@link Notification} only holds the
+ * template ID with its own read state and timestamp, so a large poster image is not copied
+ * into every inbox.</p>
+ *
+ * <p>Templates are never changed after they are created.</p>
+ *
+ * <p>Model layer component in MVC architecture pattern.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class NotificationTemplate {
+    /**
+     * The template's Firestore document ID.
+     */
+    @DocumentId
+    private String id;
+
+    /**
+     * The title/subject of the notification.
+     */
+    private String title;
+
+    /**
+     * The detailed message content of the notification.
+     */
+    private String message;
+
+    /**
+     * The ID of the event associated with the notification.
+     */
+    private String eventId;
+
+    /**
+     * The title of the event associated with the notification.
+     */
+    private String eventTitle;
+
+    /**
+     * The URL or Base64 string of the event's poster image.
+     */
+    private String eventImageUrl;
+
+    /**
+     * When the template was created.
+     */
+    private Timestamp createdAt;
+
+    /**
+     * Default constructor required for Firestore serialization.
+     */
+    public NotificationTemplate() {
+    }
+
+    /**
+     * Constructs a new template with the given content, created now.
+     *
+     * @param title         the notification title
+     * @param message       the notification message content
+     * @param eventId       the ID of the associated event
+     * @param eventTitle    the title of the associated event
+     * @param eventImageUrl the poster of the associated event
+     */
+    public NotificationTemplate(String title, String message, String eventId, String eventTitle,
+                                String eventImageUrl) {
+        this.title = title;
+        this.message = message;
+        this.eventId = eventId;
+        this.eventTitle = eventTitle;
+        this.eventImageUrl = eventImageUrl;
+        this.createdAt = Timestamp.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventTitle() {
+        return eventTitle;
+    }
+
+    public void setEventTitle(String eventTitle) {
+        this.eventTitle = eventTitle;
+    }
+
+    public String getEventImageUrl() {
+        return eventImageUrl;
+    }
+
+    public void setEventImageUrl(String eventImageUrl) {
+        this.eventImageUrl = eventImageUrl;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+}
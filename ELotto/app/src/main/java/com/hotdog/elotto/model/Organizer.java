@@ -115,6 +115,14 @@ public class Organizer {
         this.deviceId = null;
     }
 
+    /**
+     * Constructor used by OrganizerCodec to create a blank Organizer for a stored document.
+     * @param deviceId The document ID of the stored organizer.
+     */
+    public Organizer(String deviceId) {
+        this.deviceId = deviceId;
+    }
+
     public void setOrg(Organizer org) {
         this.user=org.user;
         this.myEvents=org.myEvents;
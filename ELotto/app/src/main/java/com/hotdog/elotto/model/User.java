@@ -294,6 +294,13 @@ public class User {
      */
     public User() {deviceId="";}
 
+    /**
+     * Constructor used by UserCodec to create a blank User for a stored document.
+     * NEVER USE THIS AS A PERSON
+     * @param deviceId The document ID of the stored user.
+     */
+    public User(String deviceId) {this.deviceId=deviceId;}
+
     /**
     * Class Constructor that will <b>ALWAYS</b> get the user of this phone.
      * If atomic is true, then the main thread will not run until either a result or error has returned.
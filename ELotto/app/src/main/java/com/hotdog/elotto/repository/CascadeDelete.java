@@ -0,0 +1,538 @@
+package com.hotdog.elotto.repository;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Deletes an event or a profile together with every reference other documents hold to it.
+ *
+ * <p>Deleting an event also removes it from its organizer's {@code myEvents}, from the
+ * {@code regEvents} of every user registered for it, and deletes every notification and
+ * notification template about it. Deleting a profile also removes the user from every event's
+ * entrant lists and entrant locations, and deletes their notifications and organizer
+ * document. The document itself is deleted last, so an interrupted job still knows what it
+ * was cleaning up after.</p>
+ *
+ * <p>Each kind of reference is one {@link Stage}. A stage finds the references that are left
+ * with a query and removes up to {@link FirestoreLimits#MAX_BATCH_WRITES} of them in one
+ * {@link WriteBatch} per chunk, and is run chunk after chunk until a chunk finds nothing.
+ * Because every chunk only looks at what is left, running a chunk twice is harmless.</p>
+ *
+ * <p>A {@link Checkpoint} of each running job (its stage and the documents written so far) is
+ * saved after every chunk. Jobs the app was killed in the middle of are resumed from their
+ * checkpoint by {@link #init}. A chunk that fails with a transient error is retried with
+ * exponential backoff, up to {@link #MAX_ATTEMPTS} times; after that the job stops but keeps
+ * its checkpoint, which is saved alongside the running jobs' until the job is started again,
+ * by the next launch or by deleting the same document, and carries on from there. A
+ * permanent failure drops the job.</p>
+ *
+ * <p>Progress, including the job's throughput in documents written per second, is reported
+ * after every chunk on the main thread.</p>
+ *
+ * <p><b>Design Pattern:</b> Singleton, like {@link NotificationFanOut}. Storage, stages,
+ * scheduler and clock are injectable for testing.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class CascadeDelete {
+    private static final String TAG = "CascadeDelete";
+
+    /**
+     * Attempts per chunk before the job is left for the next launch.
+     */
+    static final int MAX_ATTEMPTS = 5;
+    static final long RETRY_BASE_DELAY_MILLIS = 1000;
+
+    private static CascadeDelete instance;
+
+    /**
+     * What a job deletes.
+     */
+    public enum Kind {
+        EVENT,
+        PROFILE
+    }
+
+    /**
+     * Removes one kind of reference to the deleted document, a chunk at a time.
+     */
+    public interface Stage {
+        /**
+         * @return a short name for progress reports
+         */
+        String name();
+
+        /**
+         * Finds up to one batch of remaining references and removes them.
+         *
+         * @param targetId the ID of the event or profile being deleted
+         * @param callback told how many documents were written, 0 once none are left
+         */
+        void runChunk(String targetId, ChunkCallback callback);
+    }
+
+    /**
+     * Outcome of a {@link Stage#runChunk}.
+     */
+    public interface ChunkCallback {
+        /**
+         * @param written documents written by the chunk, 0 if the stage is finished
+         */
+        void onChunk(int written);
+
+        /**
+         * @param permanent true if retrying the chunk can never succeed
+         * @param message   the error message
+         */
+        void onError(boolean permanent, String message);
+    }
+
+    /**
+     * Where a job had got to, saved after every chunk.
+     */
+    public static class Checkpoint {
+        private final Kind kind;
+        private final String targetId;
+        private final int stage;
+        private final long written;
+
+        /**
+         * @param kind     what the job deletes
+         * @param targetId the ID of the event or profile
+         * @param stage    index of the stage to run next
+         * @param written  documents written so far
+         */
+        public Checkpoint(@NonNull Kind kind, @NonNull String targetId, int stage, long written) {
+            this.kind = kind;
+            this.targetId = targetId;
+            this.stage = stage;
+            this.written = written;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getTargetId() {
+            return targetId;
+        }
+
+        public int getStage() {
+            return stage;
+        }
+
+        public long getWritten() {
+            return written;
+        }
+    }
+
+    /**
+     * Durable storage for the checkpoints of unfinished jobs.
+     */
+    public interface Store {
+        /**
+         * @return the checkpoints saved by the last {@link #save}, empty if none
+         */
+        List<Checkpoint> load();
+
+        /**
+         * Replaces the saved checkpoints. Called off the main thread.
+         *
+         * @param checkpoints one per unfinished job
+         */
+        void save(List<Checkpoint> checkpoints);
+    }
+
+    /**
+     * A snapshot of one job's progress.
+     */
+    public static class Progress {
+        private final Kind kind;
+        private final String targetId;
+        private final String stageName;
+        private final int stage;
+        private final int stageCount;
+        private final long written;
+        private final double documentsPerSecond;
+
+        Progress(Kind kind, String targetId, String stageName, int stage, int stageCount, long written,
+                 double documentsPerSecond) {
+            this.kind = kind;
+            this.targetId = targetId;
+            this.stageName = stageName;
+            this.stage = stage;
+            this.stageCount = stageCount;
+            this.written = written;
+            this.documentsPerSecond = documentsPerSecond;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getTargetId() {
+            return targetId;
+        }
+
+        /**
+         * @return the name of the stage running, or of the last stage once complete
+         */
+        public String getStageName() {
+            return stageName;
+        }
+
+        /**
+         * @return index of the stage running, equal to {@link #getStageCount} once complete
+         */
+        public int getStage() {
+            return stage;
+        }
+
+        public int getStageCount() {
+            return stageCount;
+        }
+
+        /**
+         * @return documents written so far, including before a resume
+         */
+        public long getWritten() {
+            return written;
+        }
+
+        /**
+         * @return documents written per second since the job started or resumed
+         */
+        public double getDocumentsPerSecond() {
+            return documentsPerSecond;
+        }
+    }
+
+    /**
+     * Receives the progress of one job, on the main thread.
+     */
+    public interface Listener {
+        /**
+         * Called after every chunk that wrote something.
+         *
+         * @param progress the job's progress
+         */
+        void onProgress(Progress progress);
+
+        /**
+         * Called once every stage has finished.
+         *
+         * @param progress the job's final progress
+         */
+        void onComplete(Progress progress);
+
+        /**
+         * Called if the job stops before finishing.
+         *
+         * @param message the error message
+         */
+        void onError(String message);
+    }
+
+    /**
+     * Runs work after a delay.
+     */
+    public interface Scheduler {
+        void schedule(Runnable work, long delayMillis);
+    }
+
+    private final Store store;
+    private final Map<Kind, List<Stage>> stages;
+    private final Scheduler scheduler;
+    private final Executor callbackExecutor;
+    private final Executor persistExecutor;
+    private final LongSupplier clock;
+
+    /**
+     * Running jobs by {@link #key}, in start order.
+     */
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    /**
+     * Checkpoints of jobs stopped by a transient failure, by {@link #key}, kept until the job
+     * is started again.
+     */
+    private final Map<String, Checkpoint> stopped = new LinkedHashMap<>();
+
+    /**
+     * Sets up the shared job runner and resumes any job left unfinished by a previous run.
+     * Called once from {@code MainActivity}.
+     *
+     * @param context any context, the application context is kept
+     */
+    public static synchronized void init(@NonNull Context context) {
+        if (instance != null) return;
+
+        instance = create(new SharedPreferencesCascadeStore(context.getApplicationContext()));
+        instance.resumePending();
+    }
+
+    /**
+     * Returns the shared job runner. If {@link #init} has not run yet, one that only keeps
+     * checkpoints in memory is used so deletes still run.
+     *
+     * @return the shared job runner
+     */
+    public static synchronized CascadeDelete getInstance() {
+        if (instance == null) {
+            Log.w(TAG, "Cascade delete used before init, jobs will not resume after process death");
+            instance = create(new Store() {
+                @Override
+                public List<Checkpoint> load() {
+                    return new ArrayList<>();
+                }
+
+                @Override
+                public void save(List<Checkpoint> checkpoints) {}
+            });
+        }
+        return instance;
+    }
+
+    private static CascadeDelete create(Store store) {
+        Map<Kind, List<Stage>> stages = new EnumMap<>(Kind.class);
+        stages.put(Kind.EVENT, CascadeDeleteStages.forEvent());
+        stages.put(Kind.PROFILE, CascadeDeleteStages.forProfile());
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        return new CascadeDelete(store, stages, mainHandler::postDelayed, RepositoryExecutors.main(),
+                Executors.newSingleThreadExecutor(), SystemClock::elapsedRealtime);
+    }
+
+    /**
+     * Constructor for dependency injection (useful for testing).
+     *
+     * @param store            where checkpoints are persisted
+     * @param stages           the stages of each kind of job, in order
+     * @param scheduler        runs chunks and delays retries
+     * @param callbackExecutor where listeners are called
+     * @param persistExecutor  runs {@link Store#save} off the main thread
+     * @param clock            milliseconds, for throughput
+     */
+    public CascadeDelete(@NonNull Store store, @NonNull Map<Kind, List<Stage>> stages,
+                         @NonNull Scheduler scheduler, @NonNull Executor callbackExecutor,
+                         @NonNull Executor persistExecutor, @NonNull LongSupplier clock) {
+        this.store = store;
+        this.stages = stages;
+        this.scheduler = scheduler;
+        this.callbackExecutor = callbackExecutor;
+        this.persistExecutor = persistExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts deleting an event and everything referring to it, and returns straight away.
+     *
+     * @param eventId  the event
+     * @param listener receives progress and completion, or null for none
+     */
+    public void deleteEvent(@NonNull String eventId, @Nullable Listener listener) {
+        start(Kind.EVENT, eventId, 0, 0, listener);
+    }
+
+    /**
+     * Starts deleting a profile and everything referring to it, and returns straight away.
+     *
+     * @param userId   the user
+     * @param listener receives progress and completion, or null for none
+     */
+    public void deleteProfile(@NonNull String userId, @Nullable Listener listener) {
+        start(Kind.PROFILE, userId, 0, 0, listener);
+    }
+
+    /**
+     * Resumes every job whose checkpoint was saved but which is not running.
+     */
+    public void resumePending() {
+        for (Checkpoint checkpoint : store.load()) {
+            Log.i(TAG, "Resuming delete of " + checkpoint.getKind() + " " + checkpoint.getTargetId()
+                    + " at stage " + checkpoint.getStage());
+            start(checkpoint.getKind(), checkpoint.getTargetId(), checkpoint.getStage(),
+                    checkpoint.getWritten(), null);
+        }
+    }
+
+    /**
+     * @param kind     what the job deletes
+     * @param targetId the ID of the event or profile
+     * @return true if a job for this document is running
+     */
+    public synchronized boolean isRunning(@NonNull Kind kind, @NonNull String targetId) {
+        return jobs.containsKey(key(kind, targetId));
+    }
+
+    private void start(Kind kind, String targetId, int stage, long written, @Nullable Listener listener) {
+        Job job;
+        synchronized (this) {
+            Job running = jobs.get(key(kind, targetId));
+            if (running != null) {
+                // Deleting something already being deleted just follows the running job
+                if (listener != null) running.listeners.add(listener);
+                return;
+            }
+            Checkpoint resumed = stopped.remove(key(kind, targetId));
+            if (resumed != null && resumed.getStage() >= stage) {
+                // Deleting something a stopped job was deleting carries on where it stopped
+                stage = resumed.getStage();
+                written = resumed.getWritten();
+            }
+            job = new Job(kind, targetId, stagesOf(kind), stage, written, clock.getAsLong());
+            if (listener != null) job.listeners.add(listener);
+            jobs.put(key(kind, targetId), job);
+            persist();
+        }
+        scheduler.schedule(() -> runChunk(job, 1), 0);
+    }
+
+    private List<Stage> stagesOf(Kind kind) {
+        List<Stage> kindStages = stages.get(kind);
+        return kindStages != null ? kindStages : Collections.emptyList();
+    }
+
+    private void runChunk(Job job, int attempt) {
+        if (job.stage >= job.stages.size()) {
+            finish(job, null, false);
+            return;
+        }
+
+        Stage stage = job.stages.get(job.stage);
+        stage.runChunk(job.targetId, new ChunkCallback() {
+            @Override
+            public void onChunk(int written) {
+                synchronized (CascadeDelete.this) {
+                    if (written > 0) {
+                        job.written += written;
+                        job.writtenThisRun += written;
+                    } else {
+                        job.stage++;
+                    }
+                    persist();
+                }
+                if (written > 0) {
+                    Progress progress = job.progress();
+                    job.notifyListeners(listener -> listener.onProgress(progress));
+                }
+                scheduler.schedule(() -> runChunk(job, 1), 0);
+            }
+
+            @Override
+            public void onError(boolean permanent, String message) {
+                if (!permanent && attempt < MAX_ATTEMPTS) {
+                    Log.w(TAG, "Stage " + stage.name() + " failed, retrying (attempt " + attempt + "): " + message);
+                    scheduler.schedule(() -> runChunk(job, attempt + 1), RETRY_BASE_DELAY_MILLIS << (attempt - 1));
+                    return;
+                }
+                Log.e(TAG, "Delete of " + job.kind + " " + job.targetId + " stopped at stage "
+                        + stage.name() + ": " + message);
+                // A transient failure keeps the checkpoint so the next launch carries on
+                finish(job, message, !permanent);
+            }
+        });
+    }
+
+    private void finish(Job job, @Nullable String error, boolean keepCheckpoint) {
+        synchronized (this) {
+            jobs.remove(key(job.kind, job.targetId));
+            if (keepCheckpoint) {
+                stopped.put(key(job.kind, job.targetId), job.checkpoint());
+            }
+            persist();
+        }
+        if (error == null) {
+            Progress progress = job.progress();
+            Log.i(TAG, "Deleted " + job.kind + " " + job.targetId + ": " + progress.getWritten()
+                    + " documents at " + Math.round(progress.getDocumentsPerSecond()) + "/s");
+            job.notifyListeners(listener -> listener.onComplete(progress));
+        } else {
+            job.notifyListeners(listener -> listener.onError(error));
+        }
+    }
+
+    /**
+     * Saves a checkpoint for every running job and every stopped one. Caller holds the lock.
+     */
+    private void persist() {
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            checkpoints.add(job.checkpoint());
+        }
+        checkpoints.addAll(stopped.values());
+        persistExecutor.execute(() -> store.save(checkpoints));
+    }
+
+    private static String key(Kind kind, String targetId) {
+        return kind + "/" + targetId;
+    }
+
+    /**
+     * State of one running job.
+     */
+    private class Job {
+        final Kind kind;
+        final String targetId;
+        final List<Stage> stages;
+        final long startedAt;
+        final List<Listener> listeners = new ArrayList<>();
+        int stage;
+        long written;
+        long writtenThisRun;
+
+        Job(Kind kind, String targetId, List<Stage> stages, int stage, long written, long startedAt) {
+            this.kind = kind;
+            this.targetId = targetId;
+            this.stages = stages;
+            this.stage = stage;
+            this.written = written;
+            this.startedAt = startedAt;
+        }
+
+        Checkpoint checkpoint() {
+            return new Checkpoint(kind, targetId, stage, written);
+        }
+
+        Progress progress() {
+            synchronized (CascadeDelete.this) {
+                long elapsed = Math.max(1, clock.getAsLong() - startedAt);
+                String stageName = stages.isEmpty() ? ""
+                        : stages.get(Math.min(stage, stages.size() - 1)).name();
+                return new Progress(kind, targetId, stageName, stage, stages.size(), written,
+                        writtenThisRun * 1000.0 / elapsed);
+            }
+        }
+
+        void notifyListeners(Consumer<Listener> call) {
+            List<Listener> snapshot;
+            synchronized (CascadeDelete.this) {
+                snapshot = new ArrayList<>(listeners);
+            }
+            for (Listener listener : snapshot) {
+                callbackExecutor.execute(() -> call.accept(listener));
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.hotdog.elotto.repository;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * The Firestore stages of {@link CascadeDelete}, in the order they run.
+ *
+ * <p>Every stage queries for the references that are left, so a chunk re-run after an
+ * interruption finds only what the previous run did not get to. The event's entrant lists
+ * double as the list of users still to update: each chunk updates up to
+ * {@link #WHERE_IN_LIMIT} of those users and removes them from the lists in the same batch.</p>
+ *
+ * <p>Finding notifications about an event needs the collection-group single-field index on
+ * eventId.</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+final class CascadeDeleteStages {
+    private static final String EVENTS = "events";
+    private static final String USERS = "users";
+    private static final String ORGANIZERS = "organizers";
+    private static final String TEMPLATES = "notificationTemplates";
+    private static final String FIELD_MY_EVENTS = "myEvents";
+    private static final String FIELD_REG_EVENTS = "regEvents";
+    private static final String FIELD_EVENT_ID = "eventId";
+    private static final String FIELD_ENTRANT_LOCATIONS = "entrantLocations";
+
+    /**
+     * Every list on an event that can hold a user ID.
+     */
+    private static final List<String> ENTRANT_LISTS = Arrays.asList(
+            "waitlistEntrantIds", "selectedEntrantIds", "acceptedEntrantIds", "cancelledEntrantIds");
+
+    /**
+     * Firestore's limit on values in a {@code whereIn} filter.
+     */
+    private static final int WHERE_IN_LIMIT = 30;
+
+    private CascadeDeleteStages() {}
+
+    /**
+     * @return the stages that delete an event and every reference to it
+     */
+    static List<CascadeDelete.Stage> forEvent() {
+        List<CascadeDelete.Stage> stages = new ArrayList<>();
+        stages.add(new QueryStage("organizers", 1,
+                (db, eventId) -> db.collection(ORGANIZERS).whereArrayContains(FIELD_MY_EVENTS, eventId),
+                (batch, db, eventId, organizer) -> {
+                    batch.update(organizer.getReference(), FIELD_MY_EVENTS, FieldValue.arrayRemove(eventId));
+                    return 1;
+                }));
+        stages.add(new EventEntrantsStage());
+        // Users who left every list but still have the event in their history
+        stages.add(new QueryStage("registered users", 1,
+                (db, eventId) -> db.collection(USERS).whereArrayContains(UserRepository.FIELD_REG_EVENT_IDS, eventId),
+                (batch, db, eventId, user) -> unregister(batch, user, eventId)));
+        stages.add(new QueryStage("notifications", 2, NotificationRepository::eventItems,
+                (batch, db, eventId, item) -> NotificationRepository.deleteItem(batch, db, item)));
+        stages.add(new QueryStage("notification templates", 1,
+                (db, eventId) -> db.collection(TEMPLATES).whereEqualTo(FIELD_EVENT_ID, eventId),
+                (batch, db, eventId, template) -> {
+                    batch.delete(template.getReference());
+                    return 1;
+                }));
+        stages.add(new QueryStage("entrant locations", 1,
+                (db, eventId) -> db.collection(EVENTS).document(eventId).collection(EventRepository.ENTRANT_LOCATIONS),
+                (batch, db, eventId, record) -> {
+                    batch.delete(record.getReference());
+                    return 1;
+                }));
+        stages.add(new DocumentStage("event", (db, eventId) -> db.collection(EVENTS).document(eventId)));
+        return stages;
+    }
+
+    /**
+     * @return the stages that delete a profile and every reference to it
+     */
+    static List<CascadeDelete.Stage> forProfile() {
+        List<CascadeDelete.Stage> stages = new ArrayList<>();
+        for (String list : ENTRANT_LISTS) {
+            stages.add(new QueryStage("events " + list, 2,
+                    (db, userId) -> db.collection(EVENTS).whereArrayContains(list, userId),
+                    (batch, db, userId, event) -> removeEntrant(batch, event.getReference(), userId)));
+        }
+        // The inbox goes with the user, so its unread counter is not kept in step
+        stages.add(new QueryStage("notifications", 1, NotificationRepository::itemsRef,
+                (batch, db, userId, item) -> {
+                    batch.delete(item.getReference());
+                    return 1;
+                }));
+        stages.add(new DocumentStage("inbox", NotificationRepository::inboxRef));
+        stages.add(new DocumentStage("organizer", (db, userId) -> db.collection(ORGANIZERS).document(userId)));
+        stages.add(new DocumentStage("user", (db, userId) -> db.collection(USERS).document(userId)));
+        return stages;
+    }
+
+    /**
+     * Removes one event from a user's registrations.
+     *
+     * @return the number of writes added
+     */
+    private static int unregister(WriteBatch batch, DocumentSnapshot user, String eventId) {
+        List<Object> kept = new ArrayList<>();
+        Object raw = user.get(FIELD_REG_EVENTS);
+        if (raw instanceof List) {
+            for (Object entry : (List<?>) raw) {
+                if (entry instanceof Map && eventId.equals(((Map<?, ?>) entry).get(FIELD_EVENT_ID))) continue;
+                kept.add(entry);
+            }
+        }
+        batch.update(user.getReference(), FIELD_REG_EVENTS, kept,
+                UserRepository.FIELD_REG_EVENT_IDS, FieldValue.arrayRemove(eventId));
+        return 1;
+    }
+
+    /**
+     * Removes users from every entrant list of an event and from its entrant locations,
+     * including their indexed location records.
+     *
+     * @return the number of writes added
+     */
+    private static int removeEntrant(WriteBatch batch, DocumentReference event, String... userIds) {
+        List<Object> more = new ArrayList<>();
+        for (String list : ENTRANT_LISTS) {
+            more.add(FieldPath.of(list));
+            more.add(FieldValue.arrayRemove((Object[]) userIds));
+        }
+        for (int i = 1; i < userIds.length; i++) {
+            more.add(FieldPath.of(FIELD_ENTRANT_LOCATIONS, userIds[i]));
+            more.add(FieldValue.delete());
+        }
+        batch.update(event, FieldPath.of(FIELD_ENTRANT_LOCATIONS, userIds[0]), FieldValue.delete(), more.toArray());
+        for (String userId : userIds) {
+            batch.delete(event.collection(EventRepository.ENTRANT_LOCATIONS).document(userId));
+        }
+        return 1 + userIds.length;
+    }
+
+    private static void commit(WriteBatch batch, int writes, CascadeDelete.ChunkCallback callback) {
+        batch.commit()
+                .addOnSuccessListener(aVoid -> callback.onChunk(writes))
+                .addOnFailureListener(e -> fail(callback, e));
+    }
+
+    private static void fail(CascadeDelete.ChunkCallback callback, Exception e) {
+        callback.onError(WriteOutbox.FirestoreCommitter.isPermanent(e), e.getMessage());
+    }
+
+    /**
+     * Adds the writes that remove one document's reference to a batch.
+     */
+    private interface Remover {
+        /**
+         * @return the number of writes added
+         */
+        int remove(WriteBatch batch, FirebaseFirestore db, String targetId, DocumentSnapshot doc);
+    }
+
+    /**
+     * Removes the references found by a query, one batch-sized page at a time.
+     */
+    private static class QueryStage implements CascadeDelete.Stage {
+        private final String name;
+        private final int pageSize;
+        private final BiFunction<FirebaseFirestore, String, Query> query;
+        private final Remover remover;
+        private FirebaseFirestore db;
+
+        /**
+         * @param name              the stage name
+         * @param writesPerDocument the most writes {@code remover} adds per document
+         * @param query             finds the documents still referring to the target
+         * @param remover           removes one document's reference
+         */
+        QueryStage(String name, int writesPerDocument, BiFunction<FirebaseFirestore, String, Query> query,
+                   Remover remover) {
+            this.name = name;
+            this.pageSize = FirestoreLimits.MAX_BATCH_WRITES / writesPerDocument;
+            this.query = query;
+            this.remover = remover;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void runChunk(String targetId, CascadeDelete.ChunkCallback callback) {
+            if (db == null) db = FirebaseFirestore.getInstance();
+
+            query.apply(db, targetId).limit(pageSize).get()
+                    .addOnSuccessListener(snapshots -> {
+                        if (snapshots.isEmpty()) {
+                            callback.onChunk(0);
+                            return;
+                        }
+                        WriteBatch batch = db.batch();
+                        int writes = 0;
+                        for (DocumentSnapshot doc : snapshots.getDocuments()) {
+                            writes += remover.remove(batch, db, targetId, doc);
+                        }
+                        commit(batch, writes, callback);
+                    })
+                    .addOnFailureListener(e -> fail(callback, e));
+        }
+    }
+
+    /**
+     * Deletes one document if it still exists.
+     */
+    private static class DocumentStage implements CascadeDelete.Stage {
+        private final String name;
+        private final BiFunction<FirebaseFirestore, String, DocumentReference> document;
+        private FirebaseFirestore db;
+
+        DocumentStage(String name, BiFunction<FirebaseFirestore, String, DocumentReference> document) {
+            this.name = name;
+            this.document = document;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void runChunk(String targetId, CascadeDelete.ChunkCallback callback) {
+            if (db == null) db = FirebaseFirestore.getInstance();
+
+            DocumentReference ref = document.apply(db, targetId);
+            ref.get()
+                    .addOnSuccessListener(snapshot -> {
+                        if (!snapshot.exists()) {
+                            callback.onChunk(0);
+                            return;
+                        }
+                        WriteBatch batch = db.batch();
+                        batch.delete(ref);
+                        commit(batch, 1, callback);
+                    })
+                    .addOnFailureListener(e -> fail(callback, e));
+        }
+    }
+
+    /**
+     * Unregisters the users on an event's entrant lists, {@link #WHERE_IN_LIMIT} at a time,
+     * taking them off the lists in the same batch.
+     */
+    private static class EventEntrantsStage implements CascadeDelete.Stage {
+        private FirebaseFirestore db;
+
+        @Override
+        public String name() {
+            return "entrants";
+        }
+
+        @Override
+        public void runChunk(String eventId, CascadeDelete.ChunkCallback callback) {
+            if (db == null) db = FirebaseFirestore.getInstance();
+
+            DocumentReference eventRef = db.collection(EVENTS).document(eventId);
+            eventRef.get()
+                    .addOnSuccessListener(event -> {
+                        Set<String> userIds = new LinkedHashSet<>();
+                        for (String list : ENTRANT_LISTS) {
+                            Object raw = event.get(list);
+                            if (!(raw instanceof List)) continue;
+                            for (Object id : (List<?>) raw) {
+                                if (userIds.size() < WHERE_IN_LIMIT && id instanceof String) userIds.add((String) id);
+                            }
+                        }
+                        if (userIds.isEmpty()) {
+                            callback.onChunk(0);
+                            return;
+                        }
+
+                        db.collection(USERS).whereIn(FieldPath.documentId(), new ArrayList<>(userIds)).get()
+                                .addOnSuccessListener(users -> {
+                                    WriteBatch batch = db.batch();
+                                    int writes = removeEntrant(batch, eventRef, userIds.toArray(new String[0]));
+                                    for (DocumentSnapshot user : users.getDocuments()) {
+                                        writes += unregister(batch, user, eventId);
+                                    }
+                                    commit(batch, writes, callback);
+                                })
+                                .addOnFailureListener(e -> fail(callback, e));
+                    })
+                    .addOnFailureListener(e -> fail(callback, e));
+        }
+    }
+}
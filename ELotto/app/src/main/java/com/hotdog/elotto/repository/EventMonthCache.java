@@ -0,0 +1,214 @@
+package com.hotdog.elotto.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hotdog.elotto.callback.FirestoreListCallback;
+import com.hotdog.elotto.model.Event;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process cache of the events in each calendar month, loaded one month window at a time.
+ *
+ * <p>The calendar only needs the month on screen, so instead of the whole feed it asks for
+ * that month's window from {@link EventRepository#getEventsBetween}. Each month is read once
+ * and kept; concurrent requests for a month still loading share one read. Showing a month
+ * also prefetches the months either side, so moving to the next or previous month usually
+ * finds it already here.</p>
+ *
+ * <p>The cache is a bounded LRU of {@link #MAX_MONTHS} months, and is cleared when the
+ * current user creates or deletes an event.</p>
+ *
+ * <p><b>Design Pattern:</b> Singleton, like {@link EventStore}.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class EventMonthCache {
+
+    /**
+     * Maximum number of months kept in memory at once.
+     */
+    static final int MAX_MONTHS = 12;
+
+    /**
+     * Reads the events in a time window.
+     */
+    public interface WindowLoader {
+        /**
+         * @param start    the start of the window, inclusive
+         * @param end      the end of the window, exclusive
+         * @param callback receives the events on the main thread
+         */
+        void load(Date start, Date end, FirestoreListCallback<Event> callback);
+    }
+
+    private static EventMonthCache instance;
+
+    private final WindowLoader loader;
+
+    /**
+     * Access ordered map so the least recently used month is evicted first.
+     */
+    private final Map<Integer, List<Event>> months =
+            new LinkedHashMap<Integer, List<Event>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<Event>> eldest) {
+                    return size() > MAX_MONTHS;
+                }
+            };
+
+    /**
+     * Callbacks waiting on each month being loaded.
+     */
+    private final Map<Integer, List<FirestoreListCallback<Event>>> pending = new HashMap<>();
+
+    /**
+     * Bumped by {@link #clear()} so loads started before it are not cached.
+     */
+    private int generation;
+
+    /**
+     * Returns the singleton instance of the EventMonthCache.
+     *
+     * @return the shared month cache
+     */
+    public static synchronized EventMonthCache getInstance() {
+        if (instance == null) {
+            instance = new EventMonthCache(new EventRepository()::getEventsBetween);
+        }
+        return instance;
+    }
+
+    /**
+     * Constructor for dependency injection, useful for testing.
+     *
+     * @param loader reads the events in a window
+     */
+    public EventMonthCache(@NonNull WindowLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Gets the events in a month, reading its window only if it is not cached.
+     *
+     * @param year     the year
+     * @param month    the month, 0-based as in {@link Calendar#MONTH}
+     * @param callback receives a read-only list of the month's events, by date
+     */
+    public void getMonth(int year, int month, @NonNull FirestoreListCallback<Event> callback) {
+        int key = key(year, month);
+        synchronized (this) {
+            List<Event> cached = months.get(key);
+            if (cached != null) {
+                callback.onSuccess(cached);
+                return;
+            }
+            List<FirestoreListCallback<Event>> waiting = pending.get(key);
+            if (waiting != null) {
+                waiting.add(callback);
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(callback);
+            pending.put(key, waiting);
+        }
+        load(key);
+    }
+
+    /**
+     * Reads the months before and after a month if they are not cached, so the calendar
+     * can move to either without waiting.
+     *
+     * @param year  the year
+     * @param month the month, 0-based as in {@link Calendar#MONTH}
+     */
+    public void prefetchAround(int year, int month) {
+        int key = key(year, month);
+        prefetch(key - 1);
+        prefetch(key + 1);
+    }
+
+    /**
+     * Looks up a month without reading it.
+     *
+     * @param year  the year
+     * @param month the month, 0-based as in {@link Calendar#MONTH}
+     * @return the cached events, or null if the month is not cached
+     */
+    @Nullable
+    public synchronized List<Event> getCached(int year, int month) {
+        return months.get(key(year, month));
+    }
+
+    /**
+     * Drops every cached month. Reads still in flight are delivered but not cached.
+     */
+    public synchronized void clear() {
+        months.clear();
+        generation++;
+    }
+
+    private void prefetch(int key) {
+        synchronized (this) {
+            if (months.containsKey(key) || pending.containsKey(key)) return;
+            pending.put(key, new ArrayList<>());
+        }
+        load(key);
+    }
+
+    private void load(int key) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(key / 12, key % 12, 1);
+        Date start = cal.getTime();
+        cal.add(Calendar.MONTH, 1);
+        Date end = cal.getTime();
+
+        int loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        loader.load(start, end, new FirestoreListCallback<Event>() {
+            @Override
+            public void onSuccess(List<Event> events) {
+                List<Event> month = Collections.unmodifiableList(new ArrayList<>(events));
+                List<FirestoreListCallback<Event>> waiting;
+                synchronized (EventMonthCache.this) {
+                    if (loadGeneration == generation) months.put(key, month);
+                    waiting = pending.remove(key);
+                }
+                if (waiting == null) return;
+                for (FirestoreListCallback<Event> callback : waiting) {
+                    callback.onSuccess(month);
+                }
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                List<FirestoreListCallback<Event>> waiting;
+                synchronized (EventMonthCache.this) {
+                    waiting = pending.remove(key);
+                }
+                if (waiting == null) return;
+                for (FirestoreListCallback<Event> callback : waiting) {
+                    callback.onError(errorMessage);
+                }
+            }
+        });
+    }
+
+    private static int key(int year, int month) {
+        return year * 12 + month;
+    }
+}
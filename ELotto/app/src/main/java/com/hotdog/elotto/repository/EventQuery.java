@@ -0,0 +1,211 @@
+package com.hotdog.elotto.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hotdog.elotto.model.Event;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * Every way the event list can be narrowed down, combined into one query: search text,
+ * interest tags, a range of days, a location and whether registration must be open.
+ *
+ * <p>Each part is optional and the parts are combined with AND, so a search keeps applying
+ * when a filter changes and the other way round. The tags match when an event has any of
+ * them. Days are epoch-day numbers in the device's time zone, inclusive at both ends, as
+ * used by the date filters; events without a date match any range, as they do there.</p>
+ *
+ * <p>A query is answered on the device by {@code EventQueryPlanner} over the loaded feed,
+ * or on the server by {@link EventRepository#queryEvents}, which hands Firestore the parts it
+ * can index and checks the rest with {@link #matchesResidual}.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class EventQuery {
+
+    private String text;
+    private Set<String> tags = Collections.emptySet();
+    private int firstDay = Integer.MIN_VALUE;
+    private int lastDay = Integer.MAX_VALUE;
+    private String location;
+    private boolean openOnly;
+
+    /**
+     * @return The search text, or null for no search.
+     */
+    @Nullable
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @param text The search text; blank text is no search.
+     */
+    public void setText(@Nullable String text) {
+        this.text = text == null || text.trim().isEmpty() ? null : text.trim();
+    }
+
+    /**
+     * @return The tags an event needs any of, empty for no tag filter.
+     */
+    @NonNull
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @param tags The tags an event needs any of; null or empty for no tag filter.
+     */
+    public void setTags(@Nullable Collection<String> tags) {
+        this.tags = tags == null || tags.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(new LinkedHashSet<>(tags));
+    }
+
+    /**
+     * @return The first day accepted, or {@link Integer#MIN_VALUE} for no lower bound.
+     */
+    public int getFirstDay() {
+        return firstDay;
+    }
+
+    /**
+     * @return The last day accepted, or {@link Integer#MAX_VALUE} for no upper bound.
+     */
+    public int getLastDay() {
+        return lastDay;
+    }
+
+    /**
+     * Limits the query to a range of days.
+     *
+     * @param firstDay The first epoch day accepted, or {@link Integer#MIN_VALUE}.
+     * @param lastDay  The last epoch day accepted, or {@link Integer#MAX_VALUE}.
+     */
+    public void setDays(int firstDay, int lastDay) {
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+    }
+
+    /**
+     * @return True if the query limits the days events happen on.
+     */
+    public boolean hasDays() {
+        return firstDay != Integer.MIN_VALUE || lastDay != Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return The text the location must contain, or null for any location.
+     */
+    @Nullable
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * @param location Text the location must contain, ignoring case; blank for any location.
+     */
+    public void setLocation(@Nullable String location) {
+        this.location = location == null || location.trim().isEmpty()
+                ? null : location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return True if only events open for registration match.
+     */
+    public boolean isOpenOnly() {
+        return openOnly;
+    }
+
+    /**
+     * @param openOnly True to match only events open for registration.
+     */
+    public void setOpenOnly(boolean openOnly) {
+        this.openOnly = openOnly;
+    }
+
+    /**
+     * @return True if the query matches every event.
+     */
+    public boolean isEmpty() {
+        return text == null && tags.isEmpty() && !hasDays() && location == null && !openOnly;
+    }
+
+    /**
+     * Checks the parts of the query that have no index: location and registration status.
+     *
+     * @param event The event.
+     * @return True if the event passes them.
+     */
+    public boolean matchesResidual(@NonNull Event event) {
+        if (location != null) {
+            String eventLocation = event.getLocation();
+            if (eventLocation == null || !eventLocation.toLowerCase(Locale.ROOT).contains(location)) return false;
+        }
+        return !openOnly || event.isRegistrationOpen();
+    }
+
+    /**
+     * Checks the tag part of the query.
+     *
+     * @param event The event.
+     * @return True if there is no tag filter or the event has one of the tags.
+     */
+    public boolean matchesTags(@NonNull Event event) {
+        if (tags.isEmpty()) return true;
+        List<String> eventTags = event.getTagList();
+        if (eventTags == null) return false;
+        for (String tag : eventTags) {
+            if (tags.contains(tag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks the day part of the query.
+     *
+     * @param event The event.
+     * @param zone  The zone whose days are counted.
+     * @return True if the event is undated or happens within the days.
+     */
+    public boolean matchesDays(@NonNull Event event, @NonNull TimeZone zone) {
+        Date date = event.getEventDateTime();
+        if (date == null || !hasDays()) return true;
+        long millis = date.getTime();
+        long day = Math.floorDiv(millis + zone.getOffset(millis), 24L * 60 * 60 * 1000);
+        return day >= firstDay && day <= lastDay;
+    }
+
+    /**
+     * @return The start of the first day, or null for no lower bound.
+     */
+    @Nullable
+    Date startDate() {
+        return firstDay == Integer.MIN_VALUE ? null : startOfDay(firstDay);
+    }
+
+    /**
+     * @return The start of the day after the last day, or null for no upper bound.
+     */
+    @Nullable
+    Date endDate() {
+        return lastDay == Integer.MAX_VALUE ? null : startOfDay(lastDay + 1L);
+    }
+
+    private static Date startOfDay(long epochDay) {
+        return Date.from(LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
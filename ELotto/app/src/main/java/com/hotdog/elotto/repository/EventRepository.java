@@ -2,25 +2,38 @@ package com.hotdog.elotto.repository;
 
 import android.util.Log;
 
+import androidx.annotation.Nullable;
+
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
 import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.callback.FirestoreListCallback;
 import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.model.Event;
+import com.hotdog.elotto.repository.codec.EventCodec;
 
 import org.w3c.dom.Document;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Executor;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -55,6 +68,101 @@ public class EventRepository {
     private static final String COLLECTION_NAME = "events";
     private final FirebaseFirestore db;
 
+    /**
+     * Events fetched per page of a keyword search.
+     */
+    static final int SEARCH_PAGE_SIZE = 25;
+
+    /**
+     * Subcollection of an event holding one indexed location record per entrant, with a
+     * {@link #FIELD_LOCATION} point and its {@link Geohash}.
+     */
+    static final String ENTRANT_LOCATIONS = "entrantLocations";
+
+    /**
+     * Field of an entrant location record holding the point.
+     */
+    static final String FIELD_LOCATION = "location";
+
+    /**
+     * Field of an event set once its lottery has been drawn.
+     */
+    static final String FIELD_DRAWN = "drawn";
+
+    /**
+     * Events read, and at most written, per batch by {@link #backfillSearchTokens}.
+     */
+    private static final int BACKFILL_PAGE_SIZE = 400;
+
+    /**
+     * Most values Firestore accepts in one {@code array-contains-any} filter.
+     */
+    private static final int MAX_ARRAY_CONTAINS_ANY = 30;
+
+    /**
+     * Events fetched per page of open events.
+     */
+    static final int OPEN_PAGE_SIZE = 25;
+
+    /**
+     * One page of a paged event query. The page keeps the last document read and is passed
+     * back to the method that returned it to fetch the next page.
+     */
+    public static class EventPage {
+        private final List<Event> events;
+        private final DocumentSnapshot cursor;
+
+        EventPage(List<Event> events, DocumentSnapshot cursor) {
+            this.events = events;
+            this.cursor = cursor;
+        }
+
+        /**
+         * @return The events on this page. May be empty even when more pages follow.
+         */
+        public List<Event> getEvents() {
+            return events;
+        }
+
+        /**
+         * @return True if another page may follow this one.
+         */
+        public boolean hasMore() {
+            return cursor != null;
+        }
+
+        /**
+         * @return The last document read, which the next page starts after.
+         */
+        DocumentSnapshot getCursor() {
+            return cursor;
+        }
+    }
+
+    /**
+     * One page of keyword search results.
+     *
+     * <p>Pages through the events whose {@link EventSearchTokens} contain the query's most
+     * selective word; the other words are checked on the device, so a page holds only events
+     * matching every query word. Passed back to {@link #searchEvents} to fetch the next
+     * page.</p>
+     */
+    public static class SearchPage extends EventPage {
+        private final String query;
+
+        SearchPage(String query, List<Event> events, DocumentSnapshot cursor) {
+            super(events, cursor);
+            this.query = query;
+        }
+
+        /**
+         * @return The query this page answers.
+         */
+        public String getQuery() {
+            return query;
+        }
+    }
+
     /**
      * Constructs a new EventRepository instance.
      * Initializes the Firebase Firestore instance for database operations.
@@ -70,26 +178,40 @@ public class EventRepository {
      *
      * <p>
      * Events are returned in the order they are stored in Firestore
-     * The Controller will deal with sorting.
+     * The Controller will deal with sorting. Parsing runs off the main thread and
+     * the callback is invoked on the main thread.
      *
      * @param callback the callback to receive the list of events or error message
      */
     public void getAllEvents(FirestoreListCallback<Event> callback) {
-        db.collection(COLLECTION_NAME)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    List<Event> events = new ArrayList<>();
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Event event = document.toObject(Event.class);
-                        event.setId(document.getId());
-                        events.add(event);
-                    }
-
+        RepositoryExecutors.parse(db.collection(COLLECTION_NAME).get(), EventRepository::toEvents,
+                events -> {
                     Log.d("EventRepository", "Successfully fetched " + events.size() + " events");
                     callback.onSuccess(events);
-                })
-                .addOnFailureListener(e -> {
+                },
+                e -> {
+                    Log.e("EventRepository", "Error fetching events", e);
+                    callback.onError("Failed to fetch events: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Retrieves all events under a {@link ReadPolicy}.
+     *
+     * @param policy         where to read from
+     * @param cachedCallback receives the cached events, only used with CACHE_THEN_SERVER
+     * @param callback       the callback to receive the list of events or error message
+     */
+    public void getAllEvents(ReadPolicy policy, FirestoreListCallback<Event> cachedCallback,
+                             FirestoreListCallback<Event> callback) {
+        policy.<QuerySnapshot, List<Event>>read(source -> db.collection(COLLECTION_NAME).get(source),
+                EventRepository::toEvents,
+                cachedCallback == null ? null : cachedCallback::onSuccess,
+                events -> {
+                    Log.d("EventRepository", "Successfully fetched " + events.size() + " events (" + policy + ")");
+                    callback.onSuccess(events);
+                },
+                e -> {
                     Log.e("EventRepository", "Error fetching events", e);
                     callback.onError("Failed to fetch events: " + e.getMessage());
                 });
@@ -102,29 +224,84 @@ public class EventRepository {
      * @param callback the callback to receive the event or error message
      */
     public void getEventById(String eventId, FirestoreCallback<Event> callback) {
-        db.collection(COLLECTION_NAME)
-                .document(eventId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        Event event = documentSnapshot.toObject(Event.class);
-                        event.setId(documentSnapshot.getId());
+        RepositoryExecutors.parse(db.collection(COLLECTION_NAME).document(eventId).get(), EventRepository::toEvent,
+                event -> {
+                    if (event != null) {
                         Log.d("EventRepository", "Successfully fetched event: " + eventId);
                         callback.onSuccess(event);
                     } else {
                         Log.w("EventRepository", "Event not found: " + eventId);
                         callback.onError("Event not found");
                     }
-                })
-                .addOnFailureListener(e -> {
+                },
+                e -> {
+                    Log.e("EventRepository", "Error fetching event: " + eventId, e);
+                    callback.onError("Failed to fetch event: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Retrieves a single event by its ID under a {@link ReadPolicy}.
+     *
+     * @param eventId        the unique identifier of the event to retrieve
+     * @param policy         where to read from
+     * @param cachedCallback receives the cached event, only used with CACHE_THEN_SERVER
+     * @param callback       the callback to receive the event or error message
+     */
+    public void getEventById(String eventId, ReadPolicy policy, FirestoreCallback<Event> cachedCallback,
+                             FirestoreCallback<Event> callback) {
+        policy.<DocumentSnapshot, Event>read(source -> db.collection(COLLECTION_NAME).document(eventId).get(source),
+                EventRepository::toEvent,
+                cachedCallback == null ? null : event -> {
+                    if (event != null) cachedCallback.onSuccess(event);
+                },
+                event -> {
+                    if (event != null) {
+                        Log.d("EventRepository", "Successfully fetched event: " + eventId + " (" + policy + ")");
+                        callback.onSuccess(event);
+                    } else {
+                        Log.w("EventRepository", "Event not found: " + eventId);
+                        callback.onError("Event not found");
+                    }
+                },
+                e -> {
                     Log.e("EventRepository", "Error fetching event: " + eventId, e);
                     callback.onError("Failed to fetch event: " + e.getMessage());
                 });
     }
 
+    /**
+     * Converts a query result into Event objects with their IDs set.
+     * Must not run on the main thread.
+     *
+     * @param snapshots the query result
+     * @return the events in the result
+     */
+    private static List<Event> toEvents(QuerySnapshot snapshots) {
+        RepositoryExecutors.checkNotMainThread("event list parsing");
+        List<Event> events = new ArrayList<>();
+        for (QueryDocumentSnapshot document : snapshots) {
+            events.add(EventCodec.INSTANCE.decode(document));
+        }
+        return events;
+    }
+
+    /**
+     * Converts a document into an Event with its ID set.
+     * Must not run on the main thread.
+     *
+     * @param documentSnapshot the event document
+     * @return the event, or null if the document does not exist
+     */
+    private static Event toEvent(DocumentSnapshot documentSnapshot) {
+        RepositoryExecutors.checkNotMainThread("event parsing");
+        return EventCodec.INSTANCE.decode(documentSnapshot);
+    }
+
 
     /**
      * Retrieves all events with the ids given.
+     * Documents that fail to load or no longer exist are skipped.
      *
      * @param eventIds the unique identifier of the event to retrieve
      * @param callback the callback to receive the event or error message
@@ -141,19 +318,22 @@ public class EventRepository {
             tasks.add(db.collection(COLLECTION_NAME).document(id).get());
         }
 
-        Tasks.whenAllComplete(tasks).addOnSuccessListener(doneTasks -> {
-            List<Event> events = new ArrayList<>();
-            for (Task<DocumentSnapshot> task : tasks) {
-                if (task.isSuccessful()) {
-                    DocumentSnapshot snap = task.getResult();
-                    events.add(snap.toObject(Event.class));
-                }
-            }
-            callback.onSuccess(events);
-        }).addOnFailureListener(e -> {
-            Log.e("EventRepository", "Error fetching events: " + Arrays.toString(eventIds.toArray()), e);
-            callback.onError("Failed to fetch event: " + e.getMessage());
-        });
+        RepositoryExecutors.parse(Tasks.whenAllComplete(tasks),
+                doneTasks -> {
+                    List<Event> events = new ArrayList<>();
+                    for (Task<DocumentSnapshot> task : tasks) {
+                        if (task.isSuccessful()) {
+                            Event event = toEvent(task.getResult());
+                            if (event != null) events.add(event);
+                        }
+                    }
+                    return events;
+                },
+                callback::onSuccess,
+                e -> {
+                    Log.e("EventRepository", "Error fetching events: " + Arrays.toString(eventIds.toArray()), e);
+                    callback.onError("Failed to fetch event: " + e.getMessage());
+                });
     }
 
     /**
@@ -163,23 +343,14 @@ public class EventRepository {
      * @param callback    the callback to receive the list of events or error message
      */
     public void getEventsByOrganizer(String organizerId, FirestoreListCallback<Event> callback) {
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("organizerId", organizerId)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    List<Event> events = new ArrayList<>();
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Event event = document.toObject(Event.class);
-                        event.setId(document.getId());
-                        events.add(event);
-                    }
-
+        RepositoryExecutors.parse(db.collection(COLLECTION_NAME).whereEqualTo("organizerId", organizerId).get(),
+                EventRepository::toEvents,
+                events -> {
                     Log.d("EventRepository",
                             "Successfully fetched " + events.size() + " events for organizer: " + organizerId);
                     callback.onSuccess(events);
-                })
-                .addOnFailureListener(e -> {
+                },
+                e -> {
                     Log.e("EventRepository", "Error fetching events for organizer: " + organizerId, e);
                     callback.onError("Failed to fetch organizer events: " + e.getMessage());
                 });
@@ -192,28 +363,114 @@ public class EventRepository {
      * @param callback the callback to receive the list of events or error message
      */
     public void getEventsByStatus(String status, FirestoreListCallback<Event> callback) {
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("status", status)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    List<Event> events = new ArrayList<>();
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Event event = document.toObject(Event.class);
-                        event.setId(document.getId());
-                        events.add(event);
-                    }
-
+        RepositoryExecutors.parse(db.collection(COLLECTION_NAME).whereEqualTo("status", status).get(),
+                EventRepository::toEvents,
+                events -> {
                     Log.d("EventRepository",
                             "Successfully fetched " + events.size() + " events with status: " + status);
                     callback.onSuccess(events);
-                })
-                .addOnFailureListener(e -> {
+                },
+                e -> {
                     Log.e("EventRepository", "Error fetching events by status: " + status, e);
                     callback.onError("Failed to fetch events by status: " + e.getMessage());
                 });
     }
 
+    /**
+     * Builds the query for events open for registration right now: registration started
+     * before now and ends after it, the same test as {@link Event#isRegistrationOpen()}.
+     *
+     * <p>Both bounds are inequalities, so Firestore needs a composite index on
+     * (registrationEndDate, registrationStartDate); it links to creating one the first time
+     * the query runs without it. Ordering by registrationEndDate lists the events closing
+     * soonest first, and events that have closed are past the start of the index, so they
+     * are never read.</p>
+     *
+     * @param now the current time
+     * @return the query
+     */
+    private Query openEventsQuery(Date now) {
+        return db.collection(COLLECTION_NAME)
+                .whereGreaterThan("registrationEndDate", now)
+                .whereLessThan("registrationStartDate", now)
+                .orderBy("registrationEndDate");
+    }
+
+    /**
+     * Retrieves the events currently open for registration, reading only those events.
+     *
+     * @param callback the callback to receive the open events, closing soonest first, or error message
+     */
+    public void getOpenEvents(FirestoreListCallback<Event> callback) {
+        RepositoryExecutors.parse(openEventsQuery(new Date()).get(),
+                EventRepository::toEvents,
+                events -> {
+                    Log.d("EventRepository", "Successfully fetched " + events.size() + " open events");
+                    callback.onSuccess(events);
+                },
+                e -> {
+                    Log.e("EventRepository", "Error fetching open events", e);
+                    callback.onError("Failed to fetch open events: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Retrieves the events currently open for registration one page at a time, closing
+     * soonest first.
+     *
+     * <p>Each page is read against the time it is requested, so an event whose registration
+     * closes while the user is paging simply does not appear on later pages.</p>
+     *
+     * @param after    the previous page, or null for the first page
+     * @param callback the callback to receive the page or error message
+     */
+    public void getOpenEvents(EventPage after, FirestoreCallback<EventPage> callback) {
+        Query open = openEventsQuery(new Date());
+        if (after != null) open = open.startAfter(after.getCursor());
+        RepositoryExecutors.parse(open.limit(OPEN_PAGE_SIZE).get(), snapshots -> {
+            List<Event> events = toEvents(snapshots);
+            // A short page means there is nothing left
+            List<DocumentSnapshot> documents = snapshots.getDocuments();
+            DocumentSnapshot cursor = documents.size() == OPEN_PAGE_SIZE
+                    ? documents.get(documents.size() - 1) : null;
+            return new EventPage(events, cursor);
+        }, page -> {
+            Log.d("EventRepository", "Fetched a page of " + page.getEvents().size() + " open events");
+            callback.onSuccess(page);
+        }, e -> {
+            Log.e("EventRepository", "Error fetching open events", e);
+            callback.onError("Failed to fetch open events: " + e.getMessage());
+        });
+    }
+
+    /**
+     * Retrieves the events taking place in a time window, such as one calendar month.
+     *
+     * <p>A range query on eventDateTime, so only events in the window are read. Needs only
+     * the single-field index Firestore creates by default.</p>
+     *
+     * @param start    the start of the window, inclusive
+     * @param end      the end of the window, exclusive
+     * @param callback the callback to receive the events, by date, or error message
+     */
+    public void getEventsBetween(Date start, Date end, FirestoreListCallback<Event> callback) {
+        RepositoryExecutors.parse(db.collection(COLLECTION_NAME)
+                        .whereGreaterThanOrEqualTo("eventDateTime", start)
+                        .whereLessThan("eventDateTime", end)
+                        .orderBy("eventDateTime")
+                        .get(),
+                EventRepository::toEvents,
+                events -> {
+                    Log.d("EventRepository", "Successfully fetched " + events.size() + " events from " + start
+                            + " to " + end);
+                    callback.onSuccess(events);
+                },
+                e -> {
+                    Log.e("EventRepository", "Error fetching events from " + start + " to " + end, e);
+                    callback.onError("Failed to fetch events: " + e.getMessage());
+                });
+    }
+
     /**
      * Retrieves a single event by its QR code data.
      *
@@ -229,26 +486,18 @@ public class EventRepository {
             return;
         }
 
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("qrCodeData", qrCodeData)
-                .limit(1)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    if (!queryDocumentSnapshots.isEmpty()) {
-                        DocumentSnapshot document = queryDocumentSnapshots.getDocuments().get(0);
-                        Event event = document.toObject(Event.class);
-                        if (event != null) {
-                            // Ensure the ID is set (even though @DocumentId should handle it)
-                            event.setId(document.getId());
-                        }
+        RepositoryExecutors.parse(db.collection(COLLECTION_NAME).whereEqualTo("qrCodeData", qrCodeData).limit(1).get(),
+                snapshots -> snapshots.isEmpty() ? null : toEvent(snapshots.getDocuments().get(0)),
+                event -> {
+                    if (event != null) {
                         Log.d("EventRepository", "Successfully fetched event by QR code");
                         callback.onSuccess(event);
                     } else {
                         Log.w("EventRepository", "No event found for QR code: " + qrCodeData);
                         callback.onError("No event found for this QR code");
                     }
-                })
-                .addOnFailureListener(e -> {
+                },
+                e -> {
                     Log.e("EventRepository", "Error fetching event by QR code: " + qrCodeData, e);
                     callback.onError("Failed to fetch event by QR code: " + e.getMessage());
                 });
@@ -262,10 +511,10 @@ public class EventRepository {
      * @param callback the callback to receive success confirmation or error message
      */
     public void createEvent(Event event, OperationCallback callback) {
-        db.collection(COLLECTION_NAME)
-                .add(event)
-                .addOnSuccessListener(documentReference -> {
-                    event.setId(documentReference.getId());
+        DocumentReference ref = db.collection(COLLECTION_NAME).document();
+        saveWithIndexFields(ref, event)
+                .addOnSuccessListener(aVoid -> {
+                    event.setId(ref.getId());
                     callback.onSuccess();
                 })
                 .addOnFailureListener(e -> {
@@ -287,25 +536,13 @@ public class EventRepository {
             return;
         }
 
-        db.collection(COLLECTION_NAME)
-                .document(event.getId())
-                .set(event)
-                .addOnSuccessListener(aVoid -> {
-                    Log.d("EventRepository", "Event updated successfully: " + event.getId());
-                    callback.onSuccess();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("EventRepository", "Error updating event: " + event.getId(), e);
-                    callback.onError("Failed to update event: " + e.getMessage());
-                });
+        updateEvent(event.getId(), event, callback);
     }
     /**
      * Updates an existing event in the Firestore database using eventId and Event object.
      */
     public void updateEvent(String eventId, Event event, OperationCallback callback) {
-        db.collection(COLLECTION_NAME)
-                .document(eventId)
-                .set(event)
+        saveWithIndexFields(db.collection(COLLECTION_NAME).document(eventId), event)
                 .addOnSuccessListener(aVoid -> {
                     Log.d("EventRepository", "Event updated successfully: " + eventId);
                     callback.onSuccess();
@@ -316,6 +553,432 @@ public class EventRepository {
                 });
     }
 
+    /**
+     * Writes a whole Event with its search tokens and, when it has coordinates, its geohash,
+     * in one batch.
+     *
+     * @param ref   the event's document
+     * @param event the Event to store
+     * @return the batch commit
+     */
+    private Task<Void> saveWithIndexFields(DocumentReference ref, Event event) {
+        Map<String, Object> indexFields = new HashMap<>();
+        indexFields.put(EventSearchTokens.FIELD, EventSearchTokens.of(event));
+        GeoPoint coordinates = event.getCoordinates();
+        if (coordinates != null) {
+            indexFields.put(Geohash.FIELD, Geohash.encode(coordinates.getLatitude(), coordinates.getLongitude()));
+        }
+        WriteBatch batch = db.batch();
+        batch.set(ref, event);
+        batch.set(ref, indexFields, SetOptions.merge());
+        return batch.commit();
+    }
+
+    /**
+     * Retrieves the events whose coordinates fall in a bounding box, such as a map viewport.
+     *
+     * <p>The box is covered with a few merged {@link Geohash} ranges, each one range query on
+     * the geohash field, so only events in or just around the box are read. Events without
+     * coordinates are never returned.</p>
+     *
+     * @param south    the southern latitude
+     * @param west     the western longitude; east of {@code east} when the box crosses the antimeridian
+     * @param north    the northern latitude
+     * @param east     the eastern longitude
+     * @param callback the callback to receive the events in the box or error message
+     */
+    public void getEventsInBounds(double south, double west, double north, double east,
+                                  FirestoreListCallback<Event> callback) {
+        RepositoryExecutors.parse(geohashQuery(db.collection(COLLECTION_NAME), south, west, north, east),
+                snapshots -> {
+                    RepositoryExecutors.checkNotMainThread("event area parsing");
+                    List<Event> events = new ArrayList<>();
+                    for (DocumentSnapshot document : documents(snapshots)) {
+                        Event event = EventCodec.INSTANCE.decode(document);
+                        GeoPoint point = event.getCoordinates();
+                        if (point != null && Geohash.inBounds(point.getLatitude(), point.getLongitude(),
+                                south, west, north, east)) {
+                            events.add(event);
+                        }
+                    }
+                    return events;
+                },
+                events -> {
+                    Log.d("EventRepository", "Fetched " + events.size() + " events in bounds");
+                    callback.onSuccess(events);
+                },
+                e -> {
+                    Log.e("EventRepository", "Error fetching events in bounds", e);
+                    callback.onError("Failed to fetch events in area: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Retrieves the events within a distance of a point, nearest first.
+     *
+     * @param latitude     the point's latitude
+     * @param longitude    the point's longitude
+     * @param radiusMeters the distance
+     * @param callback     the callback to receive the nearby events or error message
+     */
+    public void getEventsNear(double latitude, double longitude, double radiusMeters,
+                              FirestoreListCallback<Event> callback) {
+        double[] box = Geohash.boundsAround(latitude, longitude, radiusMeters);
+        RepositoryExecutors.parse(geohashQuery(db.collection(COLLECTION_NAME), box[0], box[1], box[2], box[3]),
+                snapshots -> {
+                    RepositoryExecutors.checkNotMainThread("nearby event parsing");
+                    List<Event> events = new ArrayList<>();
+                    Map<Event, Double> distances = new HashMap<>();
+                    for (DocumentSnapshot document : documents(snapshots)) {
+                        Event event = EventCodec.INSTANCE.decode(document);
+                        GeoPoint point = event.getCoordinates();
+                        if (point == null) continue;
+                        double distance = Geohash.distanceMeters(latitude, longitude,
+                                point.getLatitude(), point.getLongitude());
+                        if (distance <= radiusMeters) {
+                            events.add(event);
+                            distances.put(event, distance);
+                        }
+                    }
+                    events.sort((a, b) -> Double.compare(distances.get(a), distances.get(b)));
+                    return events;
+                },
+                events -> {
+                    Log.d("EventRepository", "Fetched " + events.size() + " events nearby");
+                    callback.onSuccess(events);
+                },
+                e -> {
+                    Log.e("EventRepository", "Error fetching nearby events", e);
+                    callback.onError("Failed to fetch nearby events: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Retrieves the recorded locations of an event's entrants that fall in a bounding box,
+     * reading only the indexed location records in or just around it.
+     *
+     * @param eventId  the unique identifier of the event
+     * @param south    the southern latitude
+     * @param west     the western longitude; east of {@code east} when the box crosses the antimeridian
+     * @param north    the northern latitude
+     * @param east     the eastern longitude
+     * @param callback the callback to receive the locations by entrant ID or error message
+     */
+    public void getEntrantLocationsInBounds(String eventId, double south, double west, double north, double east,
+                                            FirestoreCallback<Map<String, GeoPoint>> callback) {
+        Query records = db.collection(COLLECTION_NAME).document(eventId).collection(ENTRANT_LOCATIONS);
+        RepositoryExecutors.parse(geohashQuery(records, south, west, north, east),
+                snapshots -> {
+                    Map<String, GeoPoint> locations = new LinkedHashMap<>();
+                    for (DocumentSnapshot record : documents(snapshots)) {
+                        GeoPoint point = record.getGeoPoint(FIELD_LOCATION);
+                        if (point != null && Geohash.inBounds(point.getLatitude(), point.getLongitude(),
+                                south, west, north, east)) {
+                            locations.put(record.getId(), point);
+                        }
+                    }
+                    return locations;
+                },
+                locations -> {
+                    Log.d("EventRepository", "Fetched " + locations.size() + " entrant locations in bounds");
+                    callback.onSuccess(locations);
+                },
+                e -> {
+                    Log.e("EventRepository", "Error fetching entrant locations for event: " + eventId, e);
+                    callback.onError("Failed to fetch entrant locations: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Writes indexed location records for entrants who joined before they were kept, so
+     * {@link #getEntrantLocationsInBounds} finds them.
+     *
+     * <p>This is a one-off admin migration run with events already loaded, so it reads
+     * nothing itself. Records are written by entrant ID in batches, so a run interrupted part
+     * way can simply run again; new joins keep their record up to date.</p>
+     *
+     * @param events   the events, with their {@code entrantLocations} maps
+     * @param callback the callback to receive the number of records written or error message
+     */
+    public void backfillEntrantLocations(List<Event> events, FirestoreCallback<Integer> callback) {
+        List<Task<Void>> commits = new ArrayList<>();
+        WriteBatch batch = db.batch();
+        int writes = 0;
+        int total = 0;
+        for (Event event : events) {
+            Map<String, GeoPoint> locations = event.getEntrantLocations();
+            if (event.getId() == null || locations == null) continue;
+            CollectionReference records = db.collection(COLLECTION_NAME).document(event.getId())
+                    .collection(ENTRANT_LOCATIONS);
+            for (Map.Entry<String, GeoPoint> entry : locations.entrySet()) {
+                if (entry.getValue() == null) continue;
+                batch.set(records.document(entry.getKey()), entrantLocationRecord(entry.getValue()),
+                        SetOptions.merge());
+                total++;
+                if (++writes == FirestoreLimits.MAX_BATCH_WRITES) {
+                    commits.add(batch.commit());
+                    batch = db.batch();
+                    writes = 0;
+                }
+            }
+        }
+        if (writes > 0) commits.add(batch.commit());
+        int written = total;
+        Tasks.whenAll(commits)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d("EventRepository", "Backfilled " + written + " entrant locations");
+                    callback.onSuccess(written);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("EventRepository", "Error backfilling entrant locations", e);
+                    callback.onError("Failed to index entrant locations: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Marks events drawn before the flag existed, recognised by having selected, accepted or
+     * cancelled entrants, so the admin dashboard doesn't count them as waiting for a draw.
+     *
+     * <p>Like {@link #backfillEntrantLocations}, this is a one-off admin migration run with
+     * events already loaded, and setting the flag again is harmless.</p>
+     *
+     * @param events   the events, with their entrant lists
+     * @param callback the callback to receive the number of events marked or error message
+     */
+    public void backfillDrawn(List<Event> events, FirestoreCallback<Integer> callback) {
+        List<Task<Void>> commits = new ArrayList<>();
+        WriteBatch batch = db.batch();
+        int writes = 0;
+        int total = 0;
+        for (Event event : events) {
+            if (event.getId() == null || event.isDrawn()) continue;
+            if (isEmpty(event.getSelectedEntrantIds()) && isEmpty(event.getAcceptedEntrantIds())
+                    && isEmpty(event.getCancelledEntrantIds())) {
+                continue;
+            }
+            batch.update(db.collection(COLLECTION_NAME).document(event.getId()), FIELD_DRAWN, true);
+            total++;
+            if (++writes == FirestoreLimits.MAX_BATCH_WRITES) {
+                commits.add(batch.commit());
+                batch = db.batch();
+                writes = 0;
+            }
+        }
+        if (writes > 0) commits.add(batch.commit());
+        int marked = total;
+        Tasks.whenAll(commits)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d("EventRepository", "Marked " + marked + " events drawn");
+                    callback.onSuccess(marked);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("EventRepository", "Error marking events drawn", e);
+                    callback.onError("Failed to mark events drawn: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Writes the {@link EventSearchTokens} of every event that is missing them or has stale
+     * ones, so the server-side {@link #searchEvents} finds events saved before they existed.
+     *
+     * <p>Events are read a page at a time in document ID order and each page's missing tokens
+     * are merged in one batch, so a run interrupted part way can simply run again. Like
+     * {@code UserRepository.backfillSearchKeys}, this is a one-off admin migration; every
+     * later save keeps the tokens up to date.</p>
+     *
+     * @param callback receives the number of events updated, on the main thread
+     */
+    public void backfillSearchTokens(FirestoreCallback<Integer> callback) {
+        backfillTokensPage(null, 0)
+                .addOnSuccessListener(RepositoryExecutors.main(), updated -> {
+                    Log.d("EventRepository", "Backfilled search tokens for " + updated + " events");
+                    callback.onSuccess(updated);
+                })
+                .addOnFailureListener(RepositoryExecutors.main(), e -> {
+                    Log.e("EventRepository", "Error backfilling search tokens", e);
+                    callback.onError("Failed to backfill search tokens: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Backfills the page of events after a cursor, then the pages after it.
+     *
+     * @param after   the last event of the previous page, or null for the first page
+     * @param updated events updated by earlier pages
+     * @return a task resolving to the total number of events updated
+     */
+    private Task<Integer> backfillTokensPage(@Nullable DocumentSnapshot after, int updated) {
+        Query page = db.collection(COLLECTION_NAME).orderBy(FieldPath.documentId());
+        if (after != null) page = page.startAfter(after);
+        return page.limit(BACKFILL_PAGE_SIZE).get()
+                .continueWithTask(RepositoryExecutors.background(), task -> {
+                    List<DocumentSnapshot> documents = task.getResult().getDocuments();
+                    WriteBatch batch = db.batch();
+                    int inBatch = 0;
+                    for (DocumentSnapshot document : documents) {
+                        List<String> tokens = EventSearchTokens.of(EventCodec.INSTANCE.decode(document));
+                        if (tokens.equals(document.get(EventSearchTokens.FIELD))) continue;
+                        batch.set(document.getReference(),
+                                Collections.singletonMap(EventSearchTokens.FIELD, tokens), SetOptions.merge());
+                        inBatch++;
+                    }
+                    int total = updated + inBatch;
+                    Task<Void> commit = inBatch > 0 ? batch.commit() : Tasks.forResult(null);
+                    // A short page means there is nothing left
+                    if (documents.size() < BACKFILL_PAGE_SIZE) {
+                        return commit.onSuccessTask(RepositoryExecutors.background(), done -> Tasks.forResult(total));
+                    }
+                    DocumentSnapshot last = documents.get(documents.size() - 1);
+                    return commit.onSuccessTask(RepositoryExecutors.background(), done -> backfillTokensPage(last, total));
+                });
+    }
+
+    private static boolean isEmpty(List<String> ids) {
+        return ids == null || ids.isEmpty();
+    }
+
+    /**
+     * @param point where an entrant joined from
+     * @return the fields of their indexed location record
+     */
+    private static Map<String, Object> entrantLocationRecord(GeoPoint point) {
+        Map<String, Object> record = new HashMap<>();
+        record.put(FIELD_LOCATION, point);
+        record.put(Geohash.FIELD, Geohash.encode(point.getLatitude(), point.getLongitude()));
+        return record;
+    }
+
+    /**
+     * Runs one range query on the geohash field per {@link Geohash} range covering a box.
+     *
+     * @return the query results, one snapshot per range
+     */
+    private static Task<List<QuerySnapshot>> geohashQuery(Query base, double south, double west,
+                                                          double north, double east) {
+        List<Task<QuerySnapshot>> queries = new ArrayList<>();
+        for (Geohash.Range range : Geohash.ranges(south, west, north, east)) {
+            queries.add(base.whereGreaterThanOrEqualTo(Geohash.FIELD, range.getStart())
+                    .whereLessThan(Geohash.FIELD, range.getEnd())
+                    .get());
+        }
+        return Tasks.whenAllSuccess(queries);
+    }
+
+    /**
+     * @return the documents of several query results, each once
+     */
+    private static List<DocumentSnapshot> documents(List<QuerySnapshot> snapshots) {
+        Map<String, DocumentSnapshot> documents = new LinkedHashMap<>();
+        for (QuerySnapshot snapshot : snapshots) {
+            for (DocumentSnapshot document : snapshot.getDocuments()) {
+                documents.put(document.getId(), document);
+            }
+        }
+        return new ArrayList<>(documents.values());
+    }
+
+    /**
+     * Searches events by the start of the words in their name, location or tags, one page
+     * at a time.
+     *
+     * <p>Queries the {@link EventSearchTokens} array with {@code array-contains} on the
+     * query's longest word, so only events matching it are downloaded; the remaining words
+     * are checked on the device. Needs only the single-field index Firestore creates by
+     * default.</p>
+     *
+     * @param query    the text typed by the user
+     * @param after    the previous page of the same search, or null for the first page
+     * @param callback receives the page on the main thread
+     */
+    public void searchEvents(String query, SearchPage after, FirestoreCallback<SearchPage> callback) {
+        String searchQuery = after != null ? after.query : query;
+        String token = EventSearchTokens.queryToken(searchQuery);
+        if (token == null) {
+            callback.onSuccess(new SearchPage(searchQuery, new ArrayList<>(), null));
+            return;
+        }
+
+        Query search = db.collection(COLLECTION_NAME).whereArrayContains(EventSearchTokens.FIELD, token);
+        if (after != null) search = search.startAfter(after.getCursor());
+        RepositoryExecutors.parse(search.limit(SEARCH_PAGE_SIZE).get(), snapshots -> {
+            RepositoryExecutors.checkNotMainThread("event search parsing");
+            List<Event> events = new ArrayList<>();
+            for (DocumentSnapshot document : snapshots.getDocuments()) {
+                Event event = EventCodec.INSTANCE.decode(document);
+                if (EventSearchTokens.matches(event, searchQuery)) events.add(event);
+            }
+            // A short page means there is nothing left
+            List<DocumentSnapshot> documents = snapshots.getDocuments();
+            DocumentSnapshot cursor = documents.size() == SEARCH_PAGE_SIZE
+                    ? documents.get(documents.size() - 1) : null;
+            return new SearchPage(searchQuery, events, cursor);
+        }, page -> {
+            Log.d("EventRepository", "Search \"" + searchQuery + "\" returned " + page.getEvents().size() + " events");
+            callback.onSuccess(page);
+        }, e -> {
+            Log.e("EventRepository", "Error searching events", e);
+            callback.onError("Failed to search events: " + e.getMessage());
+        });
+    }
+
+    /**
+     * Runs a combined {@link EventQuery} on the server, reading only events Firestore has
+     * narrowed down.
+     *
+     * <p>Firestore is given what it can index: the search text's most selective word through
+     * {@link EventSearchTokens}, or when there is no text the tags through an
+     * {@code array-contains-any} (it allows only one array filter per query), and either the
+     * day range on {@code eventDateTime} or, without one, the open-registration bounds of
+     * {@link #openEventsQuery}. The rest of the text, the tags when text took the array
+     * filter, the location and whatever date test was not sent are checked on the device.
+     * Unlike the local planner, undated events never match a day range here.</p>
+     *
+     * @param query    the query
+     * @param callback the callback to receive the matching events or error message
+     */
+    public void queryEvents(EventQuery query, FirestoreListCallback<Event> callback) {
+        Query search = db.collection(COLLECTION_NAME);
+        String text = query.getText();
+        if (text != null) {
+            String token = EventSearchTokens.queryToken(text);
+            if (token == null) {
+                callback.onSuccess(new ArrayList<>());
+                return;
+            }
+            search = search.whereArrayContains(EventSearchTokens.FIELD, token);
+        } else if (!query.getTags().isEmpty() && query.getTags().size() <= MAX_ARRAY_CONTAINS_ANY) {
+            search = search.whereArrayContainsAny("tagList", new ArrayList<>(query.getTags()));
+        }
+        Date start = query.startDate();
+        Date end = query.endDate();
+        if (start != null) search = search.whereGreaterThanOrEqualTo("eventDateTime", start);
+        if (end != null) search = search.whereLessThan("eventDateTime", end);
+        if (query.isOpenOnly() && !query.hasDays()) {
+            Date now = new Date();
+            search = search.whereGreaterThan("registrationEndDate", now)
+                    .whereLessThan("registrationStartDate", now);
+        }
+
+        RepositoryExecutors.parse(search.get(), snapshots -> {
+            RepositoryExecutors.checkNotMainThread("event query parsing");
+            List<Event> events = new ArrayList<>();
+            for (DocumentSnapshot document : snapshots.getDocuments()) {
+                Event event = EventCodec.INSTANCE.decode(document);
+                if ((text == null || EventSearchTokens.matches(event, text))
+                        && query.matchesTags(event) && query.matchesResidual(event)) {
+                    events.add(event);
+                }
+            }
+            return events;
+        }, events -> {
+            Log.d("EventRepository", "Query returned " + events.size() + " events");
+            callback.onSuccess(events);
+        }, e -> {
+            Log.e("EventRepository", "Error querying events", e);
+            callback.onError("Failed to query events: " + e.getMessage());
+        });
+    }
+
     /**
      * Deletes an event from the Firestore database.
      *
@@ -370,7 +1033,7 @@ public class EventRepository {
                 .document(eventId)
                 .get()
                 .addOnSuccessListener(documentSnapshot -> {
-                    Event event = documentSnapshot.toObject(Event.class);
+                    Event event = EventCodec.INSTANCE.decode(documentSnapshot);
 
                     // Try to add to waitlist if it exists, if not then create the waitlist.
                     if (event != null) {
@@ -412,7 +1075,7 @@ public class EventRepository {
                 .document(eventId)
                 .get()
                 .addOnSuccessListener(documentSnapshot -> {
-                    Event event = documentSnapshot.toObject(Event.class);
+                    Event event = EventCodec.INSTANCE.decode(documentSnapshot);
 
                     if (event != null) {
                         event.setId(documentSnapshot.getId());
@@ -435,10 +1098,75 @@ public class EventRepository {
                 });
     }
 
+    /**
+     * Durably queues an entrant joining an event's waiting list.
+     *
+     * <p>Unlike {@link #addEntrantToWaitlist}, this does not read the event first. The
+     * entrant is added with an array union (and their location set under
+     * {@code entrantLocations}, and in an indexed record in the {@link #ENTRANT_LOCATIONS}
+     * subcollection) through the {@link WriteOutbox}, so the join survives the app
+     * being killed or going offline and only touches the fields it changes.</p>
+     *
+     * @param eventId   the unique identifier of the event
+     * @param entrantId the unique identifier of the entrant to add
+     * @param location  where the entrant joined from, or null if not recorded
+     */
+    public void enqueueJoinWaitlist(String eventId, String entrantId, GeoPoint location) {
+        List<WriteOutbox.Write> writes = new ArrayList<>();
+        writes.add(new WriteOutbox.Write(WriteOutbox.Write.Type.ARRAY_UNION, COLLECTION_NAME, eventId,
+                "waitlistEntrantIds", entrantId, false));
+        if (location != null) {
+            writes.add(new WriteOutbox.Write(WriteOutbox.Write.Type.SET_FIELD, COLLECTION_NAME, eventId,
+                    "entrantLocations." + entrantId, location, false));
+            // The indexed record map viewports query
+            String records = COLLECTION_NAME + "/" + eventId + "/" + ENTRANT_LOCATIONS;
+            for (Map.Entry<String, Object> field : entrantLocationRecord(location).entrySet()) {
+                writes.add(new WriteOutbox.Write(WriteOutbox.Write.Type.SET_FIELD, records, entrantId,
+                        field.getKey(), field.getValue(), true));
+            }
+        }
+        WriteOutbox.getInstance().enqueue("waitlist:" + eventId + ":" + entrantId, writes);
+    }
+
+    /**
+     * Durably queues an entrant leaving an event's waiting list, removing their recorded
+     * location too.
+     *
+     * @param eventId   the unique identifier of the event
+     * @param entrantId the unique identifier of the entrant to remove
+     */
+    public void enqueueLeaveWaitlist(String eventId, String entrantId) {
+        List<WriteOutbox.Write> writes = new ArrayList<>();
+        writes.add(new WriteOutbox.Write(WriteOutbox.Write.Type.ARRAY_REMOVE, COLLECTION_NAME, eventId,
+                "waitlistEntrantIds", entrantId, false));
+        writes.add(new WriteOutbox.Write(WriteOutbox.Write.Type.DELETE_FIELD, COLLECTION_NAME, eventId,
+                "entrantLocations." + entrantId, null, false));
+        writes.add(new WriteOutbox.Write(WriteOutbox.Write.Type.DELETE_DOCUMENT,
+                COLLECTION_NAME + "/" + eventId + "/" + ENTRANT_LOCATIONS, entrantId, FIELD_LOCATION, null, false));
+        WriteOutbox.getInstance().enqueue("waitlist:" + eventId + ":" + entrantId, writes);
+    }
+
+    /**
+     * Durably queues a selected entrant's answer to their invitation, moving them from the
+     * selected list to the accepted or cancelled list in one batch.
+     *
+     * @param eventId   the unique identifier of the event
+     * @param entrantId the unique identifier of the selected entrant
+     * @param accepted  true if the invitation was accepted, false if declined
+     */
+    public void enqueueInvitationResponse(String eventId, String entrantId, boolean accepted) {
+        List<WriteOutbox.Write> writes = new ArrayList<>();
+        writes.add(new WriteOutbox.Write(WriteOutbox.Write.Type.ARRAY_REMOVE, COLLECTION_NAME, eventId,
+                "selectedEntrantIds", entrantId, false));
+        writes.add(new WriteOutbox.Write(WriteOutbox.Write.Type.ARRAY_UNION, COLLECTION_NAME, eventId,
+                accepted ? "acceptedEntrantIds" : "cancelledEntrantIds", entrantId, false));
+        WriteOutbox.getInstance().enqueue("invitation:" + eventId + ":" + entrantId, writes);
+    }
+
     /**
      * Moves entrants from waiting list to selected list (lottery draw).
      * Removes the specified user IDs from waitlistEntrantIds and adds them to
-     * selectedEntrantIds.
+     * selectedEntrantIds, and marks the event drawn.
      *
      * @param eventId         the unique identifier of the event
      * @param selectedUserIds the list of user IDs that won the lottery
@@ -460,7 +1188,7 @@ public class EventRepository {
                         return;
                     }
 
-                    Event event = documentSnapshot.toObject(Event.class);
+                    Event event = EventCodec.INSTANCE.decode(documentSnapshot);
                     if (event == null) {
                         callback.onError("Failed to parse event data");
                         return;
@@ -487,6 +1215,7 @@ public class EventRepository {
 
                     event.setWaitlistEntrantIds(waitlist);
                     event.setSelectedEntrantIds(selected);
+                    event.setDrawn(true);
 
                     // Update the event
                     updateEvent(event, callback);
@@ -521,7 +1250,7 @@ public class EventRepository {
                         return;
                     }
 
-                    Event event = documentSnapshot.toObject(Event.class);
+                    Event event = EventCodec.INSTANCE.decode(documentSnapshot);
                     if (event == null) {
                         callback.onError("Failed to parse event data");
                         return;
@@ -582,7 +1311,7 @@ public class EventRepository {
                         return;
                     }
 
-                    Event event = documentSnapshot.toObject(Event.class);
+                    Event event = EventCodec.INSTANCE.decode(documentSnapshot);
                     if (event == null) {
                         callback.onError("Failed to parse event data");
                         return;
@@ -0,0 +1,570 @@
+package com.hotdog.elotto.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hotdog.elotto.model.Event;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index for searching the loaded events by text.
+ *
+ * <p>An event's name, description, location, organizer name and tags are normalized (lowercase,
+ * accents stripped) and split into words. Each word, with a leading space marking where it
+ * starts, is cut into 3-character grams, plus the 2-character gram that starts it. Every
+ * indexed event gets an integer slot, and each gram maps to the sorted slots of the events
+ * containing it. A query is cut into grams the same way and the smallest posting list is
+ * intersected with the others by binary search. Candidates are then checked for the actual
+ * substrings, since a set of grams can match without the word itself, and ranked by which
+ * fields matched.</p>
+ *
+ * <p>Query words of three or more characters match anywhere inside a word, like the
+ * {@code contains} search they replace. Shorter words match the start of a word, since one
+ * or two letters appear inside nearly every event.</p>
+ *
+ * <p>The index is kept up to date incrementally. {@link #update} is handed each new version of
+ * the event feed and compares each event's raw searchable text with what was indexed, so only
+ * changed events are re-indexed and an unchanged feed costs a few string comparisons per
+ * event. Events no longer in the feed are dropped. A re-indexed event takes a new, higher
+ * slot so posting lists stay sorted by appending; slots are renumbered once more than half
+ * of them are unused.</p>
+ *
+ * <p>Indexing a large feed for the first time takes seconds, so it runs in the background
+ * while the UI keeps searching. {@link #searchIfCurrent} never waits for it: it returns null
+ * while an update is running or until the feed being shown has been indexed, so the caller
+ * can leave the text out and search again once {@link #update} has finished, instead of
+ * blocking the main thread or ranking the previous feed's events.</p>
+ *
+ * <p><b>Design Pattern:</b> Singleton, like {@link EventStore}. A separate instance can be
+ * created for testing.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class EventSearchIndex {
+
+    /**
+     * Length of the grams words are cut into.
+     */
+    static final int GRAM_LENGTH = 3;
+
+    private static final int FIELD_NAME = 0;
+    private static final int FIELD_TAGS = 1;
+    private static final int FIELD_ORGANIZER = 2;
+    private static final int FIELD_LOCATION = 3;
+    private static final int FIELD_DESCRIPTION = 4;
+    private static final int FIELD_COUNT = 5;
+
+    /**
+     * How much a match in each field counts towards an event's rank, by field index. Fields
+     * are in descending weight, at least two apart, so the first field a word is found in
+     * always ranks it highest.
+     */
+    private static final int[] FIELD_WEIGHTS = {16, 8, 6, 4, 2};
+
+    /**
+     * Extra rank for a query word that starts a word rather than sitting inside one.
+     */
+    private static final int WORD_START_BONUS = 1;
+
+    /**
+     * Slots allowed to go unused before renumbering, on top of half the slots.
+     */
+    private static final int COMPACT_SLACK = 1024;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static EventSearchIndex instance;
+
+    /**
+     * Gram to the slots of the events containing it.
+     */
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Indexed events by ID.
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Indexed events by slot, null for unused slots.
+     */
+    private Entry[] slots = new Entry[64];
+    private int nextSlot;
+
+    /**
+     * Guards everything above; {@link #searchIfCurrent} only tries it.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * The feed last handed to {@link #update}, once it is fully indexed.
+     */
+    private volatile List<Event> indexedFeed;
+
+    /**
+     * Returns the shared index, which {@code HomeViewModel} keeps in step with the feed.
+     *
+     * @return the shared index
+     */
+    public static synchronized EventSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new EventSearchIndex();
+        }
+        return instance;
+    }
+
+    /**
+     * Lowercases text, strips accents and turns everything but letters and digits into
+     * single spaces.
+     *
+     * @param text the text, may be null
+     * @return the normalized text, empty for null
+     */
+    @NonNull
+    public static String normalize(@Nullable String text) {
+        if (text == null) return "";
+        // Plain ASCII is by far the common case and needs no Unicode decomposition
+        StringBuilder out = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) return normalizeUnicode(text);
+            if (c >= 'A' && c <= 'Z') c = (char) (c + ('a' - 'A'));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                out.append(c);
+                space = false;
+            } else if (!space) {
+                out.append(' ');
+                space = true;
+            }
+        }
+        int end = out.length();
+        if (end > 0 && out.charAt(end - 1) == ' ') out.setLength(end - 1);
+        return out.toString();
+    }
+
+    private static String normalizeUnicode(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = MARKS.matcher(decomposed).replaceAll("");
+        return NON_WORD.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * @return the number of events indexed
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Brings the index in step with a new version of the feed.
+     *
+     * @param events every event the feed holds now
+     */
+    public void update(@NonNull List<Event> events) {
+        lock.lock();
+        try {
+            indexedFeed = null;
+            Set<String> present = new HashSet<>();
+            for (int i = 0; i < events.size(); i++) {
+                Event event = events.get(i);
+                if (event == null || event.getId() == null) continue;
+                present.add(event.getId());
+                index(event, i);
+            }
+
+            if (present.size() < entries.size()) {
+                List<String> gone = new ArrayList<>();
+                for (String id : entries.keySet()) {
+                    if (!present.contains(id)) gone.add(id);
+                }
+                for (String id : gone) {
+                    removeEntry(id);
+                }
+            }
+            indexedFeed = events;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds or re-indexes one event, for example after it is edited.
+     *
+     * @param event the event
+     */
+    public void put(@NonNull Event event) {
+        if (event.getId() == null) return;
+        lock.lock();
+        try {
+            Entry existing = entries.get(event.getId());
+            index(event, existing != null ? existing.order : entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops one event from the index.
+     *
+     * @param eventId the event's ID
+     */
+    public void remove(@NonNull String eventId) {
+        lock.lock();
+        try {
+            removeEntry(eventId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeEntry(String eventId) {
+        Entry entry = entries.remove(eventId);
+        if (entry == null) return;
+        for (String gram : entry.grams) {
+            Postings list = postings.get(gram);
+            if (list == null) continue;
+            list.remove(entry.slot);
+            if (list.size == 0) postings.remove(gram);
+        }
+        slots[entry.slot] = null;
+    }
+
+    /**
+     * Finds the events matching every word of a query, best matches first.
+     *
+     * <p>Events matching equally well keep their order in the feed.</p>
+     *
+     * @param query the text typed by the user
+     * @return the matching events, empty for a blank query
+     */
+    @NonNull
+    public List<Event> search(@Nullable String query) {
+        lock.lock();
+        try {
+            return searchLocked(query);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Searches as {@link #search} does, but only if a feed has been indexed and no update is
+     * running, without waiting.
+     *
+     * @param feed  the feed the results must come from, or null for whatever is indexed
+     * @param query the text typed by the user
+     * @return the matching events, or null if the index is busy or has not caught up with
+     * the feed yet
+     */
+    @Nullable
+    public List<Event> searchIfCurrent(@Nullable List<Event> feed, @Nullable String query) {
+        List<Event> indexed = indexedFeed;
+        if (indexed == null || (feed != null && indexed != feed) || !lock.tryLock()) return null;
+        try {
+            // An update may have started and finished since the check above
+            if (indexedFeed != indexed) return null;
+            return searchLocked(query);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Event> searchLocked(@Nullable String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) return new ArrayList<>();
+
+        String[] words = normalized.split(" ");
+        Set<String> queryGrams = new LinkedHashSet<>();
+        for (String word : words) {
+            addQueryGrams(word, queryGrams);
+        }
+
+        Postings[] lists = new Postings[queryGrams.size()];
+        int n = 0;
+        for (String gram : queryGrams) {
+            Postings list = postings.get(gram);
+            if (list == null) return new ArrayList<>();
+            lists[n++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        int[] candidates = Arrays.copyOf(lists[0].slots, lists[0].size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            count = lists[i].retainIn(candidates, count);
+        }
+
+        Ranked[] ranked = new Ranked[count];
+        int matched = 0;
+        for (int i = 0; i < count; i++) {
+            Entry entry = slots[candidates[i]];
+            int score = score(entry, words);
+            if (score > 0) ranked[matched++] = new Ranked(entry, score);
+        }
+        Arrays.sort(ranked, 0, matched);
+
+        List<Event> result = new ArrayList<>(matched);
+        for (int i = 0; i < matched; i++) {
+            result.add(ranked[i].entry.event);
+        }
+        return result;
+    }
+
+    private void index(Event event, int order) {
+        String[] raw = rawFieldsOf(event);
+        Entry existing = entries.get(event.getId());
+        if (existing != null && Arrays.equals(existing.raw, raw)) {
+            // Same text, just keep the newest object and position
+            existing.event = event;
+            existing.order = order;
+            return;
+        }
+        if (existing != null) removeEntry(event.getId());
+        if (nextSlot > 2 * entries.size() + COMPACT_SLACK) compact();
+
+        String[] fields = new String[FIELD_COUNT];
+        Set<String> grams = new HashSet<>();
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            fields[f] = normalize(raw[f]);
+            addFieldGrams(fields[f], grams);
+        }
+
+        Entry entry = new Entry(event, order, raw, fields, grams.toArray(new String[0]), nextSlot++);
+        add(entry);
+    }
+
+    private void add(Entry entry) {
+        if (entry.slot >= slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(slots.length * 2, entry.slot + 1));
+        }
+        slots[entry.slot] = entry;
+        entries.put(entry.event.getId(), entry);
+        for (String gram : entry.grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                list = new Postings();
+                postings.put(gram, list);
+            }
+            list.append(entry.slot);
+        }
+    }
+
+    /**
+     * Renumbers every indexed event into consecutive slots.
+     */
+    private void compact() {
+        List<Entry> live = new ArrayList<>();
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (slots[slot] != null) live.add(slots[slot]);
+        }
+        postings.clear();
+        entries.clear();
+        slots = new Entry[Math.max(64, live.size() * 2)];
+        nextSlot = 0;
+        for (Entry old : live) {
+            add(new Entry(old.event, old.order, old.raw, old.fields, old.grams, nextSlot++));
+        }
+    }
+
+    /**
+     * @return the raw searchable fields, by field index
+     */
+    private static String[] rawFieldsOf(Event event) {
+        String[] raw = new String[FIELD_COUNT];
+        raw[FIELD_NAME] = event.getName();
+        raw[FIELD_TAGS] = event.getTagList() != null ? String.join(" ", event.getTagList()) : null;
+        raw[FIELD_ORGANIZER] = event.getOrganizerName();
+        raw[FIELD_LOCATION] = event.getLocation();
+        raw[FIELD_DESCRIPTION] = event.getDescription();
+        return raw;
+    }
+
+    /**
+     * Adds the grams of every word in a normalized field: each word's 2-character start and
+     * each 3-character window of the word with a leading space.
+     */
+    private static void addFieldGrams(String field, Set<String> grams) {
+        int start = 0;
+        while (start < field.length()) {
+            int end = field.indexOf(' ', start);
+            if (end < 0) end = field.length();
+            String marked = " " + field.substring(start, end);
+            grams.add(marked.substring(0, 2));
+            for (int i = 0; i + GRAM_LENGTH <= marked.length(); i++) {
+                grams.add(marked.substring(i, i + GRAM_LENGTH));
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Adds the grams an event must have to contain a query word. Words shorter than a gram
+     * are looked up as word starts.
+     */
+    private static void addQueryGrams(String word, Set<String> grams) {
+        if (word.length() < GRAM_LENGTH) {
+            grams.add(" " + word);
+            return;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            grams.add(word.substring(i, i + GRAM_LENGTH));
+        }
+    }
+
+    /**
+     * Ranks an event against the query words.
+     *
+     * @return the rank, or 0 if some word is not actually in the event
+     */
+    private static int score(Entry entry, String[] words) {
+        int total = 0;
+        for (String word : words) {
+            int best = rank(entry.fields, word);
+            if (best == 0) return 0;
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Ranks one query word by the first field it is found in.
+     *
+     * @return the rank, or 0 if the word is in no field
+     */
+    private static int rank(String[] fields, String word) {
+        boolean shortWord = word.length() < GRAM_LENGTH;
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            String field = fields[f];
+            int at = field.indexOf(word);
+            if (at < 0) continue;
+            boolean wordStart = false;
+            for (; at >= 0; at = field.indexOf(word, at + 1)) {
+                if (at == 0 || field.charAt(at - 1) == ' ') {
+                    wordStart = true;
+                    break;
+                }
+            }
+            if (shortWord && !wordStart) continue;
+            return FIELD_WEIGHTS[f] + (wordStart ? WORD_START_BONUS : 0);
+        }
+        return 0;
+    }
+
+    /**
+     * One indexed event.
+     */
+    private static class Entry {
+        Event event;
+        int order;
+        final String[] raw;
+        final String[] fields;
+        final String[] grams;
+        final int slot;
+
+        Entry(Event event, int order, String[] raw, String[] fields, String[] grams, int slot) {
+            this.event = event;
+            this.order = order;
+            this.raw = raw;
+            this.fields = fields;
+            this.grams = grams;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * A candidate with its rank, ordered best first, then by feed position.
+     */
+    private static class Ranked implements Comparable<Ranked> {
+        final Entry entry;
+        final int score;
+
+        Ranked(Entry entry, int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            int byScore = Integer.compare(other.score, score);
+            return byScore != 0 ? byScore : Integer.compare(entry.order, other.entry.order);
+        }
+    }
+
+    /**
+     * Sorted slots of the events containing one gram.
+     */
+    private static class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        /**
+         * Adds a slot higher than every slot already in the list.
+         */
+        void append(int slot) {
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at < 0) return;
+            System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+            size--;
+        }
+
+        /**
+         * Keeps only the candidates that are also in this list.
+         *
+         * @param candidates sorted slots, filtered in place
+         * @param count      how many candidates there are
+         * @return how many candidates are left
+         */
+        int retainIn(int[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            // Walk both lists when they are of similar length, otherwise jump by binary search
+            boolean walk = size <= count * 8L;
+            for (int i = 0; i < count && from < size; i++) {
+                int candidate = candidates[i];
+                if (walk) {
+                    while (from < size && slots[from] < candidate) from++;
+                    if (from < size && slots[from] == candidate) {
+                        candidates[kept++] = candidate;
+                        from++;
+                    }
+                    continue;
+                }
+                int at = Arrays.binarySearch(slots, from, size, candidate);
+                if (at >= 0) {
+                    candidates[kept++] = candidate;
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+            return kept;
+        }
+    }
+}
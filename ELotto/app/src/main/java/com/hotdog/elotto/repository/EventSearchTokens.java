@@ -0,0 +1,127 @@
+package com.hotdog.elotto.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hotdog.elotto.model.Event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Normalized word prefixes of an event's name, location and tags, stored on the event
+ * document so events can be searched with a Firestore {@code array-contains} query.
+ *
+ * <p>Every writer of an event also writes its tokens, and
+ * {@link EventRepository#searchEvents} queries them with a query word normalized the same
+ * way by {@link EventSearchIndex#normalize}. Prefixes are cut at {@link #MAX_PREFIX}
+ * characters to bound the size of the array; longer query words are matched on their first
+ * {@link #MAX_PREFIX} characters and then checked against the event itself. Events saved
+ * before the tokens existed are given them once by
+ * {@link EventRepository#backfillSearchTokens}.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class EventSearchTokens {
+
+    public static final String FIELD = "searchTokens";
+
+    /**
+     * Longest prefix stored for a word.
+     */
+    static final int MAX_PREFIX = 12;
+
+    private EventSearchTokens() {}
+
+    /**
+     * Builds the tokens for an event's current name, location and tags.
+     *
+     * @param event the event
+     * @return every distinct word prefix, ready to store on the event document
+     */
+    @NonNull
+    public static List<String> of(@NonNull Event event) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addPrefixes(event.getName(), tokens);
+        addPrefixes(event.getLocation(), tokens);
+        if (event.getTagList() != null) {
+            for (String tag : event.getTagList()) {
+                addPrefixes(tag, tokens);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Picks the query word to look up on the server: the longest one, as it matches the
+     * fewest events.
+     *
+     * @param query the text typed by the user
+     * @return the token to query, or null for a blank query
+     */
+    @Nullable
+    public static String queryToken(@Nullable String query) {
+        String best = null;
+        for (String word : words(query)) {
+            if (best == null || word.length() > best.length()) best = word;
+        }
+        return best == null ? null : truncate(best);
+    }
+
+    /**
+     * Checks that every word of a query starts a word of the event's name, location or tags,
+     * the same match the tokens give one word at a time.
+     *
+     * @param event the event
+     * @param query the text typed by the user
+     * @return true if every query word matches
+     */
+    public static boolean matches(@NonNull Event event, @Nullable String query) {
+        List<String> eventWords = new ArrayList<>(words(event.getName()));
+        eventWords.addAll(words(event.getLocation()));
+        if (event.getTagList() != null) {
+            for (String tag : event.getTagList()) {
+                eventWords.addAll(words(tag));
+            }
+        }
+        for (String word : words(query)) {
+            boolean found = false;
+            for (String eventWord : eventWords) {
+                if (eventWord.startsWith(word)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    private static void addPrefixes(@Nullable String text, Set<String> tokens) {
+        for (String word : words(text)) {
+            int end = Math.min(word.length(), MAX_PREFIX);
+            for (int i = 1; i <= end; i++) {
+                tokens.add(word.substring(0, i));
+            }
+        }
+    }
+
+    private static List<String> words(@Nullable String text) {
+        List<String> words = new ArrayList<>();
+        String normalized = EventSearchIndex.normalize(text);
+        if (normalized.isEmpty()) return words;
+        for (String word : normalized.split(" ")) {
+            words.add(word);
+        }
+        return words;
+    }
+
+    private static String truncate(String word) {
+        return word.length() > MAX_PREFIX ? word.substring(0, MAX_PREFIX) : word;
+    }
+}
@@ -0,0 +1,269 @@
+package com.hotdog.elotto.repository;
+
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.os.BundleCompat;
+
+import com.hotdog.elotto.callback.FirestoreCallback;
+import com.hotdog.elotto.model.Event;
+import com.hotdog.elotto.model.EventSummary;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process cache of {@link Event} objects keyed by event ID.
+ *
+ * <p>Screens navigate by passing an event ID (plus a small {@link EventSummary}) instead of
+ * serializing the whole event into the navigation Bundle. The source screen puts the event it
+ * already has into this store, and the destination resolves the ID back to the same instance.
+ * If the entry is gone (for example after process death) the event is fetched again through
+ * the {@link EventRepository}.</p>
+ *
+ * <p>The cache is a bounded LRU so large poster strings can't pile up indefinitely.</p>
+ *
+ * <p><b>Design Pattern:</b> Singleton, like {@link UserRepository}.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class EventStore {
+    private static final String TAG = "EventStore";
+
+    /**
+     * Navigation argument key holding the event ID.
+     */
+    public static final String ARG_EVENT_ID = "eventId";
+
+    /**
+     * Navigation argument key holding the {@link EventSummary}.
+     */
+    public static final String ARG_EVENT_SUMMARY = "eventSummary";
+
+    /**
+     * Maximum number of events kept in memory at once.
+     */
+    private static final int MAX_ENTRIES = 200;
+
+    private static EventStore instance;
+
+    private EventRepository eventRepository;
+
+    /**
+     * Access ordered map so the least recently used event is evicted first.
+     */
+    private final Map<String, Event> cache = new LinkedHashMap<String, Event>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Event> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Returns the singleton instance of the EventStore.
+     *
+     * @return the shared event store
+     */
+    public static synchronized EventStore getInstance() {
+        if (instance == null) {
+            instance = new EventStore(null);
+        }
+        return instance;
+    }
+
+    /**
+     * Constructor for dependency injection (useful for testing).
+     *
+     * @param eventRepository the repository used on a cache miss, or null to create one lazily
+     */
+    public EventStore(@Nullable EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Adds or replaces an event in the store. Events without an ID are ignored.
+     *
+     * @param event the event to cache
+     */
+    public synchronized void put(@Nullable Event event) {
+        if (event == null || event.getId() == null || event.getId().isEmpty()) {
+            return;
+        }
+        cache.put(event.getId(), event);
+    }
+
+    /**
+     * Adds or replaces every event in the list.
+     *
+     * @param events the events to cache
+     */
+    public synchronized void putAll(@Nullable List<Event> events) {
+        if (events == null) {
+            return;
+        }
+        for (Event event : events) {
+            put(event);
+        }
+    }
+
+    /**
+     * Gets an event from the store without touching the repository.
+     *
+     * @param eventId the event ID
+     * @return the cached event, or null if it is not cached
+     */
+    @Nullable
+    public synchronized Event get(@Nullable String eventId) {
+        if (eventId == null) {
+            return null;
+        }
+        return cache.get(eventId);
+    }
+
+    /**
+     * Removes an event from the store, e.g. after it has been deleted.
+     *
+     * @param eventId the event ID
+     */
+    public synchronized void invalidate(@Nullable String eventId) {
+        if (eventId != null) {
+            cache.remove(eventId);
+        }
+    }
+
+    /**
+     * Removes every cached event.
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Resolves an event ID to a full event. A cached event is returned synchronously,
+     * otherwise the event is fetched from Firestore and cached.
+     *
+     * @param eventId  the event ID to resolve
+     * @param callback the callback to receive the event or error message
+     */
+    public void resolve(@Nullable String eventId, @NonNull FirestoreCallback<Event> callback) {
+        if (eventId == null || eventId.isEmpty()) {
+            callback.onError("No event ID provided");
+            return;
+        }
+
+        Event cached = get(eventId);
+        if (cached != null) {
+            callback.onSuccess(cached);
+            return;
+        }
+
+        Log.d(TAG, "Cache miss, fetching event: " + eventId);
+        getRepository().getEventById(eventId, new FirestoreCallback<Event>() {
+            @Override
+            public void onSuccess(Event event) {
+                put(event);
+                callback.onSuccess(event);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Resolves an event ID under a {@link ReadPolicy}.
+     *
+     * <p>With {@link ReadPolicy#CACHE_THEN_SERVER} the in-memory event (or, failing that, the
+     * one in Firestore's local cache) is handed to {@code cachedCallback} straight away, and the
+     * event is always re-read from the server and delivered to {@code callback}. The fresh
+     * copy replaces the cached one in this store.</p>
+     *
+     * @param eventId        the event ID to resolve
+     * @param policy         where to read from
+     * @param cachedCallback receives the cached event, only used with CACHE_THEN_SERVER
+     * @param callback       the callback to receive the event or error message
+     */
+    public void resolve(@Nullable String eventId, @NonNull ReadPolicy policy,
+                        @Nullable FirestoreCallback<Event> cachedCallback,
+                        @NonNull FirestoreCallback<Event> callback) {
+        if (eventId == null || eventId.isEmpty()) {
+            callback.onError("No event ID provided");
+            return;
+        }
+
+        Event cached = policy == ReadPolicy.SERVER_ONLY ? null : get(eventId);
+        if (cached != null && policy == ReadPolicy.CACHE_ONLY) {
+            callback.onSuccess(cached);
+            return;
+        }
+
+        ReadPolicy repositoryPolicy = policy;
+        if (cached != null) {
+            // CACHE_THEN_SERVER with an in-memory hit only needs the server half
+            if (cachedCallback != null) cachedCallback.onSuccess(cached);
+            repositoryPolicy = ReadPolicy.SERVER_ONLY;
+        }
+
+        getRepository().getEventById(eventId, repositoryPolicy, cachedCallback, new FirestoreCallback<Event>() {
+            @Override
+            public void onSuccess(Event event) {
+                put(event);
+                callback.onSuccess(event);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Builds navigation arguments for an event and caches it so the destination can resolve it.
+     *
+     * @param event the event being navigated to
+     * @return a Bundle holding the event ID and its summary
+     */
+    @NonNull
+    public Bundle buildArgs(@NonNull Event event) {
+        put(event);
+        Bundle bundle = new Bundle();
+        bundle.putString(ARG_EVENT_ID, event.getId());
+        bundle.putParcelable(ARG_EVENT_SUMMARY, new EventSummary(event));
+        return bundle;
+    }
+
+    /**
+     * Reads the summary out of navigation arguments.
+     *
+     * @param args the fragment arguments
+     * @return the summary, or null if none was passed
+     */
+    @Nullable
+    public static EventSummary getSummary(@Nullable Bundle args) {
+        if (args == null) {
+            return null;
+        }
+        return BundleCompat.getParcelable(args, ARG_EVENT_SUMMARY, EventSummary.class);
+    }
+
+    /**
+     * Returns the repository, creating it on first use.
+     *
+     * @return the event repository
+     */
+    private synchronized EventRepository getRepository() {
+        if (eventRepository == null) {
+            eventRepository = new EventRepository();
+        }
+        return eventRepository;
+    }
+}
@@ -0,0 +1,19 @@
+package com.hotdog.elotto.repository;
+
+/**
+ * Firestore limits shared by the repositories that batch their writes.
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+final class FirestoreLimits {
+
+    /**
+     * Most writes put in one {@code WriteBatch}. Firestore allows 500, leave some headroom.
+     */
+    static final int MAX_BATCH_WRITES = 450;
+
+    private FirestoreLimits() {}
+}
@@ -0,0 +1,306 @@
+package com.hotdog.elotto.repository;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Geohashes for storing points so Firestore can find them by area.
+ *
+ * <p>A geohash splits the world into 32 cells, each cell into 32 more, and so on, naming
+ * each cell by a base-32 character appended to its parent's name. Every point in a cell has
+ * a hash starting with the cell's name, so the points in a cell are one string range. Points
+ * are stored with a {@link #PRECISION}-character hash in a {@link #FIELD} field, which
+ * Firestore indexes by default.</p>
+ *
+ * <p>{@link #ranges} covers a bounding box with the cells of the finest level that needs at
+ * most {@link #MAX_CELLS} of them, then merges cells that follow each other in hash order
+ * into one range, so a viewport is a handful of range queries. The cells overhang the box,
+ * so results are checked against it with {@link #inBounds} afterwards.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class Geohash {
+
+    /**
+     * Name of the field holding a document's geohash.
+     */
+    public static final String FIELD = "geohash";
+
+    /**
+     * Characters in a stored geohash; a cell of about 5 by 5 metres.
+     */
+    public static final int PRECISION = 9;
+
+    /**
+     * Most cells a bounding box is covered with.
+     */
+    static final int MAX_CELLS = 32;
+
+    /**
+     * Most ranges a bounding box is queried with, after merging.
+     */
+    static final int MAX_RANGES = 8;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    /**
+     * Sorts after every base-32 character, so {@code cell + END} bounds everything in a cell.
+     */
+    private static final char END = '~';
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private Geohash() {}
+
+    /**
+     * A range of geohashes to query: at least {@link #getStart()} and below {@link #getEnd()}.
+     */
+    public static final class Range {
+        private final String start;
+        private final String end;
+
+        Range(String start, String end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * @return The first hash in the range, inclusive.
+         */
+        public String getStart() {
+            return start;
+        }
+
+        /**
+         * @return The end of the range, exclusive.
+         */
+        public String getEnd() {
+            return end;
+        }
+
+        /**
+         * @param hash a geohash
+         * @return True if the hash is in the range.
+         */
+        public boolean contains(@NonNull String hash) {
+            return hash.compareTo(start) >= 0 && hash.compareTo(end) < 0;
+        }
+    }
+
+    /**
+     * Encodes a point at the stored precision.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @return the point's geohash
+     */
+    @NonNull
+    public static String encode(double latitude, double longitude) {
+        return encode(latitude, longitude, PRECISION);
+    }
+
+    /**
+     * Encodes a point.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @param precision the number of characters
+     * @return the point's geohash
+     */
+    @NonNull
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0;
+        int value = 0;
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    value = value * 2 + 1;
+                    minLon = mid;
+                } else {
+                    value *= 2;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = value * 2 + 1;
+                    minLat = mid;
+                } else {
+                    value *= 2;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(value));
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Covers a bounding box with merged geohash ranges. A box whose west edge is east of its
+     * east edge crosses the antimeridian.
+     *
+     * @param south the southern latitude
+     * @param west  the western longitude
+     * @param north the northern latitude
+     * @param east  the eastern longitude
+     * @return the ranges, in hash order
+     */
+    @NonNull
+    public static List<Range> ranges(double south, double west, double north, double east) {
+        if (west > east) {
+            List<Range> ranges = ranges(south, west, north, 180);
+            ranges.addAll(ranges(south, -180, north, east));
+            return ranges;
+        }
+        south = Math.max(-90, Math.min(90, south));
+        north = Math.max(-90, Math.min(90, north));
+
+        for (int precision = PRECISION; precision > 1; precision--) {
+            TreeSet<String> cells = cells(south, west, north, east, precision);
+            if (cells == null) continue;
+            List<Range> ranges = merge(cells);
+            if (ranges.size() <= MAX_RANGES) return ranges;
+        }
+        return merge(cells(south, west, north, east, 1));
+    }
+
+    /**
+     * Lists the cells of one precision overlapping a box.
+     *
+     * @return the cells, or null if there would be more than {@link #MAX_CELLS}
+     */
+    private static TreeSet<String> cells(double south, double west, double north, double east, int precision) {
+        int lonBits = (5 * precision + 1) / 2;
+        int latBits = 5 * precision / 2;
+        double width = 360.0 / (1L << lonBits);
+        double height = 180.0 / (1L << latBits);
+        long firstCol = cellIndex(west + 180, width, lonBits);
+        long lastCol = cellIndex(east + 180, width, lonBits);
+        long firstRow = cellIndex(south + 90, height, latBits);
+        long lastRow = cellIndex(north + 90, height, latBits);
+        if ((lastCol - firstCol + 1) * (lastRow - firstRow + 1) > MAX_CELLS && precision > 1) return null;
+
+        TreeSet<String> cells = new TreeSet<>();
+        for (long row = firstRow; row <= lastRow; row++) {
+            for (long col = firstCol; col <= lastCol; col++) {
+                // Encode each cell's centre
+                cells.add(encode((row + 0.5) * height - 90, (col + 0.5) * width - 180, precision));
+            }
+        }
+        return cells;
+    }
+
+    private static long cellIndex(double offset, double size, int bits) {
+        return Math.max(0, Math.min((1L << bits) - 1, (long) Math.floor(offset / size)));
+    }
+
+    /**
+     * Joins cells that follow each other in hash order into ranges.
+     */
+    private static List<Range> merge(TreeSet<String> cells) {
+        List<Range> ranges = new ArrayList<>();
+        String start = null;
+        String last = null;
+        for (String cell : cells) {
+            if (last != null && !cell.equals(successor(last))) {
+                ranges.add(new Range(start, last + END));
+                start = null;
+            }
+            if (start == null) start = cell;
+            last = cell;
+        }
+        if (start != null) ranges.add(new Range(start, last + END));
+        return ranges;
+    }
+
+    /**
+     * @return the next cell of the same precision in hash order, or null after the last one
+     */
+    private static String successor(String cell) {
+        char[] chars = cell.toCharArray();
+        for (int i = chars.length - 1; i >= 0; i--) {
+            int digit = BASE32.indexOf(chars[i]);
+            if (digit < BASE32.length() - 1) {
+                chars[i] = BASE32.charAt(digit + 1);
+                return new String(chars);
+            }
+            chars[i] = BASE32.charAt(0);
+        }
+        return null;
+    }
+
+    /**
+     * Works out the bounding box of a circle.
+     *
+     * @param latitude     the centre's latitude
+     * @param longitude    the centre's longitude
+     * @param radiusMeters the radius
+     * @return {south, west, north, east}, west being east of east when the box crosses the
+     * antimeridian
+     */
+    @NonNull
+    public static double[] boundsAround(double latitude, double longitude, double radiusMeters) {
+        double latDelta = Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+        double south = Math.max(-90, latitude - latDelta);
+        double north = Math.min(90, latitude + latDelta);
+        // Near a pole every longitude is within the radius
+        double cos = Math.cos(Math.toRadians(Math.max(Math.abs(south), Math.abs(north))));
+        double lonDelta = cos <= 0 ? 180 : latDelta / cos;
+        if (north >= 90 || south <= -90 || lonDelta >= 180) {
+            return new double[]{south, -180, north, 180};
+        }
+        double west = longitude - lonDelta;
+        double east = longitude + lonDelta;
+        if (west < -180) west += 360;
+        if (east > 180) east -= 360;
+        return new double[]{south, west, north, east};
+    }
+
+    /**
+     * Checks a point against a bounding box, which may cross the antimeridian.
+     *
+     * @param latitude  the point's latitude
+     * @param longitude the point's longitude
+     * @param south     the southern latitude
+     * @param west      the western longitude
+     * @param north     the northern latitude
+     * @param east      the eastern longitude
+     * @return True if the point is inside the box.
+     */
+    public static boolean inBounds(double latitude, double longitude,
+                                   double south, double west, double north, double east) {
+        if (latitude < south || latitude > north) return false;
+        return west <= east
+                ? longitude >= west && longitude <= east
+                : longitude >= west || longitude <= east;
+    }
+
+    /**
+     * Great-circle distance between two points.
+     *
+     * @return the distance in metres
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
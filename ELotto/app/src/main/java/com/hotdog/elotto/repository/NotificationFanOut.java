@@ -0,0 +1,270 @@
+package com.hotdog.elotto.repository;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+import com.hotdog.elotto.model.NotificationTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers one templated notification to many users in paced {@link WriteBatch}es.
+ *
+ * <p>Recipients are split into chunks of {@link #RECIPIENTS_PER_BATCH}, one batch commit each.
+ * Every recipient gets the notification and an increment of their unread counter.
+ * Before each commit the engine takes tokens from a shared {@link TokenBucket} that starts at
+ * 500 writes per second and grows by 50% every 5 minutes, Firestore's ramp-up rule for write
+ * traffic. Broadcasts sent at the same time share the bucket, so together they stay within
+ * the rate.</p>
+ *
+ * <p>A chunk that fails with a transient error is retried with exponential backoff, up to
+ * {@link #MAX_ATTEMPTS} times. A chunk that fails permanently, or runs out of attempts, is
+ * counted as failed. Each recipient's notification ID is derived from the template and user
+ * IDs, so a retried batch overwrites anything an earlier attempt wrote instead of duplicating
+ * it. The counter increment can still be applied twice; the inbox recounts it when opened.</p>
+ *
+ * <p>Delivered and failed counts are atomic, since commits complete on Firestore's callback
+ * thread while the scheduler starts new ones. Progress and completion are reported on the
+ * main thread.</p>
+ *
+ * <p><b>Design Pattern:</b> Singleton, like {@link WriteOutbox}. The commit, scheduler and
+ * rate limiter are injectable for testing.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class NotificationFanOut {
+    private static final String TAG = "NotificationFanOut";
+
+    /**
+     * Each recipient costs two writes: the notification and the unread counter increment.
+     */
+    static final int WRITES_PER_RECIPIENT = 2;
+    static final int RECIPIENTS_PER_BATCH = FirestoreLimits.MAX_BATCH_WRITES / WRITES_PER_RECIPIENT;
+
+    /**
+     * Starting write rate, per Firestore's 500/50/5 ramp-up rule.
+     */
+    static final double INITIAL_WRITES_PER_SECOND = 500;
+    static final long RAMP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    static final double RAMP_FACTOR = 1.5;
+
+    /**
+     * Commit attempts per chunk before its recipients are counted as failed.
+     */
+    static final int MAX_ATTEMPTS = 4;
+    static final long RETRY_BASE_DELAY_MILLIS = 1000;
+
+    private static NotificationFanOut instance;
+
+    /**
+     * Receives the progress of one broadcast, on the main thread.
+     */
+    public interface Listener {
+        /**
+         * Called after every chunk finishes.
+         *
+         * @param delivered recipients written so far
+         * @param failed    recipients given up on so far
+         * @param total     recipients in the broadcast
+         */
+        void onProgress(int delivered, int failed, int total);
+
+        /**
+         * Called once, after every recipient is delivered or given up on.
+         *
+         * @param delivered recipients written
+         * @param failed    recipients given up on
+         */
+        void onComplete(int delivered, int failed);
+    }
+
+    /**
+     * Commits the notifications for one chunk of recipients in a single batch.
+     */
+    public interface Committer {
+        /**
+         * @param template  the saved template the notifications refer to
+         * @param userIds   the recipients in this chunk
+         * @param timestamp the broadcast's send time, the same for every chunk
+         * @param callback  told the outcome
+         */
+        void commit(NotificationTemplate template, List<String> userIds, Timestamp timestamp,
+                    WriteOutbox.CommitCallback callback);
+    }
+
+    /**
+     * Runs work after a delay.
+     */
+    public interface Scheduler {
+        void schedule(Runnable work, long delayMillis);
+    }
+
+    private final Committer committer;
+    private final Scheduler scheduler;
+    private final Executor callbackExecutor;
+    private final TokenBucket bucket;
+
+    /**
+     * Returns the shared fan-out engine.
+     *
+     * @return the shared engine
+     */
+    public static synchronized NotificationFanOut getInstance() {
+        if (instance == null) {
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+            instance = new NotificationFanOut(new FirestoreCommitter(),
+                    (work, delayMillis) -> executor.schedule(work, delayMillis, TimeUnit.MILLISECONDS),
+                    RepositoryExecutors.main(),
+                    new TokenBucket(INITIAL_WRITES_PER_SECOND, RAMP_INTERVAL_MILLIS, RAMP_FACTOR,
+                            SystemClock::elapsedRealtime));
+        }
+        return instance;
+    }
+
+    /**
+     * Constructor for dependency injection (useful for testing).
+     *
+     * @param committer        commits one chunk
+     * @param scheduler        delays commits and retries
+     * @param callbackExecutor where listeners are called
+     * @param bucket           paces the commits
+     */
+    public NotificationFanOut(@NonNull Committer committer, @NonNull Scheduler scheduler,
+                              @NonNull Executor callbackExecutor, @NonNull TokenBucket bucket) {
+        this.committer = committer;
+        this.scheduler = scheduler;
+        this.callbackExecutor = callbackExecutor;
+        this.bucket = bucket;
+    }
+
+    /**
+     * Derives the notification ID for one recipient of a broadcast.
+     *
+     * @param templateId the template
+     * @param userId     the recipient
+     * @return a UUID that is the same every time for this pair
+     */
+    public static String notificationId(String templateId, String userId) {
+        return UUID.nameUUIDFromBytes((templateId + "/" + userId).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Starts delivering a template to every recipient and returns straight away.
+     *
+     * @param template the saved template the notifications refer to
+     * @param userIds  the recipients
+     * @param listener receives progress and completion
+     */
+    public void send(@NonNull NotificationTemplate template, @NonNull List<String> userIds,
+                     @NonNull Listener listener) {
+        Broadcast broadcast = new Broadcast(template, userIds.size(), Timestamp.now(), listener);
+        if (userIds.isEmpty()) {
+            broadcast.report();
+            return;
+        }
+
+        for (int start = 0; start < userIds.size(); start += RECIPIENTS_PER_BATCH) {
+            List<String> chunk = new ArrayList<>(userIds.subList(start,
+                    Math.min(start + RECIPIENTS_PER_BATCH, userIds.size())));
+            schedule(broadcast, chunk, 1, 0);
+        }
+    }
+
+    private void schedule(Broadcast broadcast, List<String> chunk, int attempt, long backoffMillis) {
+        long delay = bucket.reserve(chunk.size() * WRITES_PER_RECIPIENT) + backoffMillis;
+        scheduler.schedule(() -> committer.commit(broadcast.template, chunk, broadcast.timestamp,
+                new WriteOutbox.CommitCallback() {
+                    @Override
+                    public void onSuccess() {
+                        broadcast.delivered.addAndGet(chunk.size());
+                        broadcast.report();
+                    }
+
+                    @Override
+                    public void onError(boolean permanent, String message) {
+                        if (!permanent && attempt < MAX_ATTEMPTS) {
+                            Log.w(TAG, "Chunk failed, retrying (attempt " + attempt + "): " + message);
+                            schedule(broadcast, chunk, attempt + 1, RETRY_BASE_DELAY_MILLIS << (attempt - 1));
+                            return;
+                        }
+                        Log.e(TAG, "Chunk of " + chunk.size() + " notifications failed: " + message);
+                        broadcast.failed.addAndGet(chunk.size());
+                        broadcast.report();
+                    }
+                }), delay);
+    }
+
+    /**
+     * State of one running broadcast.
+     */
+    private class Broadcast {
+        final NotificationTemplate template;
+        final int total;
+        final Timestamp timestamp;
+        final Listener listener;
+        final AtomicInteger delivered = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicBoolean completed = new AtomicBoolean();
+
+        Broadcast(NotificationTemplate template, int total, Timestamp timestamp, Listener listener) {
+            this.template = template;
+            this.total = total;
+            this.timestamp = timestamp;
+            this.listener = listener;
+        }
+
+        void report() {
+            int deliveredNow = delivered.get();
+            int failedNow = failed.get();
+            callbackExecutor.execute(() -> listener.onProgress(deliveredNow, failedNow, total));
+            if (deliveredNow + failedNow >= total && completed.compareAndSet(false, true)) {
+                callbackExecutor.execute(() -> listener.onComplete(deliveredNow, failedNow));
+            }
+        }
+    }
+
+    /**
+     * Writes one chunk's notifications to {@code notifications/{userId}/items} and bumps each
+     * recipient's unread counter, all in one batch.
+     */
+    static class FirestoreCommitter implements Committer {
+        private FirebaseFirestore db;
+
+        @Override
+        public void commit(NotificationTemplate template, List<String> userIds, Timestamp timestamp,
+                           WriteOutbox.CommitCallback callback) {
+            if (db == null) db = FirebaseFirestore.getInstance();
+
+            WriteBatch batch = db.batch();
+            for (String userId : userIds) {
+                String uuid = notificationId(template.getId(), userId);
+                batch.set(NotificationRepository.itemRef(db, userId, uuid),
+                        NotificationRepository.templatedItem(userId, uuid, template, timestamp));
+                batch.set(NotificationRepository.inboxRef(db, userId),
+                        NotificationRepository.unreadDelta(1), SetOptions.merge());
+            }
+            batch.commit()
+                    .addOnSuccessListener(aVoid -> callback.onSuccess())
+                    .addOnFailureListener(e -> callback.onError(
+                            WriteOutbox.FirestoreCommitter.isPermanent(e), e.getMessage()));
+        }
+    }
+}
@@ -2,26 +2,66 @@ package com.hotdog.elotto.repository;
 
 import android.util.Log;
 
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
 import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.callback.FirestoreListCallback;
 import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.model.Notification;
+import com.hotdog.elotto.model.NotificationTemplate;
+import com.hotdog.elotto.repository.codec.NotificationCodec;
+import com.hotdog.elotto.repository.codec.NotificationTemplateCodec;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Repository class responsible for managing Notification data access with
  * Firebase Firestore.
- * Stores notifications in a "notifications" collection where each document ID
- * is the User ID.
- * The document contains an array of Notification objects.
+ * Stores each notification as its own document at
+ * {@code notifications/{userId}/items/{uuid}}.
+ *
+ * <p>Inboxes are read newest first in pages of {@link #PAGE_SIZE}, and marking a notification
+ * read or deleting it touches only that one document, so neither cost grows with the inbox
+ * and neither races with notifications being added.</p>
+ *
+ * <p>A notification sent to many users keeps its content in one shared
+ * {@link NotificationTemplate} document, and each recipient's item holds only the template
+ * ID, read state and timestamp. Reads fill in template content from the
+ * {@link NotificationTemplateCache}, fetching only templates not seen before.</p>
+ *
+ * <p>The {@code notifications/{userId}} document keeps an "unreadCount" field that every write
+ * adjusts with an atomic increment, so the unread badge is one small document read (or
+ * listener) instead of a download of the inbox. {@link #recountUnread} corrects the counter
+ * from the items if a retried write ever counted twice.</p>
+ *
+ * <p>Older inboxes were a single "notifications" array on the {@code notifications/{userId}}
+ * document. {@link #migrateLegacyInbox} and {@link #migrateAllLegacyInboxes} copy those arrays
+ * into the subcollection in batches.</p>
  *
  * @author Layne Pitman
  * @version 1.0
@@ -29,77 +69,490 @@ import java.util.Map;
  */
 public class NotificationRepository {
     private static final String COLLECTION_NAME = "notifications";
+    private static final String ITEMS_COLLECTION = "items";
+    private static final String TEMPLATES_COLLECTION = "notificationTemplates";
     private static final String FIELD_NOTIFICATIONS = "notifications";
+    private static final String FIELD_READ_IDS = "readIds";
+    private static final String FIELD_TIMESTAMP = "timestamp";
+    private static final String FIELD_EVENT_ID = "eventId";
+    private static final String FIELD_READ = "read";
+    private static final String FIELD_UNREAD_COUNT = "unreadCount";
     private static final String TAG = "NotificationRepository";
+
+    /**
+     * Number of notifications read per inbox page.
+     */
+    public static final int PAGE_SIZE = 30;
+
+    /**
+     * Most IDs Firestore accepts in one whereIn filter.
+     */
+    private static final int WHERE_IN_LIMIT = 30;
+
+    /**
+     * Notifications already queued as read by {@link #enqueueMarkAsRead} in this process, as
+     * "userId:notificationId", so marking one twice never queues a second decrement.
+     */
+    private static final Set<String> queuedReads = Collections.synchronizedSet(new HashSet<>());
+
     private final FirebaseFirestore db;
+    private final NotificationTemplateCache templateCache;
 
     public NotificationRepository() {
         this.db = FirebaseFirestore.getInstance();
+        this.templateCache = NotificationTemplateCache.getInstance();
+    }
+
+    /**
+     * One page of a user's inbox.
+     */
+    public static class Page {
+        private final List<Notification> notifications;
+        private final DocumentSnapshot last;
+        private final boolean hasMore;
+
+        Page(List<Notification> notifications, DocumentSnapshot last, boolean hasMore) {
+            this.notifications = notifications;
+            this.last = last;
+            this.hasMore = hasMore;
+        }
+
+        /**
+         * @return The notifications on this page, newest first.
+         */
+        public List<Notification> getNotifications() {
+            return notifications;
+        }
+
+        /**
+         * @return True if older notifications may follow this page.
+         */
+        public boolean hasMore() {
+            return hasMore;
+        }
+    }
+
+    /**
+     * Gets a user's notification subcollection.
+     *
+     * @param userId The ID of the user.
+     * @return The {@code notifications/{userId}/items} collection.
+     */
+    private CollectionReference items(String userId) {
+        return db.collection(COLLECTION_NAME).document(userId).collection(ITEMS_COLLECTION);
+    }
+
+    /**
+     * Gets one notification document, for writers that build their own batches.
+     *
+     * @param db     The Firestore instance.
+     * @param userId The ID of the user.
+     * @param uuid   The notification's UUID.
+     * @return The {@code notifications/{userId}/items/{uuid}} document.
+     */
+    static DocumentReference itemRef(FirebaseFirestore db, String userId, String uuid) {
+        return db.collection(COLLECTION_NAME).document(userId).collection(ITEMS_COLLECTION).document(uuid);
+    }
+
+    /**
+     * Gets the parent document of a user's inbox, which holds the unread counter.
+     *
+     * @param db     The Firestore instance.
+     * @param userId The ID of the user.
+     * @return The {@code notifications/{userId}} document.
+     */
+    static DocumentReference inboxRef(FirebaseFirestore db, String userId) {
+        return db.collection(COLLECTION_NAME).document(userId);
+    }
+
+    /**
+     * Builds a merge-set that adjusts the unread counter, creating it if needed.
+     *
+     * @param delta The amount to add, negative to subtract.
+     * @return The data to set with {@link SetOptions#merge()}.
+     */
+    static Map<String, Object> unreadDelta(long delta) {
+        return Collections.singletonMap(FIELD_UNREAD_COUNT, FieldValue.increment(delta));
+    }
+
+    /**
+     * Gets a user's notification subcollection, for jobs that page through it themselves.
+     *
+     * @param db     The Firestore instance.
+     * @param userId The ID of the user.
+     * @return The {@code notifications/{userId}/items} collection.
+     */
+    static CollectionReference itemsRef(FirebaseFirestore db, String userId) {
+        return inboxRef(db, userId).collection(ITEMS_COLLECTION);
+    }
+
+    /**
+     * Queries every user's notifications about one event. Needs the collection-group
+     * single-field index on eventId.
+     *
+     * @param db      The Firestore instance.
+     * @param eventId The ID of the event.
+     * @return The unordered query.
+     */
+    static Query eventItems(FirebaseFirestore db, String eventId) {
+        return db.collectionGroup(ITEMS_COLLECTION).whereEqualTo(FIELD_EVENT_ID, eventId);
+    }
+
+    /**
+     * Adds deleting one notification to a batch, and decrementing its owner's unread counter
+     * if it was unread.
+     *
+     * @param batch The batch to add to.
+     * @param db    The Firestore instance.
+     * @param item  The notification's {@code notifications/{userId}/items/{uuid}} document.
+     * @return The number of writes added.
+     */
+    static int deleteItem(WriteBatch batch, FirebaseFirestore db, DocumentSnapshot item) {
+        batch.delete(item.getReference());
+        if (Boolean.TRUE.equals(item.getBoolean(FIELD_READ))) return 1;
+
+        DocumentReference inbox = item.getReference().getParent().getParent();
+        if (inbox == null) return 1;
+        batch.set(inboxRef(db, inbox.getId()), unreadDelta(-1), SetOptions.merge());
+        return 2;
     }
 
     /**
-     * Retrieves all notifications for a specific user.
+     * Gets the path of a user's notification subcollection, for writes queued in the outbox.
+     *
+     * @param userId The ID of the user.
+     * @return The collection path.
+     */
+    private static String itemsPath(String userId) {
+        return COLLECTION_NAME + "/" + userId + "/" + ITEMS_COLLECTION;
+    }
+
+    /**
+     * Builds the query for one inbox page.
+     *
+     * @param userId The ID of the user.
+     * @param after  The page before this one, or null for the first page.
+     * @return The query, newest first.
+     */
+    private Query pageQuery(String userId, @Nullable Page after) {
+        Query query = items(userId).orderBy(FIELD_TIMESTAMP, Query.Direction.DESCENDING);
+        if (after != null && after.last != null) {
+            query = query.startAfter(after.last);
+        }
+        return query.limit(PAGE_SIZE);
+    }
+
+    /**
+     * Retrieves the newest page of notifications for a specific user.
      *
      * @param userId   The ID of the user.
      * @param callback Callback to receive the list of notifications.
      */
     public void getNotifications(String userId, FirestoreListCallback<Notification> callback) {
-        db.collection(COLLECTION_NAME).document(userId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        List<Map<String, Object>> rawList = (List<Map<String, Object>>) documentSnapshot.get(FIELD_NOTIFICATIONS);
-                        List<Notification> notifications = new ArrayList<>();
-
-                        if (rawList != null) {
-                            for (Map<String, Object> map : rawList) {
-                                try {
-                                    // Manually map fields in the sub collection
-                                    Notification n = new Notification();
-                                    n.setUuid((String) map.get("uuid"));
-                                    n.setTitle((String) map.get("title"));
-                                    n.setMessage((String) map.get("message"));
-                                    n.setEventId((String) map.get("eventId"));
-                                    n.setRead(Boolean.TRUE.equals(map.get("read")));
-                                } catch (Exception e) {
-                                    Log.e(TAG, "Error parsing notification", e);
-                                }
-                            }
-                        }
+        RepositoryExecutors.parse(pageQuery(userId, null).get(),
+                snapshots -> toPage(userId, snapshots).getNotifications(),
+                notifications -> withTemplates(notifications, () -> callback.onSuccess(notifications)),
+                e -> {
+                    Log.e(TAG, "Error fetching notifications", e);
+                    callback.onError(e.getMessage());
+                });
+    }
 
-                        NotificationContainer container = documentSnapshot.toObject(NotificationContainer.class);
-                        if (container != null && container.getNotifications() != null) {
-                            List<Notification> list = container.getNotifications();
-                            Collections.sort(list, (n1, n2) -> n2.getTimestamp().compareTo(n1.getTimestamp()));
-                            callback.onSuccess(list);
-                        } else {
-                            callback.onSuccess(new ArrayList<>());
-                        }
+    /**
+     * Retrieves a page of notifications for a specific user.
+     *
+     * @param userId   The ID of the user.
+     * @param after    The previous page, or null for the newest page.
+     * @param callback Callback to receive the page.
+     */
+    public void getNotificationsPage(String userId, @Nullable Page after, FirestoreCallback<Page> callback) {
+        RepositoryExecutors.parse(pageQuery(userId, after).get(),
+                snapshots -> toPage(userId, snapshots),
+                page -> withTemplates(page.getNotifications(), () -> callback.onSuccess(page)),
+                e -> {
+                    Log.e(TAG, "Error fetching notifications page", e);
+                    callback.onError(e.getMessage());
+                });
+    }
 
-                    } else {
-                        callback.onSuccess(new ArrayList<>());
+    /**
+     * Retrieves the newest page of notifications for a specific user under a {@link ReadPolicy}.
+     *
+     * @param userId         The ID of the user.
+     * @param policy         Where to read from.
+     * @param cachedCallback Receives the cached page, only used with CACHE_THEN_SERVER.
+     * @param callback       Callback to receive the page.
+     */
+    public void getNotificationsPage(String userId, ReadPolicy policy,
+                                     FirestoreCallback<Page> cachedCallback,
+                                     FirestoreCallback<Page> callback) {
+        // Template lookups are asynchronous, so a cached page could otherwise finish after the server page
+        boolean[] serverDelivered = {false};
+        policy.<QuerySnapshot, Page>read(
+                source -> pageQuery(userId, null).get(source),
+                snapshots -> toPage(userId, snapshots),
+                cachedCallback == null ? null : page -> withTemplates(page.getNotifications(), () -> {
+                    if (!serverDelivered[0]) cachedCallback.onSuccess(page);
+                }),
+                page -> withTemplates(page.getNotifications(), () -> {
+                    serverDelivered[0] = true;
+                    callback.onSuccess(page);
+                }),
+                e -> {
+                    Log.e(TAG, "Error fetching notifications", e);
+                    callback.onError(e.getMessage());
+                });
+    }
+
+    /**
+     * Converts a page query result into a {@link Page}.
+     * Must not run on the main thread.
+     *
+     * @param userId    The ID of the user, or null to take it from each document's path.
+     * @param snapshots The query result.
+     * @return The page.
+     */
+    private static Page toPage(@Nullable String userId, QuerySnapshot snapshots) {
+        RepositoryExecutors.checkNotMainThread("notification page parsing");
+        List<Notification> list = new ArrayList<>(snapshots.size());
+        DocumentSnapshot last = null;
+        for (QueryDocumentSnapshot doc : snapshots) {
+            // notifications/{userId}/items/{uuid}
+            String owner = userId != null ? userId : doc.getReference().getParent().getParent().getId();
+            list.add(toNotification(owner, doc));
+            last = doc;
+        }
+        return new Page(list, last, snapshots.size() == PAGE_SIZE);
+    }
+
+    /**
+     * Decodes one notification document.
+     *
+     * @param userId The ID of the user the notification belongs to.
+     * @param doc    The notification document.
+     * @return The notification.
+     */
+    private static Notification toNotification(String userId, DocumentSnapshot doc) {
+        Map<String, Object> data = doc.getData();
+        Notification notification = NotificationCodec.INSTANCE.decode(userId,
+                data != null ? data : new HashMap<>());
+        if (notification.getUuid() == null) notification.setUuid(doc.getId());
+        return notification;
+    }
+
+    /**
+     * Builds the admin query over every user's notifications.
+     *
+     * <p>Reads the "items" collection group newest first. Filtering by event needs a
+     * collection-group composite index on (eventId ASC, timestamp DESC), and the unfiltered
+     * order needs the collection-group single-field index on timestamp.</p>
+     *
+     * @param eventId Only notifications about this event, or null for all.
+     * @return The query, newest first.
+     */
+    private Query adminQuery(@Nullable String eventId) {
+        Query query = db.collectionGroup(ITEMS_COLLECTION);
+        if (eventId != null) {
+            query = query.whereEqualTo(FIELD_EVENT_ID, eventId);
+        }
+        return query.orderBy(FIELD_TIMESTAMP, Query.Direction.DESCENDING);
+    }
+
+    /**
+     * Retrieves a page of every user's notifications for the admin browser, newest first.
+     *
+     * @param eventId  Only notifications about this event, or null for all.
+     * @param after    The previous page, or null for the newest page.
+     * @param callback Callback to receive the page, each notification with its userId set.
+     */
+    public void getAdminNotificationsPage(@Nullable String eventId, @Nullable Page after,
+                                          FirestoreCallback<Page> callback) {
+        Query query = adminQuery(eventId);
+        if (after != null && after.last != null) {
+            query = query.startAfter(after.last);
+        }
+        RepositoryExecutors.parse(query.limit(PAGE_SIZE).get(),
+                snapshots -> toPage(null, snapshots),
+                page -> withTemplates(page.getNotifications(), () -> callback.onSuccess(page)),
+                e -> {
+                    Log.e(TAG, "Error loading notifications", e);
+                    callback.onError(e.getMessage());
+                });
+    }
+
+    /**
+     * Counts every user's notifications on the server without downloading them.
+     *
+     * @param eventId  Only notifications about this event, or null for all.
+     * @param callback Receives the count.
+     */
+    public void countAdminNotifications(@Nullable String eventId, FirestoreCallback<Integer> callback) {
+        Query query = db.collectionGroup(ITEMS_COLLECTION);
+        if (eventId != null) {
+            query = query.whereEqualTo(FIELD_EVENT_ID, eventId);
+        }
+        query.count().get(AggregateSource.SERVER)
+                .addOnSuccessListener(snapshot -> callback.onSuccess((int) snapshot.getCount()))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error counting notifications", e);
+                    callback.onError(e.getMessage());
+                });
+    }
+
+    /**
+     * Fills in the content of notifications that refer to a template, then runs {@code then}
+     * on the main thread.
+     *
+     * <p>Cached templates are applied straight away. The rest are read in whereIn chunks,
+     * decoded off the main thread and cached. A template that can't be read leaves its
+     * notifications without content rather than failing the whole inbox.</p>
+     *
+     * @param notifications The notifications to complete.
+     * @param then          Runs once every template has been applied or given up on.
+     */
+    private void withTemplates(List<Notification> notifications, Runnable then) {
+        Set<String> missing = new HashSet<>();
+        for (Notification notification : notifications) {
+            String templateId = notification.getTemplateId();
+            if (templateId == null) continue;
+            NotificationTemplate template = templateCache.get(templateId);
+            if (template != null) {
+                notification.applyTemplate(template);
+            } else {
+                missing.add(templateId);
+            }
+        }
+        if (missing.isEmpty()) {
+            then.run();
+            return;
+        }
+
+        List<String> ids = new ArrayList<>(missing);
+        List<Task<QuerySnapshot>> reads = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += WHERE_IN_LIMIT) {
+            List<String> chunk = ids.subList(i, Math.min(i + WHERE_IN_LIMIT, ids.size()));
+            reads.add(db.collection(TEMPLATES_COLLECTION).whereIn(FieldPath.documentId(), chunk).get());
+        }
+
+        RepositoryExecutors.parse(Tasks.whenAllComplete(reads),
+                done -> {
+                    RepositoryExecutors.checkNotMainThread("notification template parsing");
+                    for (Task<QuerySnapshot> read : reads) {
+                        if (!read.isSuccessful()) continue;
+                        for (QueryDocumentSnapshot doc : read.getResult()) {
+                            templateCache.put(NotificationTemplateCodec.INSTANCE.decode(doc));
+                        }
                     }
+                    for (Notification notification : notifications) {
+                        NotificationTemplate template = templateCache.get(notification.getTemplateId());
+                        if (template != null) notification.applyTemplate(template);
+                    }
+                    return notifications;
+                },
+                resolved -> then.run(),
+                e -> {
+                    Log.e(TAG, "Error loading notification templates", e);
+                    then.run();
+                });
+    }
+
+    /**
+     * Saves a template so notifications can refer to it.
+     * A template without an ID is given a new one.
+     *
+     * @param template The template content.
+     * @param callback Receives the template ID once it is saved.
+     */
+    public void createTemplate(NotificationTemplate template, FirestoreCallback<String> callback) {
+        DocumentReference ref = template.getId() != null
+                ? db.collection(TEMPLATES_COLLECTION).document(template.getId())
+                : db.collection(TEMPLATES_COLLECTION).document();
+        template.setId(ref.getId());
+
+        ref.set(template)
+                .addOnSuccessListener(aVoid -> {
+                    templateCache.put(template);
+                    callback.onSuccess(ref.getId());
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error fetching notifications", e);
+                    Log.e(TAG, "Error creating notification template", e);
                     callback.onError(e.getMessage());
                 });
     }
 
     /**
-     * Adds a notification to the user's list.
-     * Creates the document if it doesn't exist.
+     * Builds the stored form of a notification that refers to a template.
+     *
+     * @param userId     The ID of the recipient.
+     * @param uuid       The notification's UUID, also its document ID.
+     * @param template   The template holding the content.
+     * @param timestamp  When the notification was sent.
+     * @return The document data: uuid, templateId, eventId, read, timestamp and userId. The
+     *         eventId is kept on each item so the admin browser can filter by event.
+     */
+    static Map<String, Object> templatedItem(String userId, String uuid, NotificationTemplate template,
+                                             Timestamp timestamp) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("uuid", uuid);
+        data.put("templateId", template.getId());
+        data.put(FIELD_EVENT_ID, template.getEventId());
+        data.put(FIELD_READ, false);
+        data.put(FIELD_TIMESTAMP, timestamp);
+        data.put("userId", userId);
+        return data;
+    }
+
+    /**
+     * Builds notifications from the raw maps of a legacy notification array.
+     *
+     * <p>Entries are decoded by {@link NotificationCodec}, which accepts both the "isRead" and
+     * "read" field names of older documents. Entries without a UUID can't be marked read or
+     * deleted, so they are skipped. Must not run on the main thread.</p>
+     *
+     * @param userId  The ID of the user the array belongs to.
+     * @param maps    The raw array, may be null.
+     * @param readIds UUIDs marked read through the old {@code readIds} field, may be null.
+     * @return The parsed notifications, unsorted.
+     */
+    public static List<Notification> parseNotificationMaps(String userId, List<Map<String, Object>> maps,
+                                                           List<String> readIds) {
+        RepositoryExecutors.checkNotMainThread("notification map parsing");
+        List<Notification> list = new ArrayList<>();
+        if (maps == null) return list;
+
+        for (Object entry : maps) {
+            if (!(entry instanceof Map)) {
+                Log.e(TAG, "Skipping malformed notification for user: " + userId);
+                continue;
+            }
+            Notification notification = NotificationCodec.INSTANCE.decode(userId, (Map<String, Object>) entry);
+            if (notification.getUuid() == null) {
+                Log.e(TAG, "Skipping notification without a UUID for user: " + userId);
+                continue;
+            }
+            if (readIds != null && readIds.contains(notification.getUuid())) notification.setRead(true);
+            list.add(notification);
+        }
+        return list;
+    }
+
+    /**
+     * Adds a notification to the user's inbox as its own document, with its content
+     * stored on it. Use a template for a notification sent to many users.
      *
      * @param userId       The ID of the user.
      * @param notification The notification to add.
      * @param callback     Callback for success/error.
      */
     public void addNotification(String userId, Notification notification, OperationCallback callback) {
-        Map<String, Object> data = new HashMap<>();
-
-        data.put(FIELD_NOTIFICATIONS, FieldValue.arrayUnion(notification));
+        notification.setUserId(userId);
 
-        db.collection(COLLECTION_NAME).document(userId)
-                .set(data, com.google.firebase.firestore.SetOptions.merge())
+        WriteBatch batch = db.batch();
+        batch.set(items(userId).document(notification.getUuid()), notification);
+        if (!notification.isRead()) {
+            batch.set(inboxRef(db, userId), unreadDelta(1), SetOptions.merge());
+        }
+        batch.commit()
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Notification added for user: " + userId);
                     callback.onSuccess();
@@ -111,104 +564,291 @@ public class NotificationRepository {
     }
 
     /**
-     * Marks a notification as read.
-     * Since we can't update a specific array element easily, we read, modify, and
-     * write back.
+     * Marks a notification as read, lowering the unread counter if it was unread.
+     *
+     * <p>The transaction checks the stored flag, so the counter only drops once however often
+     * this is called. When Firestore can't be reached the write is queued with
+     * {@link #enqueueMarkAsRead} instead and the callback still succeeds.</p>
      *
      * @param userId         The ID of the user.
      * @param notificationId The UUID of the notification.
      * @param callback       Callback for success/error.
      */
     public void markAsRead(String userId, String notificationId, OperationCallback callback) {
-        db.collection(COLLECTION_NAME).document(userId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        NotificationContainer container = documentSnapshot.toObject(NotificationContainer.class);
-                        if (container != null && container.getNotifications() != null) {
-                            List<Notification> list = container.getNotifications();
-                            boolean found = false;
-                            for (Notification n : list) {
-                                if (n.getUuid().equals(notificationId)) {
-                                    n.setRead(true);
-                                    found = true;
-                                    break;
-                                }
-                            }
-
-                            if (found) {
-                                // Write back the modified list
-                                db.collection(COLLECTION_NAME).document(userId)
-                                        .set(container)
-                                        .addOnSuccessListener(aVoid -> callback.onSuccess())
-                                        .addOnFailureListener(e -> callback.onError(e.getMessage()));
-                            } else {
-                                callback.onError("Notification not found");
-                            }
-                        } else {
-                            callback.onError("No notifications found");
-                        }
-                    } else {
-                        callback.onError("User notification document not found");
+        DocumentReference item = items(userId).document(notificationId);
+        db.runTransaction(transaction -> {
+                    DocumentSnapshot snapshot = transaction.get(item);
+                    if (snapshot.exists() && !Boolean.TRUE.equals(snapshot.getBoolean(FIELD_READ))) {
+                        transaction.update(item, FIELD_READ, true);
+                        transaction.set(inboxRef(db, userId), unreadDelta(-1), SetOptions.merge());
                     }
+                    return null;
                 })
-                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+                .addOnSuccessListener(aVoid -> callback.onSuccess())
+                .addOnFailureListener(e -> {
+                    if (isOffline(e)) {
+                        Log.d(TAG, "Offline, queueing read flag for: " + notificationId);
+                        enqueueMarkAsRead(userId, notificationId);
+                        callback.onSuccess();
+                    } else {
+                        callback.onError(e.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * @param e a failed Firestore call
+     * @return true if it failed for lack of a connection rather than because of the request
+     */
+    private static boolean isOffline(Exception e) {
+        if (!(e instanceof FirebaseFirestoreException)) return false;
+        FirebaseFirestoreException.Code code = ((FirebaseFirestoreException) e).getCode();
+        return code == FirebaseFirestoreException.Code.UNAVAILABLE
+                || code == FirebaseFirestoreException.Code.DEADLINE_EXCEEDED;
     }
 
     /**
-     * Deletes a notification.
+     * Durably queues marking a notification as read.
+     *
+     * <p>The read flag and the unread counter decrement go through the {@link WriteOutbox}
+     * together, so they are batched with other queued writes and replayed after a restart or
+     * reconnect. Only call this for a notification shown as unread; the queue can't check the
+     * current flag before decrementing. A notification already queued in this process is not
+     * queued again, so a double tap can't decrement twice.</p>
+     *
+     * @param userId         The ID of the user.
+     * @param notificationId The UUID of the notification.
+     */
+    public void enqueueMarkAsRead(String userId, String notificationId) {
+        if (!queuedReads.add(userId + ":" + notificationId)) {
+            Log.d(TAG, "Read flag already queued for: " + notificationId);
+            return;
+        }
+        WriteOutbox.getInstance().enqueue("read:" + userId + ":" + notificationId, Arrays.asList(
+                new WriteOutbox.Write(WriteOutbox.Write.Type.SET_FIELD, itemsPath(userId), notificationId,
+                        FIELD_READ, true, false),
+                new WriteOutbox.Write(WriteOutbox.Write.Type.INCREMENT, COLLECTION_NAME, userId,
+                        FIELD_UNREAD_COUNT, -1L, true)));
+    }
+
+    /**
+     * Deletes a notification, lowering the unread counter if it was unread.
      *
      * @param userId         The ID of the user.
      * @param notificationId The UUID of the notification.
      * @param callback       Callback for success/error.
      */
     public void deleteNotification(String userId, String notificationId, OperationCallback callback) {
-        db.collection(COLLECTION_NAME).document(userId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        NotificationContainer container = documentSnapshot.toObject(NotificationContainer.class);
-                        if (container != null && container.getNotifications() != null) {
-                            List<Notification> list = container.getNotifications();
-                            boolean removed = list.removeIf(n -> n.getUuid().equals(notificationId));
-
-                            if (removed) {
-                                // Write back the modified list
-                                db.collection(COLLECTION_NAME).document(userId)
-                                        .set(container)
-                                        .addOnSuccessListener(aVoid -> callback.onSuccess())
-                                        .addOnFailureListener(e -> callback.onError(e.getMessage()));
-                            } else {
-                                callback.onError("Notification not found");
-                            }
-                        } else {
-                            callback.onError("No notifications found");
-                        }
-                    } else {
-                        callback.onError("User notification document not found");
+        DocumentReference item = items(userId).document(notificationId);
+        db.runTransaction(transaction -> {
+                    DocumentSnapshot snapshot = transaction.get(item);
+                    if (!snapshot.exists()) return null;
+                    transaction.delete(item);
+                    if (!Boolean.TRUE.equals(snapshot.getBoolean(FIELD_READ))) {
+                        transaction.set(inboxRef(db, userId), unreadDelta(-1), SetOptions.merge());
                     }
+                    return null;
                 })
+                .addOnSuccessListener(aVoid -> callback.onSuccess())
                 .addOnFailureListener(e -> callback.onError(e.getMessage()));
     }
 
     /**
-     * Inner class to map the Firestore document structure.
+     * Listens to a user's unread notification count.
+     *
+     * @param userId   The ID of the user.
+     * @param callback Receives the count now and after every change.
+     * @return The registration, to be removed when the caller stops listening.
      */
-    public static class NotificationContainer {
-        private List<Notification> notifications;
+    public ListenerRegistration listenUnreadCount(String userId, FirestoreCallback<Integer> callback) {
+        return inboxRef(db, userId).addSnapshotListener((doc, e) -> {
+            if (e != null) {
+                Log.e(TAG, "Error listening to unread count", e);
+                callback.onError(e.getMessage());
+                return;
+            }
+            callback.onSuccess(unreadCountOf(doc));
+        });
+    }
 
-        public NotificationContainer() {
-            // Default constructor
-        }
+    /**
+     * Recounts a user's unread notifications on the server and fixes the stored counter if it
+     * has drifted.
+     *
+     * @param userId   The ID of the user.
+     * @param callback Receives the correct count.
+     */
+    public void recountUnread(String userId, FirestoreCallback<Integer> callback) {
+        DocumentReference inbox = inboxRef(db, userId);
+        Task<DocumentSnapshot> stored = inbox.get();
+        Task<AggregateQuerySnapshot> actual = items(userId).whereEqualTo(FIELD_READ, false)
+                .count().get(AggregateSource.SERVER);
 
-        public NotificationContainer(List<Notification> notifications) {
-            this.notifications = notifications;
-        }
+        Tasks.whenAllSuccess(stored, actual)
+                .addOnSuccessListener(results -> {
+                    int count = (int) actual.getResult().getCount();
+                    long drift = count - storedUnreadCount(stored.getResult());
+                    if (drift != 0) {
+                        // Applied as an increment so a notification arriving meanwhile still counts
+                        Log.d(TAG, "Correcting unread count for user " + userId + " by " + drift);
+                        inbox.set(unreadDelta(drift), SetOptions.merge());
+                    }
+                    callback.onSuccess(count);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error recounting unread notifications", e);
+                    callback.onError(e.getMessage());
+                });
+    }
 
-        public List<Notification> getNotifications() {
-            return notifications;
+    /**
+     * Reads the unread counter from an inbox document, never below 0.
+     *
+     * @param doc The {@code notifications/{userId}} document, may be missing.
+     * @return The count.
+     */
+    private static int unreadCountOf(@Nullable DocumentSnapshot doc) {
+        return (int) Math.max(0, storedUnreadCount(doc));
+    }
+
+    /**
+     * Reads the unread counter as stored, which may have drifted below 0.
+     *
+     * @param doc The {@code notifications/{userId}} document, may be missing.
+     * @return The stored value, 0 if there is none.
+     */
+    private static long storedUnreadCount(@Nullable DocumentSnapshot doc) {
+        if (doc == null || !doc.exists()) return 0;
+        Long count = doc.getLong(FIELD_UNREAD_COUNT);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Moves a user's legacy notification array into the items subcollection.
+     *
+     * @param userId   The ID of the user.
+     * @param callback Receives the number of notifications moved, 0 if there was nothing to do.
+     */
+    public void migrateLegacyInbox(String userId, FirestoreCallback<Integer> callback) {
+        db.collection(COLLECTION_NAME).document(userId).get()
+                .continueWithTask(RepositoryExecutors.background(), task -> migrate(task.getResult()))
+                .addOnSuccessListener(RepositoryExecutors.main(), count -> {
+                    if (count > 0) Log.d(TAG, "Migrated " + count + " notifications for user: " + userId);
+                    callback.onSuccess(count);
+                })
+                .addOnFailureListener(RepositoryExecutors.main(), e -> {
+                    Log.e(TAG, "Error migrating notifications for user: " + userId, e);
+                    callback.onError(e.getMessage());
+                });
+    }
+
+    /**
+     * Moves every user's legacy notification array into the items subcollection.
+     *
+     * <p>Only inboxes whose array still holds entries are read, since a migrated inbox keeps an
+     * empty array and a new one has none. This is a one-off admin migration; users' own
+     * inboxes are also migrated by {@link #migrateLegacyInbox} when they open them.</p>
+     *
+     * @param callback Receives the total number of notifications moved.
+     */
+    public void migrateAllLegacyInboxes(FirestoreCallback<Integer> callback) {
+        db.collection(COLLECTION_NAME)
+                .whereNotEqualTo(FIELD_NOTIFICATIONS, Collections.emptyList())
+                .get()
+                .continueWithTask(RepositoryExecutors.background(), task -> {
+                    List<Task<Integer>> migrations = new ArrayList<>();
+                    for (QueryDocumentSnapshot doc : task.getResult()) {
+                        migrations.add(migrate(doc));
+                    }
+                    return Tasks.whenAllSuccess(migrations);
+                })
+                .addOnSuccessListener(RepositoryExecutors.main(), counts -> {
+                    int total = 0;
+                    for (Object count : counts) total += (Integer) count;
+                    Log.d(TAG, "Migrated " + total + " legacy notifications");
+                    callback.onSuccess(total);
+                })
+                .addOnFailureListener(RepositoryExecutors.main(), e -> {
+                    Log.e(TAG, "Error migrating legacy notifications", e);
+                    callback.onError(e.getMessage());
+                });
+    }
+
+    /**
+     * Copies one legacy notification array into the subcollection, then removes the copied
+     * entries from the array.
+     *
+     * <p>Items are written with their UUID as the document ID, so a migration interrupted
+     * part way can simply run again. Only the copied entries are removed afterwards, so a
+     * notification appended to the array meanwhile is left for the next run, and an entry
+     * that can't be read as a notification is left where it is rather than lost. The entries
+     * are removed and the unread counter raised in a transaction that re-reads the array, so
+     * two migrations of the same inbox at once count each entry only once.</p>
+     *
+     * @param parent The user's {@code notifications/{userId}} document.
+     * @return A task resolving to the number of notifications moved.
+     */
+    private Task<Integer> migrate(DocumentSnapshot parent) {
+        Object raw = parent.get(FIELD_NOTIFICATIONS);
+        if (!(raw instanceof List) || ((List<?>) raw).isEmpty()) {
+            return Tasks.forResult(0);
+        }
+        List<String> readIds = (List<String>) parent.get(FIELD_READ_IDS);
+        String userId = parent.getId();
+        // Each notification is kept with the entry it came from, so only those are removed
+        List<Notification> notifications = new ArrayList<>();
+        List<Object> copied = new ArrayList<>();
+        for (Object entry : (List<?>) raw) {
+            if (!(entry instanceof Map)) {
+                Log.e(TAG, "Leaving malformed notification for user: " + userId);
+                continue;
+            }
+            List<Notification> parsed = parseNotificationMaps(userId,
+                    Collections.singletonList((Map<String, Object>) entry), readIds);
+            if (parsed.isEmpty()) continue;
+            notifications.add(parsed.get(0));
+            copied.add(entry);
+        }
+        if (notifications.isEmpty()) {
+            return Tasks.forResult(0);
         }
 
-        public void setNotifications(List<Notification> notifications) {
-            this.notifications = notifications;
+        List<Task<Void>> commits = new ArrayList<>();
+        WriteBatch batch = db.batch();
+        int inBatch = 0;
+        for (Notification notification : notifications) {
+            batch.set(items(userId).document(notification.getUuid()), notification);
+            if (++inBatch == FirestoreLimits.MAX_BATCH_WRITES) {
+                commits.add(batch.commit());
+                batch = db.batch();
+                inBatch = 0;
+            }
         }
+        if (inBatch > 0) commits.add(batch.commit());
+
+        DocumentReference inbox = parent.getReference();
+        return Tasks.whenAll(commits).onSuccessTask(RepositoryExecutors.background(), aVoid ->
+                db.runTransaction(transaction -> {
+                    // Another migration of this inbox may have removed and counted some entries
+                    // already, so only those still in the array are removed and counted here
+                    Object current = transaction.get(inbox).get(FIELD_NOTIFICATIONS);
+                    List<?> remaining = current instanceof List ? (List<?>) current : Collections.emptyList();
+                    List<Object> present = new ArrayList<>();
+                    int unread = 0;
+                    for (int i = 0; i < copied.size(); i++) {
+                        if (!remaining.contains(copied.get(i))) continue;
+                        present.add(copied.get(i));
+                        if (!notifications.get(i).isRead()) unread++;
+                    }
+                    if (present.isEmpty()) return 0;
+                    Map<String, Object> cleanup = new HashMap<>();
+                    cleanup.put(FIELD_NOTIFICATIONS, FieldValue.arrayRemove(present.toArray()));
+                    cleanup.put(FIELD_UNREAD_COUNT, FieldValue.increment(unread));
+                    if (readIds != null && !readIds.isEmpty()) {
+                        cleanup.put(FIELD_READ_IDS, FieldValue.arrayRemove(readIds.toArray()));
+                    }
+                    transaction.update(inbox, cleanup);
+                    return present.size();
+                }));
     }
 }
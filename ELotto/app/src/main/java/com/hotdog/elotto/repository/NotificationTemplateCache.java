@@ -0,0 +1,90 @@
+package com.hotdog.elotto.repository;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.hotdog.elotto.model.NotificationTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process cache of {@link NotificationTemplate}s keyed by template ID.
+ *
+ * <p>Every notification from one broadcast refers to the same template, and templates never
+ * change once written, so an entry never goes stale. The inbox looks templates up here first
+ * and only reads the ones it has not seen before.</p>
+ *
+ * <p>The cache is a bounded LRU since a template may hold a large poster string.</p>
+ *
+ * <p><b>Design Pattern:</b> Singleton, like {@link EventStore}.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class NotificationTemplateCache {
+
+    /**
+     * Maximum number of templates kept in memory at once.
+     */
+    private static final int MAX_ENTRIES = 100;
+
+    private static NotificationTemplateCache instance;
+
+    /**
+     * Access ordered map so the least recently used template is evicted first.
+     */
+    private final Map<String, NotificationTemplate> cache =
+            new LinkedHashMap<String, NotificationTemplate>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, NotificationTemplate> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    /**
+     * Returns the singleton instance of the NotificationTemplateCache.
+     *
+     * @return the shared template cache
+     */
+    public static synchronized NotificationTemplateCache getInstance() {
+        if (instance == null) {
+            instance = new NotificationTemplateCache();
+        }
+        return instance;
+    }
+
+    @VisibleForTesting
+    NotificationTemplateCache() {}
+
+    /**
+     * Stores a template.
+     *
+     * @param template the template, ignored if it has no ID
+     */
+    public synchronized void put(NotificationTemplate template) {
+        if (template != null && template.getId() != null) {
+            cache.put(template.getId(), template);
+        }
+    }
+
+    /**
+     * Looks up a template.
+     *
+     * @param templateId the template ID
+     * @return the cached template, or null if it is not cached
+     */
+    @Nullable
+    public synchronized NotificationTemplate get(String templateId) {
+        return templateId == null ? null : cache.get(templateId);
+    }
+
+    /**
+     * Removes every cached template.
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+}
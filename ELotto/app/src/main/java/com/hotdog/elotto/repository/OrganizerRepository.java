@@ -8,6 +8,7 @@ import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.callback.FirestoreListCallback;
 import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.model.Organizer;
+import com.hotdog.elotto.repository.codec.OrganizerCodec;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -55,20 +56,22 @@ public class OrganizerRepository {
      * @param callback The callback to receive the list of Organizers or error message
      */
     public void getAllOrganizers(FirestoreListCallback<Organizer> callback) {
-        instance.db.collection(COLLECTION_NAME)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
+        RepositoryExecutors.parse(instance.db.collection(COLLECTION_NAME).get(),
+                queryDocumentSnapshots -> {
+                    RepositoryExecutors.checkNotMainThread("organizer list parsing");
                     List<Organizer> Organizers = new ArrayList<>();
 
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Organizer Organizer = document.toObject(Organizer.class);
+                        Organizer Organizer = OrganizerCodec.INSTANCE.decode(document);
                         Organizers.add(Organizer);
                     }
-
+                    return Organizers;
+                },
+                Organizers -> {
                     Log.d("OrganizerRepository", "Successfully fetched " + Organizers.size() + " Organizers");
                     callback.onSuccess(Organizers);
-                })
-                .addOnFailureListener(e -> {
+                },
+                e -> {
                     Log.e("OrganizerRepository", "Error fetching Organizers", e);
                     callback.onError("Failed to fetch Organizers: " + e.getMessage());
                 });
@@ -90,7 +93,7 @@ public class OrganizerRepository {
                     List<Organizer> Organizers = new ArrayList<>();
 
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Organizer Organizer = document.toObject(Organizer.class);
+                        Organizer Organizer = OrganizerCodec.INSTANCE.decode(document);
                         Organizers.add(Organizer);
                     }
 
@@ -110,20 +113,21 @@ public class OrganizerRepository {
      * @param callback the callback to receive the Organizer or error message.
      */
     public void getOrganizerById(String OrganizerId, FirestoreCallback<Organizer> callback) {
-        db.collection(COLLECTION_NAME)
-                .document(OrganizerId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        Organizer Organizer = documentSnapshot.toObject(Organizer.class);
+        RepositoryExecutors.parse(db.collection(COLLECTION_NAME).document(OrganizerId).get(),
+                documentSnapshot -> {
+                    RepositoryExecutors.checkNotMainThread("organizer parsing");
+                    return OrganizerCodec.INSTANCE.decode(documentSnapshot);
+                },
+                organizer -> {
+                    if (organizer != null) {
                         Log.d("OrganizerRepository", "Successfully fetched Organizer: " + OrganizerId);
-                        callback.onSuccess(Organizer);
+                        callback.onSuccess(organizer);
                     } else {
                         Log.w("OrganizerRepository", "Organizer not found: " + OrganizerId);
                         callback.onError("Organizer not found");
                     }
-                })
-                .addOnFailureListener(e -> {
+                },
+                e -> {
                     Log.e("OrganizerRepository", "Error fetching Organizer: " + OrganizerId, e);
                     callback.onError("Failed to fetch Organizer: " + e.getMessage());
                 });
@@ -142,7 +146,7 @@ public class OrganizerRepository {
                 .get()
                 .addOnSuccessListener(bgThread, documentSnapshot -> {
                     if (documentSnapshot.exists()) {
-                        Organizer Organizer = documentSnapshot.toObject(Organizer.class);
+                        Organizer Organizer = OrganizerCodec.INSTANCE.decode(documentSnapshot);
                         Log.d("OrganizerRepository", "Successfully fetched Organizer: " + OrganizerId);
                         callback.onSuccess(Organizer);
                     } else {
@@ -0,0 +1,89 @@
+package com.hotdog.elotto.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.Source;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Read policies for repository methods that support stale-while-revalidate reads.
+ *
+ * <p>A plain {@code get()} waits for the server and only falls back to the local Firestore
+ * cache when offline, so screens show a spinner on every open. Methods taking a ReadPolicy
+ * accept two callbacks instead: a {@code cachedCallback} that receives whatever is in the
+ * local cache, and a {@code callback} that receives the authoritative result.</p>
+ *
+ * <ul>
+ *     <li>{@link #CACHE_ONLY} - read the local cache only, result goes to {@code callback}</li>
+ *     <li>{@link #SERVER_ONLY} - read the server only, result goes to {@code callback}</li>
+ *     <li>{@link #CACHE_THEN_SERVER} - cached data (if any) goes to {@code cachedCallback} first,
+ *     then the server result goes to {@code callback}</li>
+ * </ul>
+ *
+ * <p>With {@link #CACHE_THEN_SERVER} a cache miss is not an error, it is simply not delivered,
+ * and a cached result that arrives after the server result is dropped.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public enum ReadPolicy {
+    CACHE_ONLY,
+    SERVER_ONLY,
+    CACHE_THEN_SERVER;
+
+    private static final String TAG = "ReadPolicy";
+
+    /**
+     * Runs a read under this policy. Results are parsed off the main thread through
+     * {@link RepositoryExecutors#parse} and delivered on the main thread.
+     *
+     * @param fetch     issues the read against the given {@link Source}
+     * @param parse     turns the raw result into the delivered value
+     * @param onCached  receives the cached result under {@link #CACHE_THEN_SERVER}, may be null
+     * @param onResult  receives the authoritative result
+     * @param onFailure receives a failure of the authoritative read
+     * @param <S>       the task result type
+     * @param <R>       the parsed result type
+     */
+    <S, R> void read(@NonNull Function<Source, Task<S>> fetch,
+                     @NonNull Function<S, R> parse,
+                     @Nullable Consumer<R> onCached,
+                     @NonNull Consumer<R> onResult,
+                     @NonNull OnFailureListener onFailure) {
+        switch (this) {
+            case CACHE_ONLY:
+                RepositoryExecutors.parse(fetch.apply(Source.CACHE), parse, onResult, onFailure);
+                break;
+            case SERVER_ONLY:
+                RepositoryExecutors.parse(fetch.apply(Source.SERVER), parse, onResult, onFailure);
+                break;
+            case CACHE_THEN_SERVER:
+                // Both reads start together; the cached one only matters if it wins the race.
+                // Results are delivered on the main thread, so the flag needs no locking.
+                boolean[] serverDone = {false};
+                if (onCached != null) {
+                    RepositoryExecutors.parse(fetch.apply(Source.CACHE), parse,
+                            result -> {
+                                if (!serverDone[0]) onCached.accept(result);
+                            },
+                            e -> Log.d(TAG, "Nothing cached: " + e.getMessage()));
+                }
+                RepositoryExecutors.parse(fetch.apply(Source.SERVER), parse,
+                        result -> {
+                            serverDone[0] = true;
+                            onResult.accept(result);
+                        },
+                        onFailure);
+                break;
+        }
+    }
+}
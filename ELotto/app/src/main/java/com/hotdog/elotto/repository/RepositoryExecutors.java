@@ -0,0 +1,163 @@
+package com.hotdog.elotto.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.Task;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Threads used by the repositories to keep Firestore result parsing off the main thread.
+ *
+ * <p>Firestore delivers task results on the main thread by default, so calling
+ * {@code toObject()} over a whole result set, sorting or filtering in a success listener
+ * drops frames. Repository reads instead use {@link #parse}: the snapshot is parsed on a small
+ * background pool and only the finished result is posted back to the main thread, where the
+ * repository callbacks have always run.</p>
+ *
+ * <p>Parsing helpers call {@link #checkNotMainThread} as a StrictMode-style guard. In the app it
+ * logs a warning; in tests {@link #setForTesting} can make it throw so a regression that moves
+ * parsing back onto the main thread fails the build.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class RepositoryExecutors {
+    private static final String TAG = "RepositoryExecutors";
+
+    private static Executor background;
+    private static Executor main;
+    private static BooleanSupplier isMainThread = () -> Looper.myLooper() == Looper.getMainLooper();
+    private static boolean strict = false;
+
+    private RepositoryExecutors() {}
+
+    /**
+     * Gets the pool used to parse Firestore results.
+     *
+     * @return the background executor
+     */
+    @NonNull
+    public static synchronized Executor background() {
+        if (background == null) {
+            AtomicInteger count = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(2, runnable -> {
+                Thread thread = new Thread(runnable, "repo-parse-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            background = pool;
+        }
+        return background;
+    }
+
+    /**
+     * Gets an executor that runs tasks on the main thread.
+     *
+     * @return the main thread executor
+     */
+    @NonNull
+    public static synchronized Executor main() {
+        if (main == null) {
+            Handler handler = new Handler(Looper.getMainLooper());
+            main = handler::post;
+        }
+        return main;
+    }
+
+    /**
+     * Parses a Firestore task result on the background pool and delivers it on the main thread.
+     *
+     * @param task      the Firestore read
+     * @param parse     turns the raw result into what the caller needs, runs off the main thread
+     * @param onResult  receives the parsed result on the main thread
+     * @param onFailure receives a failed read or a parse error on the main thread
+     * @param <S>       the raw task result type
+     * @param <R>       the parsed result type
+     */
+    public static <S, R> void parse(@NonNull Task<S> task, @NonNull Function<S, R> parse,
+                                    @NonNull Consumer<R> onResult, @NonNull OnFailureListener onFailure) {
+        task.addOnSuccessListener(background(), raw -> parseAndDeliver(raw, parse, onResult, onFailure))
+                .addOnFailureListener(main(), onFailure);
+    }
+
+    /**
+     * Parses a raw result on the current (background) thread and delivers the outcome on
+     * the main thread.
+     *
+     * @param raw       the raw result
+     * @param parse     the parsing function
+     * @param onResult  receives the parsed result on the main thread
+     * @param onFailure receives a parse error on the main thread
+     * @param <S>       the raw result type
+     * @param <R>       the parsed result type
+     */
+    public static <S, R> void parseAndDeliver(S raw, @NonNull Function<S, R> parse,
+                                              @NonNull Consumer<R> onResult, @NonNull OnFailureListener onFailure) {
+        R result;
+        try {
+            result = parse.apply(raw);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to parse Firestore result", e);
+            main().execute(() -> onFailure.onFailure(e));
+            return;
+        }
+        main().execute(() -> onResult.accept(result));
+    }
+
+    /**
+     * Runs work on the background pool.
+     *
+     * @param work the work to run
+     */
+    public static void runInBackground(@NonNull Runnable work) {
+        background().execute(work);
+    }
+
+    /**
+     * Guards parsing, sorting and filtering code against running on the main thread.
+     *
+     * @param work a short description of the work, used in the message
+     * @throws IllegalStateException if called on the main thread while strict checking is on
+     */
+    public static void checkNotMainThread(@NonNull String work) {
+        if (!isMainThread.getAsBoolean()) return;
+
+        String message = "Heavy repository work on the main thread: " + work;
+        if (strict) {
+            throw new IllegalStateException(message);
+        }
+        Log.w(TAG, message);
+    }
+
+    /**
+     * Replaces the executors and main thread check, for tests without an Android looper.
+     *
+     * @param backgroundExecutor runs parsing
+     * @param mainExecutor       stands in for the main thread
+     * @param mainThreadCheck    tells whether the current thread counts as the main thread
+     * @param strictMode         true to throw from {@link #checkNotMainThread}
+     */
+    @VisibleForTesting
+    public static synchronized void setForTesting(Executor backgroundExecutor, Executor mainExecutor,
+                                                  BooleanSupplier mainThreadCheck, boolean strictMode) {
+        background = backgroundExecutor;
+        main = mainExecutor;
+        isMainThread = mainThreadCheck;
+        strict = strictMode;
+    }
+}
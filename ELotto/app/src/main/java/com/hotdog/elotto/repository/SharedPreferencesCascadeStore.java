@@ -0,0 +1,83 @@
+package com.hotdog.elotto.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link CascadeDelete.Store} that keeps the checkpoints of unfinished delete jobs as JSON in
+ * a private SharedPreferences file.
+ *
+ * <p>Saves use {@code commit()} since they already run on the job runner's background
+ * executor, like {@link SharedPreferencesOutboxStore}.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class SharedPreferencesCascadeStore implements CascadeDelete.Store {
+    private static final String TAG = "CascadeStore";
+    private static final String PREFS_NAME = "elotto_cascade_delete";
+    private static final String KEY_JOBS = "jobs";
+
+    private final SharedPreferences prefs;
+
+    /**
+     * Creates a store backed by the app's private preferences.
+     *
+     * @param context any context
+     */
+    public SharedPreferencesCascadeStore(Context context) {
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    @Override
+    public List<CascadeDelete.Checkpoint> load() {
+        List<CascadeDelete.Checkpoint> checkpoints = new ArrayList<>();
+        String json = prefs.getString(KEY_JOBS, null);
+        if (json == null) return checkpoints;
+
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject o = array.getJSONObject(i);
+                checkpoints.add(new CascadeDelete.Checkpoint(
+                        CascadeDelete.Kind.valueOf(o.getString("kind")),
+                        o.getString("targetId"),
+                        o.getInt("stage"),
+                        o.getLong("written")));
+            }
+        } catch (JSONException | IllegalArgumentException e) {
+            // An unreadable checkpoint can't be resumed, and every stage re-finds its own work
+            Log.e(TAG, "Discarding unreadable delete checkpoints", e);
+            checkpoints.clear();
+        }
+        return checkpoints;
+    }
+
+    @Override
+    public void save(List<CascadeDelete.Checkpoint> checkpoints) {
+        try {
+            JSONArray array = new JSONArray();
+            for (CascadeDelete.Checkpoint checkpoint : checkpoints) {
+                JSONObject o = new JSONObject();
+                o.put("kind", checkpoint.getKind().name());
+                o.put("targetId", checkpoint.getTargetId());
+                o.put("stage", checkpoint.getStage());
+                o.put("written", checkpoint.getWritten());
+                array.put(o);
+            }
+            prefs.edit().putString(KEY_JOBS, array.toString()).commit();
+        } catch (JSONException e) {
+            Log.e(TAG, "Failed to save delete checkpoints", e);
+        }
+    }
+}
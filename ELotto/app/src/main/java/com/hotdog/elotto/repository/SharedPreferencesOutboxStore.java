@@ -0,0 +1,189 @@
+package com.hotdog.elotto.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.GeoPoint;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link WriteOutbox.Store} that keeps the outbox as JSON in a private SharedPreferences file.
+ *
+ * <p>Write values may be strings, numbers, booleans, null, {@link Timestamp}, {@link GeoPoint},
+ * lists and string-keyed maps of those. Timestamps and GeoPoints are stored as tagged objects
+ * so they come back as the same Firestore types.</p>
+ *
+ * <p>Saves use {@code commit()} since the point of the outbox is that a queued write is on disk
+ * by the time {@link WriteOutbox#enqueue} returns.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class SharedPreferencesOutboxStore implements WriteOutbox.Store {
+    private static final String TAG = "OutboxStore";
+    private static final String PREFS_NAME = "elotto_outbox";
+    private static final String KEY_QUEUE = "queue";
+
+    /**
+     * Key marking a tagged value object.
+     */
+    private static final String TYPE_TAG = "$type";
+
+    private final SharedPreferences prefs;
+
+    /**
+     * Creates a store backed by the app's private preferences.
+     *
+     * @param context any context
+     */
+    public SharedPreferencesOutboxStore(Context context) {
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    @Override
+    public List<WriteOutbox.Operation> load() {
+        List<WriteOutbox.Operation> operations = new ArrayList<>();
+        String json = prefs.getString(KEY_QUEUE, null);
+        if (json == null) return operations;
+
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                operations.add(readOperation(array.getJSONObject(i)));
+            }
+        } catch (JSONException e) {
+            // A corrupt queue can't be replayed safely, start over rather than crash every launch
+            Log.e(TAG, "Discarding unreadable outbox", e);
+            operations.clear();
+        }
+        return operations;
+    }
+
+    @Override
+    public void save(List<WriteOutbox.Operation> operations) {
+        try {
+            JSONArray array = new JSONArray();
+            for (WriteOutbox.Operation operation : operations) {
+                array.put(writeOperation(operation));
+            }
+            prefs.edit().putString(KEY_QUEUE, array.toString()).commit();
+        } catch (JSONException e) {
+            Log.e(TAG, "Failed to save outbox", e);
+        }
+    }
+
+    private static JSONObject writeOperation(WriteOutbox.Operation operation) throws JSONException {
+        JSONArray writes = new JSONArray();
+        for (WriteOutbox.Write write : operation.getWrites()) {
+            JSONObject w = new JSONObject();
+            w.put("type", write.getType().name());
+            w.put("collection", write.getCollection());
+            w.put("documentId", write.getDocumentId());
+            w.put("field", write.getField());
+            w.put("value", toJson(write.getValue()));
+            w.put("createIfMissing", write.isCreateIfMissing());
+            writes.put(w);
+        }
+
+        JSONObject o = new JSONObject();
+        o.put("key", operation.getKey());
+        o.put("createdAt", operation.getCreatedAt());
+        o.put("writes", writes);
+        return o;
+    }
+
+    private static WriteOutbox.Operation readOperation(JSONObject o) throws JSONException {
+        List<WriteOutbox.Write> writes = new ArrayList<>();
+        JSONArray array = o.getJSONArray("writes");
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject w = array.getJSONObject(i);
+            writes.add(new WriteOutbox.Write(
+                    WriteOutbox.Write.Type.valueOf(w.getString("type")),
+                    w.getString("collection"),
+                    w.getString("documentId"),
+                    w.getString("field"),
+                    fromJson(w.opt("value")),
+                    w.getBoolean("createIfMissing")));
+        }
+        return new WriteOutbox.Operation(o.getString("key"), o.getLong("createdAt"), writes);
+    }
+
+    private static Object toJson(Object value) throws JSONException {
+        if (value == null) return JSONObject.NULL;
+        if (value instanceof Timestamp) {
+            Timestamp ts = (Timestamp) value;
+            JSONObject o = new JSONObject();
+            o.put(TYPE_TAG, "timestamp");
+            o.put("seconds", ts.getSeconds());
+            o.put("nanos", ts.getNanoseconds());
+            return o;
+        }
+        if (value instanceof GeoPoint) {
+            GeoPoint point = (GeoPoint) value;
+            JSONObject o = new JSONObject();
+            o.put(TYPE_TAG, "geopoint");
+            o.put("latitude", point.getLatitude());
+            o.put("longitude", point.getLongitude());
+            return o;
+        }
+        if (value instanceof List) {
+            JSONArray array = new JSONArray();
+            for (Object item : (List<?>) value) {
+                array.put(toJson(item));
+            }
+            return array;
+        }
+        if (value instanceof Map) {
+            JSONObject o = new JSONObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                o.put(String.valueOf(entry.getKey()), toJson(entry.getValue()));
+            }
+            return o;
+        }
+        // Strings, numbers and booleans are stored as is
+        return value;
+    }
+
+    private static Object fromJson(Object json) throws JSONException {
+        if (json == null || json == JSONObject.NULL) return null;
+        if (json instanceof JSONArray) {
+            JSONArray array = (JSONArray) json;
+            List<Object> list = new ArrayList<>();
+            for (int i = 0; i < array.length(); i++) {
+                list.add(fromJson(array.get(i)));
+            }
+            return list;
+        }
+        if (json instanceof JSONObject) {
+            JSONObject o = (JSONObject) json;
+            String type = o.optString(TYPE_TAG, null);
+            if ("timestamp".equals(type)) {
+                return new Timestamp(o.getLong("seconds"), o.getInt("nanos"));
+            }
+            if ("geopoint".equals(type)) {
+                return new GeoPoint(o.getDouble("latitude"), o.getDouble("longitude"));
+            }
+            Map<String, Object> map = new HashMap<>();
+            Iterator<String> keys = o.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                map.put(key, fromJson(o.get(key)));
+            }
+            return map;
+        }
+        return json;
+    }
+}
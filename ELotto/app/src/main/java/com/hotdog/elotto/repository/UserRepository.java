@@ -2,19 +2,36 @@ package com.hotdog.elotto.repository;
 
 import android.util.Log;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
 import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.callback.FirestoreListCallback;
 import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.model.User;
+import com.hotdog.elotto.repository.codec.UserCodec;
 
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
 /**
@@ -28,6 +45,9 @@ import java.util.concurrent.Executor;
  *
  * <p>the data access layer in the Model.
  *
+ * <p>Every write of a user's name, email or phone also writes its {@link UserSearchKeys}, which
+ * {@link #searchUsers} prefix-searches a page at a time for the admin profile browser.
+ *
  * <p><b>Design Pattern:</b> Repository pattern which centralizes data access logic and provides
  * a clean API for data operations.
  *
@@ -43,6 +63,98 @@ public class UserRepository {
 
     private static final UserRepository instance = new UserRepository();
 
+    /**
+     * Profiles fetched per search source per page.
+     */
+    static final int SEARCH_PAGE_SIZE = 25;
+
+    /**
+     * Sorts after any character a key can contain, so {@code endAt(prefix + PREFIX_END)}
+     * ends the range at the last key starting with the prefix.
+     */
+    private static final String PREFIX_END = "\uf8ff";
+
+    /**
+     * Search source that lists every profile in document ID order, for an empty query.
+     */
+    private static final String SOURCE_ALL = "all";
+
+    /**
+     * Search source that matches the start of the device ID.
+     */
+    private static final String SOURCE_ID = "id";
+
+    /**
+     * IDs of the events in {@code regEvents}, stored alongside it so the users registered for
+     * an event can be found with an {@code array-contains} query.
+     */
+    static final String FIELD_REG_EVENT_IDS = "regEventIds";
+
+    /**
+     * Most IDs Firestore accepts in one whereIn filter.
+     */
+    private static final int WHERE_IN_LIMIT = 30;
+
+    /**
+     * Most names kept by {@link #getUserNames}.
+     */
+    private static final int MAX_CACHED_NAMES = 2000;
+
+    /**
+     * Profiles read, and at most written, per batch by {@link #backfillSearchKeys}.
+     */
+    private static final int BACKFILL_PAGE_SIZE = 400;
+
+    /**
+     * Names already read, by user ID, least recently used first.
+     */
+    private final Map<String, String> nameCache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_CACHED_NAMES;
+        }
+    };
+
+    /**
+     * One page of profile search results.
+     *
+     * <p>A query runs against several sources at once (name, email, phone and device ID),
+     * each paged on its own. The page keeps the last document of every source that may have
+     * more results, and is passed back to {@link #searchUsers} to fetch the next page.</p>
+     */
+    public static class SearchPage {
+        private final String query;
+        private final List<User> users;
+        private final Map<String, DocumentSnapshot> cursors;
+
+        SearchPage(String query, List<User> users, Map<String, DocumentSnapshot> cursors) {
+            this.query = query;
+            this.users = users;
+            this.cursors = cursors;
+        }
+
+        /**
+         * @return The query this page answers.
+         */
+        public String getQuery() {
+            return query;
+        }
+
+        /**
+         * @return The users on this page, by name. A user matching on several fields appears once.
+         */
+        public List<User> getUsers() {
+            return users;
+        }
+
+        /**
+         * @return True if another page may follow this one.
+         */
+        public boolean hasMore() {
+            return !cursors.isEmpty();
+        }
+    }
+
     /**
      * Returns the singleton instance of the UserRepository.
      * @return Single instance of UserRepo to do all firebase interactions.
@@ -59,20 +171,22 @@ public class UserRepository {
      * @param callback The callback to receive the list of Users or error message
      */
     public void getAllUsers(FirestoreListCallback<User> callback) {
-        instance.db.collection(COLLECTION_NAME)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
+        RepositoryExecutors.parse(instance.db.collection(COLLECTION_NAME).get(),
+                queryDocumentSnapshots -> {
+                    RepositoryExecutors.checkNotMainThread("user list parsing");
                     List<User> Users = new ArrayList<>();
 
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        User User = document.toObject(User.class);
+                        User User = UserCodec.INSTANCE.decode(document);
                         Users.add(User);
                     }
-
+                    return Users;
+                },
+                Users -> {
                     Log.d("UserRepository", "Successfully fetched " + Users.size() + " Users");
                     callback.onSuccess(Users);
-                })
-                .addOnFailureListener(e -> {
+                },
+                e -> {
                     Log.e("UserRepository", "Error fetching Users", e);
                     callback.onError("Failed to fetch Users: " + e.getMessage());
                 });
@@ -94,7 +208,7 @@ public class UserRepository {
                     List<User> Users = new ArrayList<>();
 
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        User User = document.toObject(User.class);
+                        User User = UserCodec.INSTANCE.decode(document);
                         Users.add(User);
                     }
 
@@ -114,20 +228,21 @@ public class UserRepository {
      * @param callback the callback to receive the User or error message.
      */
     public void getUserById(String userId, FirestoreCallback<User> callback) {
-        db.collection(COLLECTION_NAME)
-                .document(userId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        User user = documentSnapshot.toObject(User.class);
+        RepositoryExecutors.parse(db.collection(COLLECTION_NAME).document(userId).get(),
+                documentSnapshot -> {
+                    RepositoryExecutors.checkNotMainThread("user parsing");
+                    return UserCodec.INSTANCE.decode(documentSnapshot);
+                },
+                user -> {
+                    if (user != null) {
                         Log.d("UserRepository", "Successfully fetched User: " + userId);
                         callback.onSuccess(user);
                     } else {
                         Log.w("UserRepository", "User not found: " + userId);
                         callback.onError("User not found");
                     }
-                })
-                .addOnFailureListener(e -> {
+                },
+                e -> {
                     Log.e("UserRepository", "Error fetching User: " + userId, e);
                     callback.onError("Failed to fetch User: " + e.getMessage());
                 });
@@ -146,7 +261,7 @@ public class UserRepository {
                 .get()
                 .addOnSuccessListener(bgThread, documentSnapshot -> {
                     if (documentSnapshot.exists()) {
-                        User user = documentSnapshot.toObject(User.class);
+                        User user = UserCodec.INSTANCE.decode(documentSnapshot);
                         Log.d("UserRepository", "Successfully fetched User: " + userId);
                         callback.onSuccess(user);
                     } else {
@@ -180,27 +295,279 @@ public class UserRepository {
             tasks.add(db.collection(COLLECTION_NAME).document(userId).get());
         }
 
-        Tasks.whenAllComplete(tasks).addOnSuccessListener(doneTasks -> {
+        RepositoryExecutors.parse(Tasks.whenAllComplete(tasks), doneTasks -> {
+            RepositoryExecutors.checkNotMainThread("user list parsing");
             List<User> users = new ArrayList<>();
             for (Task<DocumentSnapshot> task : tasks) {
                 if (task.isSuccessful() && task.getResult() != null) {
                     DocumentSnapshot snapshot = task.getResult();
                     if (snapshot.exists()) {
-                        User user = snapshot.toObject(User.class);
+                        User user = UserCodec.INSTANCE.decode(snapshot);
                         if (user != null) {
                             users.add(user);
                         }
                     }
                 }
             }
+            return users;
+        }, users -> {
             Log.d("UserRepository", "Successfully fetched " + users.size() + " users");
             callback.onSuccess(users);
-        }).addOnFailureListener(e -> {
+        }, e -> {
             Log.e("UserRepository", "Error fetching users by IDs", e);
             callback.onError("Failed to fetch users: " + e.getMessage());
         });
     }
 
+    /**
+     * Looks up the names of many users at once, for labelling them on a map or list.
+     *
+     * <p>Names read before are answered from memory. The rest are read in whereIn chunks,
+     * so a few hundred users cost a handful of requests instead of one each. A chunk that
+     * can't be read leaves its users out rather than failing the whole lookup.</p>
+     *
+     * @param userIds  the IDs of the users
+     * @param callback receives the names by user ID on the main thread; users who don't exist
+     *                 or have no name are left out
+     */
+    public void getUserNames(Collection<String> userIds, FirestoreCallback<Map<String, String>> callback) {
+        Map<String, String> names = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        synchronized (nameCache) {
+            for (String userId : new HashSet<>(userIds)) {
+                String name = nameCache.get(userId);
+                if (name != null) {
+                    names.put(userId, name);
+                } else {
+                    missing.add(userId);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            callback.onSuccess(names);
+            return;
+        }
+
+        List<Task<QuerySnapshot>> reads = new ArrayList<>();
+        for (int i = 0; i < missing.size(); i += WHERE_IN_LIMIT) {
+            List<String> chunk = missing.subList(i, Math.min(i + WHERE_IN_LIMIT, missing.size()));
+            reads.add(db.collection(COLLECTION_NAME).whereIn(FieldPath.documentId(), chunk).get());
+        }
+
+        RepositoryExecutors.parse(Tasks.whenAllComplete(reads),
+                done -> {
+                    RepositoryExecutors.checkNotMainThread("user name parsing");
+                    for (Task<QuerySnapshot> read : reads) {
+                        if (!read.isSuccessful()) continue;
+                        for (QueryDocumentSnapshot doc : read.getResult()) {
+                            String name = doc.getString("name");
+                            if (name != null) names.put(doc.getId(), name);
+                        }
+                    }
+                    synchronized (nameCache) {
+                        nameCache.putAll(names);
+                    }
+                    return names;
+                },
+                found -> {
+                    Log.d("UserRepository", "Looked up " + found.size() + " of " + userIds.size() + " user names");
+                    callback.onSuccess(found);
+                },
+                e -> {
+                    Log.e("UserRepository", "Error looking up user names", e);
+                    callback.onError("Failed to fetch user names: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Searches user profiles by the start of their name, email, phone number or device ID,
+     * one page at a time.
+     *
+     * <p>Each source is a prefix-range query on one {@link UserSearchKeys} field, so only
+     * matching profiles are downloaded. Name and email are compared ignoring case and accents,
+     * and phone numbers by their digits alone. An empty query lists every profile.</p>
+     *
+     * <p>Each source needs a single-field index on its key, which Firestore creates by
+     * default.</p>
+     *
+     * @param query    the text typed by the admin
+     * @param after    the previous page of the same search, or null for the first page
+     * @param callback receives the page on the main thread
+     */
+    public void searchUsers(@NonNull String query, @Nullable SearchPage after,
+                            FirestoreCallback<SearchPage> callback) {
+        String searchQuery = after != null ? after.query : query.trim();
+        List<String> sources = new ArrayList<>();
+        if (after != null) {
+            sources.addAll(after.cursors.keySet());
+        } else if (searchQuery.isEmpty()) {
+            sources.add(SOURCE_ALL);
+        } else {
+            sources.add(UserSearchKeys.FIELD_NAME);
+            sources.add(UserSearchKeys.FIELD_EMAIL);
+            if (UserSearchKeys.phonePrefix(searchQuery) != null) sources.add(UserSearchKeys.FIELD_PHONE);
+            // Document IDs cannot contain slashes, so such a query can't be a device ID
+            if (!searchQuery.contains("/")) sources.add(SOURCE_ID);
+        }
+        if (sources.isEmpty()) {
+            callback.onSuccess(new SearchPage(searchQuery, new ArrayList<>(), new HashMap<>()));
+            return;
+        }
+
+        List<Task<QuerySnapshot>> tasks = new ArrayList<>();
+        for (String source : sources) {
+            DocumentSnapshot cursor = after != null ? after.cursors.get(source) : null;
+            tasks.add(sourceQuery(source, searchQuery, cursor).limit(SEARCH_PAGE_SIZE).get());
+        }
+
+        RepositoryExecutors.parse(Tasks.whenAllSuccess(tasks), results -> {
+            RepositoryExecutors.checkNotMainThread("user search parsing");
+            Map<String, User> users = new LinkedHashMap<>();
+            Map<String, DocumentSnapshot> cursors = new HashMap<>();
+            for (int i = 0; i < sources.size(); i++) {
+                List<DocumentSnapshot> documents = tasks.get(i).getResult().getDocuments();
+                for (DocumentSnapshot document : documents) {
+                    if (!users.containsKey(document.getId())) {
+                        users.put(document.getId(), UserCodec.INSTANCE.decode(document));
+                    }
+                }
+                // A short page means this source has nothing left
+                if (documents.size() == SEARCH_PAGE_SIZE) {
+                    cursors.put(sources.get(i), documents.get(documents.size() - 1));
+                }
+            }
+            List<User> sorted = new ArrayList<>(users.values());
+            sorted.sort(Comparator.comparing(user -> UserSearchKeys.normalize(user.getName())));
+            return new SearchPage(searchQuery, sorted, cursors);
+        }, page -> {
+            Log.d("UserRepository", "Search \"" + searchQuery + "\" returned " + page.getUsers().size() + " users");
+            callback.onSuccess(page);
+        }, e -> {
+            Log.e("UserRepository", "Error searching Users", e);
+            callback.onError("Failed to search Users: " + e.getMessage());
+        });
+    }
+
+    /**
+     * Builds the query for one search source, starting after the cursor if there is one.
+     */
+    private Query sourceQuery(String source, String searchQuery, @Nullable DocumentSnapshot cursor) {
+        Query query;
+        String prefix;
+        switch (source) {
+            case SOURCE_ALL:
+                query = db.collection(COLLECTION_NAME).orderBy(FieldPath.documentId());
+                return cursor != null ? query.startAfter(cursor) : query;
+            case SOURCE_ID:
+                query = db.collection(COLLECTION_NAME).orderBy(FieldPath.documentId());
+                prefix = searchQuery;
+                break;
+            case UserSearchKeys.FIELD_PHONE:
+                query = db.collection(COLLECTION_NAME).orderBy(source);
+                prefix = UserSearchKeys.phonePrefix(searchQuery);
+                break;
+            default:
+                query = db.collection(COLLECTION_NAME).orderBy(source);
+                prefix = UserSearchKeys.normalize(searchQuery);
+                break;
+        }
+        query = cursor != null ? query.startAfter(cursor) : query.startAt(prefix);
+        return query.endAt(prefix + PREFIX_END);
+    }
+
+    /**
+     * Counts every user profile with a server-side aggregation, without downloading them.
+     *
+     * @param callback receives the count on the main thread
+     */
+    public void countUsers(FirestoreCallback<Integer> callback) {
+        db.collection(COLLECTION_NAME).count().get(AggregateSource.SERVER)
+                .addOnSuccessListener(snapshot -> callback.onSuccess((int) snapshot.getCount()))
+                .addOnFailureListener(e -> {
+                    Log.e("UserRepository", "Error counting Users", e);
+                    callback.onError("Failed to count Users: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Writes the {@link UserSearchKeys} and {@link #FIELD_REG_EVENT_IDS} of every profile that
+     * is missing them or has stale ones.
+     *
+     * <p>Profiles are read a page at a time in document ID order and each page's missing keys
+     * are merged in one batch, so a run interrupted part way can simply run again. This is a
+     * one-off admin migration for profiles saved before the keys existed; every later write
+     * keeps them up to date. Until it has run, deleting an event misses the older profiles
+     * that still list it in {@code regEvents}.</p>
+     *
+     * @param callback receives the number of profiles updated, on the main thread
+     */
+    public void backfillSearchKeys(FirestoreCallback<Integer> callback) {
+        backfillPage(null, 0)
+                .addOnSuccessListener(RepositoryExecutors.main(), updated -> {
+                    Log.d("UserRepository", "Backfilled search keys for " + updated + " users");
+                    callback.onSuccess(updated);
+                })
+                .addOnFailureListener(RepositoryExecutors.main(), e -> {
+                    Log.e("UserRepository", "Error backfilling search keys", e);
+                    callback.onError("Failed to backfill search keys: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Backfills the page of profiles after a cursor, then the pages after it.
+     *
+     * @param after   the last profile of the previous page, or null for the first page
+     * @param updated profiles updated by earlier pages
+     * @return a task resolving to the total number of profiles updated
+     */
+    private Task<Integer> backfillPage(@Nullable DocumentSnapshot after, int updated) {
+        Query page = db.collection(COLLECTION_NAME).orderBy(FieldPath.documentId());
+        if (after != null) page = page.startAfter(after);
+        return page.limit(BACKFILL_PAGE_SIZE).get()
+                .continueWithTask(RepositoryExecutors.background(), task -> {
+                    List<DocumentSnapshot> documents = task.getResult().getDocuments();
+                    WriteBatch batch = db.batch();
+                    int inBatch = 0;
+                    for (DocumentSnapshot document : documents) {
+                        User user = UserCodec.INSTANCE.decode(document);
+                        Map<String, Object> keys = UserSearchKeys.of(user);
+                        keys.put(FIELD_REG_EVENT_IDS, user.getRegEvents() != null
+                                ? user.getRegEventIds() : new ArrayList<String>());
+                        boolean current = true;
+                        for (Map.Entry<String, Object> key : keys.entrySet()) {
+                            current &= key.getValue().equals(document.get(key.getKey()));
+                        }
+                        if (current) continue;
+                        batch.set(document.getReference(), keys, SetOptions.merge());
+                        inBatch++;
+                    }
+                    int total = updated + inBatch;
+                    Task<Void> commit = inBatch > 0 ? batch.commit() : Tasks.forResult(null);
+                    // A short page means there is nothing left
+                    if (documents.size() < BACKFILL_PAGE_SIZE) {
+                        return commit.onSuccessTask(RepositoryExecutors.background(), done -> Tasks.forResult(total));
+                    }
+                    DocumentSnapshot last = documents.get(documents.size() - 1);
+                    return commit.onSuccessTask(RepositoryExecutors.background(), done -> backfillPage(last, total));
+                });
+    }
+
+    /**
+     * Writes a whole User, its search keys and its registered event IDs in one batch.
+     *
+     * @param ref  the user's document
+     * @param User the User to store
+     * @return the batch commit
+     */
+    private Task<Void> saveWithSearchKeys(DocumentReference ref, User User) {
+        WriteBatch batch = db.batch();
+        batch.set(ref, User);
+        Map<String, Object> derived = UserSearchKeys.of(User);
+        derived.put(FIELD_REG_EVENT_IDS, User.getRegEventIds());
+        batch.set(ref, derived, SetOptions.merge());
+        return batch.commit();
+    }
+
     /**
      * Creates a new User in the Firestore database.
      * Firestore will automatically generate a unique document ID for the User.
@@ -209,10 +576,10 @@ public class UserRepository {
      * @param callback the callback to receive success confirmation or error message.
      */
     public void createUser(User User, OperationCallback callback) {
-        db.collection(COLLECTION_NAME)
-                .add(User)
-                .addOnSuccessListener(documentReference -> {
-                    Log.d("UserRepository", "Successfully created user: " + documentReference.getId());
+        DocumentReference ref = db.collection(COLLECTION_NAME).document();
+        saveWithSearchKeys(ref, User)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d("UserRepository", "Successfully created user: " + ref.getId());
                     callback.onSuccess();
                 })
                 .addOnFailureListener(e -> {
@@ -230,10 +597,10 @@ public class UserRepository {
      * @param bgThread The Executor instance which will be used to run the callbacks in that executors thread.
      */
     public void createUser(User User, OperationCallback callback, Executor bgThread) {
-        db.collection(COLLECTION_NAME)
-                .add(User)
-                .addOnSuccessListener(bgThread, documentReference -> {
-                    Log.d("UserRepository", "Successfully created user: " + documentReference.getId());
+        DocumentReference ref = db.collection(COLLECTION_NAME).document();
+        saveWithSearchKeys(ref, User)
+                .addOnSuccessListener(bgThread, aVoid -> {
+                    Log.d("UserRepository", "Successfully created user: " + ref.getId());
                     callback.onSuccess();
                 })
                 .addOnFailureListener(e -> {
@@ -255,9 +622,7 @@ public class UserRepository {
             return;
         }
 
-        db.collection(COLLECTION_NAME)
-                .document(User.getId())
-                .set(User)
+        saveWithSearchKeys(db.collection(COLLECTION_NAME).document(User.getId()), User)
                 .addOnSuccessListener(e -> {
                     Log.d("UserRepository", "User updated successfully: " + User.getId());
                     callback.onSuccess();
@@ -282,9 +647,7 @@ public class UserRepository {
             return;
         }
 
-        db.collection(COLLECTION_NAME)
-                .document(User.getId())
-                .set(User)
+        saveWithSearchKeys(db.collection(COLLECTION_NAME).document(User.getId()), User)
                 .addOnSuccessListener(bgThread, aVoid -> {
                     Log.d("UserRepository", "User updated successfully: " + User.getId());
                     callback.onSuccess();
@@ -295,6 +658,59 @@ public class UserRepository {
                 });
     }
 
+    /**
+     * Durably queues saving a User's profile and registrations.
+     *
+     * <p>Each stored field is queued as its own merge write through the {@link WriteOutbox},
+     * so the save survives the app being killed or going offline, and repeated saves before
+     * the queue drains collapse into the latest values.</p>
+     *
+     * @param User the User whose data should be saved.
+     */
+    public void enqueueUpdateUser(User User) {
+        if (User.getId() == null || User.getId().isEmpty()) {
+            Log.e("UserRepository", "Cannot queue User update: ID is null or empty");
+            return;
+        }
+
+        List<Map<String, Object>> regEvents = new ArrayList<>();
+        if (User.getRegEvents() != null) {
+            for (User.RegisteredEvent reg : User.getRegEvents()) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("eventId", reg.getEventId());
+                map.put("status", reg.getStatus() != null ? reg.getStatus().name() : null);
+                map.put("registeredDate", reg.getRegisteredDate());
+                map.put("selectedDate", reg.getSelectedDate());
+                regEvents.add(map);
+            }
+        }
+
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", User.getName());
+        fields.put("email", User.getEmail());
+        fields.put("phone", User.getPhone());
+        fields.put("type", User.getType() != null ? User.getType().name() : null);
+        fields.put("regEvents", regEvents);
+        fields.put(FIELD_REG_EVENT_IDS, User.getRegEventIds());
+        fields.putAll(UserSearchKeys.of(User));
+
+        List<WriteOutbox.Write> writes = new ArrayList<>();
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            writes.add(new WriteOutbox.Write(WriteOutbox.Write.Type.SET_FIELD, COLLECTION_NAME, User.getId(),
+                    field.getKey(), field.getValue(), true));
+        }
+        WriteOutbox.getInstance().enqueue("user:" + User.getId(), writes);
+
+        // Keep looked-up names in step with this device's own edits
+        synchronized (nameCache) {
+            if (User.getName() != null) {
+                nameCache.put(User.getId(), User.getName());
+            } else {
+                nameCache.remove(User.getId());
+            }
+        }
+    }
+
     /**
      * Deletes an User from the Firestore database.
      *
@@ -0,0 +1,112 @@
+package com.hotdog.elotto.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hotdog.elotto.model.User;
+
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized copies of a user's name, email and phone, stored on the user document so admins
+ * can search profiles with Firestore prefix-range queries.
+ *
+ * <p>Firestore string comparisons are case and accent sensitive, so the raw fields cannot be
+ * prefix-searched the way a person types. Every writer of a user's name, email or phone also
+ * writes these keys, and {@link UserRepository#searchUsers} queries them with a search query
+ * normalized the same way. Profiles saved before the keys existed are given them by
+ * {@link UserRepository#backfillSearchKeys}, which the admin profile browser runs once.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class UserSearchKeys {
+
+    public static final String FIELD_NAME = "nameSearch";
+    public static final String FIELD_EMAIL = "emailSearch";
+    public static final String FIELD_PHONE = "phoneSearch";
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern PHONE_PUNCTUATION = Pattern.compile("[\\s()+.\\-]+");
+
+    private UserSearchKeys() {}
+
+    /**
+     * Builds the search keys for a user's current name, email and phone.
+     *
+     * @param user the user
+     * @return field name to key, ready to merge into the user document
+     */
+    @NonNull
+    public static Map<String, Object> of(@NonNull User user) {
+        return of(user.getName(), user.getEmail(), user.getPhone());
+    }
+
+    /**
+     * Builds the search keys for a name, email and phone.
+     *
+     * @param name  the display name, may be null
+     * @param email the email address, may be null
+     * @param phone the phone number, may be null
+     * @return field name to key, ready to merge into the user document
+     */
+    @NonNull
+    public static Map<String, Object> of(@Nullable String name, @Nullable String email, @Nullable String phone) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(FIELD_NAME, normalize(name));
+        keys.put(FIELD_EMAIL, normalize(email));
+        keys.put(FIELD_PHONE, digits(phone));
+        return keys;
+    }
+
+    /**
+     * Lowercases text, strips accents and collapses whitespace.
+     *
+     * @param text the text, may be null
+     * @return the normalized text, empty for null
+     */
+    @NonNull
+    public static String normalize(@Nullable String text) {
+        if (text == null) return "";
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Keeps only the digits of a phone number.
+     *
+     * @param phone the phone number, may be null
+     * @return its digits, empty for null
+     */
+    @NonNull
+    public static String digits(@Nullable String phone) {
+        if (phone == null) return "";
+        return NON_DIGITS.matcher(phone).replaceAll("");
+    }
+
+    /**
+     * Reduces a search query to a phone prefix, if it looks like the start of a phone number.
+     *
+     * @param query the raw query
+     * @return its digits, or null if it contains anything besides digits and phone punctuation
+     */
+    @Nullable
+    public static String phonePrefix(@NonNull String query) {
+        String compact = PHONE_PUNCTUATION.matcher(query).replaceAll("");
+        if (compact.isEmpty()) return null;
+        for (int i = 0; i < compact.length(); i++) {
+            char c = compact.charAt(i);
+            if (c < '0' || c > '9') return null;
+        }
+        return compact;
+    }
+}
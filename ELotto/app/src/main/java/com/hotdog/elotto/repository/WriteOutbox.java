@@ -0,0 +1,629 @@
+package com.hotdog.elotto.repository;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Persistent, ordered queue of Firestore writes that survives process death.
+ *
+ * <p>Mutations that must not be lost (user profile changes, registrations, waitlist membership
+ * and notification read flags) are enqueued here instead of being written directly. Each
+ * {@link Operation} is saved to disk on the caller's thread before {@link #enqueue} returns
+ * and stays queued until Firestore acknowledges it, so a write started just before the app is
+ * killed is replayed on the next launch. Removing acknowledged operations is saved on a
+ * background executor instead; losing one of those saves only means an acknowledged write is
+ * sent again.</p>
+ *
+ * <p>That save rewrites the whole queue, so an enqueue on the main thread costs time in
+ * proportion to the queue's length. While online the queue drains within a round trip and
+ * holds a few operations; only after a long time offline does it grow to where a tap is
+ * noticeably slower, which is the price of not losing those writes.</p>
+ *
+ * <p>Only idempotent field-level writes are supported ({@link Write.Type}): setting or deleting
+ * a field and adding/removing an array element. Replaying an operation that already reached the
+ * server therefore leaves the document unchanged, which is what makes at-least-once delivery
+ * safe. The one exception is incrementing a counter, which a replay can apply twice, so it is
+ * only used for counters that are recounted from their source now and then. Each operation
+ * also carries an idempotency key; enqueueing a key that is still queued replaces the queued
+ * operation, so double taps and retried UI actions are only sent once.</p>
+ *
+ * <p>Writes that are superseded before they are sent are coalesced: a later write to the same
+ * field replaces an earlier one, and a later add/remove of the same array element replaces the
+ * earlier add/remove (joining then leaving a waitlist only sends the leave).</p>
+ *
+ * <p>The queue drains in order, packing whole operations into {@link WriteBatch}es. Draining
+ * starts on enqueue, on app start and whenever the network comes back. A transient failure
+ * leaves the queue untouched and retries it with exponential backoff, up to
+ * {@link #MAX_RETRY_DELAY_MILLIS} apart, so a server that is briefly unavailable or busy doesn't
+ * stall the queue until the next trigger. A permanent failure (for example a deleted document)
+ * re-sends that batch one operation at a time so only the bad operation is dropped.</p>
+ *
+ * <p><b>Design Pattern:</b> Singleton, like {@link UserRepository}. Storage, the Firestore
+ * commit and the retry scheduler are injectable for testing.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class WriteOutbox {
+    private static final String TAG = "WriteOutbox";
+
+    /**
+     * Delay before the first retry after a transient failure, doubled after each further one.
+     */
+    static final long RETRY_BASE_DELAY_MILLIS = 1000;
+    static final long MAX_RETRY_DELAY_MILLIS = 60 * 1000;
+
+    private static WriteOutbox instance;
+
+    /**
+     * A single idempotent field-level write to one document.
+     */
+    public static class Write {
+        /**
+         * The kind of write. All of them are idempotent except {@code INCREMENT}, which adds
+         * a numeric value to the field and is only used for counters that can be recounted.
+         * {@code DELETE_DOCUMENT} deletes the whole document and ignores the field.
+         */
+        public enum Type { SET_FIELD, DELETE_FIELD, ARRAY_UNION, ARRAY_REMOVE, INCREMENT, DELETE_DOCUMENT }
+
+        private final Type type;
+        private final String collection;
+        private final String documentId;
+        private final String field;
+        private final Object value;
+        private final boolean createIfMissing;
+
+        /**
+         * Creates a write.
+         *
+         * @param type            the kind of write
+         * @param collection      the collection holding the document, as a path for subcollections
+         * @param documentId      the document ID
+         * @param field           the field (dotted paths are allowed unless createIfMissing is set)
+         * @param value           the value to set, or the array element to add/remove
+         * @param createIfMissing true to merge into the document, creating it if needed, instead
+         *                        of failing when it does not exist
+         */
+        public Write(@NonNull Type type, @NonNull String collection, @NonNull String documentId,
+                     @NonNull String field, @Nullable Object value, boolean createIfMissing) {
+            this.type = type;
+            this.collection = collection;
+            this.documentId = documentId;
+            this.field = field;
+            this.value = value;
+            this.createIfMissing = createIfMissing;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public String getCollection() {
+            return collection;
+        }
+
+        public String getDocumentId() {
+            return documentId;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public boolean isCreateIfMissing() {
+            return createIfMissing;
+        }
+
+        /**
+         * Checks whether this write makes an earlier pending write redundant.
+         *
+         * @param earlier a write queued before this one
+         * @return true if the earlier write can be dropped
+         */
+        boolean supersedes(Write earlier) {
+            if (!collection.equals(earlier.collection) || !documentId.equals(earlier.documentId)
+                    || !field.equals(earlier.field)) {
+                return false;
+            }
+            if (type == Type.INCREMENT) {
+                // Increments add up, so none of them can be dropped
+                return false;
+            }
+            if (isArrayWrite() && earlier.isArrayWrite()) {
+                // Only the same element is superseded, other elements are independent
+                return Objects.equals(value, earlier.value);
+            }
+            // A set/delete replaces anything earlier on the field, and an array write
+            // after a set can't drop the set
+            return !isArrayWrite();
+        }
+
+        private boolean isArrayWrite() {
+            return type == Type.ARRAY_UNION || type == Type.ARRAY_REMOVE;
+        }
+    }
+
+    /**
+     * A group of writes enqueued together. The writes of one operation are always committed
+     * in the same batch.
+     */
+    public static class Operation {
+        private final String key;
+        private final long createdAt;
+        private final List<Write> writes;
+
+        /**
+         * Creates an operation.
+         *
+         * @param key       the idempotency key
+         * @param createdAt when the operation was first enqueued, in epoch milliseconds
+         * @param writes    the writes to apply together
+         */
+        public Operation(@NonNull String key, long createdAt, @NonNull List<Write> writes) {
+            this.key = key;
+            this.createdAt = createdAt;
+            this.writes = new ArrayList<>(writes);
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public List<Write> getWrites() {
+            return writes;
+        }
+    }
+
+    /**
+     * Durable storage for the queue.
+     */
+    public interface Store {
+        /**
+         * Loads the queue saved by the last {@link #save}.
+         *
+         * @return the saved operations in order, empty if none
+         */
+        List<Operation> load();
+
+        /**
+         * Replaces the saved queue, returning once it is on disk. Called on the enqueueing
+         * thread, which may be the main thread, or on the persist executor, so it should cost
+         * little more than writing the operations out.
+         *
+         * @param operations the operations in order
+         */
+        void save(List<Operation> operations);
+    }
+
+    /**
+     * Commits one batch of operations to the backend.
+     */
+    public interface Committer {
+        /**
+         * Commits the writes of every operation atomically.
+         *
+         * @param operations the operations to commit
+         * @param callback   told the outcome
+         */
+        void commit(List<Operation> operations, CommitCallback callback);
+    }
+
+    /**
+     * Outcome of a {@link Committer#commit}.
+     */
+    public interface CommitCallback {
+        void onSuccess();
+
+        /**
+         * @param permanent true if retrying the same batch can never succeed
+         * @param message   the error message
+         */
+        void onError(boolean permanent, String message);
+    }
+
+    private final Store store;
+    private final Committer committer;
+    private final Executor persistExecutor;
+    private final CascadeDelete.Scheduler scheduler;
+    private final List<Operation> queue;
+
+    /**
+     * Guards {@link Store#save} so saves from the enqueueing thread and the persist executor
+     * never overlap or land out of order.
+     */
+    private final Object saveLock = new Object();
+
+    /**
+     * Version of the newest snapshot taken, and of the newest one saved.
+     */
+    private long snapshotVersion = 0;
+    private long savedVersion = 0;
+
+    /**
+     * The batch currently being committed, empty when idle.
+     */
+    private List<Operation> inFlight = Collections.emptyList();
+
+    /**
+     * Number of upcoming operations to commit on their own after a permanent batch failure.
+     */
+    private int isolateRemaining = 0;
+
+    /**
+     * Transient failures in a row, and whether a retry is waiting to run.
+     */
+    private int failures = 0;
+    private boolean retryScheduled = false;
+
+    /**
+     * Sets up the shared outbox and starts draining anything left from a previous run.
+     * Called once from {@code MainActivity}.
+     *
+     * @param context any context, the application context is kept
+     */
+    public static synchronized void init(@NonNull Context context) {
+        if (instance != null) return;
+
+        Context appContext = context.getApplicationContext();
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        instance = new WriteOutbox(new SharedPreferencesOutboxStore(appContext),
+                new FirestoreCommitter(), Executors.newSingleThreadExecutor(), mainHandler::postDelayed);
+
+        ConnectivityManager connectivityManager = appContext.getSystemService(ConnectivityManager.class);
+        if (connectivityManager != null) {
+            connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(@NonNull Network network) {
+                    mainHandler.post(instance::drain);
+                }
+            });
+        }
+
+        instance.drain();
+    }
+
+    /**
+     * Returns the shared outbox. If {@link #init} has not run yet, an outbox that only keeps
+     * the queue in memory is used so writes are still sent.
+     *
+     * @return the shared outbox
+     */
+    public static synchronized WriteOutbox getInstance() {
+        if (instance == null) {
+            Log.w(TAG, "Outbox used before init, writes will not survive process death");
+            instance = new WriteOutbox(new Store() {
+                @Override
+                public List<Operation> load() {
+                    return new ArrayList<>();
+                }
+
+                @Override
+                public void save(List<Operation> operations) {}
+            }, new FirestoreCommitter(), Executors.newSingleThreadExecutor(),
+                    new Handler(Looper.getMainLooper())::postDelayed);
+        }
+        return instance;
+    }
+
+    /**
+     * Constructor for dependency injection (useful for testing).
+     *
+     * @param store           where the queue is persisted
+     * @param committer       sends batches to the backend
+     * @param persistExecutor runs {@link Store#save} off the main thread after commits
+     * @param scheduler       delays retries after transient failures
+     */
+    public WriteOutbox(@NonNull Store store, @NonNull Committer committer, @NonNull Executor persistExecutor,
+                       @NonNull CascadeDelete.Scheduler scheduler) {
+        this.store = store;
+        this.committer = committer;
+        this.persistExecutor = persistExecutor;
+        this.scheduler = scheduler;
+        this.queue = new ArrayList<>(store.load());
+    }
+
+    /**
+     * Queues writes to be applied together and starts draining.
+     *
+     * @param key    idempotency key for this logical action, or null to generate one.
+     *               A queued operation with the same key is replaced, unless it is already
+     *               being committed.
+     * @param writes the writes to apply together
+     */
+    public void enqueue(@Nullable String key, @NonNull List<Write> writes) {
+        Runnable save;
+        synchronized (this) {
+            if (writes.isEmpty()) return;
+            String opKey = key != null ? key : UUID.randomUUID().toString();
+            Iterator<Operation> it = queue.iterator();
+            while (it.hasNext()) {
+                Operation pending = it.next();
+                if (pending.key.equals(opKey) && !inFlight.contains(pending)) {
+                    Log.d(TAG, "Replacing queued operation: " + opKey);
+                    it.remove();
+                }
+            }
+
+            coalesce(writes);
+            queue.add(new Operation(opKey, System.currentTimeMillis(), writes));
+            save = snapshot();
+        }
+        // On disk before returning, so a kill right after enqueue can't lose the write
+        save.run();
+        drain();
+    }
+
+    /**
+     * Queues a single write and starts draining.
+     *
+     * @param key   idempotency key, or null to generate one
+     * @param write the write
+     */
+    public void enqueue(@Nullable String key, @NonNull Write write) {
+        enqueue(key, Collections.singletonList(write));
+    }
+
+    /**
+     * Gets the number of operations not yet acknowledged by the backend.
+     *
+     * @return the queue length
+     */
+    public synchronized int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Gets a copy of the queued operations, oldest first.
+     *
+     * @return the pending operations
+     */
+    public synchronized List<Operation> getPending() {
+        return new ArrayList<>(queue);
+    }
+
+    /**
+     * Sends the next batch if nothing is in flight. Each successful batch triggers the next,
+     * so one call drains the whole queue while the backend is reachable.
+     */
+    public void drain() {
+        List<Operation> batch;
+        synchronized (this) {
+            if (!inFlight.isEmpty() || queue.isEmpty()) return;
+            batch = nextBatch();
+            inFlight = batch;
+        }
+
+        committer.commit(batch, new CommitCallback() {
+            @Override
+            public void onSuccess() {
+                synchronized (WriteOutbox.this) {
+                    queue.removeAll(batch);
+                    if (isolateRemaining > 0) isolateRemaining--;
+                    inFlight = Collections.emptyList();
+                    failures = 0;
+                    persist();
+                }
+                Log.d(TAG, "Committed " + batch.size() + " operation(s)");
+                drain();
+            }
+
+            @Override
+            public void onError(boolean permanent, String message) {
+                synchronized (WriteOutbox.this) {
+                    inFlight = Collections.emptyList();
+                    if (!permanent) {
+                        // Leave the queue alone and retry, unless a retry is already waiting
+                        long delay = Math.min(RETRY_BASE_DELAY_MILLIS << Math.min(failures, 16),
+                                MAX_RETRY_DELAY_MILLIS);
+                        failures++;
+                        Log.w(TAG, "Outbox paused, retrying in " + delay + " ms: " + message);
+                        if (retryScheduled) return;
+                        retryScheduled = true;
+                        scheduler.schedule(WriteOutbox.this::retry, delay);
+                        return;
+                    }
+                    failures = 0;
+                    if (batch.size() > 1) {
+                        // Find the bad operation by sending these one at a time
+                        isolateRemaining = batch.size();
+                    } else {
+                        Log.e(TAG, "Dropping operation " + batch.get(0).key + ": " + message);
+                        queue.remove(batch.get(0));
+                        if (isolateRemaining > 0) isolateRemaining--;
+                        persist();
+                    }
+                }
+                drain();
+            }
+        });
+    }
+
+    /**
+     * Runs a scheduled retry. The network coming back may already have drained the queue, in
+     * which case there is nothing left to do.
+     */
+    private void retry() {
+        synchronized (this) {
+            retryScheduled = false;
+        }
+        drain();
+    }
+
+    /**
+     * Takes whole operations from the head of the queue up to the batch write limit.
+     * Must hold the lock.
+     *
+     * @return the operations for the next batch, never empty
+     */
+    private List<Operation> nextBatch() {
+        List<Operation> batch = new ArrayList<>();
+        int writeCount = 0;
+        for (Operation operation : queue) {
+            boolean full = writeCount + operation.writes.size() > FirestoreLimits.MAX_BATCH_WRITES;
+            if (!batch.isEmpty() && (full || isolateRemaining > 0)) break;
+            batch.add(operation);
+            writeCount += operation.writes.size();
+        }
+        return batch;
+    }
+
+    /**
+     * Removes pending writes that the new writes make redundant, and operations left empty.
+     * Operations currently being committed are not touched. Must hold the lock.
+     *
+     * @param newWrites the writes about to be queued
+     */
+    private void coalesce(List<Write> newWrites) {
+        for (int i = queue.size() - 1; i >= 0; i--) {
+            Operation pending = queue.get(i);
+            if (inFlight.contains(pending)) continue;
+            Iterator<Write> it = pending.writes.iterator();
+            while (it.hasNext()) {
+                Write earlier = it.next();
+                for (Write later : newWrites) {
+                    if (later.supersedes(earlier)) {
+                        it.remove();
+                        break;
+                    }
+                }
+            }
+            if (pending.writes.isEmpty()) {
+                queue.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Saves a snapshot of the queue on the persist executor. Must hold the lock.
+     */
+    private void persist() {
+        persistExecutor.execute(snapshot());
+    }
+
+    /**
+     * Takes a snapshot of the queue. Must hold the lock.
+     *
+     * @return saves the snapshot, unless a newer one has been saved by then
+     */
+    private Runnable snapshot() {
+        List<Operation> snapshot = new ArrayList<>();
+        for (Operation operation : queue) {
+            snapshot.add(new Operation(operation.key, operation.createdAt, operation.writes));
+        }
+        long version = ++snapshotVersion;
+        return () -> {
+            synchronized (saveLock) {
+                if (version <= savedVersion) return;
+                store.save(snapshot);
+                savedVersion = version;
+            }
+        };
+    }
+
+    /**
+     * Commits batches to Firestore.
+     */
+    static class FirestoreCommitter implements Committer {
+        private FirebaseFirestore db;
+
+        @Override
+        public void commit(List<Operation> operations, CommitCallback callback) {
+            if (db == null) db = FirebaseFirestore.getInstance();
+
+            WriteBatch batch = db.batch();
+            for (Operation operation : operations) {
+                for (Write write : operation.getWrites()) {
+                    apply(batch, write);
+                }
+            }
+            batch.commit()
+                    .addOnSuccessListener(aVoid -> callback.onSuccess())
+                    .addOnFailureListener(e -> callback.onError(isPermanent(e), e.getMessage()));
+        }
+
+        private void apply(WriteBatch batch, Write write) {
+            DocumentReference ref = db.collection(write.getCollection()).document(write.getDocumentId());
+            if (write.getType() == Write.Type.DELETE_DOCUMENT) {
+                batch.delete(ref);
+                return;
+            }
+            Object value;
+            switch (write.getType()) {
+                case DELETE_FIELD:
+                    value = FieldValue.delete();
+                    break;
+                case ARRAY_UNION:
+                    value = FieldValue.arrayUnion(write.getValue());
+                    break;
+                case ARRAY_REMOVE:
+                    value = FieldValue.arrayRemove(write.getValue());
+                    break;
+                case INCREMENT:
+                    value = FieldValue.increment(((Number) write.getValue()).longValue());
+                    break;
+                default:
+                    value = write.getValue();
+                    break;
+            }
+
+            if (write.isCreateIfMissing()) {
+                batch.set(ref, Collections.singletonMap(write.getField(), value), SetOptions.merge());
+            } else {
+                batch.update(ref, write.getField(), value);
+            }
+        }
+
+        /**
+         * Decides whether retrying the same batch can ever succeed.
+         *
+         * @param e the commit failure
+         * @return true for errors caused by the batch itself rather than connectivity
+         */
+        static boolean isPermanent(Exception e) {
+            if (!(e instanceof FirebaseFirestoreException)) return false;
+            switch (((FirebaseFirestoreException) e).getCode()) {
+                case NOT_FOUND:
+                case PERMISSION_DENIED:
+                case INVALID_ARGUMENT:
+                case FAILED_PRECONDITION:
+                case OUT_OF_RANGE:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
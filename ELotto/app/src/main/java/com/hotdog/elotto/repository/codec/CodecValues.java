@@ -0,0 +1,87 @@
+package com.hotdog.elotto.repository.codec;
+
+import com.google.firebase.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conversions from the raw values found in Firestore document data to model field types.
+ *
+ * <p>Firestore returns whole numbers as {@code Long}, decimals as {@code Double}, dates as
+ * {@link Timestamp} and arrays as freshly built lists. Values of an unexpected type are
+ * treated as missing rather than failing the whole document.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+final class CodecValues {
+
+    private CodecValues() {}
+
+    static String string(Object value) {
+        return value instanceof String ? (String) value : null;
+    }
+
+    static Date date(Object value) {
+        if (value instanceof Timestamp) return ((Timestamp) value).toDate();
+        if (value instanceof Date) return (Date) value;
+        return null;
+    }
+
+    static Timestamp timestamp(Object value) {
+        if (value instanceof Timestamp) return (Timestamp) value;
+        if (value instanceof Date) return new Timestamp((Date) value);
+        return null;
+    }
+
+    static int intValue(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    static Integer integer(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : null;
+    }
+
+    static double doubleValue(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    static boolean bool(Object value) {
+        return value instanceof Boolean && (Boolean) value;
+    }
+
+    /**
+     * Returns a string array. Firestore builds a new list for every {@code getData()} call,
+     * so it is handed to the model as is instead of being copied.
+     */
+    @SuppressWarnings("unchecked")
+    static ArrayList<String> stringList(Object value) {
+        if (value instanceof ArrayList) return (ArrayList<String>) value;
+        if (value instanceof List) return new ArrayList<>((List<String>) value);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Map<String, Object>> mapList(Object value) {
+        return value instanceof List ? (List<Map<String, Object>>) value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : null;
+    }
+
+    static <E extends Enum<E>> E enumValue(Class<E> type, Object value) {
+        if (!(value instanceof String)) return null;
+        try {
+            return Enum.valueOf(type, (String) value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
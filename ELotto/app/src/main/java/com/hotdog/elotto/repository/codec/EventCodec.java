@@ -0,0 +1,79 @@
+package com.hotdog.elotto.repository.codec;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.firestore.GeoPoint;
+import com.hotdog.elotto.model.Event;
+
+import java.util.Map;
+
+/**
+ * {@link FirestoreCodec} for documents in the "events" collection.
+ *
+ * <p>Only fields present in the document are assigned, so defaults of a freshly constructed
+ * {@link Event} are kept for missing keys, the same as {@code toObject(Event.class)}.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class EventCodec implements FirestoreCodec<Event> {
+
+    public static final EventCodec INSTANCE = new EventCodec();
+
+    private EventCodec() {}
+
+    @NonNull
+    @Override
+    public Event decode(@NonNull String id, @NonNull Map<String, Object> data) {
+        Event event = new Event();
+        event.setId(id);
+
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            Object value = entry.getValue();
+            switch (entry.getKey()) {
+                case "name": event.setName(CodecValues.string(value)); break;
+                case "description": event.setDescription(CodecValues.string(value)); break;
+                case "location": event.setLocation(CodecValues.string(value)); break;
+                case "coordinates":
+                    if (value instanceof GeoPoint) event.setCoordinates((GeoPoint) value);
+                    break;
+                case "eventDateTime": event.setEventDateTime(CodecValues.date(value)); break;
+                case "registrationStartDate": event.setRegistrationStartDate(CodecValues.date(value)); break;
+                case "registrationEndDate": event.setRegistrationEndDate(CodecValues.date(value)); break;
+                case "maxEntrants": event.setMaxEntrants(CodecValues.intValue(value)); break;
+                case "waitlistLimit": event.setWaitlistLimit(CodecValues.integer(value)); break;
+                case "organizerId": event.setOrganizerId(CodecValues.string(value)); break;
+                case "organizerName": event.setOrganizerName(CodecValues.string(value)); break;
+                case "tagList": event.setTagList(CodecValues.stringList(value)); break;
+                case "status": event.setStatus(CodecValues.string(value)); break;
+                case "posterImageUrl": event.setPosterImageUrl(CodecValues.string(value)); break;
+                case "price": event.setPrice(CodecValues.doubleValue(value)); break;
+                case "geolocationRequired": event.setGeolocationRequired(CodecValues.bool(value)); break;
+                case "qrCodeData": event.setQrCodeData(CodecValues.string(value)); break;
+                case "waitlistEntrantIds": event.setWaitlistEntrantIds(CodecValues.stringList(value)); break;
+                case "selectedEntrantIds": event.setSelectedEntrantIds(CodecValues.stringList(value)); break;
+                case "drawn": event.setDrawn(CodecValues.bool(value)); break;
+                case "acceptedEntrantIds": event.setAcceptedEntrantIds(CodecValues.stringList(value)); break;
+                case "cancelledEntrantIds": event.setCancelledEntrantIds(CodecValues.stringList(value)); break;
+                case "createdAt": event.setCreatedAt(CodecValues.date(value)); break;
+                case "updatedAt": event.setUpdatedAt(CodecValues.date(value)); break;
+                case "entrantLocations":
+                    Map<String, Object> locations = CodecValues.map(value);
+                    if (locations != null) {
+                        for (Map.Entry<String, Object> location : locations.entrySet()) {
+                            if (location.getValue() instanceof GeoPoint) {
+                                event.setEntrantLocations(location.getKey(), (GeoPoint) location.getValue());
+                            }
+                        }
+                    }
+                    break;
+                default:
+                    // Derived values written by getters (e.g. "full", "spotsRemaining") are not read back
+                    break;
+            }
+        }
+        return event;
+    }
+}
@@ -0,0 +1,50 @@
+package com.hotdog.elotto.repository.codec;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.Map;
+
+/**
+ * Decodes Firestore document data straight into a model object.
+ *
+ * <p>{@code DocumentSnapshot.toObject()} discovers getters, setters and fields by reflection
+ * for every class and converts each value through a generic path. The codecs instead read the
+ * document's data map once and assign each known field directly, so parsing a large result
+ * set costs little more than the map lookups.</p>
+ *
+ * <p>A codec must stay in step with the Firestore field names its model writes.
+ * {@code FirestoreCodecTest} checks each codec against the reflective mapper.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @param <T> the model type
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public interface FirestoreCodec<T> {
+
+    /**
+     * Builds a model object from a document's ID and data.
+     *
+     * @param id   the document ID
+     * @param data the document data as returned by {@link DocumentSnapshot#getData()}
+     * @return the decoded object
+     */
+    @NonNull
+    T decode(@NonNull String id, @NonNull Map<String, Object> data);
+
+    /**
+     * Builds a model object from a document snapshot.
+     *
+     * @param snapshot the document
+     * @return the decoded object, or null if the document does not exist
+     */
+    @Nullable
+    default T decode(@NonNull DocumentSnapshot snapshot) {
+        Map<String, Object> data = snapshot.getData();
+        return data == null ? null : decode(snapshot.getId(), data);
+    }
+}
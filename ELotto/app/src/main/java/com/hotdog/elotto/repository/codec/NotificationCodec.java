@@ -0,0 +1,55 @@
+package com.hotdog.elotto.repository.codec;
+
+import androidx.annotation.NonNull;
+
+import com.hotdog.elotto.model.Notification;
+
+import java.util.Map;
+
+/**
+ * {@link FirestoreCodec} for a single notification map.
+ *
+ * <p>Notifications are stored as maps inside a user's notification document rather than as
+ * documents of their own, so the {@code id} passed in is the ID of the user they belong to.
+ * Both the "read" and older "isRead" field names are accepted.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class NotificationCodec implements FirestoreCodec<Notification> {
+
+    public static final NotificationCodec INSTANCE = new NotificationCodec();
+
+    private NotificationCodec() {}
+
+    @NonNull
+    @Override
+    public Notification decode(@NonNull String userId, @NonNull Map<String, Object> data) {
+        Notification notification = new Notification();
+
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            Object value = entry.getValue();
+            switch (entry.getKey()) {
+                case "uuid": notification.setUuid(CodecValues.string(value)); break;
+                case "timestamp": notification.setTimestamp(CodecValues.timestamp(value)); break;
+                case "title": notification.setTitle(CodecValues.string(value)); break;
+                case "message": notification.setMessage(CodecValues.string(value)); break;
+                case "read":
+                case "isRead":
+                    if (CodecValues.bool(value)) notification.setRead(true);
+                    break;
+                case "eventId": notification.setEventId(CodecValues.string(value)); break;
+                case "eventTitle": notification.setEventTitle(CodecValues.string(value)); break;
+                case "eventImageUrl": notification.setEventImageUrl(CodecValues.string(value)); break;
+                case "userId": notification.setUserId(CodecValues.string(value)); break;
+                case "templateId": notification.setTemplateId(CodecValues.string(value)); break;
+                default: break;
+            }
+        }
+        // Older notifications were stored without a userId
+        if (notification.getUserId() == null) notification.setUserId(userId);
+        return notification;
+    }
+}
@@ -0,0 +1,36 @@
+package com.hotdog.elotto.repository.codec;
+
+import androidx.annotation.NonNull;
+
+import com.hotdog.elotto.model.NotificationTemplate;
+
+import java.util.Map;
+
+/**
+ * {@link FirestoreCodec} for documents in the "notificationTemplates" collection.
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class NotificationTemplateCodec implements FirestoreCodec<NotificationTemplate> {
+
+    public static final NotificationTemplateCodec INSTANCE = new NotificationTemplateCodec();
+
+    private NotificationTemplateCodec() {}
+
+    @NonNull
+    @Override
+    public NotificationTemplate decode(@NonNull String id, @NonNull Map<String, Object> data) {
+        NotificationTemplate template = new NotificationTemplate();
+        template.setId(id);
+        template.setTitle(CodecValues.string(data.get("title")));
+        template.setMessage(CodecValues.string(data.get("message")));
+        template.setEventId(CodecValues.string(data.get("eventId")));
+        template.setEventTitle(CodecValues.string(data.get("eventTitle")));
+        template.setEventImageUrl(CodecValues.string(data.get("eventImageUrl")));
+        template.setCreatedAt(CodecValues.timestamp(data.get("createdAt")));
+        return template;
+    }
+}
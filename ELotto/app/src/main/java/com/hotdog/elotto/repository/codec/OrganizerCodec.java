@@ -0,0 +1,32 @@
+package com.hotdog.elotto.repository.codec;
+
+import androidx.annotation.NonNull;
+
+import com.hotdog.elotto.model.Organizer;
+
+import java.util.Map;
+
+/**
+ * {@link FirestoreCodec} for documents in the "organizers" collection.
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class OrganizerCodec implements FirestoreCodec<Organizer> {
+
+    public static final OrganizerCodec INSTANCE = new OrganizerCodec();
+
+    private OrganizerCodec() {}
+
+    @NonNull
+    @Override
+    public Organizer decode(@NonNull String id, @NonNull Map<String, Object> data) {
+        Organizer organizer = new Organizer(id);
+        if (data.containsKey("myEvents")) {
+            organizer.setMyEvents(CodecValues.stringList(data.get("myEvents")));
+        }
+        return organizer;
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotdog.elotto.repository.codec;
+
+import androidx.annotation.NonNull;
+
+import com.hotdog.elotto.helpers.Status;
+import com.hotdog.elotto.helpers.UserType;
+import com.hotdog.elotto.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link FirestoreCodec} for documents in the "users" collection.
+ *
+ * <p>The reflective mapper has to walk User's SharedString and TypeContainer wrappers and
+ * build each RegisteredEvent through its bean properties. This codec reads the flat stored
+ * values and sets them through the plain setters instead.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class UserCodec implements FirestoreCodec<User> {
+
+    public static final UserCodec INSTANCE = new UserCodec();
+
+    private UserCodec() {}
+
+    @NonNull
+    @Override
+    public User decode(@NonNull String id, @NonNull Map<String, Object> data) {
+        User user = new User(id);
+
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            Object value = entry.getValue();
+            switch (entry.getKey()) {
+                case "name": user.setName(CodecValues.string(value)); break;
+                case "email": user.setEmail(CodecValues.string(value)); break;
+                case "phone": user.setPhone(CodecValues.string(value)); break;
+                case "type": user.setType(CodecValues.enumValue(UserType.class, value)); break;
+                case "regEvents": user.setRegEvents(decodeRegEvents(CodecValues.mapList(value))); break;
+                default: break;
+            }
+        }
+        return user;
+    }
+
+    private static List<User.RegisteredEvent> decodeRegEvents(List<Map<String, Object>> maps) {
+        if (maps == null) return null;
+
+        List<User.RegisteredEvent> events = new ArrayList<>(maps.size());
+        for (Map<String, Object> map : maps) {
+            if (map == null) continue;
+            User.RegisteredEvent event = new User.RegisteredEvent();
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                Object value = entry.getValue();
+                switch (entry.getKey()) {
+                    case "eventId": event.setEventId(CodecValues.string(value)); break;
+                    case "status": event.setStatus(CodecValues.enumValue(Status.class, value)); break;
+                    case "registeredDate": event.setRegisteredDate(CodecValues.timestamp(value)); break;
+                    case "selectedDate": event.setSelectedDate(CodecValues.timestamp(value)); break;
+                    default: break;
+                }
+            }
+            events.add(event);
+        }
+        return events;
+    }
+}
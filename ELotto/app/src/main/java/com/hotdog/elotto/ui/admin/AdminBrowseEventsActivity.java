@@ -1,9 +1,11 @@
 package com.hotdog.elotto.ui.admin;
 
 import android.annotation.SuppressLint;
+import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.text.Editable;
 import android.text.TextWatcher;
+import android.util.Log;
 import android.view.View;
 import android.widget.EditText;
 import android.widget.ProgressBar;
@@ -17,12 +19,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.adapter.AdminEventAdapter;
+import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.model.Event;
+import com.hotdog.elotto.repository.CascadeDelete;
 import com.hotdog.elotto.repository.EventRepository;
 import com.hotdog.elotto.model.User;
 import com.hotdog.elotto.helpers.UserType;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -36,7 +39,8 @@ import java.util.function.Consumer;
  *
  * <p>Features include:</p>
  * <ul>
- *     <li>Real-time search filtering across event name, description, and location</li>
+ *     <li>Debounced search across event name, description, and location, filtered off the
+ *     main thread</li>
  *     <li>Event details dialog showing comprehensive event information</li>
  *     <li>Event deletion with confirmation dialog</li>
  *     <li>Total event count display</li>
@@ -52,6 +56,15 @@ import java.util.function.Consumer;
  */
 public class AdminBrowseEventsActivity extends AppCompatActivity implements AdminEventAdapter.OnEventActionListener {
 
+    private static final String TAG = "AdminBrowseEvents";
+
+    /**
+     * Preferences remembering which one-off event migrations this device has run.
+     */
+    private static final String PREFS_NAME = "elotto_admin";
+    private static final String KEY_LOCATIONS_BACKFILLED = "entrantLocationsBackfilled";
+    private static final String KEY_DRAWN_BACKFILLED = "drawnBackfilled";
+    private static final String KEY_SEARCH_TOKENS_BACKFILLED = "searchTokensBackfilled";
     // Device ID check disabled for testing
     // private static final String ADMIN_DEVICE_ID = "ded8763e1984cbfc";
 
@@ -91,14 +104,9 @@ public class AdminBrowseEventsActivity extends AppCompatActivity implements Admi
     private EventRepository eventRepository;
 
     /**
-     * Complete list of all events loaded from Firestore.
+     * Filters the loaded events in the background and shows them through the adapter.
      */
-    private List<Event> allEvents = new ArrayList<>();
-
-    /**
-     * Filtered list of events based on search query.
-     */
-    private List<Event> filteredEvents = new ArrayList<>();
+    private AdminListEngine<Event> listEngine;
 
     /**
      * Called when the activity is starting.
@@ -144,6 +152,15 @@ public class AdminBrowseEventsActivity extends AppCompatActivity implements Admi
         // }
     }
 
+    /**
+     * Drops any search still waiting on the debounce.
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (listEngine != null) listEngine.cancel();
+    }
+
     /**
      * Initializes all view components and repositories.
      *
@@ -163,20 +180,21 @@ public class AdminBrowseEventsActivity extends AppCompatActivity implements Admi
     /**
      * Sets up the RecyclerView with adapter and layout manager.
      *
-     * <p>Creates an AdminEventAdapter with the filtered events list and sets this
-     * activity as the action listener for handling view and delete operations.</p>
+     * <p>Creates an AdminEventAdapter, sets this activity as the action listener for
+     * handling view and delete operations, and creates the list engine that feeds it.</p>
      */
     private void setupRecyclerView() {
-        adapter = new AdminEventAdapter(filteredEvents, this);
+        adapter = new AdminEventAdapter(this);
         recyclerViewEvents.setLayoutManager(new LinearLayoutManager(this));
         recyclerViewEvents.setAdapter(adapter);
+        listEngine = new AdminListEngine<>(adapter, AdminBrowseEventsActivity::matches, null, this::updateUI);
     }
 
     /**
-     * Sets up the search functionality with real-time text filtering.
+     * Sets up the search functionality with debounced text filtering.
      *
-     * <p>Adds a TextWatcher to the search EditText that filters events as the
-     * user types, providing instant search results.</p>
+     * <p>Adds a TextWatcher to the search EditText that passes the query to the list
+     * engine, which filters once the user stops typing.</p>
      */
     private void setupSearch() {
         etSearchEvents.addTextChangedListener(new TextWatcher() {
@@ -186,7 +204,7 @@ public class AdminBrowseEventsActivity extends AppCompatActivity implements Admi
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                filterEvents(s.toString());
+                listEngine.setQuery(s.toString());
             }
 
             @Override
@@ -200,6 +218,11 @@ public class AdminBrowseEventsActivity extends AppCompatActivity implements Admi
      *
      * <p>Shows a progress bar during loading and updates the UI with the loaded
      * events on success. Displays an error message if loading fails.</p>
+     *
+     * <p>The first time this device loads them, the entrant locations of the loaded events are
+     * also written as indexed records for the event map, events drawn before the drawn
+     * flag existed are marked, and events saved before search tokens existed are given them,
+     * in the background.</p>
      */
     private void loadEvents() {
         progressBar.setVisibility(View.VISIBLE);
@@ -209,12 +232,10 @@ public class AdminBrowseEventsActivity extends AppCompatActivity implements Admi
             @Override
             public void onSuccess(List<Event> events) {
                 progressBar.setVisibility(View.GONE);
-                allEvents.clear();
-                allEvents.addAll(events);
-                filteredEvents.clear();
-                filteredEvents.addAll(events);
-
-                updateUI();
+                listEngine.setItems(events);
+                backfillEntrantLocations(events);
+                backfillDrawn(events);
+                backfillSearchTokens();
             }
 
             @Override
@@ -228,55 +249,109 @@ public class AdminBrowseEventsActivity extends AppCompatActivity implements Admi
     }
 
     /**
-     * Filters events based on the search query.
+     * Indexes the entrant locations of every event once per device.
      *
-     * <p>Performs a case-insensitive search across event name, description, and
-     * location fields. If the query is empty, displays all events. Updates the
-     * UI with the filtered results.</p>
+     * @param events every event, with their entrant locations
+     */
+    private void backfillEntrantLocations(List<Event> events) {
+        SharedPreferences prefs = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
+        if (prefs.getBoolean(KEY_LOCATIONS_BACKFILLED, false)) return;
+        eventRepository.backfillEntrantLocations(events, new FirestoreCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer written) {
+                prefs.edit().putBoolean(KEY_LOCATIONS_BACKFILLED, true).apply();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                // Tried again next time the events load
+                Log.e(TAG, "Error backfilling entrant locations: " + errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Marks the events already drawn once per device.
      *
-     * @param query the search query string
+     * @param events every event, with their entrant lists
      */
-    private void filterEvents(String query) {
-        filteredEvents.clear();
+    private void backfillDrawn(List<Event> events) {
+        SharedPreferences prefs = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
+        if (prefs.getBoolean(KEY_DRAWN_BACKFILLED, false)) return;
+        eventRepository.backfillDrawn(events, new FirestoreCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer marked) {
+                prefs.edit().putBoolean(KEY_DRAWN_BACKFILLED, true).apply();
+            }
 
-        if (query.isEmpty()) {
-            filteredEvents.addAll(allEvents);
-        } else {
-            String lowerQuery = query.toLowerCase();
-            for (Event event : allEvents) {
-                // Null-safe checks for all searchable fields
-                String name = event.getName() != null ? event.getName().toLowerCase() : "";
-                String description = event.getDescription() != null ? event.getDescription().toLowerCase() : "";
-                String location = event.getLocation() != null ? event.getLocation().toLowerCase() : "";
-
-                if (name.contains(lowerQuery) ||
-                        description.contains(lowerQuery) ||
-                        location.contains(lowerQuery)) {
-                    filteredEvents.add(event);
-                }
+            @Override
+            public void onError(String errorMessage) {
+                // Tried again next time the events load
+                Log.e(TAG, "Error marking events drawn: " + errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Writes the search tokens of events saved before they existed once per device.
+     */
+    private void backfillSearchTokens() {
+        SharedPreferences prefs = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
+        if (prefs.getBoolean(KEY_SEARCH_TOKENS_BACKFILLED, false)) return;
+        eventRepository.backfillSearchTokens(new FirestoreCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer updated) {
+                prefs.edit().putBoolean(KEY_SEARCH_TOKENS_BACKFILLED, true).apply();
             }
-        }
 
-        updateUI();
+            @Override
+            public void onError(String errorMessage) {
+                // Tried again next time the events load
+                Log.e(TAG, "Error backfilling search tokens: " + errorMessage);
+            }
+        });
     }
 
     /**
-     * Updates the UI based on current event data.
+     * Checks an event against a search query.
+     *
+     * <p>Performs a case-insensitive search across event name, description, and
+     * location fields. Runs on the list engine's background thread.</p>
      *
-     * <p>Updates the total events count, shows/hides the "no events" message
-     * appropriately, and notifies the adapter of data changes.</p>
+     * @param event the event
+     * @param query the lowercased query
+     * @return true if the name, description or location contains the query
      */
-    private void updateUI() {
-        tvTotalEvents.setText("Total Events: " + allEvents.size());
+    private static boolean matches(Event event, String query) {
+        // Null-safe checks for all searchable fields
+        String name = event.getName() != null ? event.getName().toLowerCase() : "";
+        String description = event.getDescription() != null ? event.getDescription().toLowerCase() : "";
+        String location = event.getLocation() != null ? event.getLocation().toLowerCase() : "";
+
+        return name.contains(query) ||
+                description.contains(query) ||
+                location.contains(query);
+    }
 
-        if (filteredEvents.isEmpty()) {
+    /**
+     * Updates the UI once the list engine has shown a new list.
+     *
+     * <p>Updates the total events count and shows/hides the "no events" message
+     * appropriately.</p>
+     *
+     * @param shown  the events now displayed
+     * @param loaded how many events are loaded
+     * @param query  the query they were filtered by
+     */
+    private void updateUI(List<Event> shown, int loaded, String query) {
+        tvTotalEvents.setText("Total Events: " + loaded);
+
+        if (shown.isEmpty()) {
             tvNoEvents.setVisibility(View.VISIBLE);
-            tvNoEvents.setText(allEvents.isEmpty() ? "No events found" : "No matching events");
+            tvNoEvents.setText(loaded == 0 ? "No events found" : "No matching events");
         } else {
             tvNoEvents.setVisibility(View.GONE);
         }
-
-        adapter.notifyDataSetChanged();
     }
 
     /**
@@ -332,22 +407,27 @@ public class AdminBrowseEventsActivity extends AppCompatActivity implements Admi
     /**
      * Deletes an event from Firestore after confirmation.
      *
-     * <p>Shows a progress bar during deletion, removes the event from both the
-     * all events and filtered events lists on success, and updates the UI. Displays
-     * appropriate toast messages for success or failure.</p>
+     * <p>Runs a {@link CascadeDelete} job, which also removes the event from its organizer,
+     * from its entrants' registrations and deletes its notifications. Shows a progress bar
+     * while the job runs, removes the event from the list engine on success, which updates
+     * the UI. Displays appropriate toast messages for success or failure.</p>
      *
      * @param event the event to delete
      */
     private void deleteEvent(Event event) {
         progressBar.setVisibility(View.VISIBLE);
 
-        eventRepository.deleteEvent(event.getId(), new com.hotdog.elotto.callback.OperationCallback() {
+        CascadeDelete.getInstance().deleteEvent(event.getId(), new CascadeDelete.Listener() {
+            @Override
+            public void onProgress(CascadeDelete.Progress progress) {
+                Log.d(TAG, "Deleting event " + progress.getTargetId() + ": " + progress.getStageName() + ", "
+                        + progress.getWritten() + " documents at " + Math.round(progress.getDocumentsPerSecond()) + "/s");
+            }
+
             @Override
-            public void onSuccess() {
+            public void onComplete(CascadeDelete.Progress progress) {
                 progressBar.setVisibility(View.GONE);
-                allEvents.remove(event);
-                filteredEvents.remove(event);
-                updateUI();
+                listEngine.remove(event);
                 Toast.makeText(AdminBrowseEventsActivity.this, "Event deleted successfully", Toast.LENGTH_SHORT).show();
             }
 
@@ -44,7 +44,7 @@ import java.util.function.Consumer;
  * <p>Features include:</p>
  * <ul>
  *     <li>Grid layout display of event poster images</li>
- *     <li>Real-time search filtering by event name</li>
+ *     <li>Debounced search by event name, filtered off the main thread</li>
  *     <li>Image deletion with confirmation dialog</li>
  *     <li>Optimistic UI updates with background Firestore synchronization</li>
  *     <li>Offline support - changes sync when connection is restored</li>
@@ -115,14 +115,9 @@ public class AdminBrowseImagesActivity extends AppCompatActivity implements Admi
     private Handler mainHandler;
 
     /**
-     * Complete list of events that have poster images.
+     * Filters the events with poster images in the background and shows them through the adapter.
      */
-    private List<Event> eventsWithImages = new ArrayList<>();
-
-    /**
-     * Filtered list of events based on search query.
-     */
-    private List<Event> filteredEvents = new ArrayList<>();
+    private AdminListEngine<Event> listEngine;
 
     /**
      * Called when the activity is starting.
@@ -163,7 +158,15 @@ public class AdminBrowseImagesActivity extends AppCompatActivity implements Admi
             }
         });
 
+    }
 
+    /**
+     * Drops any search still waiting on the debounce.
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (listEngine != null) listEngine.cancel();
     }
 
     /**
@@ -198,19 +201,21 @@ public class AdminBrowseImagesActivity extends AppCompatActivity implements Admi
      * Sets up the RecyclerView with a grid layout and adapter.
      *
      * <p>Uses a GridLayoutManager with 2 columns to display images in a grid format.
-     * Sets this activity as the action listener for handling image deletion.</p>
+     * Sets this activity as the action listener for handling image deletion, and creates
+     * the list engine that feeds the adapter.</p>
      */
     private void setupRecyclerView() {
-        adapter = new AdminImageAdapter(filteredEvents, this);
+        adapter = new AdminImageAdapter(this);
         recyclerViewImages.setLayoutManager(new GridLayoutManager(this, 2));
         recyclerViewImages.setAdapter(adapter);
+        listEngine = new AdminListEngine<>(adapter, AdminBrowseImagesActivity::matches, null, this::updateUI);
     }
 
     /**
-     * Sets up the search functionality with real-time text filtering.
+     * Sets up the search functionality with debounced text filtering.
      *
-     * <p>Adds a TextWatcher to the search EditText that filters images as the
-     * user types, providing instant search results.</p>
+     * <p>Adds a TextWatcher to the search EditText that passes the query to the list
+     * engine, which filters once the user stops typing.</p>
      */
     private void setupSearchBox() {
         etSearchImages.addTextChangedListener(new TextWatcher() {
@@ -220,7 +225,7 @@ public class AdminBrowseImagesActivity extends AppCompatActivity implements Admi
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                filterImages(s.toString());
+                listEngine.setQuery(s.toString());
             }
 
             @Override
@@ -230,28 +235,17 @@ public class AdminBrowseImagesActivity extends AppCompatActivity implements Admi
     }
 
     /**
-     * Filters events based on the search query.
+     * Checks an event against a search query.
      *
-     * <p>Performs a case-insensitive search across event names. If the query is
-     * empty, displays all events with images. Updates the UI with filtered results.</p>
+     * <p>Performs a case-insensitive search across event names. Runs on the list
+     * engine's background thread.</p>
      *
-     * @param query the search query string
+     * @param event the event
+     * @param query the lowercased query
+     * @return true if the event name contains the query
      */
-    private void filterImages(String query) {
-        filteredEvents.clear();
-
-        if (query.isEmpty()) {
-            filteredEvents.addAll(eventsWithImages);
-        } else {
-            String lowerCaseQuery = query.toLowerCase();
-            for (Event event : eventsWithImages) {
-                if (event.getName() != null && event.getName().toLowerCase().contains(lowerCaseQuery)) {
-                    filteredEvents.add(event);
-                }
-            }
-        }
-
-        updateUI();
+    private static boolean matches(Event event, String query) {
+        return event.getName() != null && event.getName().toLowerCase().contains(query);
     }
 
     /**
@@ -270,8 +264,7 @@ public class AdminBrowseImagesActivity extends AppCompatActivity implements Admi
             @Override
             public void onSuccess(List<Event> events) {
                 progressBar.setVisibility(View.GONE);
-                eventsWithImages.clear();
-                filteredEvents.clear();
+                List<Event> eventsWithImages = new ArrayList<>();
 
                 Log.d(TAG, "Total events retrieved: " + events.size());
 
@@ -286,9 +279,8 @@ public class AdminBrowseImagesActivity extends AppCompatActivity implements Admi
                     }
                 }
 
-                filteredEvents.addAll(eventsWithImages);
                 Log.d(TAG, "Events with images: " + eventsWithImages.size());
-                updateUI();
+                listEngine.setItems(eventsWithImages);
             }
 
             @Override
@@ -303,25 +295,24 @@ public class AdminBrowseImagesActivity extends AppCompatActivity implements Admi
     }
 
     /**
-     * Updates the UI based on current filtered events data.
+     * Updates the UI once the list engine has shown a new list.
+     *
+     * <p>Updates the total images count and shows/hides the "no images" message
+     * appropriately.</p>
      *
-     * <p>Posts the update operation on the main thread to ensure thread safety.
-     * Updates the total images count, shows/hides the "no images" message
-     * appropriately, and notifies the adapter of data changes.</p>
+     * @param shown  the events now displayed
+     * @param loaded how many events with images are loaded
+     * @param query  the query they were filtered by
      */
-    private void updateUI() {
-        mainHandler.post(() -> {
-            tvTotalImages.setText("Total Images: " + filteredEvents.size());
-
-            if (filteredEvents.isEmpty()) {
-                tvNoImages.setVisibility(View.VISIBLE);
-                tvNoImages.setText("No images found");
-            } else {
-                tvNoImages.setVisibility(View.GONE);
-            }
+    private void updateUI(List<Event> shown, int loaded, String query) {
+        tvTotalImages.setText("Total Images: " + shown.size());
 
-            adapter.notifyDataSetChanged();
-        });
+        if (shown.isEmpty()) {
+            tvNoImages.setVisibility(View.VISIBLE);
+            tvNoImages.setText("No images found");
+        } else {
+            tvNoImages.setVisibility(View.GONE);
+        }
     }
 
     /**
@@ -381,15 +372,11 @@ public class AdminBrowseImagesActivity extends AppCompatActivity implements Admi
         progressBar.setVisibility(View.VISIBLE);
 
         // OPTIMISTIC UPDATE: Update UI immediately
+        listEngine.remove(event);
         event.setPosterImageUrl(null);
-        eventsWithImages.remove(event);
-        filteredEvents.remove(event);
 
         Log.d(TAG, "Removed from local lists");
 
-        // Update UI
-        updateUI();
-
         // Hide progress bar after a short delay
         mainHandler.postDelayed(() -> {
             progressBar.setVisibility(View.GONE);
@@ -1,6 +1,7 @@
 package com.hotdog.elotto.ui.admin;
 
 import android.annotation.SuppressLint;
+import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.text.Editable;
 import android.text.TextWatcher;
@@ -17,19 +18,17 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.adapter.AdminNotificationAdapter;
+import com.hotdog.elotto.callback.FirestoreCallback;
+import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.model.Notification;
 import com.hotdog.elotto.model.User;
 import com.hotdog.elotto.helpers.UserType;
+import com.hotdog.elotto.repository.NotificationRepository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
 
 /**
@@ -42,12 +41,13 @@ import java.util.function.Consumer;
  *
  * <p>Features include:</p>
  * <ul>
- *     <li>View all notifications from all users in the system</li>
- *     <li>Real-time search filtering across message, title, and event ID</li>
+ *     <li>Notifications from all users, newest first, loaded a page at a time while scrolling</li>
+ *     <li>Debounced search across message, title, and event ID of the loaded notifications,
+ *     filtered off the main thread</li>
+ *     <li>Server-side filter showing every notification about one event</li>
  *     <li>Notification details dialog showing comprehensive information</li>
  *     <li>Notification deletion with confirmation dialog</li>
- *     <li>Automatic sorting by timestamp (newest first)</li>
- *     <li>Total notification count display</li>
+ *     <li>Total notification count from a server-side count, without downloading them</li>
  *     <li>Loading indicators and empty state handling</li>
  * </ul>
  *
@@ -63,6 +63,12 @@ public class AdminBrowseNotificationsActivity extends AppCompatActivity
 
     private static final String TAG = "AdminBrowseNotifications";
 
+    /**
+     * Preferences remembering that this device has migrated the legacy inboxes.
+     */
+    private static final String PREFS_NAME = "elotto_admin";
+    private static final String KEY_LEGACY_MIGRATED = "legacyInboxesMigrated";
+
     /**
      * RecyclerView for displaying the list of notifications.
      */
@@ -99,19 +105,36 @@ public class AdminBrowseNotificationsActivity extends AppCompatActivity
     private AdminNotificationAdapter adapter;
 
     /**
-     * Firestore database instance for notification operations.
+     * Repository used to load and parse notifications off the main thread.
+     */
+    private NotificationRepository notificationRepository;
+
+    /**
+     * Holds every notification loaded so far, across all pages, and shows those matching
+     * the search through the adapter.
      */
-    private FirebaseFirestore db;
+    private AdminListEngine<Notification> listEngine;
 
     /**
-     * Complete list of all notifications loaded from Firestore.
+     * Event the list is filtered to on the server, or null for all notifications.
      */
-    private List<Notification> allNotifications = new ArrayList<>();
+    private String eventFilter;
 
     /**
-     * Filtered list of notifications based on search query.
+     * Number of notifications on the server matching {@link #eventFilter}, or -1 if unknown.
      */
-    private List<Notification> filteredNotifications = new ArrayList<>();
+    private int serverTotal = -1;
+
+    /**
+     * The last page loaded, or null before the first page arrives.
+     */
+    private NotificationRepository.Page lastPage;
+    private boolean loadingPage;
+
+    /**
+     * Bumped on every reload so pages from an earlier query are ignored.
+     */
+    private int generation;
 
     /**
      * Called when the activity is starting.
@@ -154,9 +177,18 @@ public class AdminBrowseNotificationsActivity extends AppCompatActivity
     }
 
     /**
-     * Initializes all view components and the Firestore database instance.
+     * Drops any search still waiting on the debounce.
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (listEngine != null) listEngine.cancel();
+    }
+
+    /**
+     * Initializes all view components and the notification repository.
      *
-     * <p>Binds UI elements by their IDs and creates a Firestore instance for
+     * <p>Binds UI elements by their IDs and creates the repository used for
      * notification data access.</p>
      */
     private void initializeViews() {
@@ -167,7 +199,7 @@ public class AdminBrowseNotificationsActivity extends AppCompatActivity
         progressBar = findViewById(R.id.progress_bar);
         btnBack = findViewById(R.id.btn_back);
 
-        db = FirebaseFirestore.getInstance();
+        notificationRepository = new NotificationRepository();
     }
 
     /**
@@ -180,20 +212,30 @@ public class AdminBrowseNotificationsActivity extends AppCompatActivity
     /**
      * Sets up the RecyclerView with adapter and layout manager.
      *
-     * <p>Creates an AdminNotificationAdapter with the filtered notifications list
-     * and sets this activity as the action listener for handling notification actions.</p>
+     * <p>Creates an AdminNotificationAdapter, sets this activity as the action listener
+     * for handling notification actions, and creates the list engine that feeds it.</p>
      */
     private void setupRecyclerView() {
-        adapter = new AdminNotificationAdapter(filteredNotifications, this);
+        adapter = new AdminNotificationAdapter(this);
         recyclerViewNotifications.setLayoutManager(new LinearLayoutManager(this));
         recyclerViewNotifications.setAdapter(adapter);
+        listEngine = new AdminListEngine<>(adapter, AdminBrowseNotificationsActivity::matches, null,
+                (shown, loaded, query) -> updateUI());
+
+        // Load the next page once the list is scrolled to the bottom
+        listEngine.attachPaging(recyclerViewNotifications, this::loadNextPage);
+
+        // Tapping the count clears an event filter
+        tvTotalNotifications.setOnClickListener(v -> {
+            if (eventFilter != null) reload(null);
+        });
     }
 
     /**
-     * Sets up the search functionality with real-time text filtering.
+     * Sets up the search functionality with debounced text filtering.
      *
-     * <p>Adds a TextWatcher to the search EditText that filters notifications as
-     * the user types, providing instant search results.</p>
+     * <p>Adds a TextWatcher to the search EditText that passes the query to the list
+     * engine, which filters once the user stops typing.</p>
      */
     private void setupSearch() {
         etSearchNotifications.addTextChangedListener(new TextWatcher() {
@@ -203,7 +245,7 @@ public class AdminBrowseNotificationsActivity extends AppCompatActivity
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                filterNotifications(s.toString());
+                listEngine.setQuery(s.toString());
             }
 
             @Override
@@ -213,143 +255,139 @@ public class AdminBrowseNotificationsActivity extends AppCompatActivity
     }
 
     /**
-     * Loads all notifications from all users in the Firestore database.
-     *
-     * <p>This method queries the notifications collection, parses notification arrays
-     * from each user document, and constructs Notification objects with proper error
-     * handling for malformed data. Notifications are automatically sorted by timestamp
-     * in descending order (newest first).</p>
+     * Loads notifications from all users in the Firestore database.
      *
-     * <p>Handles multiple field name variations for backward compatibility (e.g., both
-     * "isRead" and "read" fields). Includes optional fields like eventTitle and
-     * eventImageUrl if present.</p>
+     * <p>The first page is shown straight away. The first time this device opens the browser,
+     * inboxes still stored as a single array are then moved into per-notification documents
+     * in the background, and the list reloads if any were moved.</p>
      */
     private void loadNotifications() {
         progressBar.setVisibility(View.VISIBLE);
         tvNoNotifications.setVisibility(View.GONE);
+        reload(null);
 
-        db.collection("notifications")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    progressBar.setVisibility(View.GONE);
-                    allNotifications.clear();
-                    filteredNotifications.clear();
-
-                    Log.d(TAG, "Total user documents retrieved: " + queryDocumentSnapshots.size());
-
-                    for (QueryDocumentSnapshot doc : queryDocumentSnapshots) {
-                        String userId = doc.getId();
-                        try {
-                            // The field "notifications" is an array of maps
-                            List<Map<String, Object>> notificationsList = (List<Map<String, Object>>) doc.get("notifications");
-
-                            if (notificationsList != null) {
-                                for (Map<String, Object> notifMap : notificationsList) {
-                                    try {
-                                        Notification notification = new Notification();
-                                        notification.setUuid((String) notifMap.get("uuid"));
-                                        notification.setEventId((String) notifMap.get("eventId"));
-                                        notification.setMessage((String) notifMap.get("message"));
-                                        notification.setTitle((String) notifMap.get("title"));
-
-                                        // Handle read field safely (check both "read" and "isRead")
-                                        Boolean isRead = (Boolean) notifMap.get("isRead");
-                                        if (isRead == null) {
-                                            isRead = (Boolean) notifMap.get("read");
-                                        }
-                                        notification.setRead(isRead != null ? isRead : false);
-
-                                        notification.setTimestamp(
-                                                (com.google.firebase.Timestamp) notifMap.get("timestamp"));
-                                        notification.setUserId(userId); // Store the document ID (userId) for context
-
-                                        // Handle new fields from dev branch if present
-                                        if (notifMap.containsKey("eventTitle")) {
-                                            notification.setEventTitle((String) notifMap.get("eventTitle"));
-                                        }
-                                        if (notifMap.containsKey("eventImageUrl")) {
-                                            notification.setEventImageUrl((String) notifMap.get("eventImageUrl"));
-                                        }
-
-                                        allNotifications.add(notification);
-                                    } catch (Exception e) {
-                                        Log.e(TAG, "Error parsing individual notification map for user: " + userId, e);
-                                    }
-                                }
-                            }
-                        } catch (Exception e) {
-                            Log.e(TAG, "Error parsing notifications array for user: " + userId, e);
-                        }
+        SharedPreferences prefs = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
+        if (prefs.getBoolean(KEY_LEGACY_MIGRATED, false)) return;
+        notificationRepository.migrateAllLegacyInboxes(new FirestoreCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer moved) {
+                prefs.edit().putBoolean(KEY_LEGACY_MIGRATED, true).apply();
+                if (moved > 0 && !isFinishing()) reload(eventFilter);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                // Tried again next time the browser opens
+                Log.e(TAG, "Error migrating legacy notifications: " + errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Clears the list and loads the first page, optionally filtered to one event on the server.
+     *
+     * @param eventId the event to show notifications for, or null for all
+     */
+    private void reload(String eventId) {
+        generation++;
+        eventFilter = eventId;
+        serverTotal = -1;
+        lastPage = null;
+        loadingPage = false;
+        listEngine.setItems(new ArrayList<>());
+
+        int loadGeneration = generation;
+        notificationRepository.countAdminNotifications(eventId, new FirestoreCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer count) {
+                if (loadGeneration != generation) return;
+                serverTotal = count;
+                updateUI();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                Log.e(TAG, "Error counting notifications: " + errorMessage);
+            }
+        });
+
+        loadNextPage();
+    }
+
+    /**
+     * Loads the page after the last one shown, if there may be one.
+     */
+    private void loadNextPage() {
+        if (loadingPage || (lastPage != null && !lastPage.hasMore())) return;
+        loadingPage = true;
+        progressBar.setVisibility(View.VISIBLE);
+
+        int loadGeneration = generation;
+        notificationRepository.getAdminNotificationsPage(eventFilter, lastPage,
+                new FirestoreCallback<NotificationRepository.Page>() {
+                    @Override
+                    public void onSuccess(NotificationRepository.Page page) {
+                        if (loadGeneration != generation) return;
+                        loadingPage = false;
+                        progressBar.setVisibility(View.GONE);
+                        lastPage = page;
+                        listEngine.addItems(page.getNotifications());
                     }
 
-                    // Sort by timestamp descending (since we can't do it in the query anymore)
-                    allNotifications.sort((n1, n2) -> {
-                        if (n1.getTimestamp() == null || n2.getTimestamp() == null)
-                            return 0;
-                        return n2.getTimestamp().compareTo(n1.getTimestamp());
-                    });
-
-                    filteredNotifications.addAll(allNotifications);
-                    updateUI();
-                })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    tvNoNotifications.setVisibility(View.VISIBLE);
-                    tvNoNotifications.setText("Error loading notifications");
-                    Toast.makeText(this, "Failed to load notifications: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    Log.e(TAG, "Error loading notifications", e);
+                    @Override
+                    public void onError(String errorMessage) {
+                        if (loadGeneration != generation) return;
+                        loadingPage = false;
+                        progressBar.setVisibility(View.GONE);
+                        tvNoNotifications.setVisibility(View.VISIBLE);
+                        tvNoNotifications.setText("Error loading notifications");
+                        Toast.makeText(AdminBrowseNotificationsActivity.this,
+                                "Failed to load notifications: " + errorMessage, Toast.LENGTH_SHORT).show();
+                    }
                 });
     }
 
     /**
-     * Filters notifications based on the search query.
+     * Checks a notification against a lowercased search query.
      *
      * <p>Performs a case-insensitive search across notification message, title, and
-     * event ID fields. If the query is empty, displays all notifications. Updates
-     * the UI with the filtered results.</p>
+     * event ID fields. Runs on the list engine's background thread.</p>
      *
-     * @param query the search query string
+     * @param notification the notification
+     * @param query        the lowercased query
+     * @return true if the message, title or event ID contains the query
      */
-    private void filterNotifications(String query) {
-        filteredNotifications.clear();
-
-        if (query.isEmpty()) {
-            filteredNotifications.addAll(allNotifications);
-        } else {
-            String lowerCaseQuery = query.toLowerCase();
-            for (Notification notification : allNotifications) {
-                String message = notification.getMessage() != null ? notification.getMessage().toLowerCase() : "";
-                String title = notification.getTitle() != null ? notification.getTitle().toLowerCase() : "";
-                String eventId = notification.getEventId() != null ? notification.getEventId().toLowerCase() : "";
-
-                if (message.contains(lowerCaseQuery) || title.contains(lowerCaseQuery)
-                        || eventId.contains(lowerCaseQuery)) {
-                    filteredNotifications.add(notification);
-                }
-            }
-        }
-
-        updateUI();
+    private static boolean matches(Notification notification, String query) {
+        String message = notification.getMessage() != null ? notification.getMessage().toLowerCase() : "";
+        String title = notification.getTitle() != null ? notification.getTitle().toLowerCase() : "";
+        String eventId = notification.getEventId() != null ? notification.getEventId().toLowerCase() : "";
+        return message.contains(query) || title.contains(query) || eventId.contains(query);
     }
 
     /**
      * Updates the UI based on current filtered notifications data.
      *
-     * <p>Updates the total notifications count, shows/hides the "no notifications"
-     * message appropriately, and notifies the adapter of data changes.</p>
+     * <p>Updates the total notifications count and shows/hides the "no notifications"
+     * message appropriately. The list engine updates the adapter itself.</p>
      */
     private void updateUI() {
-        tvTotalNotifications.setText("Total Notifications: " + filteredNotifications.size());
+        List<Notification> shown = listEngine.getShown();
+        int loaded = listEngine.getLoadedCount();
+        String total = serverTotal >= 0 ? String.valueOf(serverTotal) : "…";
+        String label = eventFilter != null ? "Event " + eventFilter + " notifications: " : "Total Notifications: ";
+        String text = label + total;
+        if (!listEngine.getQuery().isEmpty() || loaded < serverTotal) {
+            text += " (showing " + shown.size() + ")";
+        }
+        if (eventFilter != null) text += " · tap to clear";
+        tvTotalNotifications.setText(text);
 
-        if (filteredNotifications.isEmpty()) {
+        if (shown.isEmpty()) {
             tvNoNotifications.setVisibility(View.VISIBLE);
-            tvNoNotifications
-                    .setText(allNotifications.isEmpty() ? "No notifications found" : "No matching notifications");
+            tvNoNotifications.setText(loaded == 0 ? "No notifications found" : "No matching notifications");
         } else {
             tvNoNotifications.setVisibility(View.GONE);
         }
-
-        adapter.notifyDataSetChanged();
     }
 
     /**
@@ -378,6 +416,9 @@ public class AdminBrowseNotificationsActivity extends AppCompatActivity
 
         builder.setMessage(details.toString());
         builder.setPositiveButton("Close", null);
+        if (notification.getEventId() != null && !notification.getEventId().equals(eventFilter)) {
+            builder.setNeutralButton("All for this event", (dialog, which) -> reload(notification.getEventId()));
+        }
         builder.show();
     }
 
@@ -401,11 +442,7 @@ public class AdminBrowseNotificationsActivity extends AppCompatActivity
     }
 
     /**
-     * Deletes a notification from the user's notification array in Firestore.
-     *
-     * <p>This method removes a specific notification from the notifications array
-     * field in the user's notification document using Firestore's arrayRemove
-     * operation. The entire notification object (as a map) is removed from the array.</p>
+     * Deletes a notification's document from the user's inbox in Firestore.
      *
      * <p>Validates that the notification has both a user ID and UUID before attempting
      * deletion. Shows a progress bar during the operation and displays appropriate
@@ -421,36 +458,26 @@ public class AdminBrowseNotificationsActivity extends AppCompatActivity
 
         progressBar.setVisibility(View.VISIBLE);
 
-        Map<String, Object> notificationMap = new HashMap<>();
-        notificationMap.put("uuid", notification.getUuid());
-        notificationMap.put("eventId", notification.getEventId());
-        notificationMap.put("message", notification.getMessage());
-        notificationMap.put("title", notification.getTitle());
-        notificationMap.put("isRead", notification.isRead());
-
-        // Also add new fields if they are not null
-        if (notification.getEventTitle() != null)
-            notificationMap.put("eventTitle", notification.getEventTitle());
-        if (notification.getEventImageUrl() != null)
-            notificationMap.put("eventImageUrl", notification.getEventImageUrl());
-
-        notificationMap.put("timestamp", notification.getTimestamp());
-
-        db.collection("notifications")
-                .document(notification.getUserId())
-                .update("notifications", FieldValue.arrayRemove(notificationMap))
-                .addOnSuccessListener(aVoid -> {
-                    progressBar.setVisibility(View.GONE);
-                    allNotifications.remove(notification);
-                    filteredNotifications.remove(notification);
-                    updateUI();
-                    Toast.makeText(this, "Notification deleted", Toast.LENGTH_SHORT).show();
-                    Log.d(TAG, "Notification deleted successfully: " + notification.getUuid());
-                })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Failed to delete notification: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    Log.e(TAG, "Error deleting notification", e);
+        notificationRepository.deleteNotification(notification.getUserId(), notification.getUuid(),
+                new OperationCallback() {
+                    @Override
+                    public void onSuccess() {
+                        progressBar.setVisibility(View.GONE);
+                        if (serverTotal > 0) serverTotal--;
+                        listEngine.remove(notification);
+                        updateUI();
+                        Toast.makeText(AdminBrowseNotificationsActivity.this, "Notification deleted",
+                                Toast.LENGTH_SHORT).show();
+                        Log.d(TAG, "Notification deleted successfully: " + notification.getUuid());
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        progressBar.setVisibility(View.GONE);
+                        Toast.makeText(AdminBrowseNotificationsActivity.this,
+                                "Failed to delete notification: " + errorMessage, Toast.LENGTH_SHORT).show();
+                        Log.e(TAG, "Error deleting notification: " + errorMessage);
+                    }
                 });
     }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.hotdog.elotto.ui.admin;
 
 import android.annotation.SuppressLint;
+import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.text.Editable;
 import android.text.TextWatcher;
+import android.util.Log;
 import android.view.View;
 import android.widget.EditText;
 import android.widget.ProgressBar;
@@ -17,13 +19,19 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.adapter.AdminProfileAdapter;
+import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.helpers.UserType;
 import com.hotdog.elotto.model.User;
+import com.hotdog.elotto.repository.CascadeDelete;
 import com.hotdog.elotto.repository.OrganizerRepository;
 import com.hotdog.elotto.repository.UserRepository;
+import com.hotdog.elotto.repository.UserSearchKeys;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -36,12 +44,13 @@ import java.util.function.Consumer;
  *
  * <p>Features include:</p>
  * <ul>
- *     <li>View all user profiles in the system</li>
- *     <li>Real-time search filtering across name, email, and device ID</li>
+ *     <li>View all user profiles in the system, loaded a page at a time while scrolling</li>
+ *     <li>Debounced server-side prefix search across name, email, phone, and device ID, with
+ *     the loaded profiles narrowed off the main thread while the server answers</li>
  *     <li>User details dialog showing comprehensive profile information</li>
  *     <li>Profile deletion with confirmation dialog and cascade deletion for organizers</li>
  *     <li>Organizer privilege revocation with automatic user type update</li>
- *     <li>Total profile count display</li>
+ *     <li>Total profile count from a server-side count, without downloading them</li>
  *     <li>Loading indicators and empty state handling</li>
  * </ul>
  *
@@ -55,6 +64,15 @@ import java.util.function.Consumer;
 public class AdminBrowseProfilesActivity extends AppCompatActivity
         implements AdminProfileAdapter.OnProfileActionListener {
 
+    private static final String TAG = "AdminBrowseProfiles";
+
+    /**
+     * Preferences remembering that this device has backfilled the profiles' search keys and
+     * registered event IDs. The key changed when the event IDs were added, so devices that
+     * only backfilled the search keys run it again.
+     */
+    private static final String PREFS_NAME = "elotto_admin";
+    private static final String KEY_SEARCH_KEYS_BACKFILLED = "profileKeysBackfilled";
     // Device ID check disabled for testing
     // private static final String ADMIN_DEVICE_ID = "ded8763e1984cbfc";
 
@@ -99,14 +117,36 @@ public class AdminBrowseProfilesActivity extends AppCompatActivity
     private OrganizerRepository organizerRepository;
 
     /**
-     * Complete list of all users loaded from Firestore.
+     * Holds the users loaded for the current search, across every page, and shows them
+     * sorted by name through the adapter.
+     */
+    private AdminListEngine<User> listEngine;
+
+    /**
+     * IDs of the users loaded for the current search, so a user returned on two pages is shown once.
      */
-    private List<User> allUsers = new ArrayList<>();
+    private final Set<String> loadedIds = new HashSet<>();
 
     /**
-     * Filtered list of users based on search query.
+     * The search query the loaded pages answer, trimmed and lowercased.
      */
-    private List<User> filteredUsers = new ArrayList<>();
+    private String appliedQuery = "";
+
+    /**
+     * Number of profiles on the server, or -1 if unknown.
+     */
+    private int serverTotal = -1;
+
+    /**
+     * The last page loaded, or null before the first page arrives.
+     */
+    private UserRepository.SearchPage lastPage;
+    private boolean loadingPage;
+
+    /**
+     * Bumped on every new search so responses to an earlier query are ignored.
+     */
+    private int generation;
 
     /**
      * Called when the activity is starting.
@@ -143,6 +183,15 @@ public class AdminBrowseProfilesActivity extends AppCompatActivity
 
     }
 
+    /**
+     * Drops any search still waiting on the debounce.
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (listEngine != null) listEngine.cancel();
+    }
+
     /**
      * Initializes all view components and repositories.
      *
@@ -163,20 +212,28 @@ public class AdminBrowseProfilesActivity extends AppCompatActivity
     /**
      * Sets up the RecyclerView with adapter and layout manager.
      *
-     * <p>Creates an AdminProfileAdapter with the filtered users list and sets
-     * this activity as the action listener for handling profile actions.</p>
+     * <p>Creates an AdminProfileAdapter, sets this activity as the action listener for
+     * handling profile actions, and creates the list engine that feeds it.</p>
      */
     private void setupRecyclerView() {
-        adapter = new AdminProfileAdapter(filteredUsers, this);
+        adapter = new AdminProfileAdapter(this);
         recyclerViewProfiles.setLayoutManager(new LinearLayoutManager(this));
         recyclerViewProfiles.setAdapter(adapter);
+        listEngine = new AdminListEngine<>(adapter, AdminBrowseProfilesActivity::matches,
+                Comparator.comparing((User user) -> UserSearchKeys.normalize(user.getName())),
+                (shown, loaded, query) -> updateUI());
+        listEngine.setOnQueryChanged(() -> search(listEngine.getQuery()));
+
+        // Load the next page once the list is scrolled to the bottom
+        listEngine.attachPaging(recyclerViewProfiles, this::loadNextPage);
     }
 
     /**
-     * Sets up the search functionality with real-time text filtering.
+     * Sets up the search functionality with debounced server-side search.
      *
-     * <p>Adds a TextWatcher to the search EditText that filters profiles as the
-     * user types, providing instant search results.</p>
+     * <p>Adds a TextWatcher to the search EditText that passes the query to the list
+     * engine. Once the user stops typing, the engine narrows the loaded profiles and
+     * the server is searched for the rest.</p>
      */
     private void setupSearch() {
         etSearchProfiles.addTextChangedListener(new TextWatcher() {
@@ -186,7 +243,7 @@ public class AdminBrowseProfilesActivity extends AppCompatActivity
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                filterProfiles(s.toString());
+                listEngine.setQuery(s.toString());
             }
 
             @Override
@@ -196,29 +253,96 @@ public class AdminBrowseProfilesActivity extends AppCompatActivity
     }
 
     /**
-     * Loads all user profiles from Firestore.
+     * Loads the profile count and the first page of profiles.
      *
-     * <p>Shows a progress bar during loading and updates the UI with the loaded
-     * profiles on success. Displays an error message if loading fails.</p>
+     * <p>The first time this device opens the browser, profiles saved before search keys or
+     * registered event IDs existed are then given them in the background, and a search
+     * already typed is run again if any were updated.</p>
      */
     private void loadProfiles() {
+        userRepository.countUsers(new FirestoreCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer count) {
+                serverTotal = count;
+                updateUI();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                // The list still loads; the count just stays unknown
+            }
+        });
+
+        search("");
+
+        SharedPreferences prefs = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
+        if (prefs.getBoolean(KEY_SEARCH_KEYS_BACKFILLED, false)) return;
+        userRepository.backfillSearchKeys(new FirestoreCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer updated) {
+                prefs.edit().putBoolean(KEY_SEARCH_KEYS_BACKFILLED, true).apply();
+                if (updated > 0 && !appliedQuery.isEmpty() && !isFinishing()) search(appliedQuery);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                // Tried again next time the browser opens
+                Log.e(TAG, "Error backfilling search keys: " + errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Loads the first page of profiles matching a query, replacing the loaded profiles
+     * when it arrives.
+     *
+     * <p>Any page still loading for the previous query is ignored when it arrives.</p>
+     *
+     * @param query the search query, empty for all profiles
+     */
+    private void search(String query) {
+        generation++;
+        appliedQuery = query;
+        lastPage = null;
+        loadingPage = false;
+
+        loadNextPage();
+    }
+
+    /**
+     * Loads the page after the last one shown, if there may be one.
+     */
+    private void loadNextPage() {
+        if (loadingPage || (lastPage != null && !lastPage.hasMore())) return;
+        loadingPage = true;
         progressBar.setVisibility(View.VISIBLE);
         tvNoProfiles.setVisibility(View.GONE);
 
-        userRepository.getAllUsers(new com.hotdog.elotto.callback.FirestoreListCallback<User>() {
+        int loadGeneration = generation;
+        boolean firstPage = lastPage == null;
+        userRepository.searchUsers(appliedQuery, lastPage, new FirestoreCallback<UserRepository.SearchPage>() {
             @Override
-            public void onSuccess(List<User> users) {
+            public void onSuccess(UserRepository.SearchPage page) {
+                if (loadGeneration != generation) return;
+                loadingPage = false;
                 progressBar.setVisibility(View.GONE);
-                allUsers.clear();
-                allUsers.addAll(users);
-                filteredUsers.clear();
-                filteredUsers.addAll(users);
-
-                updateUI();
+                lastPage = page;
+                if (firstPage) loadedIds.clear();
+                List<User> added = new ArrayList<>();
+                for (User user : page.getUsers()) {
+                    if (loadedIds.add(user.getId())) added.add(user);
+                }
+                if (firstPage) {
+                    listEngine.setItems(added);
+                } else {
+                    listEngine.addItems(added);
+                }
             }
 
             @Override
             public void onError(String errorMessage) {
+                if (loadGeneration != generation) return;
+                loadingPage = false;
                 progressBar.setVisibility(View.GONE);
                 tvNoProfiles.setVisibility(View.VISIBLE);
                 tvNoProfiles.setText("Error loading profiles: " + errorMessage);
@@ -228,50 +352,47 @@ public class AdminBrowseProfilesActivity extends AppCompatActivity
     }
 
     /**
-     * Filters user profiles based on the search query.
+     * Checks a loaded user against a search query the same way the server search does.
      *
-     * <p>Performs a case-insensitive search across user name, email, and device ID
-     * fields. If the query is empty, displays all profiles. Updates the UI with
-     * the filtered results.</p>
+     * <p>Matches the start of the user's name, email, phone number, or device ID, ignoring
+     * case. Runs on the list engine's background thread.</p>
      *
-     * @param query the search query string
+     * @param user  the user
+     * @param query the lowercased query
+     * @return true if any of the fields starts with the query
      */
-    private void filterProfiles(String query) {
-        filteredUsers.clear();
-
-        if (query.isEmpty()) {
-            filteredUsers.addAll(allUsers);
-        } else {
-            String lowerQuery = query.toLowerCase();
-            for (User user : allUsers) {
-                if ((user.getName() != null && user.getName().toLowerCase().contains(lowerQuery)) ||
-                        (user.getEmail() != null && user.getEmail().toLowerCase().contains(lowerQuery)) ||
-                        (user.getId() != null && user.getId().toLowerCase().contains(lowerQuery))) {
-                    filteredUsers.add(user);
-                }
-            }
+    private static boolean matches(User user, String query) {
+        String normalized = UserSearchKeys.normalize(query);
+        if (UserSearchKeys.normalize(user.getName()).startsWith(normalized)
+                || UserSearchKeys.normalize(user.getEmail()).startsWith(normalized)) {
+            return true;
         }
-
-        updateUI();
+        String phone = UserSearchKeys.phonePrefix(query);
+        if (phone != null && UserSearchKeys.digits(user.getPhone()).startsWith(phone)) return true;
+        return user.getId() != null && user.getId().toLowerCase().startsWith(query);
     }
 
     /**
      * Updates the UI based on current user profile data.
      *
-     * <p>Updates the total profiles count, shows/hides the "no profiles" message
-     * appropriately, and notifies the adapter of data changes.</p>
+     * <p>Updates the total profiles count and shows/hides the "no profiles" message
+     * appropriately. The list engine updates the adapter itself.</p>
      */
     private void updateUI() {
-        tvTotalProfiles.setText("Total Profiles: " + allUsers.size());
+        List<User> shown = listEngine.getShown();
+        String query = listEngine.getQuery();
+        String text = "Total Profiles: " + (serverTotal >= 0 ? String.valueOf(serverTotal) : "…");
+        if (!query.isEmpty()) {
+            text += " (showing " + shown.size() + ")";
+        }
+        tvTotalProfiles.setText(text);
 
-        if (filteredUsers.isEmpty()) {
+        if (shown.isEmpty() && !loadingPage) {
             tvNoProfiles.setVisibility(View.VISIBLE);
-            tvNoProfiles.setText(allUsers.isEmpty() ? "No profiles found" : "No matching profiles");
+            tvNoProfiles.setText(query.isEmpty() ? "No profiles found" : "No matching profiles");
         } else {
             tvNoProfiles.setVisibility(View.GONE);
         }
-
-        adapter.notifyDataSetChanged();
     }
 
     /**
@@ -345,55 +466,34 @@ public class AdminBrowseProfilesActivity extends AppCompatActivity
     }
 
     /**
-     * Deletes a user profile after confirmation, with cascade deletion for organizers.
+     * Deletes a user profile after confirmation, with cascade deletion of everything that
+     * refers to it.
      *
-     * <p>If the user is an organizer, first deletes the organizer document from the
-     * organizers collection before deleting the user profile. This ensures proper
-     * cleanup of organizer-specific data.</p>
+     * <p>Runs a {@link CascadeDelete} job, which removes the user from every event's entrant
+     * lists, deletes their notifications and, for organizers, their organizer document before
+     * deleting the user profile.</p>
      *
-     * <p>Shows a progress bar during the operation and displays appropriate toast
-     * messages for success or failure.</p>
+     * <p>Shows a progress bar while the job runs, removes the user from the list on success
+     * and displays appropriate toast messages for success or failure.</p>
      *
      * @param user the user profile to delete
      */
     private void deleteProfile(User user) {
         progressBar.setVisibility(View.VISIBLE);
 
-        // If user is an organizer, also delete from organizers collection
-        if (user.getType() == UserType.Organizer) {
-            organizerRepository.deleteOrganizer(user.getId(), new com.hotdog.elotto.callback.OperationCallback() {
-                @Override
-                public void onSuccess() {
-                    // After organizer deleted, delete user profile
-                    deleteUserProfile(user);
-                }
-
-                @Override
-                public void onError(String errorMessage) {
-                    // Even if organizer deletion fails, try to delete user
-                    deleteUserProfile(user);
-                }
-            });
-        } else {
-            deleteUserProfile(user);
-        }
-    }
+        CascadeDelete.getInstance().deleteProfile(user.getId(), new CascadeDelete.Listener() {
+            @Override
+            public void onProgress(CascadeDelete.Progress progress) {
+                Log.d(TAG, "Deleting profile " + progress.getTargetId() + ": " + progress.getStageName() + ", "
+                        + progress.getWritten() + " documents at " + Math.round(progress.getDocumentsPerSecond()) + "/s");
+            }
 
-    /**
-     * Deletes the user profile from the users collection in Firestore.
-     *
-     * <p>Removes the user from both local data structures and the RecyclerView on
-     * success. Updates the UI and displays appropriate toast messages.</p>
-     *
-     * @param user the user profile to delete
-     */
-    private void deleteUserProfile(User user) {
-        userRepository.deleteUser(user.getId(), new com.hotdog.elotto.callback.OperationCallback() {
             @Override
-            public void onSuccess() {
+            public void onComplete(CascadeDelete.Progress progress) {
                 progressBar.setVisibility(View.GONE);
-                allUsers.remove(user);
-                filteredUsers.remove(user);
+                loadedIds.remove(user.getId());
+                if (serverTotal > 0) serverTotal--;
+                listEngine.remove(user);
                 updateUI();
                 Toast.makeText(AdminBrowseProfilesActivity.this, "Profile deleted successfully", Toast.LENGTH_SHORT)
                         .show();
@@ -435,7 +535,9 @@ public class AdminBrowseProfilesActivity extends AppCompatActivity
                     @Override
                     public void onSuccess() {
                         progressBar.setVisibility(View.GONE);
-                        updateUI();
+                        // The user changed in place, so the differ can't see it; redraw its row
+                        int position = listEngine.getShown().indexOf(user);
+                        if (position >= 0) adapter.notifyItemChanged(position);
                         Toast.makeText(AdminBrowseProfilesActivity.this, "Organizer status revoked successfully",
                                 Toast.LENGTH_SHORT).show();
                     }
@@ -10,10 +10,11 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 
 import com.hotdog.elotto.R;
+import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.helpers.UserType;
+import com.hotdog.elotto.model.DashboardStats;
 import com.hotdog.elotto.model.User;
-import com.hotdog.elotto.repository.EventRepository;
-import com.hotdog.elotto.repository.UserRepository;
+import com.hotdog.elotto.repository.StatsRepository;
 
 import java.util.function.Consumer;
 
@@ -26,7 +27,8 @@ import java.util.function.Consumer;
  *
  * <p>Features include:</p>
  * <ul>
- *     <li>Overview statistics showing total events, users, and images</li>
+ *     <li>Overview statistics showing total and open events, pending draws, users, organizers,
+ *     and images, all counted on the server</li>
  *     <li>Navigation cards to browse events management screen</li>
  *     <li>Navigation cards to browse profiles management screen</li>
  *     <li>Navigation cards to browse images management screen</li>
@@ -61,6 +63,21 @@ public class AdminDashboardActivity extends AppCompatActivity {
      */
     private TextView tvTotalImages;
 
+    /**
+     * TextView displaying the number of events open for registration.
+     */
+    private TextView tvOpenEvents;
+
+    /**
+     * TextView displaying the number of users who have created an event.
+     */
+    private TextView tvTotalOrganizers;
+
+    /**
+     * TextView displaying the number of events whose registration closed with no draw yet.
+     */
+    private TextView tvPendingDraws;
+
     /**
      * CardView for navigating to the browse events screen.
      */
@@ -82,14 +99,9 @@ public class AdminDashboardActivity extends AppCompatActivity {
     private CardView cardBrowseNotifications;
 
     /**
-     * Repository for event data access operations.
-     */
-    private EventRepository eventRepository;
-
-    /**
-     * Repository for user data access operations.
+     * Repository answering the overview counts with server-side aggregations.
      */
-    private UserRepository userRepository;
+    private StatsRepository statsRepository;
 
     /**
      * Called when the activity is starting.
@@ -140,6 +152,9 @@ public class AdminDashboardActivity extends AppCompatActivity {
         tvTotalEvents = findViewById(R.id.tv_total_events);
         tvTotalUsers = findViewById(R.id.tv_total_users);
         tvTotalImages = findViewById(R.id.tv_total_images);
+        tvOpenEvents = findViewById(R.id.tv_open_events);
+        tvTotalOrganizers = findViewById(R.id.tv_total_organizers);
+        tvPendingDraws = findViewById(R.id.tv_pending_draws);
 
         cardBrowseEvents = findViewById(R.id.card_browse_events);
         cardBrowseProfiles = findViewById(R.id.card_browse_profiles);
@@ -149,65 +164,53 @@ public class AdminDashboardActivity extends AppCompatActivity {
 
     /**
      * Initializes repository instances for data access.
-     *
-     * <p>Creates a new EventRepository instance and obtains the singleton
-     * UserRepository instance.</p>
      */
     private void initializeRepositories() {
-        eventRepository = new EventRepository();
-        userRepository = UserRepository.getInstance();
+        statsRepository = new StatsRepository();
     }
 
     /**
      * Loads overview statistics data from Firestore.
      *
-     * <p>This method loads and displays three key statistics:</p>
+     * <p>Every statistic is a {@code count()} aggregation evaluated on the server, so
+     * refreshing the dashboard costs a handful of reads no matter how many events or users
+     * there are:</p>
      * <ul>
-     *     <li>Total number of events in the system</li>
-     *     <li>Total number of users in the system</li>
-     *     <li>Total number of events with poster images</li>
+     *     <li>Total and open events</li>
+     *     <li>Events waiting for a lottery draw</li>
+     *     <li>Total users and organizers</li>
+     *     <li>Events with poster images</li>
      * </ul>
      *
-     * <p>If any data load fails, displays "0" as the default value. The image
-     * count is calculated by iterating through all events and counting those
-     * with non-null, non-empty poster image URLs.</p>
+     * <p>If a count fails to load, "0" is displayed for it.</p>
      */
     private void loadOverviewData() {
-        // Load total events count
-        eventRepository
-                .getAllEvents(new com.hotdog.elotto.callback.FirestoreListCallback<com.hotdog.elotto.model.Event>() {
-                    @Override
-                    public void onSuccess(java.util.List<com.hotdog.elotto.model.Event> events) {
-                        int totalImages = 0;
-                        for (com.hotdog.elotto.model.Event event : events) {
-                            if (event.getPosterImageUrl() != null && !event.getPosterImageUrl().isEmpty()) {
-                                totalImages++;
-                            }
-                        }
-                        tvTotalEvents.setText(String.valueOf(events.size()));
-                        tvTotalImages.setText(String.valueOf(totalImages));
-                    }
-
-                    @Override
-                    public void onError(String errorMessage) {
-                        tvTotalEvents.setText("0");
-                        tvTotalImages.setText("0");
-                    }
-                });
-
-        // Load total users count
-        userRepository
-                .getAllUsers(new com.hotdog.elotto.callback.FirestoreListCallback<com.hotdog.elotto.model.User>() {
-                    @Override
-                    public void onSuccess(java.util.List<com.hotdog.elotto.model.User> users) {
-                        tvTotalUsers.setText(String.valueOf(users.size()));
-                    }
-
-                    @Override
-                    public void onError(String errorMessage) {
-                        tvTotalUsers.setText("0");
-                    }
-                });
+        statsRepository.getDashboardStats(new FirestoreCallback<DashboardStats>() {
+            @Override
+            public void onSuccess(DashboardStats stats) {
+                showCount(tvTotalEvents, stats.getTotalEvents());
+                showCount(tvOpenEvents, stats.getOpenEvents());
+                showCount(tvPendingDraws, stats.getPendingDraws());
+                showCount(tvTotalImages, stats.getEventsWithImages());
+                showCount(tvTotalUsers, stats.getTotalUsers());
+                showCount(tvTotalOrganizers, stats.getOrganizers());
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                onSuccess(new DashboardStats(0, 0, 0, 0, 0, 0));
+            }
+        });
+    }
+
+    /**
+     * Shows one count, or "0" if it could not be loaded.
+     *
+     * @param view  the TextView to update
+     * @param count the count, or {@link DashboardStats#UNKNOWN}
+     */
+    private void showCount(TextView view, int count) {
+        view.setText(String.valueOf(Math.max(count, 0)));
     }
 
     /**
@@ -253,6 +256,9 @@ public class AdminDashboardActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        loadOverviewData(); // Refresh data when returning to dashboard
+        // The repository is only set up once the admin check has passed
+        if (statsRepository != null) {
+            loadOverviewData(); // Refresh data when returning to dashboard
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,328 @@
+package com.hotdog.elotto.ui.admin;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.hotdog.elotto.repository.RepositoryExecutors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps an admin browse list filtered, sorted and shown without blocking the main thread.
+ *
+ * <p>The activity hands the engine the items it has loaded and the text typed into its search
+ * box. Typing is debounced by {@link #SEARCH_DEBOUNCE_MS}. Filtering and sorting run on the
+ * repository background executor against a snapshot of the loaded items, and the result is
+ * submitted to a {@link ListAdapter}, whose {@code AsyncListDiffer} diffs it off the main thread
+ * and dispatches only the changed rows. A result computed for an older query or an older set
+ * of items is dropped instead of shown.</p>
+ *
+ * <p>A query that extends the previous one is only checked against the items that already
+ * matched, as long as no items were loaded or removed in between.</p>
+ *
+ * <p>Lists that load in pages can call {@link #attachPaging} to be asked for the next page
+ * when scrolled to the bottom, then pass each page to {@link #addItems}.</p>
+ *
+ * <p>Used by all four admin browse activities.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @param <T> the type of item listed
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public class AdminListEngine<T> {
+
+    /**
+     * How long typing must pause before the search runs.
+     */
+    public static final long SEARCH_DEBOUNCE_MS = 300;
+
+    /**
+     * Decides whether an item belongs in the list for a query.
+     *
+     * @param <T> the type of item listed
+     */
+    public interface Matcher<T> {
+        /**
+         * @param item  the item
+         * @param query the query, trimmed and lowercased; never empty
+         * @return true if the item should be shown
+         */
+        boolean matches(T item, String query);
+    }
+
+    /**
+     * Receives the lists the engine shows. {@link ListAdapter#submitList(List, Runnable)}
+     * fits this interface.
+     *
+     * @param <T> the type of item listed
+     */
+    public interface Sink<T> {
+        /**
+         * @param items     the new list
+         * @param committed run once the list is displayed
+         */
+        void submitList(List<T> items, Runnable committed);
+    }
+
+    /**
+     * Told each time a new list is displayed, on the main thread.
+     *
+     * @param <T> the type of item listed
+     */
+    public interface Listener<T> {
+        /**
+         * @param shown  the items now displayed
+         * @param loaded how many items are loaded in total, before filtering
+         * @param query  the query the list was filtered by, trimmed and lowercased
+         */
+        void onListShown(List<T> shown, int loaded, String query);
+    }
+
+    /**
+     * Runs the debounced search.
+     */
+    public interface Scheduler {
+        void schedule(Runnable work, long delayMillis);
+
+        void cancelAll();
+    }
+
+    private final Sink<T> sink;
+    private final Matcher<T> matcher;
+    private final Comparator<? super T> order;
+    private final Listener<T> listener;
+    private final Executor background;
+    private final Executor main;
+    private final Scheduler scheduler;
+
+    private final List<T> items = new ArrayList<>();
+    private List<T> shown = Collections.emptyList();
+    private String query = "";
+    private String shownQuery = "";
+
+    /**
+     * Bumped whenever the items change, so narrowing knows whether {@link #shown} is current.
+     */
+    private int itemsVersion;
+    private int shownItemsVersion = -1;
+
+    /**
+     * Bumped on every refilter so older results are dropped.
+     */
+    private int generation;
+
+    @Nullable
+    private Runnable onQueryChanged;
+
+    /**
+     * Creates an engine that shows its lists through an adapter.
+     *
+     * @param adapter  the adapter to submit lists to
+     * @param matcher  decides which items match a query
+     * @param order    sorts the shown items, or null to keep the loaded order
+     * @param listener told when a new list is displayed
+     */
+    public AdminListEngine(@NonNull ListAdapter<T, ?> adapter, @NonNull Matcher<T> matcher,
+                           @Nullable Comparator<? super T> order, @NonNull Listener<T> listener) {
+        this(adapter::submitList, matcher, order, listener, RepositoryExecutors.background(),
+                RepositoryExecutors.main(), new HandlerScheduler());
+    }
+
+    /**
+     * Constructor for dependency injection (useful for testing).
+     *
+     * @param sink       receives the lists to show
+     * @param matcher    decides which items match a query
+     * @param order      sorts the shown items, or null to keep the loaded order
+     * @param listener   told when a new list is displayed
+     * @param background where filtering and sorting run
+     * @param main       the main thread
+     * @param scheduler  debounces the search
+     */
+    public AdminListEngine(@NonNull Sink<T> sink, @NonNull Matcher<T> matcher,
+                           @Nullable Comparator<? super T> order, @NonNull Listener<T> listener,
+                           @NonNull Executor background, @NonNull Executor main, @NonNull Scheduler scheduler) {
+        this.sink = sink;
+        this.matcher = matcher;
+        this.order = order;
+        this.listener = listener;
+        this.background = background;
+        this.main = main;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sets work to run after the debounce whenever the query actually changes, for lists
+     * that also search on the server.
+     *
+     * @param onQueryChanged the work, or null for none
+     */
+    public void setOnQueryChanged(@Nullable Runnable onQueryChanged) {
+        this.onQueryChanged = onQueryChanged;
+    }
+
+    /**
+     * Loads the next page whenever the list is scrolled to the bottom.
+     *
+     * @param recyclerView the list
+     * @param loadNextPage asked for the next page; should do nothing if there isn't one
+     */
+    public void attachPaging(@NonNull RecyclerView recyclerView, @NonNull Runnable loadNextPage) {
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView view, int dx, int dy) {
+                if (dy > 0 && !view.canScrollVertically(1)) loadNextPage.run();
+            }
+        });
+    }
+
+    /**
+     * Replaces every loaded item.
+     *
+     * @param newItems the items
+     */
+    public void setItems(@NonNull List<T> newItems) {
+        items.clear();
+        items.addAll(newItems);
+        itemsVersion++;
+        refilter();
+    }
+
+    /**
+     * Appends a page of items.
+     *
+     * @param page the items
+     */
+    public void addItems(@NonNull List<T> page) {
+        if (page.isEmpty()) return;
+        items.addAll(page);
+        itemsVersion++;
+        refilter();
+    }
+
+    /**
+     * Removes one loaded item.
+     *
+     * @param item the item
+     */
+    public void remove(T item) {
+        if (!items.remove(item)) return;
+        itemsVersion++;
+        refilter();
+    }
+
+    /**
+     * Sets the search text, applied once typing pauses.
+     *
+     * @param text the text in the search box
+     */
+    public void setQuery(@NonNull String text) {
+        String normalized = text.trim().toLowerCase(Locale.ROOT);
+        scheduler.cancelAll();
+        scheduler.schedule(() -> {
+            if (normalized.equals(query)) return;
+            query = normalized;
+            refilter();
+            if (onQueryChanged != null) onQueryChanged.run();
+        }, SEARCH_DEBOUNCE_MS);
+    }
+
+    /**
+     * @return the query currently applied, trimmed and lowercased
+     */
+    @NonNull
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return the items currently displayed
+     */
+    @NonNull
+    public List<T> getShown() {
+        return shown;
+    }
+
+    /**
+     * @return how many items are loaded, before filtering
+     */
+    public int getLoadedCount() {
+        return items.size();
+    }
+
+    /**
+     * Stops any search waiting on the debounce. Call when the screen is destroyed.
+     */
+    public void cancel() {
+        scheduler.cancelAll();
+        generation++;
+    }
+
+    private void refilter() {
+        int refilterGeneration = ++generation;
+        String filterQuery = query;
+        int version = itemsVersion;
+        // Narrow the current matches when only the query grew; otherwise start from everything
+        boolean narrow = shownItemsVersion == version && !shownQuery.isEmpty() && filterQuery.startsWith(shownQuery);
+        List<T> source = new ArrayList<>(narrow ? shown : items);
+        int loaded = items.size();
+
+        background.execute(() -> {
+            List<T> result = filter(source, filterQuery);
+            main.execute(() -> {
+                if (refilterGeneration != generation) return;
+                sink.submitList(result, () -> {
+                    if (refilterGeneration != generation) return;
+                    shown = result;
+                    shownQuery = filterQuery;
+                    shownItemsVersion = version;
+                    listener.onListShown(result, loaded, filterQuery);
+                });
+            });
+        });
+    }
+
+    private List<T> filter(List<T> source, String filterQuery) {
+        RepositoryExecutors.checkNotMainThread("admin list filtering");
+        List<T> result;
+        if (filterQuery.isEmpty()) {
+            result = source;
+        } else {
+            result = new ArrayList<>();
+            for (T item : source) {
+                if (matcher.matches(item, filterQuery)) result.add(item);
+            }
+        }
+        if (order != null) result.sort(order);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Debounces on the main thread's looper.
+     */
+    private static class HandlerScheduler implements Scheduler {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void schedule(Runnable work, long delayMillis) {
+            handler.postDelayed(work, delayMillis);
+        }
+
+        @Override
+        public void cancelAll() {
+            handler.removeCallbacksAndMessages(null);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.NavController;
 import androidx.navigation.fragment.NavHostFragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -17,12 +18,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.adapter.EventAdapter;
-import com.hotdog.elotto.callback.FirestoreListCallback;
 import com.hotdog.elotto.helpers.Status;
 import com.hotdog.elotto.model.Event;
 import com.hotdog.elotto.model.Organizer;
 import com.hotdog.elotto.model.User;
-import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventStore;
+import com.hotdog.elotto.ui.home.EventDayIndex;
+import com.hotdog.elotto.ui.home.HomeViewModel;
 import com.hotdog.elotto.ui.home.MyEventsView;
 import com.hotdog.elotto.ui.profile.EventHistoryFragment;
 
@@ -39,20 +41,21 @@ import java.util.Locale;
  * This screen combines three main pieces:
  * <ul>
  *     <li>A {@link CalendarView} that lets the user pick a day.</li>
- *     <li>A title row that switches between "All Events" and
+ *     <li>A title row that switches between "Events in &lt;month&gt;" and
  *         "Events on &lt;date&gt;".</li>
  *     <li>A {@link RecyclerView} that displays the list of events as
- *         event cards for either all days or the selected day.</li>
+ *         event cards for either the whole month or the selected day.</li>
  * </ul>
  *
  * <p>The fragment is intentionally fairly "dumb": it delegates all data
- * access to {@link EventRepository} and all item rendering to
+ * access to the shared {@link HomeViewModel} and all item rendering to
  * {@link CalendarEventAdapter}. Its responsibility is to:
  *
  * <ol>
  *     <li>Wire up the views in {@code fragment_calendar.xml}.</li>
- *     <li>Load events once from Firestore.</li>
- *     <li>Filter the in-memory list when the user changes the selected date.</li>
+ *     <li>Observe the selected month's events, which {@link HomeViewModel} slices from
+ *         the shared feed or reads as a single month window.</li>
+ *     <li>Filter the in-memory month when the user changes the selected date.</li>
  * </ol>
  *
  * <p>This keeps the UI logic small and easy to reason about, while still
@@ -63,7 +66,7 @@ public class CalendarFragment extends Fragment {
     /** Native Android calendar widget used to select a day. */
     private CalendarView calendarView;
 
-    /** Title above the list ("All Events" or "Events on March 15"). */
+    /** Title above the list ("Events in March" or "Events on March 15"). */
     private TextView tvEventsTitle;
 
     /** RecyclerView that shows event cards for the current filter. */
@@ -74,21 +77,24 @@ public class CalendarFragment extends Fragment {
     /** Organizer instance that allows us to check if the user is an organizer for an event */
     private Organizer organizer;
 
-    /** Repository responsible for loading events from Firestore. */
-    private final EventRepository eventRepository = new EventRepository();
+    /** Activity-scoped ViewModel holding the selected month's events. */
+    private HomeViewModel homeViewModel;
 
-    /**
-     * Full list of events returned from Firestore.
-     * This list is never filtered; it acts as the single source of truth.
-     */
-    private final List<Event> allEvents = new ArrayList<>();
+    /** Month shown in the calendar, as a {@link Calendar} at its first day. */
+    private final Calendar shownMonth = Calendar.getInstance();
+
+    /** Day the user tapped in the calendar, or null while showing the whole month. */
+    private Date selectedDate;
 
     /**
-     * Currently visible subset of {@link #allEvents} based on the calendar
-     * selection. When no day is selected, this simply contains all events.
+     * Currently visible events based on the calendar selection. When no day is
+     * selected, this contains the whole month.
      */
     private final List<Event> visibleEvents = new ArrayList<>();
 
+    /** Number of events on each day of the shown month, index 0 being the 1st. */
+    private int[] dayCounts = new int[0];
+
     /** User reference */
     private User user;
 
@@ -99,6 +105,10 @@ public class CalendarFragment extends Fragment {
     private final SimpleDateFormat headerFormat =
             new SimpleDateFormat("MMMM d", Locale.getDefault());
 
+    /** Formatter used to render the "Events in March" header text. */
+    private final SimpleDateFormat monthFormat =
+            new SimpleDateFormat("MMMM", Locale.getDefault());
+
     /**
      * Inflates the layout for the calendar screen.
      *
@@ -122,7 +132,7 @@ public class CalendarFragment extends Fragment {
      *     <li>Sets up the {@link RecyclerView} and its adapter.</li>
      *     <li>Configures the {@link CalendarView} listener so that changing
      *         the date filters the list of events.</li>
-     *     <li>Triggers the initial load of events from Firestore.</li>
+     *     <li>Selects the current month and observes its events.</li>
      * </ol>
      *
      * @param view       the root view returned by {@link #onCreateView}
@@ -138,8 +148,10 @@ public class CalendarFragment extends Fragment {
         tvEventsTitle = view.findViewById(R.id.tv_events_title);
         rvEvents = view.findViewById(R.id.rv_events);
         organizer = new Organizer(requireContext());
+        homeViewModel = new ViewModelProvider(requireActivity()).get(HomeViewModel.class);
         user = new User(requireContext(), (user) -> {
             eventAdapter = new CalendarEventAdapter(requireContext(), visibleEvents);
+            rvEvents.setAdapter(eventAdapter);
             // Set click listener for event cards
             eventAdapter.setOnEventClickListener(new EventAdapter.OnEventClickListener() {
                 @Override
@@ -147,8 +159,7 @@ public class CalendarFragment extends Fragment {
                     // Check if user is registered and has Invited status
                     Status userStatus = getUserStatusForEvent(event.getId(), user);
 
-                    Bundle bundle = new Bundle();
-                    bundle.putSerializable("event", event);
+                    Bundle bundle = EventStore.getInstance().buildArgs(event);
                     NavController navController = NavHostFragment.findNavController(CalendarFragment.this);
 
                     // If user is invited and invitation hasn't expired then go to accept/decline screen
@@ -169,15 +180,18 @@ public class CalendarFragment extends Fragment {
         // Start the calendar on "today"
         calendarView.setDate(System.currentTimeMillis(), false, true);
 
-        // When the user taps a different day, filter the events list
+        // When the user taps a different day, narrow to that month and filter the events list
         calendarView.setOnDateChangeListener((cv, year, month, dayOfMonth) -> {
             Calendar selected = Calendar.getInstance();
             selected.set(year, month, dayOfMonth, 0, 0, 0);
             selected.set(Calendar.MILLISECOND, 0);
-            filterForDate(selected.getTime());
+            selectedDate = selected.getTime();
+            shownMonth.set(year, month, 1);
+            homeViewModel.selectCalendarMonth(year, month);
+            filterForDate(selectedDate);
         });
 
-        // Load events from Firestore
+        // Show this month, read on its own unless another tab already loaded the feed
         loadEvents();
     }
 
@@ -195,104 +209,73 @@ public class CalendarFragment extends Fragment {
     }
 
     /**
-     * Loads all events from the backend using {@link EventRepository}.
-     *
-     * <p>On success, this method:
-     * <ul>
-     *     <li>Replaces the contents of {@link #allEvents}.</li>
-     *     <li>Shows the "All Events" view by default.</li>
-     * </ul>
+     * Selects the current month in {@link HomeViewModel} and observes its events.
      *
-     * <p>On error, the current implementation quietly ignores the failure,
-     * but it is trivial to add a Toast or a Snackbar inside {@link #onError(String)}
-     * if we want user-facing feedback.
+     * <p>Only the month on screen is loaded: the ViewModel slices it from the shared feed
+     * if another tab has loaded that, and otherwise reads just the month's window, with the
+     * months either side prefetched. When the month's events change, this method shows the
+     * whole month, or re-filters the selected day. On error, the current implementation
+     * quietly ignores the failure.
      */
     private void loadEvents() {
-        eventRepository.getAllEvents(new FirestoreListCallback<Event>() {
-            @Override
-            public void onSuccess(List<Event> events) {
-                allEvents.clear();
-                allEvents.addAll(events);
-                showAllEvents();
-            }
+        shownMonth.set(Calendar.DAY_OF_MONTH, 1);
 
-            @Override
-            public void onError(String errorMessage) {
-                // Could log or show an error message here if desired
-                // e.g., Toast.makeText(requireContext(), errorMessage, Toast.LENGTH_SHORT).show();
+        // The ViewModel publishes a month's day counts just before its events
+        homeViewModel.getCalendarDayCounts().observe(getViewLifecycleOwner(), counts -> {
+            if (counts != null) dayCounts = counts;
+        });
+
+        homeViewModel.getCalendarMonthEvents().observe(getViewLifecycleOwner(), events -> {
+            if (events == null) return;
+            if (selectedDate != null) {
+                filterForDate(selectedDate);
+            } else {
+                showMonthEvents();
             }
         });
+
+        homeViewModel.selectCalendarMonth(shownMonth.get(Calendar.YEAR), shownMonth.get(Calendar.MONTH));
     }
 
     /**
-     * Resets the view to show every event, regardless of date.
+     * Shows every event in the shown month, titled with how many days have events.
      *
-     * <p>This is used:
-     * <ul>
-     *     <li>Right after events are initially loaded.</li>
-     *     <li>If we later decide to add a "Show all" button or behaviour.</li>
-     * </ul>
+     * <p>This is used right after the month's events are loaded, before the user
+     * picks a day.
      */
-    private void showAllEvents() {
-        tvEventsTitle.setText("All Events");
+    private void showMonthEvents() {
+        List<Event> monthEvents = homeViewModel.getCalendarMonthEvents().getValue();
         visibleEvents.clear();
-        visibleEvents.addAll(allEvents);
-        eventAdapter.setEvents(visibleEvents);
+        if (monthEvents != null) visibleEvents.addAll(monthEvents);
+
+        int busyDays = 0;
+        for (int count : dayCounts) {
+            if (count > 0) busyDays++;
+        }
+        String header = "Events in " + monthFormat.format(shownMonth.getTime());
+        if (busyDays > 0) {
+            header += " (" + visibleEvents.size() + " on " + busyDays + (busyDays == 1 ? " day)" : " days)");
+        }
+        tvEventsTitle.setText(header);
+        if (eventAdapter != null) eventAdapter.setEvents(visibleEvents);
     }
 
     /**
-     * Filters {@link #allEvents} down to only the events occurring on the
-     * specified calendar day and updates the RecyclerView.
+     * Shows only the events occurring on the specified calendar day and updates the
+     * RecyclerView.
      *
      * <p>Time-of-day is ignored for the comparison: if an event happens at
-     * 07:00 or 19:00 on March 15, it is treated as "March 15" either way.
+     * 07:00 or 19:00 on March 15, it is treated as "March 15" either way. The day's
+     * events are a binary-searched slice of the month's day index, not a scan.
      *
      * @param date the day the user selected in the {@link CalendarView}
      */
     private void filterForDate(Date date) {
-        Calendar target = Calendar.getInstance();
-        target.setTime(date);
-        int tYear = target.get(Calendar.YEAR);
-        int tMonth = target.get(Calendar.MONTH);
-        int tDay = target.get(Calendar.DAY_OF_MONTH);
-
         visibleEvents.clear();
-
-        for (Event e : allEvents) {
-            Date eventDate = getEventDate(e);
-            if (eventDate == null) {
-                continue;
-            }
-
-            Calendar c = Calendar.getInstance();
-            c.setTime(eventDate);
-
-            if (c.get(Calendar.YEAR) == tYear &&
-                    c.get(Calendar.MONTH) == tMonth &&
-                    c.get(Calendar.DAY_OF_MONTH) == tDay) {
-                visibleEvents.add(e);
-            }
-        }
+        visibleEvents.addAll(homeViewModel.getCalendarMonthIndex().onDay(EventDayIndex.epochDay(date)));
 
         String header = "Events on " + headerFormat.format(date);
         tvEventsTitle.setText(header);
-        eventAdapter.setEvents(visibleEvents);
-    }
-
-    /**
-     * Helper method to read the date that should be used for calendar matching
-     * from an {@link Event}.
-     *
-     * <p>Right now this simply returns {@link Event#getEventDateTime()}, but
-     * having it as a separate method makes it easy to change the behaviour
-     * later (for example, if we ever want to group by registration dates
-     * instead of event dates).
-     *
-     * @param event the event whose date we care about
-     * @return the {@link Date} used for calendar matching, or {@code null}
-     * if the event has no event date set
-     */
-    private Date getEventDate(Event event) {
-        return event.getEventDateTime();
+        if (eventAdapter != null) eventAdapter.setEvents(visibleEvents);
     }
 }
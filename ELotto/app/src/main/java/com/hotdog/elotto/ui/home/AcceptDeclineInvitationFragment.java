@@ -26,15 +26,15 @@ import androidx.navigation.fragment.NavHostFragment;
 import com.google.firebase.Timestamp;
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.callback.FirestoreCallback;
-import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.helpers.Status;
 import com.hotdog.elotto.model.Event;
+import com.hotdog.elotto.model.EventSummary;
 import com.hotdog.elotto.model.User;
 import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventStore;
 import com.hotdog.elotto.repository.UserRepository;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -244,22 +244,39 @@ public class AcceptDeclineInvitationFragment extends Fragment {
     /**
      * Loads event data from fragment arguments.
      *
-     * <p>Retrieves the Event object passed through navigation arguments, displays
-     * the event details, and checks the invitation status to start the countdown
+     * <p>Reads the event ID passed through navigation arguments and resolves it through
+     * the {@link EventStore}, showing the passed summary in the meantime. Once resolved,
+     * displays the event details and checks the invitation status to start the countdown
      * timer. If no event is found, shows an error and navigates back.</p>
      */
     private void loadEventData() {
-        // Get event from arguments
+        // Get event ID from arguments
         if (getArguments() != null) {
-            event = (Event) getArguments().getSerializable("event");
-
-            if (event != null) {
-                displayEventDetails();
-                checkInvitationStatus();
-            } else {
-                Toast.makeText(getContext(), "Error loading event", Toast.LENGTH_SHORT).show();
-                navigateBack();
+            String eventId = getArguments().getString(EventStore.ARG_EVENT_ID);
+            EventSummary summary = EventStore.getSummary(getArguments());
+            if (summary != null) {
+                if (eventId == null) eventId = summary.getId();
+                eventTitleTextView.setText(summary.getName());
+                eventLocationTextView.setText(summary.getLocation());
             }
+
+            EventStore.getInstance().resolve(eventId, new FirestoreCallback<Event>() {
+                @Override
+                public void onSuccess(Event result) {
+                    if (!isAdded()) return;
+                    event = result;
+                    displayEventDetails();
+                    checkInvitationStatus();
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    if (!isAdded()) return;
+                    Log.e(TAG, "Error loading event: " + errorMessage);
+                    Toast.makeText(getContext(), "Error loading event", Toast.LENGTH_SHORT).show();
+                    navigateBack();
+                }
+            });
         }
     }
 
@@ -452,7 +469,7 @@ public class AcceptDeclineInvitationFragment extends Fragment {
     /**
      * Automatically declines the user when the RSVP deadline expires.
      *
-     * <p>Loads the user, updates their status to Declined for the event, saves the
+     * <p>Loads the user, updates their status to Declined for the event, queues the
      * change to Firestore, and then moves the user to the cancelled list in the
      * event document.</p>
      */
@@ -466,18 +483,8 @@ public class AcceptDeclineInvitationFragment extends Fragment {
                     user.setRegEventStatus(event.getId(), Status.Declined);
 
 
-                    userRepository.updateUser(user, new OperationCallback() {
-                        @Override
-                        public void onSuccess() {
-
-                            moveUserToCancelledList();
-                        }
-
-                        @Override
-                        public void onError(String errorMessage) {
-                            Log.e(TAG, "Error updating user status: " + errorMessage);
-                        }
-                    });
+                    userRepository.enqueueUpdateUser(user);
+                    moveUserToCancelledList();
                 } catch (NoSuchFieldException e) {
                     Log.e(TAG, "Event not found in user's registered events", e);
                 }
@@ -511,6 +518,9 @@ public class AcceptDeclineInvitationFragment extends Fragment {
      * response, calls acceptInvitation to process the acceptance.</p>
      */
     private void showAcceptConfirmation() {
+        // Event is still resolving
+        if (event == null) return;
+
         new AlertDialog.Builder(requireContext())
                 .setTitle("Accept Invitation")
                 .setMessage("Are you sure you want to accept this invitation? You will be registered for the event.")
@@ -527,6 +537,9 @@ public class AcceptDeclineInvitationFragment extends Fragment {
      * to process the decline.</p>
      */
     private void showDeclineConfirmation() {
+        // Event is still resolving
+        if (event == null) return;
+
         new AlertDialog.Builder(requireContext())
                 .setTitle("Decline Invitation")
                 .setMessage("Are you sure you want to decline this invitation? This action cannot be undone.")
@@ -538,8 +551,8 @@ public class AcceptDeclineInvitationFragment extends Fragment {
     /**
      * Processes the invitation acceptance.
      *
-     * <p>Loads the user, updates their status to Accepted for the event, saves the
-     * change to Firestore, and calls moveUserToAcceptedList to update the event's
+     * <p>Loads the user, updates their status to Accepted for the event, queues the
+     * change for Firestore, and calls moveUserToAcceptedList to update the event's
      * accepted list. Shows error toasts if any operation fails.</p>
      */
     private void acceptInvitation() {
@@ -550,19 +563,9 @@ public class AcceptDeclineInvitationFragment extends Fragment {
                 try {
                     user.setRegEventStatus(event.getId(), Status.Accepted);
 
-                    userRepository.updateUser(user, new OperationCallback() {
-                        @Override
-                        public void onSuccess() {
-                            // Move to accepted list in event
-                            moveUserToAcceptedList();
-                        }
-
-                        @Override
-                        public void onError(String errorMessage) {
-                            Log.e(TAG, "Error updating user: " + errorMessage);
-                            Toast.makeText(getContext(), "Error accepting invitation", Toast.LENGTH_SHORT).show();
-                        }
-                    });
+                    userRepository.enqueueUpdateUser(user);
+                    // Move to accepted list in event
+                    moveUserToAcceptedList();
                 } catch (NoSuchFieldException e) {
                     Log.e(TAG, "Event not found", e);
                     Toast.makeText(getContext(), "Error accepting invitation", Toast.LENGTH_SHORT).show();
@@ -580,33 +583,24 @@ public class AcceptDeclineInvitationFragment extends Fragment {
     /**
      * Moves the user to the accepted list in the event document.
      *
-     * <p>Calls the EventRepository to move the user from the selected list to the
-     * accepted list. Shows a success toast and navigates back on completion, or
-     * shows an error toast on failure.</p>
+     * <p>Queues the move from the selected list to the accepted list in the write outbox,
+     * which delivers it even if the app is closed or offline, then shows a success toast
+     * and navigates back.</p>
      */
     private void moveUserToAcceptedList() {
-        List<String> userIds = new ArrayList<>();
-        userIds.add(currentUserId);
-
-        eventRepository.moveEntrantsToAccepted(event.getId(), userIds, new OperationCallback() {
-            @Override
-            public void onSuccess() {
-                Toast.makeText(getContext(), "Invitation accepted!", Toast.LENGTH_SHORT).show();
-                navigateBack();
-            }
+        eventRepository.enqueueInvitationResponse(event.getId(), currentUserId, true);
 
-            @Override
-            public void onError(String errorMessage) {
-                Log.e(TAG, "Error moving to accepted list: " + errorMessage);
-                Toast.makeText(getContext(), "Error accepting invitation", Toast.LENGTH_SHORT).show();
-            }
-        });
+        // The cached copy no longer matches the entrant lists in Firestore
+        EventStore.getInstance().invalidate(event.getId());
+        if (!isAdded()) return;
+        Toast.makeText(getContext(), "Invitation accepted!", Toast.LENGTH_SHORT).show();
+        navigateBack();
     }
 
     /**
      * Processes the invitation decline.
      *
-     * <p>Loads the user, updates their status to Declined for the event, saves the
+     * <p>Loads the user, updates their status to Declined for the event, queues the
      * change to Firestore, and calls moveUserToCancelledList to update the event's
      * cancelled list. Shows error toasts if any operation fails.</p>
      */
@@ -618,19 +612,8 @@ public class AcceptDeclineInvitationFragment extends Fragment {
                 try {
                     user.setRegEventStatus(event.getId(), Status.Declined);
 
-                    userRepository.updateUser(user, new OperationCallback() {
-                        @Override
-                        public void onSuccess() {
-
-                            moveUserToCancelledList();
-                        }
-
-                        @Override
-                        public void onError(String errorMessage) {
-                            Log.e(TAG, "Error updating user: " + errorMessage);
-                            Toast.makeText(getContext(), "Error declining invitation", Toast.LENGTH_SHORT).show();
-                        }
-                    });
+                    userRepository.enqueueUpdateUser(user);
+                    moveUserToCancelledList();
                 } catch (NoSuchFieldException e) {
                     Log.e(TAG, "Event not found", e);
                     Toast.makeText(getContext(), "Error declining invitation", Toast.LENGTH_SHORT).show();
@@ -648,27 +631,17 @@ public class AcceptDeclineInvitationFragment extends Fragment {
     /**
      * Moves the user to the cancelled list in the event document.
      *
-     * <p>Calls the EventRepository to move the user from the selected list to the
-     * cancelled list. Shows a success toast and navigates back on completion, or
-     * shows an error toast on failure.</p>
+     * <p>Queues the move from the selected list to the cancelled list in the write outbox,
+     * which delivers it even if the app is closed or offline, then shows a toast and
+     * navigates back.</p>
      */
     private void moveUserToCancelledList() {
-        List<String> userIds = new ArrayList<>();
-        userIds.add(currentUserId);
-
-        eventRepository.moveEntrantsToCancelled(event.getId(), userIds, new OperationCallback() {
-            @Override
-            public void onSuccess() {
-                Toast.makeText(requireContext(), "Invitation declined", Toast.LENGTH_SHORT).show();
-                navigateBack();
-            }
+        eventRepository.enqueueInvitationResponse(event.getId(), currentUserId, false);
 
-            @Override
-            public void onError(String errorMessage) {
-                Log.e(TAG, "Error moving to cancelled list: " + errorMessage);
-                Toast.makeText(getContext(), "Error declining invitation", Toast.LENGTH_SHORT).show();
-            }
-        });
+        EventStore.getInstance().invalidate(event.getId());
+        if (!isAdded()) return;
+        Toast.makeText(requireContext(), "Invitation declined", Toast.LENGTH_SHORT).show();
+        navigateBack();
     }
 
     /**
@@ -1,10 +1,14 @@
 package com.hotdog.elotto.ui.home;
 
-import java.util.Calendar;
+import java.time.LocalDate;
 import java.util.Date;
+import java.util.TimeZone;
 
 /**
  * Enum used to define the constants (the calendar options)
+ *
+ * <p>Each option is a range of local days, given as epoch-day numbers (see
+ * {@link EventDayIndex#epochDay}), so an event is checked with two integer comparisons.</p>
  * */
 public enum DateFilter {
     ALL_DATES,
@@ -19,59 +23,54 @@ public enum DateFilter {
             return true;
         }
 
-        Calendar currentDateCal = Calendar.getInstance();
-        Calendar eventDateCal = Calendar.getInstance();
-        eventDateCal.setTime(eventDate);
-
-        currentDateCal.set(Calendar.HOUR_OF_DAY, 0);
-        currentDateCal.set(Calendar.MINUTE, 0);
-        currentDateCal.set(Calendar.SECOND, 0);
-        currentDateCal.set(Calendar.MILLISECOND, 0);
-        eventDateCal.set(Calendar.HOUR_OF_DAY, 0);
-        eventDateCal.set(Calendar.MINUTE, 0);
-        eventDateCal.set(Calendar.SECOND, 0);
-        eventDateCal.set(Calendar.MILLISECOND, 0);
+        TimeZone zone = TimeZone.getDefault();
+        int today = EventDayIndex.epochDay(System.currentTimeMillis(), zone);
+        int eventDay = EventDayIndex.epochDay(eventDate.getTime(), zone);
+        return eventDay >= firstDay(today) && eventDay <= lastDay(today);
+    }
 
+    /**
+     * First day the filter accepts.
+     *
+     * @param today today's epoch day
+     * @return the first epoch day accepted, inclusive
+     */
+    public int firstDay(int today) {
         switch (this) {
             case TODAY:
-                return isSameDay(currentDateCal, eventDateCal);
-
-            case TOMORROW:
-                Calendar tomorrow = (Calendar) currentDateCal.clone();
-                tomorrow.add(Calendar.DAY_OF_MONTH, 1);
-                return isSameDay(tomorrow, eventDateCal);
-
             case WITHIN_7_DAYS:
-                Calendar sevenDaysLater = (Calendar) currentDateCal.clone();
-                sevenDaysLater.add(Calendar.DAY_OF_MONTH, 7);
-                return isWithinRange(eventDateCal, currentDateCal, sevenDaysLater);
-
             case WITHIN_14_DAYS:
-                Calendar fourteenDaysLater = (Calendar) currentDateCal.clone();
-                fourteenDaysLater.add(Calendar.DAY_OF_MONTH, 14);
-                return isWithinRange(eventDateCal, currentDateCal, fourteenDaysLater);
-
+                return today;
+            case TOMORROW:
+                return today + 1;
             case THIS_MONTH:
-                return currentDateCal.get(Calendar.MONTH) == eventDateCal.get(Calendar.MONTH) && currentDateCal.get(Calendar.YEAR) == eventDateCal.get(Calendar.YEAR);
-
+                return (int) LocalDate.ofEpochDay(today).withDayOfMonth(1).toEpochDay();
             default:
-                return true;
+                return Integer.MIN_VALUE;
         }
     }
-    /**
-     * used to compare current date with event date
-     */
-
-    private boolean isSameDay(Calendar cal1, Calendar cal2) {
-        return cal1.get(Calendar.YEAR) == cal2.get(Calendar.YEAR) && cal1.get(Calendar.DAY_OF_YEAR) == cal2.get(Calendar.DAY_OF_YEAR);
-    }
 
     /**
-     * used for checking ranges of dates
+     * Last day the filter accepts.
+     *
+     * @param today today's epoch day
+     * @return the last epoch day accepted, inclusive
      */
-    private boolean isWithinRange(Calendar eventDate, Calendar start, Calendar end) {
-        boolean isAfterOrEqualToStart = eventDate.equals(start) || eventDate.after(start);
-        boolean isBeforeOrEqualToEnd = eventDate.equals(end) || eventDate.before(end);
-        return isAfterOrEqualToStart && isBeforeOrEqualToEnd;
+    public int lastDay(int today) {
+        switch (this) {
+            case TODAY:
+                return today;
+            case TOMORROW:
+                return today + 1;
+            case WITHIN_7_DAYS:
+                return today + 7;
+            case WITHIN_14_DAYS:
+                return today + 14;
+            case THIS_MONTH:
+                LocalDate date = LocalDate.ofEpochDay(today);
+                return (int) date.withDayOfMonth(date.lengthOfMonth()).toEpochDay();
+            default:
+                return Integer.MAX_VALUE;
+        }
     }
-}
\ No newline at end of file
+}
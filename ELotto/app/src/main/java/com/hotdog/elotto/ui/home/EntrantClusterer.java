@@ -0,0 +1,250 @@
+package com.hotdog.elotto.ui.home;
+
+import androidx.annotation.NonNull;
+
+import com.hotdog.elotto.repository.Geohash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups entrant locations into clusters on a square grid, so a map shows one marker per
+ * crowded area instead of one per entrant.
+ *
+ * <p>The grid is laid over the map's Web Mercator projection with cells of about
+ * {@link #CELL_DP} on screen at the current whole zoom level, anchored to the world rather than
+ * the viewport, so panning never moves an entrant into a different cluster. Each cluster is
+ * placed at the centre of its entrants. Only clusters with an entrant in the visible area are
+ * returned, so a marker is made for what is on screen and nothing else.</p>
+ *
+ * <p>A cluster's {@link Cluster#getKey() key} stays the same while its cell and size do, and
+ * a lone entrant's stays the same at every zoom level, so the caller can keep markers whose
+ * key is unchanged and replace the rest.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class EntrantClusterer {
+
+    /**
+     * Width and height of a grid cell on screen, in density-independent pixels.
+     */
+    static final int CELL_DP = 64;
+
+    /**
+     * Width of the whole world at zoom level 0, in density-independent pixels.
+     */
+    private static final int WORLD_DP = 256;
+
+    /**
+     * Furthest latitude the map projection shows.
+     */
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    /**
+     * Projected position of each entrant, by user ID: {latitude, longitude, x, y} with x and y
+     * in [0, 1].
+     */
+    private final Map<String, double[]> points = new LinkedHashMap<>();
+
+    /**
+     * A group of entrants shown as one marker.
+     */
+    public static final class Cluster {
+        private final String key;
+        private final double latitude;
+        private final double longitude;
+        private final List<String> ids;
+        private final double south;
+        private final double west;
+        private final double north;
+        private final double east;
+
+        Cluster(String key, double latitude, double longitude, List<String> ids,
+                double south, double west, double north, double east) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.ids = Collections.unmodifiableList(ids);
+            this.south = south;
+            this.west = west;
+            this.north = north;
+            this.east = east;
+        }
+
+        /**
+         * @return A key that is unchanged while the cluster's cell and size are.
+         */
+        @NonNull
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return The latitude of the cluster's centre.
+         */
+        public double getLatitude() {
+            return latitude;
+        }
+
+        /**
+         * @return The longitude of the cluster's centre.
+         */
+        public double getLongitude() {
+            return longitude;
+        }
+
+        /**
+         * @return The user IDs of the entrants in the cluster.
+         */
+        @NonNull
+        public List<String> getIds() {
+            return ids;
+        }
+
+        /**
+         * @return The number of entrants in the cluster.
+         */
+        public int getSize() {
+            return ids.size();
+        }
+
+        /**
+         * @return True if the cluster is a single entrant.
+         */
+        public boolean isSingle() {
+            return ids.size() == 1;
+        }
+
+        /**
+         * @return The southernmost entrant's latitude.
+         */
+        public double getSouth() {
+            return south;
+        }
+
+        /**
+         * @return The westernmost entrant's longitude.
+         */
+        public double getWest() {
+            return west;
+        }
+
+        /**
+         * @return The northernmost entrant's latitude.
+         */
+        public double getNorth() {
+            return north;
+        }
+
+        /**
+         * @return The easternmost entrant's longitude.
+         */
+        public double getEast() {
+            return east;
+        }
+    }
+
+    /**
+     * Adds an entrant, or moves one already added.
+     *
+     * @param id        the entrant's user ID
+     * @param latitude  where they are
+     * @param longitude where they are
+     * @return True if the entrant was not already at that position.
+     */
+    public boolean add(@NonNull String id, double latitude, double longitude) {
+        double[] old = points.get(id);
+        if (old != null && old[0] == latitude && old[1] == longitude) return false;
+        points.put(id, new double[]{latitude, longitude, projectX(longitude), projectY(latitude)});
+        return true;
+    }
+
+    /**
+     * @return The number of entrants added.
+     */
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Clusters the entrants for a view of the map.
+     *
+     * @param south the southern latitude of the view
+     * @param west  the western longitude of the view; east of {@code east} across the antimeridian
+     * @param north the northern latitude of the view
+     * @param east  the eastern longitude of the view
+     * @param zoom  the map's zoom level
+     * @return the clusters with at least one entrant in view, in the order their first entrant
+     * was added
+     */
+    @NonNull
+    public List<Cluster> cluster(double south, double west, double north, double east, float zoom) {
+        int level = Math.max(0, (int) Math.floor(zoom));
+        double cellSize = (double) CELL_DP / WORLD_DP / Math.pow(2, level);
+
+        Map<String, List<Map.Entry<String, double[]>>> cells = new LinkedHashMap<>();
+        Set<String> visible = new HashSet<>();
+        for (Map.Entry<String, double[]> entry : points.entrySet()) {
+            double[] point = entry.getValue();
+            String cell = level + ":" + (long) Math.floor(point[2] / cellSize)
+                    + ":" + (long) Math.floor(point[3] / cellSize);
+            cells.computeIfAbsent(cell, key -> new ArrayList<>()).add(entry);
+            if (Geohash.inBounds(point[0], point[1], south, west, north, east)) {
+                visible.add(cell);
+            }
+        }
+
+        List<Cluster> clusters = new ArrayList<>();
+        for (Map.Entry<String, List<Map.Entry<String, double[]>>> cell : cells.entrySet()) {
+            if (!visible.contains(cell.getKey())) continue;
+            clusters.add(toCluster(cell.getKey(), cell.getValue()));
+        }
+        return clusters;
+    }
+
+    private static Cluster toCluster(String cell, List<Map.Entry<String, double[]>> members) {
+        List<String> ids = new ArrayList<>(members.size());
+        double x = 0, y = 0;
+        double south = 90, west = 180, north = -90, east = -180;
+        for (Map.Entry<String, double[]> member : members) {
+            double[] point = member.getValue();
+            ids.add(member.getKey());
+            x += point[2];
+            y += point[3];
+            south = Math.min(south, point[0]);
+            north = Math.max(north, point[0]);
+            west = Math.min(west, point[1]);
+            east = Math.max(east, point[1]);
+        }
+        if (ids.size() == 1) {
+            double[] point = members.get(0).getValue();
+            return new Cluster("entrant:" + ids.get(0), point[0], point[1], ids, south, west, north, east);
+        }
+        // Cells never cross the antimeridian, so averaging the projected position is safe
+        x /= ids.size();
+        y /= ids.size();
+        return new Cluster(cell + "#" + ids.size(), unprojectY(y), x * 360 - 180, ids, south, west, north, east);
+    }
+
+    private static double projectX(double longitude) {
+        // Longitude 180 is the same place as -180, so keep it in the last column
+        return Math.min(Math.nextDown(1.0), Math.max(0, (longitude + 180) / 360));
+    }
+
+    private static double projectY(double latitude) {
+        double sin = Math.sin(Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude))));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    private static double unprojectY(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+}
@@ -9,6 +9,7 @@ import android.os.Bundle;
 import android.text.Editable;
 import android.text.InputFilter;
 import android.text.Spanned;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.view.View;
 import android.widget.AdapterView;
@@ -37,6 +38,7 @@ import com.google.android.gms.tasks.Tasks;
 import com.google.android.libraries.places.api.model.AutocompletePrediction;
 import com.google.android.libraries.places.api.model.AutocompleteSessionToken;
 import com.google.android.libraries.places.api.model.Place;
+import com.google.android.libraries.places.api.net.FetchPlaceRequest;
 import com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest;
 import com.google.android.libraries.places.api.net.FindAutocompletePredictionsResponse;
 import com.google.android.libraries.places.api.net.PlacesClient;
@@ -49,6 +51,7 @@ import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
 import com.google.android.material.timepicker.MaterialTimePicker;
 import com.google.android.material.timepicker.TimeFormat;
+import com.google.firebase.firestore.GeoPoint;
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.controller.EventCreationController;
@@ -69,10 +72,12 @@ import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -121,6 +126,10 @@ public class EventCreationView extends AppCompatActivity {
     private PlacesClient client;
     private AutocompleteSessionToken token;
     private PlaceAutoSuggestAdapter placeAutoSuggestAdapter;
+    // Place ID of each suggestion shown, filled in on the filter thread
+    private final Map<String, String> suggestionPlaceIds = new ConcurrentHashMap<>();
+    // Coordinates of the picked place, null once the address is edited by hand
+    private GeoPoint locationCoordinates;
     Organizer organizer;
 
     private static class DecimalInputFilter implements InputFilter {
@@ -494,6 +503,21 @@ public class EventCreationView extends AppCompatActivity {
             String selectedAddress = placeAutoSuggestAdapter.getItem(position);
             locationLayout.setError(null);
             locationInput.setText(selectedAddress);
+            fetchCoordinates(selectedAddress);
+        });
+
+        // Typed addresses have no coordinates
+        locationInput.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                locationCoordinates = null;
+            }
         });
 
         // Event needs some address, but custom is allowed too
@@ -508,6 +532,30 @@ public class EventCreationView extends AppCompatActivity {
         });
     }
 
+    /**
+     * Looks up the coordinates of a picked suggestion, so the event can be found by area.
+     * Ignored if the address has been changed again by the time they arrive.
+     *
+     * @param address the suggestion's text
+     */
+    private void fetchCoordinates(String address) {
+        String placeId = suggestionPlaceIds.get(address);
+        if (placeId == null) return;
+        FetchPlaceRequest request = FetchPlaceRequest.builder(placeId, Collections.singletonList(Place.Field.LOCATION))
+                .setSessionToken(token)
+                .build();
+        client.fetchPlace(request)
+                .addOnSuccessListener(response -> {
+                    com.google.android.gms.maps.model.LatLng point = response.getPlace().getLocation();
+                    if (point != null && address.equals(locationInput.getText().toString())) {
+                        locationCoordinates = new GeoPoint(point.latitude, point.longitude);
+                    }
+                })
+                .addOnFailureListener(e -> Log.e("PlaceAdapter", "Error fetching place location", e));
+        // A place lookup ends the autocomplete session
+        token = AutocompleteSessionToken.newInstance();
+    }
+
     private class PlaceAutoSuggestAdapter extends ArrayAdapter<String> implements Filterable {
         private List<String> resultList = new ArrayList<>();
 
@@ -572,7 +620,9 @@ public class EventCreationView extends AppCompatActivity {
 
                 if (response != null) {
                     for (AutocompletePrediction prediction : response.getAutocompletePredictions()) {
-                        resultStrings.add(prediction.getFullText(null).toString());
+                        String text = prediction.getFullText(null).toString();
+                        resultStrings.add(text);
+                        suggestionPlaceIds.put(text, prediction.getPlaceId());
                     }
                 }
             } catch (Exception e) {
@@ -710,6 +760,7 @@ public class EventCreationView extends AppCompatActivity {
             return;
         }
         EventCreationController controller = new EventCreationController(this);
+        controller.setCoordinates(locationCoordinates);
         String encodedString = controller.EncodeImage(selectedBannerUri);
         int maxFirestoreSize = 900000;
         int encodedSize = encodedString.getBytes().length;
@@ -817,6 +868,7 @@ public class EventCreationView extends AppCompatActivity {
                 if (event.getLocation() != null) {
                     locationInput.setText(event.getLocation());
                 }
+                locationCoordinates = event.getCoordinates();
 
                 // Set event price
                 eventPriceInput.setText(String.valueOf(event.getPrice()));
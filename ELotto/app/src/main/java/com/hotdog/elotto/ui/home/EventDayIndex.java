@@ -0,0 +1,197 @@
+package com.hotdog.elotto.ui.home;
+
+import androidx.annotation.NonNull;
+
+import com.hotdog.elotto.model.Event;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * The feed's dated events sorted by the local day they happen on, so day, date-filter and
+ * month queries are binary-searched slices instead of scans.
+ *
+ * <p>Each event's day is worked out once, as an epoch-day number (days since 1970-01-01 in
+ * the device's time zone). Queries then compare only those numbers: {@link #count} does not
+ * allocate at all and the list queries allocate a fixed-size view, however many events there
+ * are. Events on the same day keep their feed order. Events without a date are left out,
+ * as the calendar has nowhere to show them.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class EventDayIndex {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private final Event[] events;
+    private final int[] days;
+
+    /**
+     * Indexes events in the device's time zone.
+     *
+     * @param events the feed, in display order
+     */
+    public EventDayIndex(@NonNull List<Event> events) {
+        this(events, TimeZone.getDefault());
+    }
+
+    /**
+     * Indexes events in a given time zone.
+     *
+     * @param events the feed, in display order
+     * @param zone   the zone whose days events are grouped by
+     */
+    public EventDayIndex(@NonNull List<Event> events, @NonNull TimeZone zone) {
+        // Sort (day, feed position) pairs packed into longs, so sorting needs no boxing
+        long[] keys = new long[events.size()];
+        int n = 0;
+        for (int i = 0; i < events.size(); i++) {
+            Date date = events.get(i).getEventDateTime();
+            if (date == null) continue;
+            keys[n++] = ((long) epochDay(date.getTime(), zone) << 32) | i;
+        }
+        Arrays.sort(keys, 0, n);
+
+        this.events = new Event[n];
+        this.days = new int[n];
+        for (int i = 0; i < n; i++) {
+            days[i] = (int) (keys[i] >> 32);
+            this.events[i] = events.get((int) keys[i]);
+        }
+    }
+
+    /**
+     * Converts a time to its local day number.
+     *
+     * @param millis the time, in milliseconds since the epoch
+     * @param zone   the zone whose days to count
+     * @return the number of days since 1970-01-01 in that zone
+     */
+    public static int epochDay(long millis, @NonNull TimeZone zone) {
+        return (int) Math.floorDiv(millis + zone.getOffset(millis), DAY_MILLIS);
+    }
+
+    /**
+     * @param date a time
+     * @return its day number in the device's time zone
+     */
+    public static int epochDay(@NonNull Date date) {
+        return epochDay(date.getTime(), TimeZone.getDefault());
+    }
+
+    /**
+     * @return today's day number in the device's time zone
+     */
+    public static int today() {
+        return epochDay(System.currentTimeMillis(), TimeZone.getDefault());
+    }
+
+    /**
+     * @return the number of dated events indexed
+     */
+    public int size() {
+        return events.length;
+    }
+
+    /**
+     * Counts the events between two days.
+     *
+     * @param firstDay the first day, inclusive
+     * @param lastDay  the last day, inclusive
+     * @return the number of events on those days
+     */
+    public int count(int firstDay, int lastDay) {
+        if (firstDay > lastDay) return 0;
+        return lowerBound(lastDay + 1L) - lowerBound(firstDay);
+    }
+
+    /**
+     * Counts the events on each of a run of days, such as the days of a month.
+     *
+     * @param firstDay the first day
+     * @param days     the number of days
+     * @return the count for each day, starting with {@code firstDay}
+     */
+    @NonNull
+    public int[] dayCounts(int firstDay, int days) {
+        int[] counts = new int[days];
+        int from = lowerBound(firstDay);
+        for (int d = 0; d < days; d++) {
+            int to = lowerBound(firstDay + d + 1L);
+            counts[d] = to - from;
+            from = to;
+        }
+        return counts;
+    }
+
+    /**
+     * Lists the events between two days.
+     *
+     * @param firstDay the first day, inclusive
+     * @param lastDay  the last day, inclusive
+     * @return a read-only view of those events, by day then feed order
+     */
+    @NonNull
+    public List<Event> between(int firstDay, int lastDay) {
+        if (firstDay > lastDay) return Collections.emptyList();
+        return Collections.unmodifiableList(
+                Arrays.asList(events).subList(lowerBound(firstDay), lowerBound(lastDay + 1L)));
+    }
+
+    /**
+     * @param day a day number
+     * @return a read-only view of the events on that day, in feed order
+     */
+    @NonNull
+    public List<Event> onDay(int day) {
+        return between(day, day);
+    }
+
+    /**
+     * @param year  the year
+     * @param month the month, 0-based as in {@link java.util.Calendar#MONTH}
+     * @return a read-only view of the events in that month, by day
+     */
+    @NonNull
+    public List<Event> inMonth(int year, int month) {
+        LocalDate first = LocalDate.of(year, month + 1, 1);
+        int firstDay = (int) first.toEpochDay();
+        return between(firstDay, firstDay + first.lengthOfMonth() - 1);
+    }
+
+    /**
+     * @param filter a date filter
+     * @param today  today's day number
+     * @return a read-only view of the dated events the filter accepts, by day
+     */
+    @NonNull
+    public List<Event> matching(@NonNull DateFilter filter, int today) {
+        if (filter == DateFilter.ALL_DATES) return Collections.unmodifiableList(Arrays.asList(events));
+        return between(filter.firstDay(today), filter.lastDay(today));
+    }
+
+    /**
+     * Finds the first event on or after a day. Takes a long so {@code lastDay + 1} cannot
+     * overflow for the open-ended bounds of {@link DateFilter#ALL_DATES}.
+     */
+    private int lowerBound(long day) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
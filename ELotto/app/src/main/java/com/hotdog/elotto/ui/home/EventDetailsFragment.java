@@ -28,11 +28,15 @@ import androidx.navigation.fragment.NavHostFragment;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.firestore.GeoPoint;
 import com.hotdog.elotto.R;
-import com.hotdog.elotto.callback.OperationCallback;
+import com.hotdog.elotto.callback.FirestoreCallback;
+import com.hotdog.elotto.controller.CachedLocationProvider;
 import com.hotdog.elotto.controller.LocationController;
 import com.hotdog.elotto.model.Event;
+import com.hotdog.elotto.model.EventSummary;
 import com.hotdog.elotto.model.User;
 import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventStore;
+import com.hotdog.elotto.repository.ReadPolicy;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -72,10 +76,20 @@ import java.util.function.Consumer;
 public class EventDetailsFragment extends Fragment {
 
     /**
-     * The event being displayed in this fragment.
+     * The event being displayed in this fragment, resolved from {@link #eventId}.
      */
     private Event event;
 
+    /**
+     * ID of the event passed through the navigation arguments.
+     */
+    private String eventId;
+
+    /**
+     * Compact summary passed alongside the ID, shown while the full event resolves.
+     */
+    private EventSummary summary;
+
     /**
      * The currently logged-in user viewing the event.
      */
@@ -197,19 +211,23 @@ public class EventDetailsFragment extends Fragment {
     private String status;
     private boolean locationGranted = false;
 
+    /**
+     * Whether the geolocation warning was already shown, since the event may render twice.
+     */
+    private boolean geolocationNoticeShown = false;
+
 
     public static EventDetailsFragment newInstance(Event event) {
         EventDetailsFragment fragment = new EventDetailsFragment();
-        Bundle args = new Bundle();
-        args.putSerializable("event", event);
-        fragment.setArguments(args);
+        fragment.setArguments(EventStore.getInstance().buildArgs(event));
         return fragment;
     }
 
     /**
      * Called to do initial creation of the fragment.
      *
-     * <p>Retrieves the event object from arguments if present.</p>
+     * <p>Reads the event ID and summary from arguments. The full event is resolved
+     * once the view exists.</p>
      *
      * @param savedInstanceState the previously saved state of the fragment
      */
@@ -217,19 +235,14 @@ public class EventDetailsFragment extends Fragment {
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         if (getArguments() != null) {
-            event = (Event) getArguments().getSerializable("event");
+            eventId = getArguments().getString(EventStore.ARG_EVENT_ID);
+            summary = EventStore.getSummary(getArguments());
+            if (eventId == null && summary != null) {
+                eventId = summary.getId();
+            }
         }
 
-
         currentUser = new User(requireContext());
-        if(event.isGeolocationRequired()){
-            new android.app.AlertDialog.Builder(requireContext())
-                    .setTitle("Location Required")
-                    .setMessage("This event requires location sharing to be enabled to join the waitlist.")
-                    .setCancelable(false)
-                    .setPositiveButton("OK", (dialog, which) -> dialog.dismiss())
-                    .show();
-        }
     }
 
     @Nullable
@@ -239,18 +252,90 @@ public class EventDetailsFragment extends Fragment {
 
         View view = inflater.inflate(R.layout.fragment_event_details, container, false);
         viewRef = view;
+        initializeViews(view);
+        populateSummary();
         currentUser = new User(requireContext(), new Consumer<User>() {
             @Override
             public void accept(User user) {
-                initializeViews(view);
-                populateEventData(user);
-                setupListeners(user);
+                // Render the cached event right away, then patch in the server copy
+                EventStore.getInstance().resolve(eventId, ReadPolicy.CACHE_THEN_SERVER,
+                        new FirestoreCallback<Event>() {
+                            @Override
+                            public void onSuccess(Event result) {
+                                if (!isAdded()) return;
+                                event = result;
+                                showGeolocationNotice();
+                                populateEventData(user);
+                            }
+
+                            @Override
+                            public void onError(String errorMessage) {}
+                        },
+                        new FirestoreCallback<Event>() {
+                            @Override
+                            public void onSuccess(Event result) {
+                                if (!isAdded()) return;
+                                event = result;
+                                showGeolocationNotice();
+                                reconcileRegistration(user);
+                                populateEventData(user);
+                                setupListeners(user);
+                            }
+
+                            @Override
+                            public void onError(String errorMessage) {
+                                if (!isAdded()) return;
+                                if (event != null) {
+                                    // Keep showing the cached copy, it is better than nothing
+                                    Toast.makeText(getContext(), "Showing saved event details", Toast.LENGTH_SHORT).show();
+                                    setupListeners(user);
+                                    return;
+                                }
+                                Toast.makeText(getContext(), "Error loading event", Toast.LENGTH_SHORT).show();
+                                NavHostFragment.findNavController(EventDetailsFragment.this).navigateUp();
+                            }
+                        });
             }
         });
 
         return view;
     }
 
+    /**
+     * Shows the lightweight summary passed through navigation while the full event loads.
+     */
+    private void populateSummary() {
+        if (summary == null) return;
+
+        eventTitleTextView.setText(summary.getName());
+        eventLocationTextView.setText(summary.getLocation());
+        if (summary.getEventDateTime() != null) {
+            SimpleDateFormat dateFormat = new SimpleDateFormat("EEEE, MMMM dd", Locale.getDefault());
+            eventDateTextView.setText(dateFormat.format(summary.getEventDateTime()));
+            SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm", Locale.getDefault());
+            eventTimeTextView.setText(timeFormat.format(summary.getEventDateTime()));
+        }
+    }
+
+    /**
+     * Warns the user up front when the event requires location sharing to join.
+     */
+    private void showGeolocationNotice() {
+        if (event == null || !event.isGeolocationRequired() || geolocationNoticeShown) return;
+        geolocationNoticeShown = true;
+        // Start on the location now so joining doesn't wait for a fix
+        if (locationPermission()) {
+            CachedLocationProvider.getInstance(requireContext()).prefetch();
+        }
+
+        new android.app.AlertDialog.Builder(requireContext())
+                .setTitle("Location Required")
+                .setMessage("This event requires location sharing to be enabled to join the waitlist.")
+                .setCancelable(false)
+                .setPositiveButton("OK", (dialog, which) -> dialog.dismiss())
+                .show();
+    }
+
     /**
      * Initializes all view components by binding them to their IDs.
      *
@@ -281,20 +366,17 @@ public class EventDetailsFragment extends Fragment {
     }
 
     /**
-     * Populates all event data into the UI components.
+     * Repairs a mismatch between the user's registered events and the event's waiting list.
      *
-     * <p>Displays event title, date (formatted as "EEEE, MMMM dd"), time (formatted as
-     * "HH:mm"), location, entries count, registration end date, lottery drawn
-     * date (currently hardcoded), and description. Loads the event poster image and
-     * updates UI based on user status.</p>
+     * <p>Only called with the server copy of the event, since acting on a stale cached
+     * waiting list could undo a registration.</p>
      *
      * @param user the current user viewing the event
      */
-    private void populateEventData(User user) {
+    private void reconcileRegistration(User user) {
         if (event == null)
             return;
 
-        status = getUserStatus(user);
         List<String> entrantIds = event.getWaitlistEntrantIds();
         if(entrantIds == null) entrantIds=new ArrayList<>();
         if (user.findRegEvent(event.getId()) && !entrantIds.contains(user.getId())) {
@@ -302,15 +384,25 @@ public class EventDetailsFragment extends Fragment {
         } else if (!user.findRegEvent(event.getId()) && entrantIds.contains(user.getId())) {
             entrantIds.remove(user.getId());
             event.setWaitlistEntrantIds(entrantIds);
-            EventRepository eventRepo = new EventRepository();
-            eventRepo.updateEvent(event, new OperationCallback() {
-                @Override
-                public void onSuccess() {}
-
-                @Override
-                public void onError(String errorMessage) {}
-            });
+            new EventRepository().enqueueLeaveWaitlist(event.getId(), user.getId());
         }
+    }
+
+    /**
+     * Populates all event data into the UI components.
+     *
+     * <p>Displays event title, date (formatted as "EEEE, MMMM dd"), time (formatted as
+     * "HH:mm"), location, entries count, registration end date, lottery drawn
+     * date (currently hardcoded), and description. Loads the event poster image and
+     * updates UI based on user status.</p>
+     *
+     * @param user the current user viewing the event
+     */
+    private void populateEventData(User user) {
+        if (event == null)
+            return;
+
+        status = getUserStatus(user);
 
         // Set title
         eventTitleTextView.setText(event.getName());
@@ -531,8 +623,7 @@ public class EventDetailsFragment extends Fragment {
 
         try {
             if (event.isGeolocationRequired() && locationGranted) {
-                LocationController locationController = new LocationController(getContext());
-                locationController.getLatLon(new LocationController.LocationCallBack() {
+                CachedLocationProvider.getInstance(requireContext()).getLatLon(new LocationController.LocationCallBack() {
                     @Override
                     public void onLocationReady(double lat, double lon) {
                         if (Double.isNaN(lat) || Double.isNaN(lon)) {
@@ -543,39 +634,12 @@ public class EventDetailsFragment extends Fragment {
                             return;
                         }
 
-                        event.setEntrantLocations(userId, new GeoPoint(lat, lon));
-
-                        List<String> waitlistIds = event.getWaitlistEntrantIds();
-                        if (waitlistIds == null) {
-                            waitlistIds = new ArrayList<>();
-                        }
-                        if (!waitlistIds.contains(userId)) {
-                            waitlistIds.add(userId);
-                        }
-                        event.setWaitlistEntrantIds(waitlistIds);
-
-                        EventRepository eventRepository = new EventRepository();
-                        eventRepository.updateEvent(event, new OperationCallback() {
-                            @Override
-                            public void onSuccess() {
-                                Toast.makeText(getContext(),
-                                        "Successfully joined waitlist for " + event.getName(),
-                                        Toast.LENGTH_SHORT).show();
-                                // Only add reg event if it successfully added to firestore
-                                currentUser.addRegEvent(event.getId());
-                                updateUIBasedOnStatus(currentUser);
-
-                                int currentEntries = event.getCurrentEntrantsCount();
-                                int maxEntries = event.getMaxEntrants();
-                                entriesCountTextView.setText(currentEntries + " of " + maxEntries);
-                            }
+                        GeoPoint location = new GeoPoint(lat, lon);
+                        event.setEntrantLocations(userId, location);
+                        addToLocalWaitlist(userId);
 
-                            @Override
-                            public void onError(String errorMessage) {
-                                showDialogPerStatus("ERROR JOIN");
-                                updateUIBasedOnStatus(null);
-                            }
-                        });
+                        new EventRepository().enqueueJoinWaitlist(event.getId(), userId, location);
+                        onJoinedWaitlist();
                     }
                 });
             }
@@ -587,40 +651,10 @@ public class EventDetailsFragment extends Fragment {
                 buttonState(null);
             } else {
                 // Non-geolocation events
-                List<String> waitlistIds = event.getWaitlistEntrantIds();
-                if (waitlistIds == null) {
-                    waitlistIds = new ArrayList<>();
-                }
-                if (!waitlistIds.contains(userId)) {
-                    waitlistIds.add(userId);
-                }
-                event.setWaitlistEntrantIds(waitlistIds);
-
-                EventRepository eventRepository = new EventRepository();
-                eventRepository.updateEvent(event, new OperationCallback() {
-                    @Override
-                    public void onSuccess() {
-                        Toast.makeText(getContext(),
-                                "Successfully joined waitlist for " + event.getName(),
-                                Toast.LENGTH_SHORT).show();
-                        // Only add reg event if it successfully added to firestore
-                        currentUser.addRegEvent(event.getId());
-                        updateUIBasedOnStatus(currentUser); // ADD THIS LINE
-
-                        int currentEntries = event.getCurrentEntrantsCount();
-                        int maxEntries = event.getMaxEntrants();
-                        entriesCountTextView.setText(currentEntries + " of " + maxEntries);
-                    }
+                addToLocalWaitlist(userId);
 
-                    @Override
-                    public void onError(String errorMessage) {
-                        Toast.makeText(getContext(),
-                                "Error joining waitlist: " + errorMessage,
-                                Toast.LENGTH_SHORT).show();
-                        buttonState(null);
-                        showDialogPerStatus("ERROR JOIN");
-                    }
-                });
+                new EventRepository().enqueueJoinWaitlist(event.getId(), userId, null);
+                onJoinedWaitlist();
             }
 
         } catch (Exception e) {
@@ -635,6 +669,40 @@ public class EventDetailsFragment extends Fragment {
     }
 
 
+    /**
+     * Adds the user to the waiting list of the local event copy so the UI reflects the
+     * join before the queued write reaches Firestore.
+     *
+     * @param userId the joining user's ID
+     */
+    private void addToLocalWaitlist(String userId) {
+        List<String> waitlistIds = event.getWaitlistEntrantIds();
+        if (waitlistIds == null) {
+            waitlistIds = new ArrayList<>();
+        }
+        if (!waitlistIds.contains(userId)) {
+            waitlistIds.add(userId);
+        }
+        event.setWaitlistEntrantIds(waitlistIds);
+    }
+
+    /**
+     * Updates the UI once a join has been queued. The join is durable at this point, the
+     * outbox delivers it to Firestore even if the app is closed or offline.
+     */
+    private void onJoinedWaitlist() {
+        if (!isAdded()) return;
+        Toast.makeText(getContext(),
+                "Successfully joined waitlist for " + event.getName(),
+                Toast.LENGTH_SHORT).show();
+        currentUser.addRegEvent(event.getId());
+        updateUIBasedOnStatus(currentUser);
+
+        int currentEntries = event.getCurrentEntrantsCount();
+        int maxEntries = event.getMaxEntrants();
+        entriesCountTextView.setText(currentEntries + " of " + maxEntries);
+    }
+
     /**
      * Initiates the waitlist leave process by showing a confirmation dialog.
      *
@@ -662,8 +730,8 @@ public class EventDetailsFragment extends Fragment {
      *     <li>Disables buttons to prevent double-clicks</li>
      *     <li>Removes event from user's registered events</li>
      *     <li>Removes user ID from event's waitlist</li>
-     *     <li>Updates event in Firestore</li>
-     *     <li>On success: updates UI and shows success message</li>
+     *     <li>Queues the removal in the write outbox</li>
+     *     <li>Updates UI and shows success message</li>
      *     <li>On error: rolls back changes and displays error message</li>
      * </ol>
      *
@@ -694,30 +762,16 @@ public class EventDetailsFragment extends Fragment {
                 event.getEntrantLocations().remove(userId);
             }
 
-            EventRepository eventRepository = new EventRepository();
-            eventRepository.updateEvent(event, new OperationCallback() {
-                @Override
-                public void onSuccess() {
-                    Toast.makeText(getContext(), "Successfully left waitlist for " + event.getName(),
-                            Toast.LENGTH_SHORT).show();
-                    updateUIBasedOnStatus(currentUser);
-
-                    int currentEntries = event.getCurrentEntrantsCount();
-                    int maxEntries = event.getMaxEntrants();
-                    entriesCountTextView.setText(currentEntries + " of " + maxEntries);
-                }
-
-                @Override
-                public void onError(String errorMessage) {
-                    // Rollback: Add event back to user's registered events
-                    currentUser.addRegEvent(event.getId());
-
-                    showDialogPerStatus("ERROR LEAVE");
-
-                    // Re-enable buttons
-                    buttonState(status);
-                }
-            });
+            // Queued durably, the outbox delivers it even if the app is closed or offline
+            new EventRepository().enqueueLeaveWaitlist(event.getId(), userId);
+
+            Toast.makeText(getContext(), "Successfully left waitlist for " + event.getName(),
+                    Toast.LENGTH_SHORT).show();
+            updateUIBasedOnStatus(currentUser);
+
+            int currentEntries = event.getCurrentEntrantsCount();
+            int maxEntries = event.getMaxEntrants();
+            entriesCountTextView.setText(currentEntries + " of " + maxEntries);
         } catch (Exception e) {
             // Rollback
             currentUser.addRegEvent(event.getId());
@@ -0,0 +1,321 @@
+package com.hotdog.elotto.ui.home;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hotdog.elotto.model.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * The home feed encoded for the filter dialog: each event's interest tags as a bitmask and
+ * the date filters it matches as a second bitmask, both worked out once when the feed loads.
+ *
+ * <p>Filtering is then two bitwise tests per event. For the dialog's live counts, events are
+ * also grouped by tag mask, with the number of events in each group matching each date
+ * filter. The feed uses only a handful of tag combinations, so {@link Facets} updates its
+ * counts from these groups as checkboxes toggle instead of re-filtering the feed.</p>
+ *
+ * <p>Date filters are epoch-day ranges relative to the day the index was built;
+ * {@link #isCurrent()} tells when it needs rebuilding.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class EventFilterIndex {
+
+    /**
+     * The interest tags events can be filtered by, in display order. Bit {@code i} of a tag
+     * mask stands for {@code TAGS.get(i)}.
+     */
+    public static final List<String> TAGS = Collections.unmodifiableList(Arrays.asList(
+            "Music",
+            "Sports",
+            "Technology",
+            "Art",
+            "Food",
+            "Business",
+            "Health & Wellness",
+            "Networking"
+    ));
+
+    private static final DateFilter[] DATE_FILTERS = DateFilter.values();
+
+    /**
+     * Date mask of an event without a date, which every filter accepts as in
+     * {@link DateFilter#matchesFilter}.
+     */
+    private static final int ALL_FILTERS = (1 << DATE_FILTERS.length) - 1;
+
+    private final List<Event> events;
+    private final long[] tagMasks;
+    private final int[] dateMasks;
+    private final int builtDay;
+
+    /**
+     * Events per tag mask, counted per date filter (indexed by ordinal).
+     */
+    private final Map<Long, int[]> groups = new LinkedHashMap<>();
+
+    /**
+     * Events per tag mask, in feed order.
+     */
+    private final Map<Long, List<Event>> members = new LinkedHashMap<>();
+
+    /**
+     * Events per tag (by bit) per date filter (by ordinal).
+     */
+    private final int[][] tagCounts = new int[TAGS.size()][DATE_FILTERS.length];
+
+    /**
+     * Events per date filter (by ordinal).
+     */
+    private final int[] dateCounts = new int[DATE_FILTERS.length];
+
+    /**
+     * Indexes the feed relative to today.
+     *
+     * @param events the feed, in display order
+     */
+    public EventFilterIndex(@NonNull List<Event> events) {
+        this(events, new Date());
+    }
+
+    /**
+     * Indexes the feed relative to the day of {@code now}.
+     *
+     * @param events the feed, in display order
+     * @param now    the current time
+     */
+    public EventFilterIndex(@NonNull List<Event> events, @NonNull Date now) {
+        this.events = new ArrayList<>(events);
+        this.tagMasks = new long[events.size()];
+        this.dateMasks = new int[events.size()];
+
+        TimeZone zone = TimeZone.getDefault();
+        int today = EventDayIndex.epochDay(now.getTime(), zone);
+        this.builtDay = today;
+
+        // Every filter's day range, worked out once for the whole feed
+        int[] firstDays = new int[DATE_FILTERS.length];
+        int[] lastDays = new int[DATE_FILTERS.length];
+        for (DateFilter filter : DATE_FILTERS) {
+            firstDays[filter.ordinal()] = filter.firstDay(today);
+            lastDays[filter.ordinal()] = filter.lastDay(today);
+        }
+
+        for (int i = 0; i < this.events.size(); i++) {
+            Event event = this.events.get(i);
+            long tagMask = maskOf(event.getTagList());
+            Date date = event.getEventDateTime();
+            int dateMask = date == null ? ALL_FILTERS
+                    : dateMaskOf(EventDayIndex.epochDay(date.getTime(), zone), firstDays, lastDays);
+            tagMasks[i] = tagMask;
+            dateMasks[i] = dateMask;
+
+            int[] group = groups.get(tagMask);
+            if (group == null) {
+                group = new int[DATE_FILTERS.length];
+                groups.put(tagMask, group);
+                members.put(tagMask, new ArrayList<>());
+            }
+            members.get(tagMask).add(event);
+            for (DateFilter filter : DATE_FILTERS) {
+                int d = filter.ordinal();
+                if ((dateMask & (1 << d)) == 0) continue;
+                group[d]++;
+                dateCounts[d]++;
+                for (int t = 0; t < TAGS.size(); t++) {
+                    if ((tagMask & (1L << t)) != 0) tagCounts[t][d]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Encodes tags as a bitmask over {@link #TAGS}. Tags outside the vocabulary are ignored.
+     *
+     * @param tags the tags, may be null
+     * @return the mask, 0 for no known tags
+     */
+    public static long maskOf(@Nullable Collection<String> tags) {
+        long mask = 0;
+        if (tags == null) return mask;
+        for (String tag : tags) {
+            int bit = TAGS.indexOf(tag);
+            if (bit >= 0) mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    private static int dateMaskOf(int day, int[] firstDays, int[] lastDays) {
+        int mask = 0;
+        for (int d = 0; d < firstDays.length; d++) {
+            if (day >= firstDays[d] && day <= lastDays[d]) mask |= 1 << d;
+        }
+        return mask;
+    }
+
+    /**
+     * @return true if the index was built today, so its date filters are still right
+     */
+    public boolean isCurrent() {
+        return builtDay == EventDayIndex.today();
+    }
+
+    /**
+     * Lists the events having any of the selected tags and matching the date filter.
+     *
+     * @param selectedTags the selected tags; empty selects every event
+     * @param dateFilter   the date filter
+     * @return the matching events, in feed order
+     */
+    @NonNull
+    public List<Event> filter(@NonNull Collection<String> selectedTags, @NonNull DateFilter dateFilter) {
+        long tagMask = maskOf(selectedTags);
+        int dateBit = 1 << dateFilter.ordinal();
+        boolean anyTag = selectedTags.isEmpty();
+
+        List<Event> matches = new ArrayList<>();
+        for (int i = 0; i < tagMasks.length; i++) {
+            if ((anyTag || (tagMasks[i] & tagMask) != 0) && (dateMasks[i] & dateBit) != 0) {
+                matches.add(events.get(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Counts the events having any of some tags, from the tag-mask groups.
+     *
+     * @param tags the tags
+     * @return the number of events with at least one of them, whatever their date
+     */
+    public int countWithAnyTag(@NonNull Collection<String> tags) {
+        long mask = maskOf(tags);
+        int count = 0;
+        for (Map.Entry<Long, int[]> group : groups.entrySet()) {
+            if ((group.getKey() & mask) != 0) count += group.getValue()[DateFilter.ALL_DATES.ordinal()];
+        }
+        return count;
+    }
+
+    /**
+     * Lists the events having any of some tags, reading only the matching tag-mask groups.
+     *
+     * @param tags the tags
+     * @return the events with at least one of them, in feed order within each group
+     */
+    @NonNull
+    public List<Event> withAnyTag(@NonNull Collection<String> tags) {
+        long mask = maskOf(tags);
+        List<Event> matches = new ArrayList<>();
+        for (Map.Entry<Long, List<Event>> group : members.entrySet()) {
+            if ((group.getKey() & mask) != 0) matches.addAll(group.getValue());
+        }
+        return matches;
+    }
+
+    /**
+     * Starts tracking the filter dialog's selection, for live counts.
+     *
+     * @param selectedTags the tags checked when the dialog opens
+     * @param dateFilter   the date filter selected when the dialog opens
+     * @return counts for that selection
+     */
+    @NonNull
+    public Facets facets(@NonNull Collection<String> selectedTags, @NonNull DateFilter dateFilter) {
+        return new Facets(maskOf(selectedTags), dateFilter);
+    }
+
+    /**
+     * Live counts for the filter dialog: how many events each tag checkbox and each date
+     * option would show, given the rest of the selection.
+     *
+     * <p>A tag's count is the events having that tag and matching the selected date filter.
+     * A date filter's count is the events matching it and any checked tag, or every event
+     * when no tag is checked. Toggling a tag adjusts the date counts by the groups whose
+     * match changes; nothing else is recomputed.</p>
+     */
+    public final class Facets {
+        private long selectedMask;
+        private DateFilter dateFilter;
+
+        /**
+         * Per date filter, the events having any of the selected tags.
+         */
+        private final int[] selectedCounts = new int[DATE_FILTERS.length];
+
+        private Facets(long selectedMask, DateFilter dateFilter) {
+            this.selectedMask = selectedMask;
+            this.dateFilter = dateFilter;
+            for (Map.Entry<Long, int[]> group : groups.entrySet()) {
+                if ((group.getKey() & selectedMask) != 0) add(group.getValue(), 1);
+            }
+        }
+
+        /**
+         * Records a tag checkbox being checked or unchecked.
+         *
+         * @param tag     the tag
+         * @param checked its new state
+         */
+        public void setTag(@NonNull String tag, boolean checked) {
+            int bit = TAGS.indexOf(tag);
+            if (bit < 0) return;
+            long tagBit = 1L << bit;
+            if (((selectedMask & tagBit) != 0) == checked) return;
+
+            // Only groups with this tag and none of the others change their match
+            long others = selectedMask & ~tagBit;
+            for (Map.Entry<Long, int[]> group : groups.entrySet()) {
+                long mask = group.getKey();
+                if ((mask & tagBit) != 0 && (mask & others) == 0) add(group.getValue(), checked ? 1 : -1);
+            }
+            selectedMask = checked ? selectedMask | tagBit : others;
+        }
+
+        /**
+         * Records the selected date filter changing.
+         *
+         * @param dateFilter the new date filter
+         */
+        public void setDateFilter(@NonNull DateFilter dateFilter) {
+            this.dateFilter = dateFilter;
+        }
+
+        /**
+         * @param tag the tag
+         * @return the events with that tag matching the selected date filter
+         */
+        public int tagCount(@NonNull String tag) {
+            int bit = TAGS.indexOf(tag);
+            return bit < 0 ? 0 : tagCounts[bit][dateFilter.ordinal()];
+        }
+
+        /**
+         * @param dateFilter the date filter
+         * @return the events matching it and the selected tags
+         */
+        public int dateCount(@NonNull DateFilter dateFilter) {
+            int d = dateFilter.ordinal();
+            return selectedMask == 0 ? dateCounts[d] : selectedCounts[d];
+        }
+
+        private void add(int[] group, int sign) {
+            for (int d = 0; d < group.length; d++) {
+                selectedCounts[d] += sign * group[d];
+            }
+        }
+    }
+}
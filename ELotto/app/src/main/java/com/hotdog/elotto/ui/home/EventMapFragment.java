@@ -1,5 +1,8 @@
     package com.hotdog.elotto.ui.home;
 
+    import android.graphics.Bitmap;
+    import android.graphics.Canvas;
+    import android.graphics.Paint;
     import android.os.Bundle;
     import android.view.LayoutInflater;
     import android.view.View;
@@ -9,31 +12,62 @@
 
     import androidx.annotation.NonNull;
     import androidx.annotation.Nullable;
+    import androidx.core.content.ContextCompat;
     import androidx.fragment.app.Fragment;
 
     import com.google.android.gms.maps.CameraUpdateFactory;
     import com.google.android.gms.maps.GoogleMap;
     import com.google.android.gms.maps.OnMapReadyCallback;
     import com.google.android.gms.maps.SupportMapFragment;
+    import com.google.android.gms.maps.model.BitmapDescriptor;
+    import com.google.android.gms.maps.model.BitmapDescriptorFactory;
     import com.google.android.gms.maps.model.LatLng;
     import com.google.android.gms.maps.model.LatLngBounds;
+    import com.google.android.gms.maps.model.Marker;
     import com.google.android.gms.maps.model.MarkerOptions;
     import com.google.android.material.floatingactionbutton.FloatingActionButton;
-    import com.google.firebase.firestore.FirebaseFirestore;
     import com.google.firebase.firestore.GeoPoint;
     import com.hotdog.elotto.R;
-    import com.hotdog.elotto.model.Event;
+    import com.hotdog.elotto.callback.FirestoreCallback;
+    import com.hotdog.elotto.model.EventSummary;
+    import com.hotdog.elotto.repository.EventRepository;
+    import com.hotdog.elotto.repository.EventStore;
+    import com.hotdog.elotto.repository.UserRepository;
 
+    import java.util.ArrayList;
+    import java.util.HashMap;
+    import java.util.List;
     import java.util.Map;
     /**
-     * Fragment responsible showing a map of all entrant locations to the user
+     * Fragment responsible showing a map of all entrant locations to the user.
+     * Only the entrants inside the visible part of the map are loaded, more as it moves.
+     * Nearby entrants are grouped into one numbered marker, and names are looked up in
+     * batches when an entrant's marker is first tapped.
      */
     public class EventMapFragment extends Fragment implements OnMapReadyCallback {
+        private static final float EVENT_ZOOM = 11f;
+        private static final int CLUSTER_ICON_DP = 40;
+        private static final LatLngBounds WORLD = new LatLngBounds(new LatLng(-90, -180), new LatLng(90, 180));
         //https://developers.google.com/maps/documentation/android-sdk/map#maps_android_map_fragment-java
         //used for most of the class
         private GoogleMap gMap;
         private String eventId;
         private FloatingActionButton backButtonMap;
+        private EventRepository eventRepository;
+        private UserRepository userRepository;
+        // Every entrant loaded so far, grouped into markers for the current view
+        private final EntrantClusterer clusterer = new EntrantClusterer();
+        // Markers on the map by cluster key, so a redraw only replaces clusters that changed
+        private final Map<String, Marker> markers = new HashMap<>();
+        // Entrant names looked up so far, by user ID
+        private final Map<String, String> names = new HashMap<>();
+        // Cluster icons by size
+        private final Map<Integer, BitmapDescriptor> clusterIcons = new HashMap<>();
+        // The area last loaded, so moves inside it don't query again
+        private LatLngBounds loadedBounds;
+        // True when the event has no coordinates, so the first load covers the whole world and
+        // the entrants it finds set the view
+        private boolean fitFirstLoad;
         /**
          * Creates the layout for the map screen, retrieves the event ID from arguments,
          * initializes the back button, and prepares the Google Map fragment.
@@ -48,6 +82,8 @@
         public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
                                  @Nullable Bundle savedInstanceState) {
             View view = inflater.inflate(R.layout.fragment_event_map, container, false);
+            eventRepository = new EventRepository();
+            userRepository = UserRepository.getInstance();
             backButtonMap = view.findViewById(R.id.backButtonMap);
             backButtonMap.setOnClickListener(v -> {
                 requireActivity().getOnBackPressedDispatcher().onBackPressed();
@@ -71,73 +107,243 @@
         @Override
         public void onMapReady(@NonNull GoogleMap googleMap) {
             gMap = googleMap;
-            loadEntrantGeoPoints();
+            gMap.setOnMarkerClickListener(this::onMarkerClick);
+            loadEvent();
         }
         /**
-         * Loads entrant location data for the selected event from Firestore, adds them to the map as markers,
-         * labels each marker with the corresponding entrants name
+         * Centres the map on the event if its summary has coordinates, then starts loading the
+         * entrants in view. Without coordinates the entrants of the whole world are loaded once
+         * and the view fits them.
          */
-        private void loadEntrantGeoPoints() {
+        private void loadEvent() {
             if (eventId == null) {
                 Toast.makeText(getContext(), "No event ID provided", Toast.LENGTH_SHORT).show();
                 return;
             }
-            FirebaseFirestore db = FirebaseFirestore.getInstance();
-
-            db.collection("events")
-                    .document(eventId)
-                    .get()
-                    .addOnSuccessListener(doc -> {
-                        if (!doc.exists()) {
-                            Toast.makeText(getContext(), "Event Does Not Exist", Toast.LENGTH_SHORT).show();
-                            return;
-                        }
-                        Event event = doc.toObject(Event.class);
-                        if (event == null) {
-                            return;
+            EventSummary summary = EventStore.getSummary(getArguments());
+            GeoPoint centre = summary != null ? summary.getCoordinates() : null;
+            if (centre != null) {
+                gMap.moveCamera(CameraUpdateFactory.newLatLngZoom(
+                        new LatLng(centre.getLatitude(), centre.getLongitude()), EVENT_ZOOM));
+            } else {
+                // Nowhere to start from, so fit the first results instead
+                fitFirstLoad = true;
+            }
+            startLoadingEntrants();
+        }
+        /**
+         * Loads the entrants in view now and again whenever the map stops moving.
+         */
+        private void startLoadingEntrants() {
+            if (!isAdded()) return;
+            gMap.setOnCameraIdleListener(() -> {
+                loadVisibleEntrants();
+                renderClusters();
+            });
+            if (fitFirstLoad) {
+                // Load the whole world once; later moves are inside it and query nothing
+                loadEntrants(WORLD);
+            } else {
+                loadVisibleEntrants();
+            }
+        }
+        /**
+         * Loads the entrant locations inside the visible part of the map and adds them to the
+         * clusters. Skipped when the visible part lies inside the area loaded last.
+         */
+        private void loadVisibleEntrants() {
+            LatLngBounds visible = gMap.getProjection().getVisibleRegion().latLngBounds;
+            if (loadedBounds != null && loadedBounds.contains(visible.southwest)
+                    && loadedBounds.contains(visible.northeast)) {
+                return;
+            }
+            loadEntrants(visible);
+        }
+        /**
+         * Loads the entrant locations inside an area and adds them to the clusters.
+         *
+         * @param area the area to load
+         */
+        private void loadEntrants(LatLngBounds area) {
+            loadedBounds = area;
+            eventRepository.getEntrantLocationsInBounds(eventId,
+                    area.southwest.latitude, area.southwest.longitude,
+                    area.northeast.latitude, area.northeast.longitude,
+                    new FirestoreCallback<Map<String, GeoPoint>>() {
+                        @Override
+                        public void onSuccess(Map<String, GeoPoint> locs) {
+                            if (!isAdded()) return;
+                            addEntrantMarkers(locs);
                         }
-                        Map<String, GeoPoint> locs = event.getEntrantLocations();
-                        if (locs == null || locs.isEmpty()) {
-                            Toast.makeText(getContext(), "No Entrant Locations to Display", Toast.LENGTH_SHORT).show();
-                            return;
+
+                        @Override
+                        public void onError(String errorMessage) {
+                            if (!isAdded()) return;
+                            // Let the next camera move try again, on the visible area only
+                            loadedBounds = null;
+                            fitFirstLoad = false;
+                            Toast.makeText(getContext(), "Failed to load map data", Toast.LENGTH_SHORT).show();
                         }
-                        LatLngBounds.Builder bounds = new LatLngBounds.Builder();
-                        final int[] completed = {0};
-                        final int total = locs.size();
-                        for (Map.Entry<String, GeoPoint> entry : locs.entrySet()) {
-                            String userId = entry.getKey();
-                            GeoPoint gp = entry.getValue();
-                            if (gp == null) {
-                                continue;
-                            }
-                            LatLng pos = new LatLng(gp.getLatitude(), gp.getLongitude());
-                            db.collection("users").document(userId)
-                                            .get()
-                                            .addOnSuccessListener(userDoc-> {
-                                                String name = "placeholder";
-                                                if (userDoc.exists()) {
-                                                    name = userDoc.getString("name");
-                                                    if (name == null) name = "Unknown";
-                                                }
-                                                gMap.addMarker(new MarkerOptions().position(pos).title(name));
-                                                bounds.include(pos);
-                                                completed[0]++;
-                                                if (completed[0] == total) {
-                                                    gMap.animateCamera(CameraUpdateFactory.newLatLngBounds(bounds.build(), 100));
-                                                }
-                                            }).addOnFailureListener(e->{
-                                            gMap.addMarker(new MarkerOptions().position(pos).title("Unknown"));
-                                            bounds.include(pos);
-                                            completed[0]++;
-                                            if (completed[0] == total) {
-                                                gMap.animateCamera(CameraUpdateFactory.newLatLngBounds(bounds.build(), 100));
-                                            }
-                                            });
+                    });
+        }
+        /**
+         * Adds newly loaded entrants to the clusters and redraws them.
+         *
+         * @param locs the entrant locations by user ID
+         */
+        private void addEntrantMarkers(Map<String, GeoPoint> locs) {
+            LatLngBounds.Builder bounds = new LatLngBounds.Builder();
+            if (fitFirstLoad && locs.isEmpty()) {
+                // The first load covered the whole world, so nobody has a recorded location
+                Toast.makeText(getContext(), "No Entrant Locations to Display", Toast.LENGTH_SHORT).show();
+            }
+            boolean fit = fitFirstLoad && !locs.isEmpty();
+            fitFirstLoad = false;
+            boolean changed = false;
+            for (Map.Entry<String, GeoPoint> entry : locs.entrySet()) {
+                GeoPoint gp = entry.getValue();
+                bounds.include(new LatLng(gp.getLatitude(), gp.getLongitude()));
+                changed |= clusterer.add(entry.getKey(), gp.getLatitude(), gp.getLongitude());
+            }
+            if (fit) {
+                // The camera idles after this, which redraws the clusters
+                gMap.animateCamera(CameraUpdateFactory.newLatLngBounds(bounds.build(), 100));
+            } else if (changed) {
+                renderClusters();
+            }
+        }
+        /**
+         * Shows a marker for each cluster in view, keeping markers whose cluster hasn't changed
+         * and removing the rest, so only what is on screen is drawn.
+         */
+        private void renderClusters() {
+            if (!isAdded()) return;
+            LatLngBounds visible = gMap.getProjection().getVisibleRegion().latLngBounds;
+            List<EntrantClusterer.Cluster> clusters = clusterer.cluster(
+                    visible.southwest.latitude, visible.southwest.longitude,
+                    visible.northeast.latitude, visible.northeast.longitude,
+                    gMap.getCameraPosition().zoom);
 
+            Map<String, Marker> shown = new HashMap<>();
+            for (EntrantClusterer.Cluster cluster : clusters) {
+                Marker marker = markers.remove(cluster.getKey());
+                if (marker == null) {
+                    MarkerOptions options = new MarkerOptions()
+                            .position(new LatLng(cluster.getLatitude(), cluster.getLongitude()));
+                    if (cluster.isSingle()) {
+                        options.title(names.get(cluster.getIds().get(0)));
+                    } else {
+                        options.icon(clusterIcon(cluster.getSize())).anchor(0.5f, 0.5f);
+                    }
+                    marker = gMap.addMarker(options);
+                    if (marker == null) continue;
+                    marker.setTag(cluster);
+                }
+                shown.put(cluster.getKey(), marker);
+            }
+            for (Marker stale : markers.values()) {
+                stale.remove();
+            }
+            markers.clear();
+            markers.putAll(shown);
+        }
+        /**
+         * Zooms in on a tapped cluster, or shows a tapped entrant's name, looking it up first
+         * if needed.
+         *
+         * @param marker the tapped marker
+         * @return true, since the tap is always handled here
+         */
+        private boolean onMarkerClick(Marker marker) {
+            EntrantClusterer.Cluster cluster = (EntrantClusterer.Cluster) marker.getTag();
+            if (cluster == null) return false;
+            if (!cluster.isSingle()) {
+                LatLng southwest = new LatLng(cluster.getSouth(), cluster.getWest());
+                LatLng northeast = new LatLng(cluster.getNorth(), cluster.getEast());
+                if (southwest.equals(northeast)) {
+                    // Everyone joined from the same spot, so no zoom level splits them
+                    gMap.animateCamera(CameraUpdateFactory.newLatLngZoom(southwest,
+                            gMap.getCameraPosition().zoom + 2));
+                } else {
+                    gMap.animateCamera(CameraUpdateFactory.newLatLngBounds(
+                            new LatLngBounds(southwest, northeast), 100));
+                }
+                return true;
+            }
+            if (marker.getTitle() != null) {
+                marker.showInfoWindow();
+                return true;
+            }
+            labelShownEntrants(marker);
+            return true;
+        }
+        /**
+         * Looks up the names of every entrant shown on their own but not yet labelled, in one
+         * batch, then labels their markers and opens the tapped one.
+         *
+         * @param tapped the marker that was tapped
+         */
+        private void labelShownEntrants(Marker tapped) {
+            List<String> unlabelled = new ArrayList<>();
+            for (Marker marker : markers.values()) {
+                EntrantClusterer.Cluster cluster = (EntrantClusterer.Cluster) marker.getTag();
+                if (cluster != null && cluster.isSingle() && marker.getTitle() == null) {
+                    unlabelled.add(cluster.getIds().get(0));
+                }
+            }
+            userRepository.getUserNames(unlabelled, new FirestoreCallback<Map<String, String>>() {
+                @Override
+                public void onSuccess(Map<String, String> found) {
+                    if (!isAdded()) return;
+                    for (String userId : unlabelled) {
+                        String name = found.get(userId);
+                        names.put(userId, name != null ? name : "Unknown");
+                    }
+                    for (Marker marker : markers.values()) {
+                        EntrantClusterer.Cluster cluster = (EntrantClusterer.Cluster) marker.getTag();
+                        if (cluster != null && cluster.isSingle() && marker.getTitle() == null) {
+                            marker.setTitle(names.get(cluster.getIds().get(0)));
                         }
-                    })
-                    .addOnFailureListener(e ->
-                            Toast.makeText(getContext(), "Failed to load map data", Toast.LENGTH_SHORT).show());
+                    }
+                    if (markers.containsValue(tapped)) {
+                        tapped.showInfoWindow();
+                    }
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    if (!isAdded() || !markers.containsValue(tapped)) return;
+                    tapped.setTitle("Unknown");
+                    tapped.showInfoWindow();
+                }
+            });
+        }
+        /**
+         * Draws the icon for a cluster: a circle with the number of entrants in it.
+         *
+         * @param size the number of entrants
+         * @return the icon, drawn once per size
+         */
+        private BitmapDescriptor clusterIcon(int size) {
+            BitmapDescriptor icon = clusterIcons.get(size);
+            if (icon != null) return icon;
+            float density = getResources().getDisplayMetrics().density;
+            int diameter = (int) (CLUSTER_ICON_DP * density);
+            Bitmap bitmap = Bitmap.createBitmap(diameter, diameter, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(bitmap);
+            Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            paint.setColor(ContextCompat.getColor(requireContext(), R.color.main_icon_blue));
+            canvas.drawCircle(diameter / 2f, diameter / 2f, diameter / 2f, paint);
+            paint.setColor(ContextCompat.getColor(requireContext(), R.color.white));
+            paint.setTextSize(14 * density);
+            paint.setTextAlign(Paint.Align.CENTER);
+            paint.setFakeBoldText(true);
+            String label = size > 999 ? "999+" : String.valueOf(size);
+            float baseline = diameter / 2f - (paint.descent() + paint.ascent()) / 2;
+            canvas.drawText(label, diameter / 2f, baseline, paint);
+            icon = BitmapDescriptorFactory.fromBitmap(bitmap);
+            clusterIcons.put(size, icon);
+            return icon;
         }
 
 
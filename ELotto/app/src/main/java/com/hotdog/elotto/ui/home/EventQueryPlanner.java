@@ -0,0 +1,177 @@
+package com.hotdog.elotto.ui.home;
+
+import androidx.annotation.NonNull;
+
+import com.hotdog.elotto.model.Event;
+import com.hotdog.elotto.repository.EventQuery;
+import com.hotdog.elotto.repository.EventSearchIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Answers an {@link EventQuery} over the loaded feed in one pass, using whichever index
+ * narrows it down the most.
+ *
+ * <p>Each indexed part of the query says how many events it leaves: the search text through
+ * the {@link EventSearchIndex}, the tags through the tag-mask groups of the
+ * {@link EventFilterIndex} and the day range through the {@link EventDayIndex}, the last two
+ * counted without listing anything. The smallest of them supplies the candidates, and each
+ * candidate is then checked against the other parts: the text by ID against the search
+ * results, the tags and days against the event itself, and finally the parts with no index,
+ * location and registration status. With none of the indexed parts set, the whole feed is
+ * the candidate list.</p>
+ *
+ * <p>Results come back best search match first when there is search text, and in feed order
+ * otherwise, whichever index supplied them.</p>
+ *
+ * <p>The search index is built in the background and is never waited for. Until it has
+ * indexed this planner's feed, the search text is left out of the query; the caller runs it
+ * again once indexing finishes.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
+public final class EventQueryPlanner {
+
+    /**
+     * Where a query's candidates come from.
+     */
+    private enum Source { FEED, TEXT, TAGS, DAYS }
+
+    private final List<Event> feed;
+
+    /**
+     * The feed as handed to the search index, to tell whether the index has caught up.
+     */
+    private final List<Event> indexedFeed;
+    private final EventSearchIndex searchIndex;
+    private final EventDayIndex dayIndex;
+    private final EventFilterIndex filterIndex;
+    private final TimeZone zone;
+
+    /**
+     * Undated events, which match any day range but are not in the day index.
+     */
+    private final List<Event> undated = new ArrayList<>();
+
+    /**
+     * Feed position of each event, by ID.
+     */
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    /**
+     * Plans queries over a feed in the device's time zone.
+     *
+     * @param feed        the feed, in display order
+     * @param searchIndex the search index kept in step with the feed
+     * @param dayIndex    the feed's day index
+     * @param filterIndex the feed's filter index
+     */
+    public EventQueryPlanner(@NonNull List<Event> feed, @NonNull EventSearchIndex searchIndex,
+                             @NonNull EventDayIndex dayIndex, @NonNull EventFilterIndex filterIndex) {
+        this(feed, searchIndex, dayIndex, filterIndex, TimeZone.getDefault());
+    }
+
+    /**
+     * Plans queries over a feed whose day index was built in a given time zone.
+     *
+     * @param feed        the feed, in display order, as handed to the search index
+     * @param searchIndex the search index kept in step with the feed
+     * @param dayIndex    the feed's day index
+     * @param filterIndex the feed's filter index
+     * @param zone        the zone the day index counts days in
+     */
+    public EventQueryPlanner(@NonNull List<Event> feed, @NonNull EventSearchIndex searchIndex,
+                             @NonNull EventDayIndex dayIndex, @NonNull EventFilterIndex filterIndex,
+                             @NonNull TimeZone zone) {
+        this.feed = new ArrayList<>(feed);
+        this.indexedFeed = feed;
+        this.searchIndex = searchIndex;
+        this.dayIndex = dayIndex;
+        this.filterIndex = filterIndex;
+        this.zone = zone;
+        for (int i = 0; i < this.feed.size(); i++) {
+            Event event = this.feed.get(i);
+            positions.put(event.getId(), i);
+            if (event.getEventDateTime() == null) undated.add(event);
+        }
+    }
+
+    /**
+     * Lists the events in the feed matching a query.
+     *
+     * @param query the query
+     * @return the matching events, best search match first, otherwise in feed order; without
+     * the search text if the search index has not caught up with the feed
+     */
+    @NonNull
+    public List<Event> run(@NonNull EventQuery query) {
+        List<Event> ranked = query.getText() == null ? null
+                : searchIndex.searchIfCurrent(indexedFeed, query.getText());
+        Map<String, Integer> order = positions;
+        if (ranked != null) {
+            order = new HashMap<>();
+            for (int i = 0; i < ranked.size(); i++) {
+                order.put(ranked.get(i).getId(), i);
+            }
+        }
+
+        // Drive from the part leaving the fewest events
+        Source driver = Source.FEED;
+        int best = feed.size();
+        if (ranked != null && ranked.size() <= best) {
+            driver = Source.TEXT;
+            best = ranked.size();
+        }
+        boolean tagsIndexed = !query.getTags().isEmpty() && EventFilterIndex.TAGS.containsAll(query.getTags());
+        if (tagsIndexed) {
+            int count = filterIndex.countWithAnyTag(query.getTags());
+            if (count < best) {
+                driver = Source.TAGS;
+                best = count;
+            }
+        }
+        if (query.hasDays() && dayIndex.count(query.getFirstDay(), query.getLastDay()) + undated.size() < best) {
+            driver = Source.DAYS;
+        }
+
+        List<Event> candidates;
+        switch (driver) {
+            case TEXT:
+                candidates = ranked;
+                break;
+            case TAGS:
+                candidates = filterIndex.withAnyTag(query.getTags());
+                break;
+            case DAYS:
+                candidates = new ArrayList<>(dayIndex.between(query.getFirstDay(), query.getLastDay()));
+                candidates.addAll(undated);
+                break;
+            default:
+                candidates = feed;
+        }
+
+        List<Event> matches = new ArrayList<>();
+        for (Event event : candidates) {
+            if (ranked != null && driver != Source.TEXT && !order.containsKey(event.getId())) continue;
+            if (driver != Source.TAGS && !query.matchesTags(event)) continue;
+            if (driver != Source.DAYS && !query.matchesDays(event, zone)) continue;
+            if (!query.matchesResidual(event)) continue;
+            matches.add(event);
+        }
+
+        // Text results and the feed are already in order; tag groups and days are not
+        if (driver == Source.TAGS || driver == Source.DAYS) {
+            Map<String, Integer> finalOrder = order;
+            matches.sort(Comparator.comparingInt(event -> finalOrder.getOrDefault(event.getId(), Integer.MAX_VALUE)));
+        }
+        return matches;
+    }
+}
@@ -11,6 +11,9 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import com.hotdog.elotto.R;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Fragment responsible for displaying and managing date-based event filtering options.
  *
@@ -24,6 +27,7 @@ import com.hotdog.elotto.R;
  *     <li>Six date range filter options (Today, Tomorrow, Within 7 Days, Within 14 Days, This Month, All Dates)</li>
  *     <li>Default preset selection via {@link #setInitialSelection(DateFilter)}</li>
  *     <li>Utility method to reset selection to "All Dates"</li>
+ *     <li>Live event counts next to each option, when given {@link EventFilterIndex.Facets}</li>
  * </ul>
  *
  * <p>This fragment is used as a reusable filtering component in the home screen.</p>
@@ -75,6 +79,22 @@ public class FilterDateFragment extends Fragment {
      */
     private DateFilter initialDateFilter = DateFilter.ALL_DATES;
 
+    /**
+     * Live counts shown next to each option, or null to show none.
+     */
+    private EventFilterIndex.Facets facets;
+
+    /**
+     * Notified after the selected option changes and {@link #facets} updated.
+     */
+    private Runnable onSelectionChanged;
+
+    /**
+     * Each option's radio button and its label without a count.
+     */
+    private final Map<DateFilter, RadioButton> optionButtons = new EnumMap<>(DateFilter.class);
+    private final Map<DateFilter, CharSequence> optionLabels = new EnumMap<>(DateFilter.class);
+
 
     /**
      * Inflates the fragment layout containing the date filter radio group.
@@ -102,6 +122,37 @@ public class FilterDateFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
         initializeViews(view);
         applyInitialSelection();
+        dateFilterRadioGroup.setOnCheckedChangeListener((group, checkedId) -> {
+            if (facets != null) facets.setDateFilter(getSelectedDateFilter());
+            if (onSelectionChanged != null) onSelectionChanged.run();
+        });
+        refreshCounts();
+    }
+
+    /**
+     * Sets the counts to show next to each option and who to tell when the selection
+     * changes. Must be called before the view is created.
+     *
+     * @param facets             live counts, updated by this fragment as the option changes
+     * @param onSelectionChanged run after every change
+     */
+    public void setFacets(EventFilterIndex.Facets facets, Runnable onSelectionChanged) {
+        this.facets = facets;
+        this.onSelectionChanged = onSelectionChanged;
+    }
+
+    /**
+     * Rewrites each option label with its current count.
+     * If the views have not been initialized yet, the call is ignored safely.
+     */
+    public void refreshCounts() {
+        if (dateFilterRadioGroup == null || facets == null) {
+            return;
+        }
+        for (Map.Entry<DateFilter, RadioButton> entry : optionButtons.entrySet()) {
+            DateFilter filter = entry.getKey();
+            entry.getValue().setText(optionLabels.get(filter) + " (" + facets.dateCount(filter) + ")");
+        }
     }
 
     /**
@@ -145,6 +196,16 @@ public class FilterDateFragment extends Fragment {
         radioWithin14Days = view.findViewById(R.id.radioWithin14Days);
         radioThisMonth = view.findViewById(R.id.radioThisMonth);
         radioAllDates = view.findViewById(R.id.radioAllDates);
+
+        optionButtons.put(DateFilter.TODAY, radioToday);
+        optionButtons.put(DateFilter.TOMORROW, radioTomorrow);
+        optionButtons.put(DateFilter.WITHIN_7_DAYS, radioWithin7Days);
+        optionButtons.put(DateFilter.WITHIN_14_DAYS, radioWithin14Days);
+        optionButtons.put(DateFilter.THIS_MONTH, radioThisMonth);
+        optionButtons.put(DateFilter.ALL_DATES, radioAllDates);
+        for (Map.Entry<DateFilter, RadioButton> entry : optionButtons.entrySet()) {
+            optionLabels.put(entry.getKey(), entry.getValue().getText());
+        }
     }
 
     /**
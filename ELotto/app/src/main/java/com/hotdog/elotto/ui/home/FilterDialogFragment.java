@@ -28,6 +28,9 @@ import java.util.Set;
  *     <li>{@link FilterDateFragment} – for selecting a date range filter</li>
  * </ul>
  *
+ * <p>When given the feed's {@link EventFilterIndex}, each tag and date option shows how
+ * many events it would match, updated as the selection changes.</p>
+ *
  * <p>Once the user applies the filters, the selected interest tags and date
  * filter are returned to the caller through the
  * {@link OnFilterAppliedListener} callback interface.</p>
@@ -90,6 +93,11 @@ public class FilterDialogFragment extends DialogFragment {
      */
     private DateFilter initialDateFilter = DateFilter.ALL_DATES;
 
+    /**
+     * Index of the feed being filtered, used for live counts; null shows no counts.
+     */
+    private EventFilterIndex filterIndex;
+
     /**
      * Callback interface for receiving applied filter values from this dialog.
      */
@@ -190,6 +198,12 @@ public class FilterDialogFragment extends DialogFragment {
         dateFragment = new FilterDateFragment();
         interestsFragment.setInitialSelection(initialSelectedTags);
         dateFragment.setInitialSelection(initialDateFilter);
+        if (filterIndex != null) {
+            EventFilterIndex.Facets facets = filterIndex.facets(initialSelectedTags, initialDateFilter);
+            // A tag toggle changes the date counts and a date change the tag counts
+            interestsFragment.setFacets(facets, dateFragment::refreshCounts);
+            dateFragment.setFacets(facets, interestsFragment::refreshCounts);
+        }
         pagerAdapter = new FilterPagerAdapter(this, interestsFragment, dateFragment);
         filterViewPager.setAdapter(pagerAdapter);
 
@@ -245,6 +259,16 @@ public class FilterDialogFragment extends DialogFragment {
         this.initialDateFilter = dateFilter;
     }
 
+    /**
+     * Sets the index of the feed being filtered, so the options can show live counts.
+     * Must be called before the dialog is shown.
+     *
+     * @param filterIndex the feed's filter index
+     */
+    public void setFilterIndex(EventFilterIndex filterIndex) {
+        this.filterIndex = filterIndex;
+    }
+
     /**
      * Adjusts the dialog window size when the fragment becomes visible.
      *
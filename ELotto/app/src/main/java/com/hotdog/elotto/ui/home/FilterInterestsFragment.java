@@ -13,7 +13,6 @@ import androidx.fragment.app.Fragment;
 
 import com.hotdog.elotto.R;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -32,6 +31,7 @@ import java.util.Set;
  *     <li>Dynamic creation of checkboxes for each available tag</li>
  *     <li>Support for pre-selecting previously chosen tags</li>
  *     <li>Utility methods for retrieving or clearing selected tags</li>
+ *     <li>Live event counts next to each tag, when given {@link EventFilterIndex.Facets}</li>
  * </ul>
  *
  * <p>This fragment serves as a reusable input component for filtering UI services.</p>
@@ -46,16 +46,7 @@ public class FilterInterestsFragment extends Fragment {
     /**
      * List of predefined interest tags available for selection.
      */
-    private static final List<String> AVAILABLE_TAGS = Arrays.asList(
-            "Music",
-            "Sports",
-            "Technology",
-            "Art",
-            "Food",
-            "Business",
-            "Health & Wellness",
-            "Networking"
-    );
+    private static final List<String> AVAILABLE_TAGS = EventFilterIndex.TAGS;
 
     /**
      * Container layout that will host dynamically generated checkboxes.
@@ -72,6 +63,16 @@ public class FilterInterestsFragment extends Fragment {
      */
     private Set<String> initialSelectedTags = new HashSet<>();
 
+    /**
+     * Live counts shown next to each tag, or null to show none.
+     */
+    private EventFilterIndex.Facets facets;
+
+    /**
+     * Notified after a checkbox is toggled and {@link #facets} updated.
+     */
+    private Runnable onSelectionChanged;
+
     /**
      * Inflates the layout that will host the checkbox UI for tag selection.
      *
@@ -122,9 +123,39 @@ public class FilterInterestsFragment extends Fragment {
             if (initialSelectedTags.contains(tag)) {
                 checkBox.setChecked(true);
             }
+            checkBox.setOnCheckedChangeListener((button, isChecked) -> {
+                if (facets != null) facets.setTag(tag, isChecked);
+                if (onSelectionChanged != null) onSelectionChanged.run();
+            });
             tagCheckboxes.put(tag, checkBox);
             interestsContainer.addView(checkBox);
         }
+        refreshCounts();
+    }
+
+    /**
+     * Sets the counts to show next to each tag and who to tell when the selection changes.
+     * Must be called before the view is created.
+     *
+     * @param facets             live counts, updated by this fragment as tags are toggled
+     * @param onSelectionChanged run after every toggle
+     */
+    public void setFacets(EventFilterIndex.Facets facets, Runnable onSelectionChanged) {
+        this.facets = facets;
+        this.onSelectionChanged = onSelectionChanged;
+    }
+
+    /**
+     * Rewrites each checkbox label with its current count.
+     * If checkboxes have not been created yet, the call completes safely.
+     */
+    public void refreshCounts() {
+        if (tagCheckboxes == null || facets == null) {
+            return;
+        }
+        for (Map.Entry<String, CheckBox> entry : tagCheckboxes.entrySet()) {
+            entry.getValue().setText(entry.getKey() + " (" + facets.tagCount(entry.getKey()) + ")");
+        }
     }
 
     /**
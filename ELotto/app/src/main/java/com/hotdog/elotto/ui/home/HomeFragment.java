@@ -14,18 +14,24 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.widget.SearchView;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.NavController;
 import androidx.navigation.fragment.NavHostFragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.google.firebase.firestore.ListenerRegistration;
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.adapter.EventAdapter;
-import com.hotdog.elotto.callback.FirestoreListCallback;
+import com.hotdog.elotto.callback.FirestoreCallback;
+import com.hotdog.elotto.callback.OperationCallback;
+import com.hotdog.elotto.controller.NotificationController;
 import com.hotdog.elotto.model.Event;
 import com.hotdog.elotto.model.Organizer;
 import com.hotdog.elotto.model.User;
-import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventQuery;
+import com.hotdog.elotto.repository.EventStore;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -36,14 +42,15 @@ import com.hotdog.elotto.helpers.Status;
 /**
  * Fragment responsible for displaying the main event list on the home screen.
  *
- * <p>This component loads events from Firestore via {@link EventRepository}, displays
+ * <p>This component observes the shared event feed in {@link HomeViewModel}, displays
  * them in a {@link RecyclerView}, and provides search and filter capabilities.</p>
  *
  * <p>Key features include:</p>
  * <ul>
  *     <li>Displaying a scrollable list of events using {@link EventAdapter}</li>
- *     <li>Text-based search by event name or location</li>
- *     <li>Filtering by interests (tags) and date ranges through a filter dialog</li>
+ *     <li>Text-based search by event name, description, location, organizer or tags</li>
+ *     <li>Filtering by interests (tags) and date ranges through a filter dialog, combined
+ *         with the search text into one {@link EventQuery}</li>
  *     <li>Conditional navigation to either event details or invitation response screen
  *         based on the user's registration status</li>
  *     <li>Profile menu for quick navigation to profile, inbox, settings, FAQ, and QR scanning</li>
@@ -79,7 +86,7 @@ public class HomeFragment extends Fragment {
     private View emptyStateLayout;
 
     /**
-     * SearchView used to filter events by text query (name or location).
+     * SearchView used to filter events by text query.
      */
     private SearchView searchView;
 
@@ -94,15 +101,20 @@ public class HomeFragment extends Fragment {
     private ImageButton filterButton;
 
     /**
-     * Repository used to retrieve event data from Firestore.
+     * Activity-scoped ViewModel holding the shared event feed.
      */
-    private EventRepository eventRepository;
+    private HomeViewModel homeViewModel;
 
     /**
-     * In-memory list of all events retrieved from the repository.
+     * In-memory list of all events retrieved from the shared feed.
      */
     private List<Event> allEvents;
 
+    /**
+     * Search text currently entered, or null when there is none.
+     */
+    private String currentSearchText;
+
     /**
      * ID of the currently active user.
      */
@@ -125,6 +137,16 @@ public class HomeFragment extends Fragment {
      */
     private DateFilter currentDateFilter = DateFilter.ALL_DATES;
 
+    /**
+     * Unread notification count shown on the Inbox menu item.
+     */
+    private int unreadCount;
+
+    /**
+     * Keeps {@link #unreadCount} current while the fragment is started.
+     */
+    private ListenerRegistration unreadRegistration;
+
     /**
      * Called when the fragment is being created.
      *
@@ -137,16 +159,58 @@ public class HomeFragment extends Fragment {
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
-        // Initialize repository
-        eventRepository = new EventRepository();
+        // Shared with the other tabs so the feed survives tab switches and rotation
+        homeViewModel = new ViewModelProvider(requireActivity()).get(HomeViewModel.class);
 
         currentUser = new User(requireContext(), (user) -> {
 
             currentUserId = user.getId();
             organizer = new Organizer(requireContext());
+            if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+                startUnreadListener();
+            }
         });
     }
 
+    /**
+     * Starts listening to the unread notification count once the user is known.
+     */
+    @Override
+    public void onStart() {
+        super.onStart();
+        startUnreadListener();
+    }
+
+    /**
+     * Stops listening to the unread notification count while the fragment is hidden.
+     */
+    @Override
+    public void onStop() {
+        super.onStop();
+        if (unreadRegistration != null) {
+            unreadRegistration.remove();
+            unreadRegistration = null;
+        }
+    }
+
+    /**
+     * Listens to the user's unread counter, a single small document, so the Inbox menu item
+     * can show the count without loading the inbox.
+     */
+    private void startUnreadListener() {
+        if (currentUserId == null || unreadRegistration != null) return;
+        unreadRegistration = new NotificationController().listenUnreadCount(currentUserId,
+                new FirestoreCallback<Integer>() {
+                    @Override
+                    public void onSuccess(Integer count) {
+                        unreadCount = count;
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {}
+                });
+    }
+
     /**
      * Inflates the layout for the home screen and initializes the UI and data loading.
      *
@@ -203,14 +267,12 @@ public class HomeFragment extends Fragment {
                 // Check if user is registered and has Invited status
                 Status userStatus = getUserStatusForEvent(event.getId());
 
-                Bundle bundle = new Bundle();
-                bundle.putSerializable("event", event);
+                Bundle bundle = EventStore.getInstance().buildArgs(event);
                 NavController navController = NavHostFragment.findNavController(HomeFragment.this);
 
                 // If user is invited and invitation hasn't expired then go to accept/decline screen
                 if (event.getOrganizerId() != null && event.getOrganizerId().equals(organizer.getId())) {
                     // Navigate to Organizer View
-                    bundle.putString("eventId", event.getId());
                     navController.navigate(R.id.action_navigation_home_to_organizerEventEntrantsFragment, bundle);
                 } else if (userStatus == Status.Selected && !isInvitationExpired(event.getId())) {
                     navController.navigate(R.id.action_navigation_home_to_acceptDeclineInvitation, bundle);
@@ -292,6 +354,10 @@ public class HomeFragment extends Fragment {
             PopupMenu popupMenu = new PopupMenu(requireContext(), v);
             MenuInflater inflater = popupMenu.getMenuInflater();
             inflater.inflate(R.menu.profile_menu, popupMenu.getMenu());
+            if (unreadCount > 0) {
+                popupMenu.getMenu().findItem(R.id.action_inbox)
+                        .setTitle(getString(R.string.menu_inbox_unread, unreadCount));
+            }
 
             popupMenu.setOnMenuItemClickListener(item -> {
                 int id = item.getItemId();
@@ -355,6 +421,7 @@ public class HomeFragment extends Fragment {
         FilterDialogFragment dialog = FilterDialogFragment.newInstance();
 
         dialog.setCurrentFilters(currentSelectedTags, currentDateFilter);
+        dialog.setFilterIndex(homeViewModel.getFilterIndex());
         dialog.setOnFilterAppliedListener((selectedTags, dateFilter) -> {
             applyFilters(selectedTags, dateFilter);
             String message = eventAdapter.getItemCount() + " event(s) found";
@@ -364,8 +431,8 @@ public class HomeFragment extends Fragment {
     }
 
     /**
-     * Applies the specified interest tags and date filter to {@link #allEvents} and updates
-     * the adapter with the filtered result set.
+     * Applies the specified interest tags and date filter, together with any search text,
+     * and updates the adapter with the result.
      *
      * @param selectedTags the set of selected interest tags
      * @param dateFilter   the {@link DateFilter} specifying the desired date range
@@ -373,48 +440,31 @@ public class HomeFragment extends Fragment {
     private void applyFilters(Set<String> selectedTags, DateFilter dateFilter) {
         this.currentSelectedTags = new HashSet<>(selectedTags);
         this.currentDateFilter = dateFilter;
-
-        if (allEvents == null || allEvents.isEmpty()) {
-            return;
-        }
-
-        List<Event> filteredEvents = new ArrayList<>();
-        for (Event event : allEvents) {
-            boolean matchesTags = selectedTags.isEmpty() || matchesAnyTag(event, selectedTags);
-            boolean matchesDate = dateFilter.matchesFilter(event.getEventDateTime());
-
-            if (matchesTags && matchesDate) {
-                filteredEvents.add(event);
-            }
-        }
-        // Update the RecyclerView with filtered events
-        eventAdapter.updateEvents(filteredEvents);
-        // Show empty state if no results
-        showEmptyState(filteredEvents.isEmpty());
+        showResults();
     }
 
     /**
-     * Checks whether the given event matches at least one of the selected interest tags.
+     * Shows the events matching the current search text, tags and date filter.
      *
-     * @param event        the event to evaluate
-     * @param selectedTags the set of tags used for filtering
-     * @return {@code true} if the event contains any of the selected tags; {@code false} otherwise
+     * <p>All three are combined into one {@link EventQuery} and answered by the
+     * {@link EventQueryPlanner} in {@link HomeViewModel}, so searching keeps the filters and
+     * filtering keeps the search.</p>
      */
-    private boolean matchesAnyTag(Event event, Set<String> selectedTags) {
-        ArrayList<String> eventTags = event.getTagList();
-
-        if (eventTags == null || eventTags.isEmpty()) {
-            return false;
+    private void showResults() {
+        if (allEvents == null || allEvents.isEmpty()) {
+            return;
         }
 
-        //loop and check if the selected tags are in the arrayList of eventTags
-        for (String tag : selectedTags) {
-            if (eventTags.contains(tag)) {
-                return true;
-            }
-        }
+        EventQuery query = new EventQuery();
+        query.setText(currentSearchText);
+        query.setTags(currentSelectedTags);
+        int today = EventDayIndex.today();
+        query.setDays(currentDateFilter.firstDay(today), currentDateFilter.lastDay(today));
 
-        return false;
+        List<Event> results = query.isEmpty() ? allEvents : homeViewModel.getQueryPlanner().run(query);
+        eventAdapter.updateEvents(results);
+        // Show empty state if no results
+        showEmptyState(results.isEmpty());
     }
 
     /**
@@ -428,62 +478,64 @@ public class HomeFragment extends Fragment {
     }
 
     /**
-     * Loads all events from the repository, updates the adapter, and applies any
-     * previously selected filters once loading completes.
+     * Observes the shared event feed, updates the adapter, and applies any
+     * previously selected filters whenever the feed changes.
      *
-     * <p>Displays a loading indicator while the network/database call is in progress
-     * and toggles an empty state view if no events are returned.</p>
+     * <p>The feed is only read from Firestore the first time; afterwards the cached
+     * list in {@link HomeViewModel} is re-delivered. On the first load, events from the
+     * local Firestore cache are shown immediately and patched when the server responds.
+     * Displays a loading indicator until something can be shown and toggles an empty
+     * state view if no events are returned.</p>
      */
     private void loadEvents() {
-        showLoading(true);
-
-        eventRepository.getAllEvents(new FirestoreListCallback<Event>() {
-            @Override
-            public void onSuccess(List<Event> events) {
-                showLoading(false);
-                allEvents.clear();
-                allEvents.addAll(events);
-                eventAdapter.updateEvents(allEvents);
+        homeViewModel.getFeed().observe(getViewLifecycleOwner(), events -> {
+            if (events == null) return;
+            showLoading(false);
+            allEvents.clear();
+            allEvents.addAll(events);
+            eventAdapter.updateEvents(allEvents);
 
-                showEmptyState(events.isEmpty());
+            showEmptyState(events.isEmpty());
 
-                applyFilters(currentSelectedTags, currentDateFilter);
+            showResults();
+        });
+        // Searches made while the feed was being indexed left the text out until now
+        homeViewModel.getSearchIndexedFeed().observe(getViewLifecycleOwner(), indexed -> {
+            if (indexed != null && currentSearchText != null && !currentSearchText.trim().isEmpty()) {
+                showResults();
             }
+        });
+
+        if (homeViewModel.getFeed().getValue() == null) {
+            showLoading(true);
+        }
+        homeViewModel.loadFeed(false, new OperationCallback() {
+            @Override
+            public void onSuccess() {}
 
             @Override
             public void onError(String error) {
+                if (!isAdded()) return;
                 showLoading(false);
                 Toast.makeText(getContext(), "Error loading events: " + error, Toast.LENGTH_SHORT).show();
-                showEmptyState(true);
+                // Keep showing cached events if we have them
+                showEmptyState(allEvents.isEmpty());
             }
         });
     }
 
     /**
-     * Filters the list of events based on a free-text query, matching against
-     * the event name and location fields.
+     * Filters the list of events based on a free-text query, matching against the event
+     * name, description, location, organizer and tags, within the active filters.
      *
-     * @param query the search text entered by the user; if empty, restores the full list
+     * <p>Runs on the {@link com.hotdog.elotto.repository.EventSearchIndex} rather than scanning
+     * every event, and shows the best matches first.</p>
+     *
+     * @param query the search text entered by the user; if empty, only the filters apply
      */
     private void filterEvents(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            eventAdapter.updateEvents(allEvents);
-            showEmptyState(allEvents.isEmpty());
-            return;
-        }
-
-        List<Event> filteredEvents = new ArrayList<>();
-        String lowerCaseQuery = query.toLowerCase();
-
-        for (Event event : allEvents) {
-            if (event.getName().toLowerCase().contains(lowerCaseQuery) ||
-                    event.getLocation().toLowerCase().contains(lowerCaseQuery)) {
-                filteredEvents.add(event);
-            }
-        }
-
-        eventAdapter.updateEvents(filteredEvents);
-        showEmptyState(filteredEvents.isEmpty());
+        currentSearchText = query;
+        showResults();
     }
 
     /**
@@ -1,19 +1,573 @@
 package com.hotdog.elotto.ui.home;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.hotdog.elotto.callback.FirestoreCallback;
+import com.hotdog.elotto.callback.FirestoreListCallback;
+import com.hotdog.elotto.callback.OperationCallback;
+import com.hotdog.elotto.model.Event;
+import com.hotdog.elotto.repository.EventMonthCache;
+import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventSearchIndex;
+import com.hotdog.elotto.repository.EventStore;
+import com.hotdog.elotto.repository.ReadPolicy;
+import com.hotdog.elotto.repository.RepositoryExecutors;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Activity-scoped ViewModel that holds the event data shared by the main tabs.
+ *
+ * <p>{@link HomeFragment}, {@link MyEventsView}, the calendar and the event history screen all
+ * obtain this ViewModel from the hosting activity
+ * ({@code new ViewModelProvider(requireActivity())}), so they observe one cached dataset.
+ * Because the ViewModel survives configuration changes, rotating the device or switching tabs
+ * re-delivers the cached lists without any Firestore reads.</p>
+ *
+ * <p>Streams exposed:</p>
+ * <ul>
+ *     <li>{@link #getFeed()} - every event, loaded once</li>
+ *     <li>{@link #getMyEvents()} - events created by the current organizer</li>
+ *     <li>{@link #getCalendarMonthEvents()} - events in the selected calendar month</li>
+ *     <li>{@link #getCalendarDayCounts()} - how many events each day of that month has</li>
+ *     <li>{@link #getHistory()} - events the current user registered for</li>
+ * </ul>
+ *
+ * <p>My events and history are derived from the feed when it is already loaded and only hit
+ * Firestore when it isn't. Loaded events are also put into the {@link EventStore} so navigation
+ * can resolve them by ID, and every new version of the feed is handed to the
+ * {@link EventSearchIndex} so text search never scans the feed. The calendar month is sliced
+ * from the feed when it is loaded; otherwise only that month's window is read, through the
+ * {@link EventMonthCache}.</p>
+ *
+ * <p>ViewModel layer component in MVVM architecture pattern.</p>
+ *
+ * <p><b>Outstanding Issues:</b> None currently</p>
+ *
+ * @version 1.0
+ * @since 2025-12-01
+ */
 public class HomeViewModel extends ViewModel {
 
-    private final MutableLiveData<String> mText;
+    private final EventRepository eventRepository;
+    private final EventStore eventStore;
+    private final EventSearchIndex searchIndex;
+    private final EventMonthCache monthCache;
+
+    /**
+     * Every event in the system, or null until first loaded.
+     */
+    private final MutableLiveData<List<Event>> feed = new MutableLiveData<>();
+
+    /**
+     * The last version of the feed the search index has finished indexing.
+     */
+    private final MutableLiveData<List<Event>> searchIndexedFeed = new MutableLiveData<>();
+
+    /**
+     * Events created by the organizer passed to {@link #loadMyEvents}.
+     */
+    private final MutableLiveData<List<Event>> myEvents = new MutableLiveData<>();
+
+    /**
+     * Events the user passed to {@link #loadHistory} is registered for.
+     */
+    private final MutableLiveData<List<Event>> history = new MutableLiveData<>();
+
+    /**
+     * Selected calendar month as {year, month} using {@link Calendar} month numbering.
+     */
+    private final MutableLiveData<int[]> calendarMonth = new MutableLiveData<>();
+
+    /**
+     * Events in {@link #calendarMonth}, recomputed whenever it or the feed changes.
+     */
+    private final MediatorLiveData<List<Event>> calendarMonthEvents = new MediatorLiveData<>();
+
+    /**
+     * Number of events on each day of {@link #calendarMonth}, index 0 being the 1st.
+     */
+    private final MutableLiveData<int[]> calendarDayCounts = new MutableLiveData<>();
+
+    /**
+     * {@link #calendarMonthEvents} sorted by day.
+     */
+    private EventDayIndex calendarMonthIndex = new EventDayIndex(new ArrayList<>());
 
+    /**
+     * The feed sorted by day, and the version of the feed it was built from.
+     */
+    private EventDayIndex dayIndex = new EventDayIndex(new ArrayList<>());
+    private List<Event> dayIndexFeed;
+
+    /**
+     * The feed's tag and date bitmasks, and the version of the feed they were built from.
+     */
+    private EventFilterIndex filterIndex = new EventFilterIndex(new ArrayList<>());
+    private List<Event> filterIndexFeed;
+
+    /**
+     * The planner over the current feed's indexes, rebuilt when any of them is.
+     */
+    private EventQueryPlanner queryPlanner;
+    private EventDayIndex plannedDayIndex;
+
+    /**
+     * Callbacks waiting on the feed load currently in flight, or null when none is running.
+     */
+    private List<OperationCallback> pendingFeedCallbacks;
+    private String myEventsOrganizerId;
+    private List<String> historyEventIds;
+
+    /**
+     * Default constructor used by the ViewModelProvider.
+     */
     public HomeViewModel() {
-        mText = new MutableLiveData<>();
-        mText.setValue("This is home fragment");
+        this(new EventRepository(), EventStore.getInstance(), EventSearchIndex.getInstance(),
+                EventMonthCache.getInstance());
+    }
+
+    /**
+     * Constructor for dependency injection (useful for testing).
+     *
+     * @param eventRepository the event repository instance
+     * @param eventStore      the event store to populate with loaded events
+     */
+    public HomeViewModel(EventRepository eventRepository, EventStore eventStore) {
+        this(eventRepository, eventStore, new EventSearchIndex());
+    }
+
+    /**
+     * Constructor for dependency injection (useful for testing).
+     *
+     * @param eventRepository the event repository instance
+     * @param eventStore      the event store to populate with loaded events
+     * @param searchIndex     the search index to keep in step with the feed
+     */
+    public HomeViewModel(EventRepository eventRepository, EventStore eventStore, EventSearchIndex searchIndex) {
+        this(eventRepository, eventStore, searchIndex, new EventMonthCache(eventRepository::getEventsBetween));
+    }
+
+    /**
+     * Constructor for dependency injection (useful for testing).
+     *
+     * @param eventRepository the event repository instance
+     * @param eventStore      the event store to populate with loaded events
+     * @param searchIndex     the search index to keep in step with the feed
+     * @param monthCache      the cache calendar months are read through
+     */
+    public HomeViewModel(EventRepository eventRepository, EventStore eventStore, EventSearchIndex searchIndex,
+                         EventMonthCache monthCache) {
+        this.eventRepository = eventRepository;
+        this.eventStore = eventStore;
+        this.searchIndex = searchIndex;
+        this.monthCache = monthCache;
+
+        calendarMonthEvents.addSource(feed, events -> recomputeCalendarMonth());
+        calendarMonthEvents.addSource(calendarMonth, month -> recomputeCalendarMonth());
+    }
+
+    /**
+     * Gets the stream of all events.
+     *
+     * @return LiveData holding every event, or null before the first load
+     */
+    public LiveData<List<Event>> getFeed() {
+        return feed;
+    }
+
+    /**
+     * Gets the stream of feeds the search index has caught up with. Searches run before
+     * then leave the text out, so they should be run again when this changes.
+     *
+     * @return LiveData holding the last feed indexed, or null before the first
+     */
+    public LiveData<List<Event>> getSearchIndexedFeed() {
+        return searchIndexedFeed;
+    }
+
+    /**
+     * Gets the stream of events created by the current organizer.
+     *
+     * @return LiveData holding the organizer's events
+     */
+    public LiveData<List<Event>> getMyEvents() {
+        return myEvents;
+    }
+
+    /**
+     * Gets the stream of events in the selected calendar month.
+     *
+     * @return LiveData holding the events in the selected month
+     */
+    public LiveData<List<Event>> getCalendarMonthEvents() {
+        return calendarMonthEvents;
+    }
+
+    /**
+     * Gets the number of events on each day of the selected calendar month, for month
+     * indicators that don't need the events themselves.
+     *
+     * @return LiveData holding one count per day of the month, index 0 being the 1st
+     */
+    public LiveData<int[]> getCalendarDayCounts() {
+        return calendarDayCounts;
+    }
+
+    /**
+     * Gets the selected calendar month's events sorted by day.
+     *
+     * @return the day index of {@link #getCalendarMonthEvents()}
+     */
+    public EventDayIndex getCalendarMonthIndex() {
+        return calendarMonthIndex;
+    }
+
+    /**
+     * Gets the stream of events in the user's registration history.
+     *
+     * @return LiveData holding the registered events
+     */
+    public LiveData<List<Event>> getHistory() {
+        return history;
+    }
+
+    /**
+     * Loads every event unless they are already cached.
+     *
+     * <p>The first load uses {@link ReadPolicy#CACHE_THEN_SERVER}: events in Firestore's local
+     * cache are published right away and replaced when the server responds. The callback is
+     * only told about the server result. Forced reloads go straight to the server so they
+     * never replace the current feed with older cached data.</p>
+     *
+     * @param force    true to reload from Firestore even if the feed is cached
+     * @param callback optional callback told when the feed is available or failed to load
+     */
+    public void loadFeed(boolean force, @Nullable OperationCallback callback) {
+        if (feed.getValue() != null && !force) {
+            if (callback != null) callback.onSuccess();
+            return;
+        }
+        if (pendingFeedCallbacks != null) {
+            // A load is already in flight, piggyback on it instead of reading again
+            if (callback != null) pendingFeedCallbacks.add(callback);
+            return;
+        }
+
+        pendingFeedCallbacks = new ArrayList<>();
+        if (callback != null) pendingFeedCallbacks.add(callback);
+        boolean firstLoad = feed.getValue() == null;
+        FirestoreListCallback<Event> cachedCallback = new FirestoreListCallback<Event>() {
+            @Override
+            public void onSuccess(List<Event> events) {
+                // An empty cache just means nothing was cached yet, keep the spinner up
+                if (events.isEmpty() || feed.getValue() != null) return;
+                eventStore.putAll(events);
+                indexFeed(events);
+                feed.setValue(events);
+                refreshDerived();
+            }
+
+            @Override
+            public void onError(String errorMessage) {}
+        };
+
+        ReadPolicy policy = firstLoad ? ReadPolicy.CACHE_THEN_SERVER : ReadPolicy.SERVER_ONLY;
+        eventRepository.getAllEvents(policy, cachedCallback, new FirestoreListCallback<Event>() {
+            @Override
+            public void onSuccess(List<Event> events) {
+                List<OperationCallback> waiting = pendingFeedCallbacks;
+                pendingFeedCallbacks = null;
+                eventStore.putAll(events);
+                indexFeed(events);
+                feed.setValue(events);
+                refreshDerived();
+                for (OperationCallback c : waiting) c.onSuccess();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                List<OperationCallback> waiting = pendingFeedCallbacks;
+                pendingFeedCallbacks = null;
+                for (OperationCallback c : waiting) c.onError(errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Loads the events created by an organizer. Served from the feed when it is loaded.
+     *
+     * @param organizerId the organizer's ID
+     * @param force       true to reload from Firestore even if cached
+     * @param callback    optional callback told when the list is available or failed to load
+     */
+    public void loadMyEvents(@NonNull String organizerId, boolean force, @Nullable OperationCallback callback) {
+        if (!force && organizerId.equals(myEventsOrganizerId) && myEvents.getValue() != null) {
+            if (callback != null) callback.onSuccess();
+            return;
+        }
+        myEventsOrganizerId = organizerId;
+
+        List<Event> all = feed.getValue();
+        if (all != null && !force) {
+            myEvents.setValue(filterByOrganizer(all, organizerId));
+            if (callback != null) callback.onSuccess();
+            return;
+        }
+
+        eventRepository.getEventsByOrganizer(organizerId, new FirestoreListCallback<Event>() {
+            @Override
+            public void onSuccess(List<Event> events) {
+                eventStore.putAll(events);
+                myEvents.setValue(events);
+                if (callback != null) callback.onSuccess();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                if (callback != null) callback.onError(errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Loads the events matching a user's registered event IDs. Served from the feed when
+     * every ID is present in it.
+     *
+     * @param eventIds the IDs of the events the user registered for
+     * @param force    true to reload from Firestore even if cached
+     * @param callback optional callback told when the list is available or failed to load
+     */
+    public void loadHistory(@NonNull List<String> eventIds, boolean force, @Nullable OperationCallback callback) {
+        if (!force && eventIds.equals(historyEventIds) && history.getValue() != null) {
+            if (callback != null) callback.onSuccess();
+            return;
+        }
+        historyEventIds = new ArrayList<>(eventIds);
+
+        if (eventIds.isEmpty()) {
+            history.setValue(new ArrayList<>());
+            if (callback != null) callback.onSuccess();
+            return;
+        }
+
+        List<Event> fromFeed = force ? null : selectByIds(feed.getValue(), eventIds);
+        if (fromFeed != null) {
+            history.setValue(fromFeed);
+            if (callback != null) callback.onSuccess();
+            return;
+        }
+
+        eventRepository.getEventsById(eventIds, new FirestoreCallback<List<Event>>() {
+            @Override
+            public void onSuccess(List<Event> events) {
+                eventStore.putAll(events);
+                history.setValue(events);
+                if (callback != null) callback.onSuccess();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                if (callback != null) callback.onError(errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Selects the calendar month whose events {@link #getCalendarMonthEvents()} exposes.
+     *
+     * @param year  the year
+     * @param month the month, 0-based as in {@link Calendar#MONTH}
+     */
+    public void selectCalendarMonth(int year, int month) {
+        int[] current = calendarMonth.getValue();
+        if (current != null && current[0] == year && current[1] == month) {
+            return;
+        }
+        calendarMonth.setValue(new int[]{year, month});
     }
 
-    public LiveData<String> getText() {
-        return mText;
+    /**
+     * Gets the feed sorted by day, for day and month queries that don't scan it.
+     *
+     * @return the day index of the current feed, empty before the first load
+     */
+    public EventDayIndex getDayIndex() {
+        List<Event> all = feed.getValue();
+        if (all != null && all != dayIndexFeed) {
+            dayIndex = new EventDayIndex(all);
+            dayIndexFeed = all;
+        }
+        return dayIndex;
+    }
+
+    /**
+     * Gets the feed's tag and date bitmasks, for the filter dialog.
+     *
+     * @return the filter index of the current feed, rebuilt if the day has changed since
+     */
+    public EventFilterIndex getFilterIndex() {
+        List<Event> all = feed.getValue();
+        if (all != null && (all != filterIndexFeed || !filterIndex.isCurrent())) {
+            filterIndex = new EventFilterIndex(all);
+            filterIndexFeed = all;
+            queryPlanner = null;
+        }
+        return filterIndex;
+    }
+
+    /**
+     * Gets the planner that answers combined search and filter queries over the feed.
+     *
+     * @return a planner over the current feed's indexes
+     */
+    public EventQueryPlanner getQueryPlanner() {
+        EventDayIndex days = getDayIndex();
+        EventFilterIndex filters = getFilterIndex();
+        if (queryPlanner == null || days != plannedDayIndex) {
+            List<Event> all = feed.getValue();
+            queryPlanner = new EventQueryPlanner(all != null ? all : new ArrayList<>(), searchIndex, days, filters);
+            plannedDayIndex = days;
+        }
+        return queryPlanner;
+    }
+
+    /**
+     * Marks every cached list as stale so the next load goes to Firestore, and reloads the feed.
+     * Used after the current user creates or deletes an event.
+     */
+    public void invalidate() {
+        myEventsOrganizerId = null;
+        historyEventIds = null;
+        monthCache.clear();
+        loadFeed(true, null);
+    }
+
+    /**
+     * Hands a new version of the feed to the search index. Indexing a large feed for the
+     * first time takes a while, so it runs on the background executor and tells
+     * {@link #getSearchIndexedFeed} when it is done.
+     *
+     * @param events the new feed
+     */
+    private void indexFeed(List<Event> events) {
+        RepositoryExecutors.background().execute(() -> {
+            searchIndex.update(events);
+            searchIndexedFeed.postValue(events);
+        });
+    }
+
+    /**
+     * Recomputes the lists derived from the feed after it changes.
+     */
+    private void refreshDerived() {
+        List<Event> all = feed.getValue();
+        if (all == null) return;
+
+        if (myEventsOrganizerId != null) {
+            myEvents.setValue(filterByOrganizer(all, myEventsOrganizerId));
+        }
+        if (historyEventIds != null) {
+            List<Event> fromFeed = selectByIds(all, historyEventIds);
+            if (fromFeed != null) {
+                history.setValue(fromFeed);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the events of the selected calendar month: a slice of the feed's day index
+     * when the feed is loaded, otherwise the month's window from the {@link EventMonthCache},
+     * with the months either side prefetched.
+     */
+    private void recomputeCalendarMonth() {
+        int[] month = calendarMonth.getValue();
+        if (month == null) return;
+
+        if (feed.getValue() != null) {
+            showCalendarMonth(month, getDayIndex().inMonth(month[0], month[1]));
+            return;
+        }
+
+        monthCache.getMonth(month[0], month[1], new FirestoreListCallback<Event>() {
+            @Override
+            public void onSuccess(List<Event> events) {
+                // Ignore a month the user has already moved away from, or one the feed has replaced
+                if (calendarMonth.getValue() != month || feed.getValue() != null) return;
+                showCalendarMonth(month, events);
+            }
+
+            @Override
+            public void onError(String errorMessage) {}
+        });
+        monthCache.prefetchAround(month[0], month[1]);
+    }
+
+    /**
+     * Publishes a calendar month's events and per-day counts.
+     *
+     * @param month  the month as {year, month}
+     * @param events the events in it
+     */
+    private void showCalendarMonth(int[] month, List<Event> events) {
+        LocalDate first = LocalDate.of(month[0], month[1] + 1, 1);
+        calendarMonthIndex = new EventDayIndex(events);
+        calendarDayCounts.setValue(calendarMonthIndex.dayCounts((int) first.toEpochDay(), first.lengthOfMonth()));
+        calendarMonthEvents.setValue(new ArrayList<>(events));
+    }
+
+    /**
+     * Filters events down to those created by an organizer.
+     *
+     * @param events      the events to filter
+     * @param organizerId the organizer's ID
+     * @return the organizer's events
+     */
+    private static List<Event> filterByOrganizer(List<Event> events, String organizerId) {
+        List<Event> result = new ArrayList<>();
+        for (Event event : events) {
+            if (organizerId.equals(event.getOrganizerId())) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Picks the events with the given IDs out of a list.
+     *
+     * @param events   the events to pick from, may be null
+     * @param eventIds the wanted IDs
+     * @return the matching events in ID order, or null if any ID is missing
+     */
+    @Nullable
+    private static List<Event> selectByIds(@Nullable List<Event> events, List<String> eventIds) {
+        if (events == null) return null;
+
+        Map<String, Event> byId = new HashMap<>();
+        for (Event event : events) {
+            byId.put(event.getId(), event);
+        }
+
+        List<Event> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String id : eventIds) {
+            Event event = byId.get(id);
+            if (event == null) return null;
+            if (seen.add(id)) result.add(event);
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
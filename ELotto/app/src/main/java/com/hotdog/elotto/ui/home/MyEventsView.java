@@ -22,6 +22,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.constraintlayout.widget.ConstraintLayout;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
@@ -35,11 +36,12 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.hotdog.elotto.MainActivity;
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.adapter.EventAdapter;
-import com.hotdog.elotto.callback.FirestoreCallback;
+import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.model.Event;
 import com.hotdog.elotto.model.Organizer;
 import com.hotdog.elotto.model.User;
 import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventStore;
 import com.hotdog.elotto.repository.OrganizerRepository;
 
 import java.util.ArrayList;
@@ -57,7 +59,7 @@ import javax.security.auth.callback.Callback;
  *     <li>Create new events via a dedicated event creation activity</li>
  * </ul>
  *
- * <p>Events are loaded asynchronously from Firestore through the {@link Organizer} model,
+ * <p>Events are loaded asynchronously through the activity-scoped {@link HomeViewModel},
  * and rendered using an {@link EventAdapter} in a {@link RecyclerView}. Empty and loading
  * states are managed via overlay views.</p>
  *
@@ -89,6 +91,11 @@ public class MyEventsView extends Fragment {
     private Organizer organizer;
     private User user;
 
+    /**
+     * Activity-scoped ViewModel holding the event lists shared with the other tabs.
+     */
+    private HomeViewModel homeViewModel;
+
     /**
      * Cover layout that overlays the content when loading or empty states are shown.
      */
@@ -107,7 +114,7 @@ public class MyEventsView extends Fragment {
     /**
      * Called when the fragment is first created.
      * Initializes components like {@link Organizer} and {@link EventAdapter},
-     * registers the activity result launcher, and loads the organizer’s events.
+     * obtains the shared {@link HomeViewModel}, and registers the activity result launcher.
      *
      * @param savedInstanceState the previously saved state of the fragment, or null if none exists
      */
@@ -119,14 +126,16 @@ public class MyEventsView extends Fragment {
         organizer = new Organizer(requireContext());
         user = new User(requireContext(), () -> {});
         eventAdapter = new EventAdapter(new ArrayList<>(), organizer.getId());
-        this.loadEvents();
+        homeViewModel = new ViewModelProvider(requireActivity()).get(HomeViewModel.class);
 
         // Register the launcher in onCreate (per docs)
         createEventLauncher = registerForActivityResult(
                 new ActivityResultContracts.StartActivityForResult(),
                 result -> {
                     if (result.getResultCode() == RESULT_OK) {
-                        loadEvents(); // refresh after creating a new event
+                        // A new event exists, so every cached list is stale
+                        homeViewModel.invalidate();
+                        refreshEvents(true);
                     }
                 });
     }
@@ -216,17 +225,15 @@ public class MyEventsView extends Fragment {
         eventAdapter.setOnEventClickListener(new EventAdapter.OnEventClickListener() {
             @Override
             public void onEventClick(Event event) {
-                Bundle bundle = new Bundle();
+                Bundle bundle = EventStore.getInstance().buildArgs(event);
                 NavController navController = NavHostFragment.findNavController(MyEventsView.this);
 
                 // Check if current user is the organizer of this event
                 if (event.getOrganizerId() != null && event.getOrganizerId().equals(organizer.getId())) {
                     // Navigate to Organizer View
-                    bundle.putString("eventId", event.getId());
                     navController.navigate(R.id.action_navigation_my_events_to_organizerEventEntrantsFragment, bundle);
                 } else {
                     // Navigate to Entrant View (Event Details)
-                    bundle.putSerializable("event", event);
                     navController.navigate(R.id.action_navigation_my_events_to_eventDetailsFragment, bundle);
                 }
             }
@@ -241,37 +248,31 @@ public class MyEventsView extends Fragment {
             });
         });
 
-        // Initial load
-        loadEvents();
-    }
-
-    /**
-     * Called when the fragment becomes visible again.
-     * Ensures the event list is refreshed in case new events have been created.
-     */
-    @Override
-    public void onResume() {
-        super.onResume();
-        this.loadEvents();
+        // Observe the shared list, then load it (free if it is already cached)
+        homeViewModel.getMyEvents().observe(getViewLifecycleOwner(), result -> {
+            if (result == null) return;
+            eventAdapter.updateEvents(result);
+            loading(false);
+            empty(result.isEmpty());
+        });
+        refreshEvents(false);
     }
 
     /**
-     * Loads the list of events belonging to the organizer and updates the adapter.
-     * Uses a {@link FirestoreCallback} to handle asynchronous data loading and
-     * manages loading and empty states based on the results.
+     * Loads the list of events belonging to the organizer through the shared
+     * {@link HomeViewModel}. Results arrive through the {@code getMyEvents()} observer,
+     * so recreating this view or switching tabs costs no reads.
+     *
+     * @param force {@code true} to re-read from Firestore even if the list is cached
      */
-    private void loadEvents(){
-        organizer.getEventList(new FirestoreCallback<>() {
+    private void refreshEvents(boolean force) {
+        homeViewModel.loadMyEvents(organizer.getId(), force, new OperationCallback() {
             @Override
-            public void onSuccess(List<Event> result) {
-                eventAdapter.updateEvents(result);
-                loading(false);
-                empty(result.isEmpty());
-            }
+            public void onSuccess() {}
 
             @Override
             public void onError(String errorMessage) {
-                empty(true);
+                if (myEventsCover != null) empty(true);
             }
         });
     }
@@ -44,6 +44,8 @@ import com.hotdog.elotto.controller.OrganizerEventController;
 import com.hotdog.elotto.model.EntrantInfo;
 import com.hotdog.elotto.model.Event;
 import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventStore;
+import com.hotdog.elotto.repository.NotificationFanOut;
 
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
@@ -281,8 +283,14 @@ public class OrganizerEventEntrantsFragment extends Fragment {
         btnMap.setOnClickListener(v -> {
             // TODO: Navigate to map screen
             Toast.makeText(getContext(), "View map", Toast.LENGTH_SHORT).show();
-            Bundle args = new Bundle();
-            args.putString("eventId", eventId);
+            // The summary carries the coordinates, so the map doesn't read the event again
+            Bundle args;
+            if (currentEvent != null) {
+                args = EventStore.getInstance().buildArgs(currentEvent);
+            } else {
+                args = new Bundle();
+                args.putString("eventId", eventId);
+            }
             Navigation.findNavController(v).navigate(R.id.map, args);
         });
 
@@ -555,7 +563,8 @@ public class OrganizerEventEntrantsFragment extends Fragment {
     }
 
     /**
-     * Sends notifications to all entrants in the current list.
+     * Sends notifications to all entrants in the current list, showing how many have been
+     * delivered while the paced broadcast runs.
      */
     private void sendNotifications(String message) {
         List<String> userIds = new ArrayList<>();
@@ -563,14 +572,45 @@ public class OrganizerEventEntrantsFragment extends Fragment {
             userIds.add(entrantInfo.getUserId());
         }
 
-        controller.sendNotificationToEntrants(eventId, userIds, message, new OperationCallback() {
+        ProgressBar bar = new ProgressBar(requireContext(), null, android.R.attr.progressBarStyleHorizontal);
+        bar.setMax(userIds.size());
+        int padding = (int) (24 * getResources().getDisplayMetrics().density);
+        bar.setPadding(padding, padding / 2, padding, 0);
+        AlertDialog progressDialog = new AlertDialog.Builder(requireContext())
+                .setTitle("Sending Notifications")
+                .setMessage("Sent 0 of " + userIds.size())
+                .setView(bar)
+                .setCancelable(false)
+                .show();
+
+        controller.sendNotificationToEntrants(eventId, userIds, message, new NotificationFanOut.Listener() {
+            @Override
+            public void onProgress(int delivered, int failed, int total) {
+                if (!isAdded()) return;
+                bar.setMax(total);
+                bar.setProgress(delivered + failed);
+                // Delivery is paced, so large lists fill this in over a while
+                String status = "Sent " + delivered + " of " + total;
+                if (failed > 0) status += " (" + failed + " failed)";
+                progressDialog.setMessage(status);
+            }
+
+            @Override
+            public void onComplete(int delivered, int failed) {
+                // Reported through the callback below
+            }
+        }, new OperationCallback() {
             @Override
             public void onSuccess() {
+                progressDialog.dismiss();
+                if (!isAdded()) return;
                 Toast.makeText(getContext(), "Notifications sent to " + userIds.size() + " entrants", Toast.LENGTH_LONG).show();
             }
 
             @Override
             public void onError(String errorMessage) {
+                progressDialog.dismiss();
+                if (!isAdded()) return;
                 Toast.makeText(getContext(), "Error sending notifications: " + errorMessage, Toast.LENGTH_LONG).show();
             }
         });
@@ -16,13 +16,17 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.adapter.NotificationAdapter;
-import com.hotdog.elotto.callback.FirestoreListCallback;
+import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.controller.NotificationController;
 import com.hotdog.elotto.databinding.FragmentInboxBinding;
 import com.hotdog.elotto.model.Notification;
 import com.hotdog.elotto.model.User;
+import com.hotdog.elotto.repository.EventStore;
+import com.hotdog.elotto.repository.NotificationRepository;
+import com.hotdog.elotto.repository.ReadPolicy;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,6 +43,17 @@ public class NotificationsFragment extends Fragment {
     private NotificationAdapter adapter;
     private User user;
 
+    /**
+     * Notifications from every page loaded so far, newest first.
+     */
+    private List<Notification> shownNotifications = new ArrayList<>();
+
+    /**
+     * The last page loaded, used as the cursor for the next one.
+     */
+    private NotificationRepository.Page lastPage;
+    private boolean loadingMore = false;
+
     public View onCreateView(@NonNull LayoutInflater inflater,
             ViewGroup container, Bundle savedInstanceState) {
         NotificationsViewModel notificationsViewModel = new ViewModelProvider(this).get(NotificationsViewModel.class);
@@ -57,8 +72,8 @@ public class NotificationsFragment extends Fragment {
         adapter = new NotificationAdapter();
         recyclerView.setAdapter(adapter);
 
-        // Initialize Repository for navigation
-        com.hotdog.elotto.repository.EventRepository eventRepository = new com.hotdog.elotto.repository.EventRepository();
+        // Events are resolved through the shared store so cached events skip the network
+        EventStore eventStore = EventStore.getInstance();
 
         // Setup Click Listener
         adapter.setOnNotificationClickListener(notification -> {
@@ -79,12 +94,12 @@ public class NotificationsFragment extends Fragment {
 
             // Navigate to event details if eventId is present
             if (notification.getEventId() != null && !notification.getEventId().isEmpty()) {
-                eventRepository.getEventById(notification.getEventId(),
+                eventStore.resolve(notification.getEventId(),
                         new com.hotdog.elotto.callback.FirestoreCallback<com.hotdog.elotto.model.Event>() {
                             @Override
                             public void onSuccess(com.hotdog.elotto.model.Event event) {
-                                Bundle bundle = new Bundle();
-                                bundle.putSerializable("event", event);
+                                if (!isAdded()) return;
+                                Bundle bundle = eventStore.buildArgs(event);
                                 androidx.navigation.Navigation.findNavController(requireView())
                                         .navigate(R.id.action_notificationsFragment_to_eventDetailsFragment, bundle);
                             }
@@ -107,31 +122,139 @@ public class NotificationsFragment extends Fragment {
             }
         });
 
-        // Load Notifications
-        notificationController.loadNotifications(user.getId(), new FirestoreListCallback<Notification>() {
+        // Load more once the list is scrolled to the bottom
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
             @Override
-            public void onSuccess(List<Notification> notifications) {
-                if (notifications.isEmpty()) {
-                    binding.textNotifications.setVisibility(View.VISIBLE);
-                    binding.textNotifications.setText("No notifications");
-                    binding.recyclerViewNotifications.setVisibility(View.GONE);
-                } else {
-                    binding.textNotifications.setVisibility(View.GONE);
-                    binding.recyclerViewNotifications.setVisibility(View.VISIBLE);
-                    adapter.setNotifications(notifications);
-                }
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && !recyclerView.canScrollVertically(1)) loadNextPage();
+            }
+        });
+
+        // Load Notifications: show the cached inbox right away, then patch in the server copy
+        loadFirstPage(ReadPolicy.CACHE_THEN_SERVER);
+
+        // Inboxes written before notifications had their own documents are moved over once
+        notificationController.migrateInbox(user.getId(), new FirestoreCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer moved) {
+                if (moved > 0) loadFirstPage(ReadPolicy.SERVER_ONLY);
+                recountUnread();
             }
 
             @Override
             public void onError(String errorMessage) {
-                Log.e("NotificationsFragment", "Error loading notifications: " + errorMessage);
-                Toast.makeText(getContext(), "Failed to load notifications", Toast.LENGTH_SHORT).show();
+                Log.e("NotificationsFragment", "Error migrating notifications: " + errorMessage);
+                recountUnread();
             }
         });
 
         return root;
     }
 
+    /**
+     * Corrects the unread badge counter while the inbox is open, in case a retried write
+     * counted a notification twice.
+     */
+    private void recountUnread() {
+        notificationController.recountUnread(user.getId(), new FirestoreCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer unread) {}
+
+            @Override
+            public void onError(String errorMessage) {
+                Log.e("NotificationsFragment", "Error recounting unread notifications: " + errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Loads the newest page of notifications, replacing whatever is shown.
+     *
+     * @param policy Where to read from.
+     */
+    private void loadFirstPage(ReadPolicy policy) {
+        notificationController.loadFirstPage(user.getId(), policy,
+                new FirestoreCallback<NotificationRepository.Page>() {
+                    @Override
+                    public void onSuccess(NotificationRepository.Page page) {
+                        // An empty cache usually just means nothing was cached yet
+                        if (!page.getNotifications().isEmpty()) showFirstPage(page);
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {}
+                },
+                new FirestoreCallback<NotificationRepository.Page>() {
+                    @Override
+                    public void onSuccess(NotificationRepository.Page page) {
+                        showFirstPage(page);
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        Log.e("NotificationsFragment", "Error loading notifications: " + errorMessage);
+                        if (getContext() != null) {
+                            Toast.makeText(getContext(), "Failed to load notifications", Toast.LENGTH_SHORT).show();
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Loads the next page of older notifications and appends it, if there is one.
+     */
+    private void loadNextPage() {
+        if (loadingMore || lastPage == null || !lastPage.hasMore()) return;
+
+        loadingMore = true;
+        notificationController.loadNextPage(user.getId(), lastPage,
+                new FirestoreCallback<NotificationRepository.Page>() {
+                    @Override
+                    public void onSuccess(NotificationRepository.Page page) {
+                        loadingMore = false;
+                        lastPage = page;
+                        shownNotifications.addAll(page.getNotifications());
+                        showNotifications(shownNotifications);
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        loadingMore = false;
+                        Log.e("NotificationsFragment", "Error loading more notifications: " + errorMessage);
+                    }
+                });
+    }
+
+    /**
+     * Shows a first page, dropping any pages loaded before it.
+     *
+     * @param page The newest page.
+     */
+    private void showFirstPage(NotificationRepository.Page page) {
+        lastPage = page;
+        shownNotifications = new ArrayList<>(page.getNotifications());
+        showNotifications(shownNotifications);
+    }
+
+    /**
+     * Displays a list of notifications, or the empty message when there are none.
+     *
+     * @param notifications The notifications to show.
+     */
+    private void showNotifications(List<Notification> notifications) {
+        if (binding == null) return;
+
+        if (notifications.isEmpty()) {
+            binding.textNotifications.setVisibility(View.VISIBLE);
+            binding.textNotifications.setText("No notifications");
+            binding.recyclerViewNotifications.setVisibility(View.GONE);
+        } else {
+            binding.textNotifications.setVisibility(View.GONE);
+            binding.recyclerViewNotifications.setVisibility(View.VISIBLE);
+            adapter.setNotifications(notifications);
+        }
+    }
+
     @Override
     public void onDestroyView() {
         super.onDestroyView();
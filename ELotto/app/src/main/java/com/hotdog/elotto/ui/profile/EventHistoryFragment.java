@@ -14,6 +14,7 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.NavController;
 import androidx.navigation.Navigation;
 import androidx.navigation.fragment.NavHostFragment;
@@ -25,13 +26,14 @@ import com.google.firebase.Timestamp;
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.adapter.EventAdapter;
 import com.hotdog.elotto.adapter.EventHistoryAdapter;
-import com.hotdog.elotto.callback.FirestoreCallback;
+import com.hotdog.elotto.callback.OperationCallback;
 import com.hotdog.elotto.helpers.Status;
 import com.hotdog.elotto.helpers.UserStatus;
 import com.hotdog.elotto.model.Event;
 import com.hotdog.elotto.model.User;
-import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventStore;
 import com.hotdog.elotto.ui.home.HomeFragment;
+import com.hotdog.elotto.ui.home.HomeViewModel;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -70,7 +72,7 @@ public class EventHistoryFragment extends Fragment {
 
     // Data
     private User currentUser;
-    private EventRepository eventRepository;
+    private HomeViewModel homeViewModel;
     private List<Event> drawnEvents = new ArrayList<>();
     private List<Event> pendingEvents = new ArrayList<>();
 
@@ -83,9 +85,9 @@ public class EventHistoryFragment extends Fragment {
         initializeViews(view);
 
         currentUser = new User(requireContext(), (User user) -> {
-            loadUserEventHistory(user);
             setupToolbar();
             setupRecyclerViews(user);
+            loadUserEventHistory(user);
         });
 
         return view;
@@ -103,7 +105,8 @@ public class EventHistoryFragment extends Fragment {
         drawnEventsEmptyText = view.findViewById(R.id.drawnEventsEmptyText);
         pendingEventsEmptyText = view.findViewById(R.id.pendingEventsEmptyText);
 
-        eventRepository = new EventRepository();
+        // Shared with the other tabs so history is served from the cached feed when possible
+        homeViewModel = new ViewModelProvider(requireActivity()).get(HomeViewModel.class);
     }
 
     /**
@@ -140,8 +143,7 @@ public class EventHistoryFragment extends Fragment {
                 // Check if user is registered and has Invited status
                 Status userStatus = getUserStatusForEvent(event.getId(), user);
 
-                Bundle bundle = new Bundle();
-                bundle.putSerializable("event", event);
+                Bundle bundle = EventStore.getInstance().buildArgs(event);
                 NavController navController = NavHostFragment.findNavController(EventHistoryFragment.this);
 
                 // If user is invited and invitation hasn't expired then go to accept/decline screen
@@ -172,9 +174,13 @@ public class EventHistoryFragment extends Fragment {
     }
 
     /**
-     * Fetch all events that the user has registered for from Firebase.
+     * Load all events that the user has registered for through the shared ViewModel.
+     * Events already in the shared feed are not read from Firebase again.
      */
     private void fetchUserEvents(User user) {
+        // The user may resolve after the view is gone
+        if (getView() == null) return;
+
         List<String> registeredEventIds = user.getRegEventIds();
 
         if (registeredEventIds == null || registeredEventIds.isEmpty()) {
@@ -182,20 +188,22 @@ public class EventHistoryFragment extends Fragment {
             return;
         }
 
-        // Fetch events from Firebase
-        eventRepository.getEventsById(registeredEventIds, new FirestoreCallback<List<Event>>() {
-            @Override
-            public void onSuccess(List<Event> events) {
-                if (events != null && !events.isEmpty()) {
-                    categorizeEvents(events, user);
-                    updateUI();
-                } else {
-                    showEmptyStates();
-                }
+        homeViewModel.getHistory().observe(getViewLifecycleOwner(), events -> {
+            if (events != null && !events.isEmpty()) {
+                categorizeEvents(events, user);
+                updateUI();
+            } else {
+                showEmptyStates();
             }
+        });
+
+        homeViewModel.loadHistory(registeredEventIds, false, new OperationCallback() {
+            @Override
+            public void onSuccess() {}
 
             @Override
             public void onError(String errorMessage) {
+                if (!isAdded()) return;
                 Log.e(TAG, "Error fetching events: " + errorMessage);
                 Toast.makeText(getContext(), "Failed to load events", Toast.LENGTH_SHORT).show();
                 showEmptyStates();
@@ -12,6 +12,7 @@ import com.google.firebase.firestore.*;
 import com.hotdog.elotto.R;
 import com.hotdog.elotto.model.User;
 import com.hotdog.elotto.helpers.UserType;
+import com.hotdog.elotto.repository.UserSearchKeys;
 import com.hotdog.elotto.ui.admin.AdminDashboardActivity;
 import android.content.Intent;
 import java.util.*;
@@ -167,6 +168,7 @@ public class ProfileFragment extends Fragment {
         data.put("name", n);
         data.put("email", e);
         data.put("phone", p);
+        data.putAll(UserSearchKeys.of(n, e, p));
 
         db.collection("users").document(currentUserId).set(data, SetOptions.merge())
                 .addOnSuccessListener(x -> Toast.makeText(getContext(), "Updated", Toast.LENGTH_SHORT).show())
@@ -20,6 +20,7 @@ import com.hotdog.elotto.R;
 import com.hotdog.elotto.callback.FirestoreCallback;
 import com.hotdog.elotto.model.Event;
 import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventStore;
 import com.journeyapps.barcodescanner.BarcodeCallback;
 import com.journeyapps.barcodescanner.BarcodeResult;
 import com.journeyapps.barcodescanner.DecoratedBarcodeView;
@@ -161,16 +162,15 @@ public class QRScannerFragment extends Fragment {
 
     /**
      * Navigates to {@code EventDetailsFragment} with the given Event
-     * passed as a Serializable argument.
+     * passed by ID through the {@link EventStore}.
      *
      * @param event the event that was resolved from the scanned QR code
      */
     private void openEventScreen(Event event) {
         statusTextView.setText("Event found! Opening details...");
 
-        Bundle bundle = new Bundle();
-        // "event" MUST match the argument name in nav_graph for eventDetailsFragment
-        bundle.putSerializable("event", event);
+        // Argument names MUST match the ones in nav_graph for eventDetailsFragment
+        Bundle bundle = EventStore.getInstance().buildArgs(event);
 
         NavHostFragment.findNavController(QRScannerFragment.this)
                 .navigate(R.id.action_qrScannerFragment_to_eventDetailsFragment, bundle);
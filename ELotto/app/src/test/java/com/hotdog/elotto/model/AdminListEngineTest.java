@@ -0,0 +1,176 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+import android.os.Looper;
+import android.util.Log;
+
+import com.hotdog.elotto.repository.RepositoryExecutors;
+import com.hotdog.elotto.ui.admin.AdminListEngine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Unit tests for AdminListEngine: debouncing, background filtering and sorting, narrowing,
+ * and dropping results that a newer query or newer items have overtaken.
+ *
+ * <p>Background work is queued until the test runs it; the main thread and the list sink
+ * run straight away.</p>
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class AdminListEngineTest {
+
+    private MockedStatic<Log> mockedLog;
+    private List<Runnable> background;
+    private List<Runnable> debounced;
+    private List<List<String>> submitted;
+    private List<String> matchedAgainst;
+    private List<String> lastShown;
+    private AdminListEngine<String> engine;
+
+    private final AdminListEngine.Scheduler scheduler = new AdminListEngine.Scheduler() {
+        @Override
+        public void schedule(Runnable work, long delayMillis) {
+            assertEquals(AdminListEngine.SEARCH_DEBOUNCE_MS, delayMillis);
+            debounced.add(work);
+        }
+
+        @Override
+        public void cancelAll() {
+            debounced.clear();
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        mockedLog = mockStatic(Log.class);
+        RepositoryExecutors.setForTesting(Runnable::run, Runnable::run, () -> false, true);
+        background = new ArrayList<>();
+        debounced = new ArrayList<>();
+        submitted = new ArrayList<>();
+        matchedAgainst = new ArrayList<>();
+        engine = new AdminListEngine<>(
+                (items, committed) -> {
+                    submitted.add(items);
+                    committed.run();
+                },
+                (item, query) -> {
+                    matchedAgainst.add(item);
+                    return item.contains(query);
+                },
+                Comparator.naturalOrder(),
+                (shown, loaded, query) -> lastShown = shown,
+                background::add, Runnable::run, scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RepositoryExecutors.setForTesting(null, null,
+                () -> Looper.myLooper() == Looper.getMainLooper(), false);
+        mockedLog.close();
+    }
+
+    private void runBackground() {
+        while (!background.isEmpty()) {
+            background.remove(0).run();
+        }
+    }
+
+    private void type(String text) {
+        engine.setQuery(text);
+        while (!debounced.isEmpty()) {
+            debounced.remove(0).run();
+        }
+    }
+
+    @Test
+    void testSetItems_FiltersAndSortsInBackground() {
+        engine.setItems(Arrays.asList("pear", "apple", "fig"));
+
+        assertTrue(submitted.isEmpty());
+        runBackground();
+
+        assertEquals(Arrays.asList("apple", "fig", "pear"), lastShown);
+        assertEquals(3, engine.getLoadedCount());
+    }
+
+    @Test
+    void testSetQuery_IsDebouncedAndNormalized() {
+        engine.setItems(Arrays.asList("pear", "apple", "peach"));
+        runBackground();
+
+        engine.setQuery("P");
+        engine.setQuery(" PE ");
+        assertEquals(1, debounced.size());
+        debounced.remove(0).run();
+        runBackground();
+
+        assertEquals("pe", engine.getQuery());
+        assertEquals(Arrays.asList("peach", "pear"), lastShown);
+    }
+
+    @Test
+    void testSetQuery_ExtendingQueryOnlyChecksPreviousMatches() {
+        engine.setItems(Arrays.asList("pear", "apple", "peach", "fig"));
+        runBackground();
+        type("pe");
+        runBackground();
+
+        matchedAgainst.clear();
+        type("pea");
+        runBackground();
+
+        assertEquals(2, matchedAgainst.size());
+        assertEquals(Arrays.asList("peach", "pear"), lastShown);
+    }
+
+    @Test
+    void testRefilter_DropsResultOvertakenByNewerQuery() {
+        engine.setItems(Arrays.asList("pear", "apple"));
+        runBackground();
+
+        type("pe");
+        type("ap");
+        runBackground();
+
+        // Only the newest query's result reaches the adapter
+        assertEquals(Arrays.asList("apple"), submitted.get(submitted.size() - 1));
+        assertEquals(2, submitted.size());
+        assertEquals(Arrays.asList("apple"), lastShown);
+    }
+
+    @Test
+    void testAddItemsAndRemove_UpdateTheShownList() {
+        engine.setItems(Arrays.asList("pear"));
+        engine.addItems(Arrays.asList("apple"));
+        runBackground();
+        assertEquals(Arrays.asList("apple", "pear"), lastShown);
+
+        engine.remove("pear");
+        runBackground();
+        assertEquals(Arrays.asList("apple"), lastShown);
+        assertEquals(1, engine.getLoadedCount());
+    }
+
+    @Test
+    void testCancel_DropsPendingSearchAndResults() {
+        engine.setItems(Arrays.asList("pear"));
+        engine.setQuery("p");
+        engine.cancel();
+        runBackground();
+
+        assertTrue(debounced.isEmpty());
+        assertTrue(submitted.isEmpty());
+    }
+}
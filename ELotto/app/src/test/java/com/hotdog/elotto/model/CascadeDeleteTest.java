@@ -0,0 +1,290 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+import android.util.Log;
+
+import com.hotdog.elotto.repository.CascadeDelete;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for CascadeDelete: running stages chunk by chunk, checkpointing, resuming,
+ * retrying and reporting throughput.
+ *
+ * <p>Stages are fakes that report scripted chunk results; scheduled work is queued until the
+ * test runs it, and the clock moves 100ms per chunk.</p>
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class CascadeDeleteTest {
+
+    private static final String TRANSIENT = "transient";
+    private static final String PERMANENT = "permanent";
+
+    private MockedStatic<Log> mockedLog;
+    private List<CascadeDelete.Checkpoint> stored;
+    private Deque<Runnable> scheduled;
+    private List<Long> delays;
+    private long now;
+    private RecordingListener listener;
+
+    private FakeStage first;
+    private FakeStage second;
+
+    @BeforeEach
+    void setUp() {
+        mockedLog = mockStatic(Log.class);
+        stored = new ArrayList<>();
+        scheduled = new ArrayDeque<>();
+        delays = new ArrayList<>();
+        now = 0;
+        listener = new RecordingListener();
+        first = new FakeStage("first");
+        second = new FakeStage("second");
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedLog.close();
+    }
+
+    private CascadeDelete newCascade() {
+        Map<CascadeDelete.Kind, List<CascadeDelete.Stage>> stages = new EnumMap<>(CascadeDelete.Kind.class);
+        stages.put(CascadeDelete.Kind.EVENT, Arrays.asList(first, second));
+        stages.put(CascadeDelete.Kind.PROFILE, Collections.singletonList(second));
+        CascadeDelete.Store store = new CascadeDelete.Store() {
+            @Override
+            public List<CascadeDelete.Checkpoint> load() {
+                return stored;
+            }
+
+            @Override
+            public void save(List<CascadeDelete.Checkpoint> checkpoints) {
+                stored = checkpoints;
+            }
+        };
+        return new CascadeDelete(store, stages, (work, delayMillis) -> {
+            delays.add(delayMillis);
+            scheduled.add(work);
+        }, Runnable::run, Runnable::run, () -> now);
+    }
+
+    private void runScheduled() {
+        while (!scheduled.isEmpty()) {
+            now += 100;
+            scheduled.poll().run();
+        }
+    }
+
+    @Test
+    void testDeleteEvent_RunsEachStageUntilItFindsNothing() {
+        first.results.addAll(Arrays.asList(450, 30));
+        second.results.add(1);
+
+        newCascade().deleteEvent("event1", listener);
+        runScheduled();
+
+        // Each stage keeps going until a chunk writes nothing
+        assertEquals(3, first.calls);
+        assertEquals(2, second.calls);
+        assertEquals("event1", first.targets.get(0));
+        assertEquals(Arrays.asList(450L, 480L, 481L), listener.writtenReports);
+        assertNotNull(listener.completed);
+        assertEquals(481, listener.completed.getWritten());
+        assertEquals(2, listener.completed.getStage());
+        assertTrue(stored.isEmpty());
+    }
+
+    @Test
+    void testProgress_ReportsThroughputInDocumentsPerSecond() {
+        first.results.add(450);
+
+        newCascade().deleteEvent("event1", listener);
+        runScheduled();
+
+        // 450 documents over the 400ms the job took
+        assertEquals(1125.0, listener.completed.getDocumentsPerSecond(), 0.001);
+    }
+
+    @Test
+    void testCheckpoint_SavedAfterEveryChunk() {
+        first.results.addAll(Arrays.asList(10, 20));
+
+        newCascade().deleteEvent("event1", listener);
+        scheduled.poll().run();
+        scheduled.poll().run();
+
+        CascadeDelete.Checkpoint checkpoint = stored.get(0);
+        assertEquals(CascadeDelete.Kind.EVENT, checkpoint.getKind());
+        assertEquals("event1", checkpoint.getTargetId());
+        assertEquals(0, checkpoint.getStage());
+        assertEquals(30, checkpoint.getWritten());
+    }
+
+    @Test
+    void testResumePending_ContinuesFromSavedStage() {
+        stored = new ArrayList<>(Collections.singletonList(
+                new CascadeDelete.Checkpoint(CascadeDelete.Kind.EVENT, "event1", 1, 500)));
+        second.results.add(1);
+
+        CascadeDelete cascade = newCascade();
+        cascade.resumePending();
+        assertTrue(cascade.isRunning(CascadeDelete.Kind.EVENT, "event1"));
+        runScheduled();
+
+        assertEquals(0, first.calls);
+        assertEquals(2, second.calls);
+        assertFalse(cascade.isRunning(CascadeDelete.Kind.EVENT, "event1"));
+        assertTrue(stored.isEmpty());
+    }
+
+    @Test
+    void testTransientError_RetriedWithBackoff() {
+        first.results.addAll(Arrays.asList(TRANSIENT, TRANSIENT, 5));
+
+        newCascade().deleteEvent("event1", listener);
+        runScheduled();
+
+        assertTrue(delays.contains(1000L));
+        assertTrue(delays.contains(2000L));
+        assertNotNull(listener.completed);
+        assertEquals(5, listener.completed.getWritten());
+    }
+
+    @Test
+    void testTransientError_OutOfAttemptsKeepsCheckpoint() {
+        first.results.add(7);
+        for (int i = 0; i < 5; i++) first.results.add(TRANSIENT);
+
+        newCascade().deleteEvent("event1", listener);
+        runScheduled();
+
+        assertEquals(TRANSIENT, listener.error);
+        assertEquals(1, stored.size());
+        assertEquals(7, stored.get(0).getWritten());
+    }
+
+    @Test
+    void testTransientError_CheckpointKeptWhileOtherJobsRun() {
+        first.results.add(7);
+        for (int i = 0; i < 5; i++) first.results.add(TRANSIENT);
+        second.results.addAll(Arrays.asList(3, 4, 5, 6, 8, 9));
+        RecordingListener other = new RecordingListener();
+
+        CascadeDelete cascade = newCascade();
+        cascade.deleteEvent("event1", listener);
+        cascade.deleteProfile("user1", other);
+        runScheduled();
+
+        // The profile job saved after the event job stopped, and still kept its checkpoint
+        assertEquals(TRANSIENT, listener.error);
+        assertNotNull(other.completed);
+        assertEquals(1, stored.size());
+        assertEquals("event1", stored.get(0).getTargetId());
+        assertEquals(7, stored.get(0).getWritten());
+
+        // Deleting it again carries on from the checkpoint and then clears it
+        RecordingListener retry = new RecordingListener();
+        cascade.deleteEvent("event1", retry);
+        runScheduled();
+
+        assertNotNull(retry.completed);
+        assertEquals(7, retry.completed.getWritten());
+        assertTrue(stored.isEmpty());
+    }
+
+    @Test
+    void testPermanentError_DropsJob() {
+        first.results.add(PERMANENT);
+
+        newCascade().deleteEvent("event1", listener);
+        runScheduled();
+
+        assertEquals(PERMANENT, listener.error);
+        assertEquals(1, first.calls);
+        assertTrue(stored.isEmpty());
+    }
+
+    @Test
+    void testDeleteTwice_FollowsRunningJob() {
+        second.results.add(1);
+        RecordingListener other = new RecordingListener();
+
+        CascadeDelete cascade = newCascade();
+        cascade.deleteProfile("user1", listener);
+        cascade.deleteProfile("user1", other);
+        runScheduled();
+
+        assertEquals(2, second.calls);
+        assertNotNull(listener.completed);
+        assertNotNull(other.completed);
+    }
+
+    /**
+     * A stage that reports scripted results: a number of documents written, or an error.
+     * It reports 0 once the script runs out.
+     */
+    private static class FakeStage implements CascadeDelete.Stage {
+        final String name;
+        final Deque<Object> results = new ArrayDeque<>();
+        final List<String> targets = new ArrayList<>();
+        int calls;
+
+        FakeStage(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void runChunk(String targetId, CascadeDelete.ChunkCallback callback) {
+            calls++;
+            targets.add(targetId);
+            Object result = results.isEmpty() ? Integer.valueOf(0) : results.poll();
+            if (result instanceof Integer) {
+                callback.onChunk((Integer) result);
+            } else {
+                callback.onError(PERMANENT.equals(result), (String) result);
+            }
+        }
+    }
+
+    private static class RecordingListener implements CascadeDelete.Listener {
+        final List<Long> writtenReports = new ArrayList<>();
+        CascadeDelete.Progress completed;
+        String error;
+
+        @Override
+        public void onProgress(CascadeDelete.Progress progress) {
+            writtenReports.add(progress.getWritten());
+        }
+
+        @Override
+        public void onComplete(CascadeDelete.Progress progress) {
+            completed = progress;
+        }
+
+        @Override
+        public void onError(String message) {
+            error = message;
+        }
+    }
+}
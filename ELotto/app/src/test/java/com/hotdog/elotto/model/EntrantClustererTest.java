@@ -0,0 +1,107 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.hotdog.elotto.ui.home.EntrantClusterer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for EntrantClusterer: grid clustering of entrant locations for the event map.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class EntrantClustererTest {
+
+    private static final double WORLD_SOUTH = -85;
+    private static final double WORLD_NORTH = 85;
+
+    @Test
+    void testCluster_EveryEntrantInExactlyOneCluster() {
+        EntrantClusterer clusterer = new EntrantClusterer();
+        Random random = new Random(49);
+        for (int i = 0; i < 3000; i++) {
+            clusterer.add("u" + i, 53.5 + random.nextGaussian(), -113.5 + random.nextGaussian());
+        }
+
+        for (float zoom = 0; zoom <= 16; zoom += 2) {
+            List<EntrantClusterer.Cluster> clusters = clusterer.cluster(WORLD_SOUTH, -180, WORLD_NORTH, 180, zoom);
+            Set<String> seen = new HashSet<>();
+            for (EntrantClusterer.Cluster cluster : clusters) {
+                for (String id : cluster.getIds()) {
+                    assertTrue(seen.add(id), "zoom " + zoom + " repeats " + id);
+                }
+            }
+            assertEquals(3000, seen.size(), "zoom " + zoom);
+        }
+    }
+
+    @Test
+    void testCluster_FewerClustersWhenZoomedOut() {
+        EntrantClusterer clusterer = new EntrantClusterer();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            clusterer.add("u" + i, 53.5 + random.nextDouble(), -113.5 + random.nextDouble());
+        }
+
+        int far = clusterer.cluster(WORLD_SOUTH, -180, WORLD_NORTH, 180, 4).size();
+        int near = clusterer.cluster(WORLD_SOUTH, -180, WORLD_NORTH, 180, 12).size();
+
+        assertEquals(1, far);
+        assertTrue(near > 100, "only " + near + " clusters at zoom 12");
+    }
+
+    @Test
+    void testCluster_OnlyClustersInView() {
+        EntrantClusterer clusterer = new EntrantClusterer();
+        clusterer.add("edmonton", 53.5461, -113.4938);
+        clusterer.add("calgary", 51.0447, -114.0719);
+        clusterer.add("fiji", -17.7, 179.9);
+        clusterer.add("samoa", -13.8, -179.9);
+
+        List<EntrantClusterer.Cluster> alberta = clusterer.cluster(53, -114, 54, -113, 10);
+        assertEquals(1, alberta.size());
+        assertEquals("edmonton", alberta.get(0).getIds().get(0));
+
+        // A view across the antimeridian
+        List<EntrantClusterer.Cluster> pacific = clusterer.cluster(-20, 170, -10, -170, 10);
+        assertEquals(2, pacific.size());
+    }
+
+    @Test
+    void testCluster_KeysAndCentres() {
+        EntrantClusterer clusterer = new EntrantClusterer();
+        clusterer.add("a", 53.5, -113.5);
+        clusterer.add("b", 53.5002, -113.5002);
+
+        EntrantClusterer.Cluster together = clusterer.cluster(WORLD_SOUTH, -180, WORLD_NORTH, 180, 8).get(0);
+        assertEquals(2, together.getSize());
+        assertFalse(together.isSingle());
+        assertEquals(53.5001, together.getLatitude(), 1e-4);
+        assertEquals(-113.5001, together.getLongitude(), 1e-4);
+        assertEquals(53.5, together.getSouth(), 1e-9);
+        assertEquals(53.5002, together.getNorth(), 1e-9);
+
+        // A lone entrant keeps its key at any zoom
+        List<EntrantClusterer.Cluster> apart = clusterer.cluster(WORLD_SOUTH, -180, WORLD_NORTH, 180, 20);
+        assertEquals(2, apart.size());
+        assertEquals("entrant:a", apart.get(0).getKey());
+        assertEquals("entrant:a", clusterer.cluster(WORLD_SOUTH, -180, WORLD_NORTH, 180, 21).get(0).getKey());
+    }
+
+    @Test
+    void testAdd_ReportsOnlyChanges() {
+        EntrantClusterer clusterer = new EntrantClusterer();
+
+        assertTrue(clusterer.add("a", 1, 2));
+        assertFalse(clusterer.add("a", 1, 2));
+        assertTrue(clusterer.add("a", 1, 3));
+        assertEquals(1, clusterer.size());
+    }
+}
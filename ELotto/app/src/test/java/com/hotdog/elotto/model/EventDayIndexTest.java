@@ -0,0 +1,175 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.hotdog.elotto.ui.home.DateFilter;
+import com.hotdog.elotto.ui.home.EventDayIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Unit tests for EventDayIndex: day, month and date-filter slices of the feed, and a
+ * benchmark checking that queries do not allocate per event.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class EventDayIndexTest {
+
+    private static final TimeZone ZONE = TimeZone.getTimeZone("America/Edmonton");
+
+    private EventDayIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventDayIndex(Arrays.asList(
+                event("late-mar-10", 2025, Calendar.MARCH, 10, 23),
+                event("mar-31", 2025, Calendar.MARCH, 31, 9),
+                event("early-mar-10", 2025, Calendar.MARCH, 10, 0),
+                event("apr-1", 2025, Calendar.APRIL, 1, 9),
+                event("feb-28", 2025, Calendar.FEBRUARY, 28, 9),
+                undated("undated")), ZONE);
+    }
+
+    private static Event event(String id, int year, int month, int day, int hour) {
+        Calendar cal = Calendar.getInstance(ZONE);
+        cal.clear();
+        cal.set(year, month, day, hour, 30);
+        Event event = undated(id);
+        event.setEventDateTime(cal.getTime());
+        return event;
+    }
+
+    private static Event undated(String id) {
+        Event event = new Event();
+        event.setId(id);
+        return event;
+    }
+
+    private static int day(int year, int month, int day) {
+        Calendar cal = Calendar.getInstance(ZONE);
+        cal.clear();
+        cal.set(year, month, day, 12, 0);
+        return EventDayIndex.epochDay(cal.getTimeInMillis(), ZONE);
+    }
+
+    private static List<String> ids(List<Event> events) {
+        List<String> ids = new ArrayList<>();
+        for (Event event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void testEpochDay_UsesLocalDays() {
+        // 23:30 local is already the next day in UTC
+        assertEquals(day(2025, Calendar.MARCH, 10),
+                EventDayIndex.epochDay(event("e", 2025, Calendar.MARCH, 10, 23).getEventDateTime().getTime(), ZONE));
+        assertEquals(0, EventDayIndex.epochDay(0, TimeZone.getTimeZone("UTC")));
+        assertEquals(-1, EventDayIndex.epochDay(-1, TimeZone.getTimeZone("UTC")));
+    }
+
+    @Test
+    void testOnDay_IgnoresTimeOfDayAndKeepsFeedOrder() {
+        assertEquals(Arrays.asList("late-mar-10", "early-mar-10"),
+                ids(index.onDay(day(2025, Calendar.MARCH, 10))));
+        assertTrue(index.onDay(day(2025, Calendar.MARCH, 11)).isEmpty());
+    }
+
+    @Test
+    void testInMonth_SlicesWholeMonthAndSkipsUndated() {
+        assertEquals(Arrays.asList("late-mar-10", "early-mar-10", "mar-31"),
+                ids(index.inMonth(2025, Calendar.MARCH)));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void testMatching_UsesDateFilterRanges() {
+        int today = day(2025, Calendar.MARCH, 10);
+
+        assertEquals(2, index.matching(DateFilter.TODAY, today).size());
+        assertEquals(Arrays.asList("late-mar-10", "early-mar-10"),
+                ids(index.matching(DateFilter.WITHIN_7_DAYS, today)));
+        assertEquals(3, index.matching(DateFilter.THIS_MONTH, today).size());
+        assertEquals(5, index.matching(DateFilter.ALL_DATES, today).size());
+        // The last of the month to the first of the next is one day
+        assertEquals(Collections.singletonList("apr-1"),
+                ids(index.matching(DateFilter.TOMORROW, day(2025, Calendar.MARCH, 31))));
+    }
+
+    @Test
+    void testCount_MatchesSliceSize() {
+        int first = day(2025, Calendar.FEBRUARY, 28);
+        int last = day(2025, Calendar.MARCH, 31);
+
+        assertEquals(4, index.count(first, last));
+        assertEquals(index.between(first, last).size(), index.count(first, last));
+        assertEquals(0, index.count(last, first));
+    }
+
+    @Test
+    void testDayCounts_CountsEachDayOfMonth() {
+        int[] counts = index.dayCounts(day(2025, Calendar.MARCH, 1), 31);
+
+        assertEquals(31, counts.length);
+        assertEquals(2, counts[9]);
+        assertEquals(1, counts[30]);
+        assertEquals(3, Arrays.stream(counts).sum());
+    }
+
+    @Test
+    void testQueries_DoNotAllocatePerEvent() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        long thread = Thread.currentThread().getId();
+
+        // 50,000 events spread over two years
+        List<Event> feed = new ArrayList<>();
+        int start = day(2025, Calendar.JANUARY, 1);
+        for (int i = 0; i < 50_000; i++) {
+            Event event = undated("e" + i);
+            event.setEventDateTime(new java.util.Date((start + i % 730) * 86_400_000L + 18 * 3_600_000L));
+            feed.add(event);
+        }
+        EventDayIndex big = new EventDayIndex(feed, ZONE);
+
+        int queries = 10_000;
+        int sink = 0;
+        // Warm up so the JIT has compiled the query paths before measuring
+        for (int q = 0; q < queries; q++) {
+            sink += big.count(start + q % 730, start + q % 730 + 7);
+            sink += big.between(start + q % 730, start + q % 730 + 7).size();
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int q = 0; q < queries; q++) {
+            sink += big.count(start + q % 730, start + q % 730 + 7);
+        }
+        long countBytes = threads.getThreadAllocatedBytes(thread) - before;
+
+        before = threads.getThreadAllocatedBytes(thread);
+        for (int q = 0; q < queries; q++) {
+            sink += big.between(start + q % 730, start + q % 730 + 7).size();
+        }
+        long sliceBytes = threads.getThreadAllocatedBytes(thread) - before;
+
+        // Every query window holds events, so the loops can't have been optimised away
+        assertTrue(sink > 0);
+        // Per-event allocation would be megabytes per query over 50,000 events
+        assertTrue(countBytes < 64 * 1024, "count() allocated " + countBytes + " bytes");
+        assertTrue(sliceBytes / queries < 256, "between() allocated " + sliceBytes / queries + " bytes per query");
+    }
+}
@@ -0,0 +1,133 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.hotdog.elotto.ui.home.DateFilter;
+import com.hotdog.elotto.ui.home.EventFilterIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Unit tests for EventFilterIndex: bitmask filtering by tag and date, and the filter
+ * dialog's live counts.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class EventFilterIndexTest {
+
+    private Date now;
+    private EventFilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Calendar cal = Calendar.getInstance();
+        cal.set(2025, Calendar.MARCH, 10, 12, 0, 0);
+        now = cal.getTime();
+
+        index = new EventFilterIndex(Arrays.asList(
+                event("music-today", 0, "Music"),
+                event("music-sports-tomorrow", 1, "Music", "Sports"),
+                event("sports-next-week", 5, "Sports"),
+                event("art-next-month", 30, "Art"),
+                event("untagged-today", 0),
+                event("undated", null, "Food")), now);
+    }
+
+    private Event event(String id, Integer daysFromNow, String... tags) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTagList(new ArrayList<>(Arrays.asList(tags)));
+        if (daysFromNow != null) {
+            Calendar cal = Calendar.getInstance();
+            cal.setTime(now);
+            cal.add(Calendar.DAY_OF_MONTH, daysFromNow);
+            event.setEventDateTime(cal.getTime());
+        }
+        return event;
+    }
+
+    private static List<String> ids(List<Event> events) {
+        List<String> ids = new ArrayList<>();
+        for (Event event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void testMaskOf_SetsOneBitPerKnownTag() {
+        assertEquals(0b11, EventFilterIndex.maskOf(Arrays.asList("Music", "Sports", "Unknown")));
+        assertEquals(0, EventFilterIndex.maskOf(null));
+    }
+
+    @Test
+    void testFilter_MatchesAnySelectedTag() {
+        assertEquals(Arrays.asList("music-today", "music-sports-tomorrow", "sports-next-week"),
+                ids(index.filter(new HashSet<>(Arrays.asList("Music", "Sports")), DateFilter.ALL_DATES)));
+        assertEquals(6, index.filter(Collections.emptySet(), DateFilter.ALL_DATES).size());
+    }
+
+    @Test
+    void testFilter_CombinesTagsAndDate() {
+        assertEquals(Arrays.asList("music-today"),
+                ids(index.filter(Collections.singleton("Music"), DateFilter.TODAY)));
+        // Events without a date match every date filter
+        assertEquals(Arrays.asList("music-today", "untagged-today", "undated"),
+                ids(index.filter(Collections.emptySet(), DateFilter.TODAY)));
+    }
+
+    @Test
+    void testFacets_TagCountsFollowDateFilter() {
+        EventFilterIndex.Facets facets = index.facets(Collections.emptySet(), DateFilter.ALL_DATES);
+        assertEquals(2, facets.tagCount("Music"));
+        assertEquals(2, facets.tagCount("Sports"));
+
+        facets.setDateFilter(DateFilter.WITHIN_7_DAYS);
+        assertEquals(2, facets.tagCount("Music"));
+        assertEquals(2, facets.tagCount("Sports"));
+        assertEquals(0, facets.tagCount("Art"));
+    }
+
+    @Test
+    void testFacets_DateCountsFollowTagToggles() {
+        EventFilterIndex.Facets facets = index.facets(Collections.emptySet(), DateFilter.ALL_DATES);
+        assertEquals(6, facets.dateCount(DateFilter.ALL_DATES));
+        assertEquals(3, facets.dateCount(DateFilter.TODAY));
+
+        facets.setTag("Music", true);
+        assertEquals(2, facets.dateCount(DateFilter.ALL_DATES));
+        assertEquals(1, facets.dateCount(DateFilter.TODAY));
+
+        facets.setTag("Sports", true);
+        assertEquals(3, facets.dateCount(DateFilter.ALL_DATES));
+        assertEquals(3, facets.dateCount(DateFilter.WITHIN_7_DAYS));
+
+        // The event with both tags stays counted through Sports
+        facets.setTag("Music", false);
+        assertEquals(2, facets.dateCount(DateFilter.ALL_DATES));
+
+        facets.setTag("Sports", false);
+        assertEquals(6, facets.dateCount(DateFilter.ALL_DATES));
+    }
+
+    @Test
+    void testFacets_MatchFilterResults() {
+        EventFilterIndex.Facets facets = index.facets(Collections.singleton("Art"), DateFilter.ALL_DATES);
+        facets.setTag("Food", true);
+
+        for (DateFilter filter : DateFilter.values()) {
+            assertEquals(index.filter(new HashSet<>(Arrays.asList("Art", "Food")), filter).size(),
+                    facets.dateCount(filter), filter.name());
+        }
+    }
+}
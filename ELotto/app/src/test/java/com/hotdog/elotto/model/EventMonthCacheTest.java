@@ -0,0 +1,198 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.hotdog.elotto.callback.FirestoreListCallback;
+import com.hotdog.elotto.repository.EventMonthCache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Unit tests for EventMonthCache: month windows, caching, shared in-flight reads,
+ * prefetching and clearing.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class EventMonthCacheTest {
+
+    /**
+     * A window read that has been requested but not answered yet.
+     */
+    private static class Load {
+        final Date start;
+        final Date end;
+        final FirestoreListCallback<Event> callback;
+
+        Load(Date start, Date end, FirestoreListCallback<Event> callback) {
+            this.start = start;
+            this.end = end;
+            this.callback = callback;
+        }
+
+        void answer(Event... events) {
+            List<Event> list = new ArrayList<>();
+            Collections.addAll(list, events);
+            callback.onSuccess(list);
+        }
+    }
+
+    /**
+     * Collects what a getMonth call delivers.
+     */
+    private static class Result implements FirestoreListCallback<Event> {
+        List<Event> events;
+        String error;
+        int calls;
+
+        @Override
+        public void onSuccess(List<Event> events) {
+            this.events = events;
+            calls++;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            this.error = errorMessage;
+            calls++;
+        }
+    }
+
+    private List<Load> loads;
+    private EventMonthCache cache;
+
+    @BeforeEach
+    void setUp() {
+        loads = new ArrayList<>();
+        cache = new EventMonthCache((start, end, callback) -> loads.add(new Load(start, end, callback)));
+    }
+
+    private static Date date(int year, int month, int day) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(year, month, day);
+        return cal.getTime();
+    }
+
+    private static Event event(String id) {
+        Event event = new Event();
+        event.setId(id);
+        return event;
+    }
+
+    private Load loadStarting(Date start) {
+        for (Load load : loads) {
+            if (load.start.equals(start)) return load;
+        }
+        return null;
+    }
+
+    @Test
+    void testGetMonth_ReadsOneMonthWindow() {
+        cache.getMonth(2025, Calendar.DECEMBER, new Result());
+
+        assertEquals(1, loads.size());
+        assertEquals(date(2025, Calendar.DECEMBER, 1), loads.get(0).start);
+        assertEquals(date(2026, Calendar.JANUARY, 1), loads.get(0).end);
+    }
+
+    @Test
+    void testGetMonth_ServesCachedMonthWithoutReading() {
+        Result first = new Result();
+        cache.getMonth(2025, Calendar.MARCH, first);
+        loads.get(0).answer(event("a"), event("b"));
+
+        Result second = new Result();
+        cache.getMonth(2025, Calendar.MARCH, second);
+
+        assertEquals(1, loads.size());
+        assertEquals(2, second.events.size());
+        assertSame(first.events, second.events);
+        assertThrows(UnsupportedOperationException.class, () -> second.events.add(event("c")));
+    }
+
+    @Test
+    void testGetMonth_SharesReadStillInFlight() {
+        Result first = new Result();
+        Result second = new Result();
+        cache.getMonth(2025, Calendar.MARCH, first);
+        cache.getMonth(2025, Calendar.MARCH, second);
+
+        assertEquals(1, loads.size());
+        loads.get(0).answer(event("a"));
+
+        assertEquals(1, first.calls);
+        assertEquals(1, second.calls);
+        assertEquals("a", second.events.get(0).getId());
+    }
+
+    @Test
+    void testGetMonth_ErrorIsDeliveredAndNotCached() {
+        Result result = new Result();
+        cache.getMonth(2025, Calendar.MARCH, result);
+        loads.get(0).callback.onError("offline");
+
+        assertEquals("offline", result.error);
+        assertNull(cache.getCached(2025, Calendar.MARCH));
+
+        cache.getMonth(2025, Calendar.MARCH, new Result());
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void testPrefetchAround_ReadsAdjacentMonthsOnce() {
+        cache.prefetchAround(2025, Calendar.JANUARY);
+
+        assertEquals(2, loads.size());
+        assertNotNull(loadStarting(date(2024, Calendar.DECEMBER, 1)));
+        Load february = loadStarting(date(2025, Calendar.FEBRUARY, 1));
+        assertNotNull(february);
+
+        // A request for a month being prefetched joins that read
+        Result result = new Result();
+        cache.getMonth(2025, Calendar.FEBRUARY, result);
+        cache.prefetchAround(2025, Calendar.JANUARY);
+        assertEquals(2, loads.size());
+
+        february.answer(event("feb"));
+        assertEquals("feb", result.events.get(0).getId());
+        assertNotNull(cache.getCached(2025, Calendar.FEBRUARY));
+    }
+
+    @Test
+    void testClear_DropsMonthsAndIgnoresReadsInFlight() {
+        cache.getMonth(2025, Calendar.MARCH, new Result());
+        loads.get(0).answer(event("a"));
+        Result april = new Result();
+        cache.getMonth(2025, Calendar.APRIL, april);
+
+        cache.clear();
+        loads.get(1).answer(event("stale"));
+
+        assertNull(cache.getCached(2025, Calendar.MARCH));
+        assertNull(cache.getCached(2025, Calendar.APRIL));
+        // The read still reaches whoever asked for it
+        assertEquals("stale", april.events.get(0).getId());
+    }
+
+    @Test
+    void testGetMonth_EvictsLeastRecentlyUsedMonth() {
+        for (int month = 0; month < 13; month++) {
+            cache.getMonth(2025 + month / 12, month % 12, new Result());
+            loads.get(month).answer();
+            // Keep January the most recently used
+            cache.getMonth(2025, Calendar.JANUARY, new Result());
+        }
+
+        assertNotNull(cache.getCached(2025, Calendar.JANUARY));
+        assertNull(cache.getCached(2025, Calendar.FEBRUARY));
+        assertNotNull(cache.getCached(2026, Calendar.JANUARY));
+    }
+}
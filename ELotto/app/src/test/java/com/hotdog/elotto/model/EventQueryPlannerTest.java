@@ -0,0 +1,200 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.hotdog.elotto.repository.EventQuery;
+import com.hotdog.elotto.repository.EventSearchIndex;
+import com.hotdog.elotto.ui.home.EventDayIndex;
+import com.hotdog.elotto.ui.home.EventFilterIndex;
+import com.hotdog.elotto.ui.home.EventQueryPlanner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * Unit tests for EventQueryPlanner: combined search, tag, day, location and registration
+ * queries over the feed, checked against filtering the feed one event at a time.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class EventQueryPlannerTest {
+
+    private static final TimeZone ZONE = TimeZone.getDefault();
+    private static final long HOUR = 60L * 60 * 1000;
+
+    private List<Event> feed;
+    private EventSearchIndex searchIndex;
+    private EventQueryPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        feed = new ArrayList<>(Arrays.asList(
+                event("jazz", "Jazz Night", "Edmonton", day(2025, Calendar.MARCH, 10), "Music"),
+                event("run", "Charity Run", "Calgary", day(2025, Calendar.MARCH, 10), "Sports", "Health & Wellness"),
+                event("hack", "Hackathon", "Edmonton", day(2025, Calendar.APRIL, 2), "Technology"),
+                event("jam", "Jazz Jam", "Calgary", day(2025, Calendar.APRIL, 20), "Music", "Networking"),
+                event("meet", "Jazz Meetup", "Red Deer", null, "Networking")));
+        build();
+    }
+
+    private void build() {
+        searchIndex = new EventSearchIndex();
+        searchIndex.update(feed);
+        planner = new EventQueryPlanner(feed, searchIndex, new EventDayIndex(feed, ZONE),
+                new EventFilterIndex(feed), ZONE);
+    }
+
+    private static Date day(int year, int month, int day) {
+        Calendar cal = Calendar.getInstance(ZONE);
+        cal.clear();
+        cal.set(year, month, day, 18, 0);
+        return cal.getTime();
+    }
+
+    private static int epochDay(int year, int month, int day) {
+        return EventDayIndex.epochDay(day(year, month, day).getTime(), ZONE);
+    }
+
+    private static Event event(String id, String name, String location, Date date, String... tags) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName(name);
+        event.setLocation(location);
+        event.setEventDateTime(date);
+        event.setTagList(new ArrayList<>(Arrays.asList(tags)));
+        return event;
+    }
+
+    private static List<String> ids(List<Event> events) {
+        List<String> ids = new ArrayList<>();
+        for (Event event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * What the planner must return: the search results, or else the feed, filtered one
+     * event at a time.
+     */
+    private List<String> expected(EventQuery query) {
+        List<Event> candidates = query.getText() == null ? feed : searchIndex.search(query.getText());
+        List<Event> matches = new ArrayList<>();
+        for (Event event : candidates) {
+            if (query.matchesTags(event) && query.matchesDays(event, ZONE) && query.matchesResidual(event)) {
+                matches.add(event);
+            }
+        }
+        return ids(matches);
+    }
+
+    @Test
+    void testRun_SearchKeepsTagFilter() {
+        EventQuery query = new EventQuery();
+        query.setText("jazz");
+        query.setTags(Collections.singleton("Networking"));
+
+        assertEquals(new HashSet<>(Arrays.asList("jam", "meet")), new HashSet<>(ids(planner.run(query))));
+    }
+
+    @Test
+    void testRun_DayRangeKeepsUndatedEventsInFeedOrder() {
+        EventQuery query = new EventQuery();
+        query.setDays(epochDay(2025, Calendar.APRIL, 1), epochDay(2025, Calendar.APRIL, 30));
+
+        assertEquals(Arrays.asList("hack", "jam", "meet"), ids(planner.run(query)));
+    }
+
+    @Test
+    void testRun_TagsComeBackInFeedOrder() {
+        EventQuery query = new EventQuery();
+        query.setTags(Arrays.asList("Networking", "Music"));
+
+        assertEquals(Arrays.asList("jazz", "jam", "meet"), ids(planner.run(query)));
+    }
+
+    @Test
+    void testRun_LocationAndRegistrationHaveNoIndex() {
+        EventQuery query = new EventQuery();
+        query.setLocation("  CALGARY ");
+        assertEquals(Arrays.asList("run", "jam"), ids(planner.run(query)));
+
+        Event run = feed.get(1);
+        run.setRegistrationStartDate(new Date(System.currentTimeMillis() - HOUR));
+        run.setRegistrationEndDate(new Date(System.currentTimeMillis() + HOUR));
+        query.setOpenOnly(true);
+        assertEquals(Collections.singletonList("run"), ids(planner.run(query)));
+    }
+
+    @Test
+    void testRun_EmptyQueryReturnsFeed() {
+        EventQuery query = new EventQuery();
+        query.setText("   ");
+
+        assertTrue(query.isEmpty());
+        assertEquals(ids(feed), ids(planner.run(query)));
+    }
+
+    @Test
+    void testRun_MatchesFilteringEachEvent() {
+        Random random = new Random(46);
+        String[] words = {"alpha", "bravo", "charlie", "delta", "echo"};
+        String[] places = {"Edmonton", "Calgary", "Red Deer"};
+        int start = epochDay(2025, Calendar.JANUARY, 1);
+
+        feed = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            List<String> tags = new ArrayList<>();
+            for (String tag : EventFilterIndex.TAGS) {
+                if (random.nextInt(4) == 0) tags.add(tag);
+            }
+            Date date = random.nextInt(10) == 0 ? null : new Date(day(2025, Calendar.JANUARY, 1).getTime()
+                    + random.nextInt(120) * 24 * HOUR);
+            feed.add(event("e" + i, words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)],
+                    places[random.nextInt(places.length)], date, tags.toArray(new String[0])));
+        }
+        build();
+
+        for (int q = 0; q < 300; q++) {
+            EventQuery query = new EventQuery();
+            if (random.nextBoolean()) query.setText(words[random.nextInt(words.length)].substring(0, 3));
+            Set<String> tags = new HashSet<>();
+            for (int t = random.nextInt(3); t > 0; t--) {
+                tags.add(EventFilterIndex.TAGS.get(random.nextInt(EventFilterIndex.TAGS.size())));
+            }
+            query.setTags(tags);
+            if (random.nextBoolean()) {
+                int first = start + random.nextInt(120);
+                query.setDays(first, first + random.nextInt(30));
+            }
+            if (random.nextInt(3) == 0) query.setLocation(places[random.nextInt(places.length)]);
+
+            assertEquals(expected(query), ids(planner.run(query)), "query " + q);
+        }
+    }
+
+    @Test
+    void testRun_LeavesTextOutUntilTheFeedIsIndexed() {
+        searchIndex.update(new ArrayList<>(feed.subList(0, 2)));
+        EventQuery query = new EventQuery();
+        query.setText("hackathon");
+        query.setTags(Collections.singleton("Music"));
+
+        assertEquals(Arrays.asList("jazz", "jam"), ids(planner.run(query)));
+
+        searchIndex.update(feed);
+        assertTrue(ids(planner.run(query)).isEmpty());
+    }
+}
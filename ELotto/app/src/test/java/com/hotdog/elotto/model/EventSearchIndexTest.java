@@ -0,0 +1,173 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.hotdog.elotto.repository.EventSearchIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for EventSearchIndex: matching every query word across the indexed fields,
+ * ranking, and keeping the index in step with the feed.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class EventSearchIndexTest {
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex();
+    }
+
+    private static Event event(String id, String name, String description, String location,
+                               String organizer, String... tags) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName(name);
+        event.setDescription(description);
+        event.setLocation(location);
+        event.setOrganizerName(organizer);
+        event.setTagList(new ArrayList<>(Arrays.asList(tags)));
+        return event;
+    }
+
+    private static List<String> ids(List<Event> events) {
+        List<String> ids = new ArrayList<>();
+        for (Event event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void testSearch_MatchesEveryIndexedField() {
+        index.update(Arrays.asList(
+                event("1", "Swim Lessons", null, "Kinsmen Centre", "City Rec", "Sports"),
+                event("2", "Pottery", "Wheel throwing for beginners", "Old Strathcona", "Clay Co")));
+
+        assertEquals(Arrays.asList("1"), ids(index.search("kinsmen")));
+        assertEquals(Arrays.asList("1"), ids(index.search("sports")));
+        assertEquals(Arrays.asList("1"), ids(index.search("city rec")));
+        assertEquals(Arrays.asList("2"), ids(index.search("throwing")));
+    }
+
+    @Test
+    void testSearch_MatchesInsideWordsAndIgnoresCaseAndAccents() {
+        index.update(Collections.singletonList(event("1", "Café Crème Social", null, null, null)));
+
+        assertEquals(Arrays.asList("1"), ids(index.search("CAFE")));
+        assertEquals(Arrays.asList("1"), ids(index.search("ocia")));
+        assertTrue(index.search("cafes").isEmpty());
+    }
+
+    @Test
+    void testSearch_ShortWordsMatchWordStarts() {
+        index.update(Arrays.asList(
+                event("1", "Yoga", null, null, null),
+                event("2", "Big Band", null, null, null)));
+
+        assertEquals(Arrays.asList("1"), ids(index.search("yo")));
+        // "an" is inside "Band" but starts no word
+        assertTrue(index.search("an").isEmpty());
+    }
+
+    @Test
+    void testSearch_RequiresEveryWord() {
+        index.update(Arrays.asList(
+                event("1", "Swim Lessons", null, "Kinsmen", null),
+                event("2", "Swim Meet", null, "Terwillegar", null)));
+
+        assertEquals(Arrays.asList("2"), ids(index.search("swim terwillegar")));
+        assertTrue(index.search("swim pottery").isEmpty());
+    }
+
+    @Test
+    void testSearch_RanksNameMatchesFirst() {
+        index.update(Arrays.asList(
+                event("1", "Open Studio", "Bring your own guitar", null, null),
+                event("2", "Guitar Night", null, null, null)));
+
+        assertEquals(Arrays.asList("2", "1"), ids(index.search("guitar")));
+    }
+
+    @Test
+    void testUpdate_ReindexesChangedAndDropsRemovedEvents() {
+        index.update(Arrays.asList(
+                event("1", "Swim Lessons", null, null, null),
+                event("2", "Pottery", null, null, null)));
+
+        index.update(Collections.singletonList(event("1", "Dance Lessons", null, null, null)));
+
+        assertEquals(1, index.size());
+        assertTrue(index.search("swim").isEmpty());
+        assertTrue(index.search("pottery").isEmpty());
+        assertEquals(Arrays.asList("1"), ids(index.search("dance")));
+    }
+
+    @Test
+    void testPutAndRemove_UpdateOneEvent() {
+        index.put(event("1", "Chess Club", null, null, null));
+        assertEquals(Arrays.asList("1"), ids(index.search("chess")));
+
+        index.remove("1");
+        assertTrue(index.search("chess").isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testSearchIfCurrent_OnlySearchesTheIndexedFeed() {
+        List<Event> feed = Collections.singletonList(event("1", "Chess Club", null, null, null));
+        assertNull(index.searchIfCurrent(feed, "chess"));
+
+        index.update(feed);
+        assertEquals(Arrays.asList("1"), ids(index.searchIfCurrent(feed, "chess")));
+        assertEquals(Arrays.asList("1"), ids(index.searchIfCurrent(null, "chess")));
+        assertNull(index.searchIfCurrent(new ArrayList<>(feed), "chess"));
+    }
+
+    @Test
+    void testSearchIfCurrent_DoesNotWaitForARunningUpdate() throws InterruptedException {
+        List<Event> feed = Collections.singletonList(event("1", "Chess Club", null, null, null));
+        index.update(feed);
+
+        CountDownLatch indexing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Event slow = new Event() {
+            @Override
+            public String getName() {
+                indexing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "Chess Tournament";
+            }
+        };
+        slow.setId("2");
+        List<Event> next = Arrays.asList(feed.get(0), slow);
+        Thread updater = new Thread(() -> index.update(next));
+        updater.start();
+        assertTrue(indexing.await(5, TimeUnit.SECONDS));
+
+        assertNull(index.searchIfCurrent(null, "chess"));
+        assertNull(index.searchIfCurrent(feed, "chess"));
+
+        release.countDown();
+        updater.join(5000);
+        assertEquals(new HashSet<>(Arrays.asList("1", "2")),
+                new HashSet<>(ids(index.searchIfCurrent(next, "chess"))));
+    }
+}
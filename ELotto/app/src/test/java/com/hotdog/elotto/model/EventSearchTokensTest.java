@@ -0,0 +1,64 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.hotdog.elotto.repository.EventSearchTokens;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for EventSearchTokens, the word prefixes events are searched by on the server.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class EventSearchTokensTest {
+
+    private static Event event(String name, String location, String... tags) {
+        Event event = new Event();
+        event.setName(name);
+        event.setLocation(location);
+        event.setTagList(new ArrayList<>(Arrays.asList(tags)));
+        return event;
+    }
+
+    @Test
+    void testOf_IndexesWordPrefixesOfNameLocationAndTags() {
+        List<String> tokens = EventSearchTokens.of(event("Café Night", "Kinsmen", "Music"));
+
+        assertTrue(tokens.containsAll(Arrays.asList("c", "ca", "caf", "cafe", "n", "night", "k", "kinsmen", "music")));
+        assertFalse(tokens.contains("ight"));
+        // Shared prefixes are stored once
+        assertEquals(tokens.size(), tokens.stream().distinct().count());
+    }
+
+    @Test
+    void testOf_CutsLongWords() {
+        List<String> tokens = EventSearchTokens.of(event("Extraordinarily", null));
+
+        assertTrue(tokens.contains("extraordinar"));
+        assertFalse(tokens.contains("extraordinari"));
+    }
+
+    @Test
+    void testQueryToken_PicksLongestWord() {
+        assertEquals("lessons", EventSearchTokens.queryToken("Swim LESSONS"));
+        assertEquals("extraordinar", EventSearchTokens.queryToken("extraordinarily"));
+        assertNull(EventSearchTokens.queryToken("  ?! "));
+        assertNull(EventSearchTokens.queryToken(null));
+    }
+
+    @Test
+    void testMatches_RequiresEveryWordToStartAWord() {
+        Event event = event("Swim Lessons", "Kinsmen Centre", "Sports");
+
+        assertTrue(EventSearchTokens.matches(event, "swim kin"));
+        assertTrue(EventSearchTokens.matches(event, "sport"));
+        assertFalse(EventSearchTokens.matches(event, "swim pottery"));
+        assertFalse(EventSearchTokens.matches(event, "essons"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.hotdog.elotto.callback.FirestoreCallback;
+import com.hotdog.elotto.repository.EventRepository;
+import com.hotdog.elotto.repository.EventStore;
+import com.hotdog.elotto.repository.ReadPolicy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Unit tests for the in-process EventStore cache.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class EventStoreTest {
+
+    private EventRepository mockEventRepository;
+    private EventStore store;
+
+    @BeforeEach
+    void setUp() {
+        mockEventRepository = mock(EventRepository.class);
+        store = new EventStore(mockEventRepository);
+    }
+
+    private Event createEvent(String id) {
+        Event event = new Event("Event " + id, "desc", "loc", new Date(), new Date(), new Date(), 10, "org");
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    void testPutAndGet_ReturnsSameInstance() {
+        Event event = createEvent("e1");
+        store.put(event);
+
+        assertSame(event, store.get("e1"));
+        assertNull(store.get("missing"));
+    }
+
+    @Test
+    void testPut_IgnoresEventsWithoutId() {
+        Event event = createEvent(null);
+        store.put(event);
+
+        assertNull(store.get(null));
+    }
+
+    @Test
+    void testPutAll_CachesEveryEvent() {
+        store.putAll(Arrays.asList(createEvent("a"), createEvent("b")));
+
+        assertNotNull(store.get("a"));
+        assertNotNull(store.get("b"));
+    }
+
+    @Test
+    void testInvalidate_RemovesEvent() {
+        store.put(createEvent("e1"));
+        store.invalidate("e1");
+
+        assertNull(store.get("e1"));
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        for (int i = 0; i < 201; i++) {
+            store.put(createEvent("e" + i));
+        }
+
+        assertNull(store.get("e0"));
+        assertNotNull(store.get("e200"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testResolve_CacheHitSkipsRepository() {
+        Event event = createEvent("e1");
+        store.put(event);
+        FirestoreCallback<Event> callback = mock(FirestoreCallback.class);
+
+        store.resolve("e1", callback);
+
+        verify(callback).onSuccess(event);
+        verify(mockEventRepository, never()).getEventById(anyString(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testResolve_MissingIdReportsError() {
+        FirestoreCallback<Event> callback = mock(FirestoreCallback.class);
+
+        store.resolve(null, callback);
+
+        verify(callback).onError(anyString());
+        verify(mockEventRepository, never()).getEventById(anyString(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testResolveCacheThenServer_MemoryHitStillRevalidates() {
+        Event event = createEvent("e1");
+        store.put(event);
+        FirestoreCallback<Event> cachedCallback = mock(FirestoreCallback.class);
+        FirestoreCallback<Event> callback = mock(FirestoreCallback.class);
+
+        store.resolve("e1", ReadPolicy.CACHE_THEN_SERVER, cachedCallback, callback);
+
+        verify(cachedCallback).onSuccess(event);
+        verify(mockEventRepository).getEventById(eq("e1"), eq(ReadPolicy.SERVER_ONLY), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testResolveCacheOnly_MemoryHitSkipsRepository() {
+        Event event = createEvent("e1");
+        store.put(event);
+        FirestoreCallback<Event> callback = mock(FirestoreCallback.class);
+
+        store.resolve("e1", ReadPolicy.CACHE_ONLY, null, callback);
+
+        verify(callback).onSuccess(event);
+        verify(mockEventRepository, never()).getEventById(anyString(), any(ReadPolicy.class), any(), any());
+    }
+}
@@ -0,0 +1,287 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import android.util.Log;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.util.CustomClassMapper;
+import com.hotdog.elotto.helpers.Status;
+import com.hotdog.elotto.helpers.UserType;
+import com.hotdog.elotto.repository.codec.EventCodec;
+import com.hotdog.elotto.repository.codec.NotificationCodec;
+import com.hotdog.elotto.repository.codec.NotificationTemplateCodec;
+import com.hotdog.elotto.repository.codec.OrganizerCodec;
+import com.hotdog.elotto.repository.codec.UserCodec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for the Firestore codecs. Each codec is checked against the reflective
+ * CustomClassMapper that {@code DocumentSnapshot.toObject()} uses, so a field added to a
+ * model without a matching codec case shows up here.
+ *
+ * <p>The benchmark decodes 10,000 event documents with both. The codec is normally several
+ * times faster, but the test only fails if it is more than {@link #BENCHMARK_SLACK} times
+ * slower, so a busy build machine can't fail it while a codec that fell back to reflection
+ * or copying still would.</p>
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class FirestoreCodecTest {
+
+    private static final int BENCHMARK_DOCUMENTS = 10_000;
+    private static final int BENCHMARK_SLACK = 2;
+
+    private MockedStatic<Log> mockedLog;
+    private DocumentReference reference;
+
+    @BeforeEach
+    void setUp() {
+        mockedLog = mockStatic(Log.class);
+        reference = mock(DocumentReference.class);
+        when(reference.getId()).thenReturn("event1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedLog.close();
+    }
+
+    private static Map<String, Object> eventData(int i) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Event " + i);
+        data.put("description", "Description " + i);
+        data.put("location", "Edmonton");
+        data.put("coordinates", new GeoPoint(53.54, -113.49));
+        data.put("eventDateTime", new Timestamp(1_760_000_000L + i, 0));
+        data.put("registrationStartDate", new Timestamp(1_750_000_000L, 0));
+        data.put("registrationEndDate", new Timestamp(1_755_000_000L, 0));
+        data.put("maxEntrants", 50L);
+        data.put("waitlistLimit", 100L);
+        data.put("organizerId", "org" + (i % 20));
+        data.put("organizerName", "Organizer");
+        data.put("tagList", new ArrayList<>(Arrays.asList("Sports", "Music")));
+        data.put("status", "OPEN");
+        data.put("posterImageUrl", "https://example.com/p.png");
+        data.put("price", 12.5);
+        data.put("geolocationRequired", true);
+        data.put("qrCodeData", "qr" + i);
+        data.put("waitlistEntrantIds", new ArrayList<>(Arrays.asList("u1", "u2", "u3")));
+        data.put("selectedEntrantIds", new ArrayList<>(Arrays.asList("u4")));
+        data.put("drawn", true);
+        data.put("acceptedEntrantIds", new ArrayList<>());
+        data.put("cancelledEntrantIds", new ArrayList<>());
+        Map<String, Object> locations = new HashMap<>();
+        locations.put("u1", new GeoPoint(53.5, -113.5));
+        data.put("entrantLocations", locations);
+        data.put("createdAt", new Timestamp(1_740_000_000L, 0));
+        data.put("updatedAt", new Timestamp(1_741_000_000L, 0));
+        // Index fields the repository writes next to the model
+        data.put("geohash", "c3x29tvmb");
+        // Derived values the model writes through its getters
+        data.put("full", false);
+        data.put("spotsRemaining", 50L);
+        return data;
+    }
+
+    @Test
+    void testEventCodec_MatchesReflectiveMapper() {
+        Map<String, Object> data = eventData(1);
+
+        Event expected = CustomClassMapper.convertToCustomClass(data, Event.class, reference);
+        Event actual = EventCodec.INSTANCE.decode("event1", data);
+
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getLocation(), actual.getLocation());
+        assertEquals(expected.getCoordinates(), actual.getCoordinates());
+        assertEquals(expected.getEventDateTime(), actual.getEventDateTime());
+        assertEquals(expected.getRegistrationStartDate(), actual.getRegistrationStartDate());
+        assertEquals(expected.getRegistrationEndDate(), actual.getRegistrationEndDate());
+        assertEquals(expected.getMaxEntrants(), actual.getMaxEntrants());
+        assertEquals(expected.getWaitlistLimit(), actual.getWaitlistLimit());
+        assertEquals(expected.getOrganizerId(), actual.getOrganizerId());
+        assertEquals(expected.getOrganizerName(), actual.getOrganizerName());
+        assertEquals(expected.getTagList(), actual.getTagList());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getPosterImageUrl(), actual.getPosterImageUrl());
+        assertEquals(expected.getPrice(), actual.getPrice());
+        assertEquals(expected.isGeolocationRequired(), actual.isGeolocationRequired());
+        assertEquals(expected.getQrCodeData(), actual.getQrCodeData());
+        assertEquals(expected.getWaitlistEntrantIds(), actual.getWaitlistEntrantIds());
+        assertEquals(expected.getSelectedEntrantIds(), actual.getSelectedEntrantIds());
+        assertEquals(expected.isDrawn(), actual.isDrawn());
+        assertEquals(expected.getAcceptedEntrantIds(), actual.getAcceptedEntrantIds());
+        assertEquals(expected.getCancelledEntrantIds(), actual.getCancelledEntrantIds());
+        assertEquals(expected.getEntrantLocations(), actual.getEntrantLocations());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+    }
+
+    @Test
+    void testEventCodec_MissingFieldsKeepDefaults() {
+        Event event = EventCodec.INSTANCE.decode("e2", new HashMap<>());
+
+        assertEquals("e2", event.getId());
+        assertNull(event.getName());
+        assertNull(event.getWaitlistLimit());
+        assertNull(event.getWaitlistEntrantIds());
+    }
+
+    @Test
+    void testUserCodec_ReadsFlatFieldsAndRegisteredEvents() {
+        Map<String, Object> registered = new HashMap<>();
+        registered.put("eventId", "e1");
+        registered.put("status", "Selected");
+        registered.put("registeredDate", new Timestamp(100, 0));
+        registered.put("selectedDate", new Timestamp(200, 0));
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Alex");
+        data.put("email", "alex@example.com");
+        data.put("phone", "555");
+        data.put("type", "Organizer");
+        data.put("regEvents", new ArrayList<>(Arrays.asList(registered)));
+
+        User user = UserCodec.INSTANCE.decode("device1", data);
+
+        assertEquals("device1", user.getId());
+        assertEquals("Alex", user.getName());
+        assertEquals("alex@example.com", user.getEmail());
+        assertEquals("555", user.getPhone());
+        assertEquals(UserType.Organizer, user.getType());
+        assertEquals(1, user.getRegEvents().size());
+        User.RegisteredEvent event = user.getRegEvents().get(0);
+        assertEquals("e1", event.getEventId());
+        assertEquals(Status.Selected, event.getStatus());
+        assertEquals(new Timestamp(200, 0), event.getSelectedDate());
+    }
+
+    @Test
+    void testUserCodec_UnknownTypeIsIgnored() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("type", "Superuser");
+
+        User user = UserCodec.INSTANCE.decode("device1", data);
+
+        assertNull(user.getType());
+    }
+
+    @Test
+    void testOrganizerCodec_ReadsEvents() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("myEvents", new ArrayList<>(Arrays.asList("e1", "e2")));
+
+        Organizer organizer = OrganizerCodec.INSTANCE.decode("org1", data);
+
+        assertEquals("org1", organizer.getId());
+        assertEquals(Arrays.asList("e1", "e2"), organizer.getMyEvents());
+    }
+
+    @Test
+    void testNotificationCodec_AcceptsBothReadFieldNames() {
+        Map<String, Object> legacy = new HashMap<>();
+        legacy.put("uuid", "n1");
+        legacy.put("isRead", true);
+
+        Map<String, Object> current = new HashMap<>();
+        current.put("uuid", "n2");
+        current.put("read", true);
+        current.put("timestamp", new Timestamp(100, 0));
+
+        assertTrue(NotificationCodec.INSTANCE.decode("u1", legacy).isRead());
+        Notification notification = NotificationCodec.INSTANCE.decode("u1", current);
+        assertTrue(notification.isRead());
+        assertEquals("u1", notification.getUserId());
+        assertEquals(new Timestamp(100, 0), notification.getTimestamp());
+    }
+
+    @Test
+    void testNotificationTemplateCodec_FillsTemplatedNotification() {
+        Map<String, Object> templateData = new HashMap<>();
+        templateData.put("title", "Lottery Win");
+        templateData.put("message", "You were selected");
+        templateData.put("eventId", "e1");
+        templateData.put("eventTitle", "Swim Lessons");
+        templateData.put("eventImageUrl", "poster");
+        templateData.put("createdAt", new Timestamp(50, 0));
+
+        Map<String, Object> itemData = new HashMap<>();
+        itemData.put("uuid", "n1");
+        itemData.put("templateId", "t1");
+        itemData.put("read", false);
+        itemData.put("timestamp", new Timestamp(100, 0));
+
+        NotificationTemplate template = NotificationTemplateCodec.INSTANCE.decode("t1", templateData);
+        Notification notification = NotificationCodec.INSTANCE.decode("u1", itemData);
+        assertEquals("t1", notification.getTemplateId());
+        assertNull(notification.getTitle());
+
+        notification.applyTemplate(template);
+
+        assertEquals("Lottery Win", notification.getTitle());
+        assertEquals("You were selected", notification.getMessage());
+        assertEquals("e1", notification.getEventId());
+        assertEquals("Swim Lessons", notification.getEventTitle());
+        assertEquals("poster", notification.getEventImageUrl());
+        // The recipient's own fields are kept
+        assertEquals("n1", notification.getUuid());
+        assertEquals(new Timestamp(100, 0), notification.getTimestamp());
+    }
+
+    @Test
+    void testEventCodec_KeepsUpWithReflectiveMapper() {
+        List<Map<String, Object>> documents = new ArrayList<>(BENCHMARK_DOCUMENTS);
+        for (int i = 0; i < BENCHMARK_DOCUMENTS; i++) {
+            documents.add(eventData(i));
+        }
+
+        // Warm up both paths so class loading and JIT don't dominate the first run
+        for (int i = 0; i < 1000; i++) {
+            CustomClassMapper.convertToCustomClass(documents.get(i), Event.class, reference);
+            EventCodec.INSTANCE.decode("event1", documents.get(i));
+        }
+
+        // Best of three runs each, so a GC pause in one run doesn't decide the outcome
+        long reflectiveNanos = Long.MAX_VALUE;
+        long codecNanos = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            int reflectiveCount = 0;
+            for (Map<String, Object> data : documents) {
+                if (CustomClassMapper.convertToCustomClass(data, Event.class, reference) != null) reflectiveCount++;
+            }
+            reflectiveNanos = Math.min(reflectiveNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            int codecCount = 0;
+            for (Map<String, Object> data : documents) {
+                if (EventCodec.INSTANCE.decode("event1", data) != null) codecCount++;
+            }
+            codecNanos = Math.min(codecNanos, System.nanoTime() - start);
+
+            assertEquals(BENCHMARK_DOCUMENTS, reflectiveCount);
+            assertEquals(BENCHMARK_DOCUMENTS, codecCount);
+        }
+
+        assertTrue(codecNanos < BENCHMARK_SLACK * reflectiveNanos,
+                "EventCodec took " + codecNanos + " ns against " + reflectiveNanos + " ns for toObject");
+    }
+}
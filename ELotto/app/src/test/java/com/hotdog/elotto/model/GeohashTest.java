@@ -0,0 +1,94 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.hotdog.elotto.repository.Geohash;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for Geohash: encoding, covering a bounding box with ranges and the
+ * distance helpers used for area queries.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class GeohashTest {
+
+    private static boolean covered(List<Geohash.Range> ranges, String hash) {
+        for (Geohash.Range range : ranges) {
+            if (range.contains(hash)) return true;
+        }
+        return false;
+    }
+
+    @Test
+    void testEncode_KnownPoint() {
+        assertEquals("u4pruydqq", Geohash.encode(57.64911, 10.40744));
+        assertEquals("u4pru", Geohash.encode(57.64911, 10.40744, 5));
+        assertEquals(Geohash.PRECISION, Geohash.encode(53.5461, -113.4938).length());
+    }
+
+    @Test
+    void testRanges_CoverEveryPointInBox() {
+        Random random = new Random(48);
+        for (int box = 0; box < 200; box++) {
+            double south = random.nextDouble() * 160 - 80;
+            double west = random.nextDouble() * 340 - 170;
+            double height = Math.pow(10, random.nextDouble() * 4 - 3);
+            double width = Math.pow(10, random.nextDouble() * 4 - 3);
+            double north = Math.min(90, south + height);
+            double east = Math.min(180, west + width);
+
+            List<Geohash.Range> ranges = Geohash.ranges(south, west, north, east);
+            assertTrue(ranges.size() <= 8, "box " + box + " used " + ranges.size() + " ranges");
+            for (int p = 0; p < 50; p++) {
+                double lat = south + random.nextDouble() * (north - south);
+                double lon = west + random.nextDouble() * (east - west);
+                assertTrue(covered(ranges, Geohash.encode(lat, lon)), "box " + box + " point " + p);
+            }
+        }
+    }
+
+    @Test
+    void testRanges_AcrossAntimeridian() {
+        List<Geohash.Range> ranges = Geohash.ranges(-20, 179, -18, -179);
+
+        assertTrue(covered(ranges, Geohash.encode(-19, 179.5)));
+        assertTrue(covered(ranges, Geohash.encode(-19, -179.5)));
+        assertFalse(covered(ranges, Geohash.encode(-19, 0)));
+    }
+
+    @Test
+    void testBoundsAround_ContainsCircle() {
+        double lat = 53.5461;
+        double lon = -113.4938;
+        double[] box = Geohash.boundsAround(lat, lon, 10_000);
+
+        assertTrue(Geohash.inBounds(lat, lon, box[0], box[1], box[2], box[3]));
+        // Points 10 km due north and due east are on the edge of the circle
+        assertTrue(Geohash.distanceMeters(lat, lon, box[2], lon) >= 9_990);
+        assertTrue(Geohash.distanceMeters(lat, lon, lat, box[3]) >= 9_990);
+        assertFalse(Geohash.inBounds(lat + 1, lon, box[0], box[1], box[2], box[3]));
+    }
+
+    @Test
+    void testBoundsAround_WrapsAntimeridian() {
+        double[] box = Geohash.boundsAround(0, 179.99, 5_000);
+
+        assertTrue(box[1] > box[3]);
+        assertTrue(Geohash.inBounds(0, -179.99, box[0], box[1], box[2], box[3]));
+        assertTrue(Geohash.inBounds(0, 179.99, box[0], box[1], box[2], box[3]));
+    }
+
+    @Test
+    void testDistanceMeters_EdmontonToCalgary() {
+        double distance = Geohash.distanceMeters(53.5461, -113.4938, 51.0447, -114.0719);
+
+        assertEquals(280_000, distance, 5_000);
+        assertEquals(0, Geohash.distanceMeters(10, 10, 10, 10), 1e-9);
+    }
+}
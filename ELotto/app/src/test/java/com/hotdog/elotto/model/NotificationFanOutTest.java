@@ -0,0 +1,244 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+import android.util.Log;
+
+import com.google.firebase.Timestamp;
+import com.hotdog.elotto.repository.NotificationFanOut;
+import com.hotdog.elotto.repository.TokenBucket;
+import com.hotdog.elotto.repository.WriteOutbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the NotificationFanOut engine and its TokenBucket: chunking, pacing,
+ * retries and progress reporting.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class NotificationFanOutTest {
+
+    private static final long FIVE_MINUTES = 5 * 60 * 1000;
+
+    private MockedStatic<Log> mockedLog;
+    private long[] now;
+    private FakeScheduler scheduler;
+    private FakeCommitter committer;
+    private RecordingListener listener;
+    private NotificationFanOut fanOut;
+    private NotificationTemplate template;
+
+    /**
+     * Scheduler that records each delay and runs work only when the test asks.
+     */
+    private static class FakeScheduler implements NotificationFanOut.Scheduler {
+        final List<Runnable> work = new ArrayList<>();
+        final List<Long> delays = new ArrayList<>();
+
+        @Override
+        public void schedule(Runnable runnable, long delayMillis) {
+            work.add(runnable);
+            delays.add(delayMillis);
+        }
+
+        void runAll() {
+            while (!work.isEmpty()) {
+                work.remove(0).run();
+            }
+        }
+    }
+
+    /**
+     * Committer that holds each chunk until the test completes it.
+     */
+    private static class FakeCommitter implements NotificationFanOut.Committer {
+        final List<List<String>> chunks = new ArrayList<>();
+        final List<WriteOutbox.CommitCallback> callbacks = new ArrayList<>();
+
+        @Override
+        public void commit(NotificationTemplate template, List<String> userIds, Timestamp timestamp,
+                           WriteOutbox.CommitCallback callback) {
+            chunks.add(userIds);
+            callbacks.add(callback);
+        }
+    }
+
+    private static class RecordingListener implements NotificationFanOut.Listener {
+        int progressCalls;
+        int lastDelivered;
+        int lastFailed;
+        int completeCalls;
+
+        @Override
+        public void onProgress(int delivered, int failed, int total) {
+            progressCalls++;
+            lastDelivered = delivered;
+            lastFailed = failed;
+        }
+
+        @Override
+        public void onComplete(int delivered, int failed) {
+            completeCalls++;
+            lastDelivered = delivered;
+            lastFailed = failed;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockedLog = mockStatic(Log.class);
+        now = new long[]{0};
+        scheduler = new FakeScheduler();
+        committer = new FakeCommitter();
+        listener = new RecordingListener();
+        template = new NotificationTemplate("Update", "Message", "e1", "Event", null);
+        template.setId("t1");
+        fanOut = new NotificationFanOut(committer, scheduler, Runnable::run,
+                new TokenBucket(500, FIVE_MINUTES, 1.5, () -> now[0]));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedLog.close();
+    }
+
+    private static List<String> users(int count) {
+        List<String> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add("user" + i);
+        }
+        return users;
+    }
+
+    @Test
+    void testSend_SplitsIntoBatchSizedChunks() {
+        fanOut.send(template, users(1000), listener);
+        scheduler.runAll();
+
+        // Two writes per recipient, so 225 recipients fill a batch
+        assertEquals(5, committer.chunks.size());
+        assertEquals(225, committer.chunks.get(0).size());
+        assertEquals(225, committer.chunks.get(3).size());
+        assertEquals(100, committer.chunks.get(4).size());
+    }
+
+    @Test
+    void testSend_PacesChunksAtInitialRate() {
+        fanOut.send(template, users(675), listener);
+
+        // The bucket starts with one second of writes, then refills at 500 per second.
+        // Each chunk of 225 recipients takes 450 tokens
+        assertEquals(0L, scheduler.delays.get(0));
+        assertEquals(800L, scheduler.delays.get(1));
+        assertEquals(1700L, scheduler.delays.get(2));
+    }
+
+    @Test
+    void testSend_ReportsProgressAndCompletesOnce() {
+        fanOut.send(template, users(450), listener);
+        scheduler.runAll();
+
+        committer.callbacks.get(0).onSuccess();
+        assertEquals(1, listener.progressCalls);
+        assertEquals(225, listener.lastDelivered);
+        assertEquals(0, listener.completeCalls);
+
+        committer.callbacks.get(1).onSuccess();
+        assertEquals(1, listener.completeCalls);
+        assertEquals(450, listener.lastDelivered);
+        assertEquals(0, listener.lastFailed);
+    }
+
+    @Test
+    void testSend_RetriesTransientFailureWithBackoff() {
+        fanOut.send(template, users(10), listener);
+        scheduler.runAll();
+
+        now[0] = 10_000;
+        committer.callbacks.get(0).onError(false, "unavailable");
+        assertEquals(1000L, scheduler.delays.get(1));
+        scheduler.runAll();
+
+        assertEquals(2, committer.chunks.size());
+        assertEquals(committer.chunks.get(0), committer.chunks.get(1));
+        assertEquals(0, listener.completeCalls);
+
+        committer.callbacks.get(1).onSuccess();
+        assertEquals(1, listener.completeCalls);
+        assertEquals(10, listener.lastDelivered);
+    }
+
+    @Test
+    void testSend_GivesUpAfterMaxAttempts() {
+        fanOut.send(template, users(10), listener);
+        for (int attempt = 0; attempt < 4; attempt++) {
+            scheduler.runAll();
+            committer.callbacks.get(attempt).onError(false, "unavailable");
+        }
+
+        assertEquals(4, committer.chunks.size());
+        assertEquals(1, listener.completeCalls);
+        assertEquals(0, listener.lastDelivered);
+        assertEquals(10, listener.lastFailed);
+    }
+
+    @Test
+    void testSend_PermanentFailureIsNotRetried() {
+        fanOut.send(template, users(235), listener);
+        scheduler.runAll();
+
+        committer.callbacks.get(0).onError(true, "permission denied");
+        committer.callbacks.get(1).onSuccess();
+
+        assertEquals(2, committer.chunks.size());
+        assertEquals(1, listener.completeCalls);
+        assertEquals(10, listener.lastDelivered);
+        assertEquals(225, listener.lastFailed);
+    }
+
+    @Test
+    void testSend_EmptyRecipientsCompletesStraightAway() {
+        fanOut.send(template, new ArrayList<>(), listener);
+
+        assertTrue(committer.chunks.isEmpty());
+        assertEquals(1, listener.completeCalls);
+    }
+
+    @Test
+    void testNotificationId_IsStablePerRecipient() {
+        assertEquals(NotificationFanOut.notificationId("t1", "u1"), NotificationFanOut.notificationId("t1", "u1"));
+        assertNotEquals(NotificationFanOut.notificationId("t1", "u1"), NotificationFanOut.notificationId("t1", "u2"));
+        assertNotEquals(NotificationFanOut.notificationId("t1", "u1"), NotificationFanOut.notificationId("t2", "u1"));
+    }
+
+    @Test
+    void testTokenBucket_RampsUpEveryInterval() {
+        TokenBucket bucket = new TokenBucket(500, FIVE_MINUTES, 1.5, () -> now[0]);
+
+        assertEquals(500.0, bucket.rateAt(0), 0.001);
+        assertEquals(500.0, bucket.rateAt(FIVE_MINUTES - 1), 0.001);
+        assertEquals(750.0, bucket.rateAt(FIVE_MINUTES), 0.001);
+        assertEquals(1125.0, bucket.rateAt(2 * FIVE_MINUTES), 0.001);
+    }
+
+    @Test
+    void testTokenBucket_RefillsOverTime() {
+        TokenBucket bucket = new TokenBucket(500, FIVE_MINUTES, 1.5, () -> now[0]);
+
+        assertEquals(0L, bucket.reserve(500));
+        assertEquals(200L, bucket.reserve(100));
+
+        now[0] = 1200;
+        // 1.2 seconds refilled 600 tokens, paying off the debt of 100
+        assertEquals(0L, bucket.reserve(450));
+    }
+}
@@ -0,0 +1,185 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.hotdog.elotto.repository.NotificationRepository;
+import com.hotdog.elotto.repository.RepositoryExecutors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Unit tests for RepositoryExecutors: parsing happens off the main thread, results are
+ * delivered on it, and the strict main thread check catches parsing on the main thread.
+ *
+ * <p>Both executors run synchronously on the test thread; a flag marks when the
+ * "main thread" executor is running so the checks can tell the two apart.</p>
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class RepositoryExecutorsTest {
+
+    private MockedStatic<Log> mockedLog;
+    private boolean onMain;
+
+    @BeforeEach
+    void setUp() {
+        mockedLog = mockStatic(Log.class);
+        onMain = false;
+        Executor background = runnable -> {
+            boolean wasOnMain = onMain;
+            onMain = false;
+            try {
+                runnable.run();
+            } finally {
+                onMain = wasOnMain;
+            }
+        };
+        Executor main = runnable -> {
+            boolean wasOnMain = onMain;
+            onMain = true;
+            try {
+                runnable.run();
+            } finally {
+                onMain = wasOnMain;
+            }
+        };
+        RepositoryExecutors.setForTesting(background, main, () -> onMain, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RepositoryExecutors.setForTesting(null, null,
+                () -> Looper.myLooper() == Looper.getMainLooper(), false);
+        mockedLog.close();
+    }
+
+    @Test
+    void testParseAndDeliver_ParsesOffMainAndDeliversOnMain() {
+        List<Boolean> parsedOnMain = new ArrayList<>();
+        List<Boolean> deliveredOnMain = new ArrayList<>();
+
+        RepositoryExecutors.parseAndDeliver("3",
+                raw -> {
+                    parsedOnMain.add(onMain);
+                    return Integer.parseInt(raw);
+                },
+                result -> {
+                    deliveredOnMain.add(onMain);
+                    assertEquals(3, result);
+                },
+                e -> fail("Unexpected failure"));
+
+        assertEquals(Arrays.asList(false), parsedOnMain);
+        assertEquals(Arrays.asList(true), deliveredOnMain);
+    }
+
+    @Test
+    void testParseAndDeliver_ParseErrorGoesToFailureOnMain() {
+        List<Boolean> failedOnMain = new ArrayList<>();
+
+        RepositoryExecutors.<String, Integer>parseAndDeliver("not a number",
+                Integer::parseInt,
+                result -> fail("Unexpected result"),
+                e -> {
+                    failedOnMain.add(onMain);
+                    assertInstanceOf(NumberFormatException.class, e);
+                });
+
+        assertEquals(Arrays.asList(true), failedOnMain);
+    }
+
+    @Test
+    void testParse_CompletedTaskIsParsedOffMain() {
+        List<String> delivered = new ArrayList<>();
+
+        RepositoryExecutors.parse(Tasks.forResult("done"),
+                raw -> {
+                    RepositoryExecutors.checkNotMainThread("test parsing");
+                    return raw.toUpperCase();
+                },
+                delivered::add,
+                e -> fail("Unexpected failure"));
+
+        assertEquals(Arrays.asList("DONE"), delivered);
+    }
+
+    @Test
+    void testCheckNotMainThread_ThrowsOnMainWhenStrict() {
+        List<Exception> thrown = new ArrayList<>();
+
+        RepositoryExecutors.main().execute(() -> {
+            try {
+                RepositoryExecutors.checkNotMainThread("test work");
+            } catch (IllegalStateException e) {
+                thrown.add(e);
+            }
+        });
+
+        assertEquals(1, thrown.size());
+    }
+
+    @Test
+    void testCheckNotMainThread_AllowsBackground() {
+        assertDoesNotThrow(() -> RepositoryExecutors.checkNotMainThread("test work"));
+    }
+
+    @Test
+    void testParseNotificationMaps_FailsOnMainThread() {
+        List<Exception> thrown = new ArrayList<>();
+
+        RepositoryExecutors.main().execute(() -> {
+            try {
+                NotificationRepository.parseNotificationMaps("u1", new ArrayList<>(), null);
+            } catch (IllegalStateException e) {
+                thrown.add(e);
+            }
+        });
+
+        assertEquals(1, thrown.size());
+    }
+
+    @Test
+    void testParseNotificationMaps_HandlesFieldVariants() {
+        Map<String, Object> legacy = new HashMap<>();
+        legacy.put("uuid", "n1");
+        legacy.put("title", "Old");
+        legacy.put("read", true);
+        legacy.put("timestamp", new Timestamp(100, 0));
+
+        Map<String, Object> current = new HashMap<>();
+        current.put("uuid", "n2");
+        current.put("title", "New");
+        current.put("isRead", false);
+        current.put("eventTitle", "Swim Lessons");
+        current.put("timestamp", new Timestamp(200, 0));
+
+        Map<String, Object> broken = new HashMap<>();
+        broken.put("uuid", 42);
+
+        List<Notification> parsed = NotificationRepository.parseNotificationMaps("u1",
+                Arrays.asList(legacy, current, broken), Arrays.asList("n2"));
+
+        assertEquals(2, parsed.size());
+        assertTrue(parsed.get(0).isRead());
+        assertTrue(parsed.get(1).isRead());
+        assertEquals("Swim Lessons", parsed.get(1).getEventTitle());
+        assertEquals("u1", parsed.get(0).getUserId());
+    }
+}
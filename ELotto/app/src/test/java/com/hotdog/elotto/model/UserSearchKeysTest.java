@@ -0,0 +1,48 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.hotdog.elotto.repository.UserSearchKeys;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * Unit tests for UserSearchKeys, the normalized fields admins prefix-search profiles by.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class UserSearchKeysTest {
+
+    @Test
+    void testNormalize_LowercasesStripsAccentsAndCollapsesSpaces() {
+        assertEquals("jose alvarez", UserSearchKeys.normalize("  José   ÁLVAREZ "));
+        assertEquals("", UserSearchKeys.normalize(null));
+    }
+
+    @Test
+    void testDigits_KeepsOnlyDigits() {
+        assertEquals("7805551234", UserSearchKeys.digits("(780) 555-1234"));
+        assertEquals("", UserSearchKeys.digits(null));
+    }
+
+    @Test
+    void testPhonePrefix_AcceptsOnlyPhoneLikeQueries() {
+        assertEquals("780555", UserSearchKeys.phonePrefix("(780) 555"));
+        assertEquals("1780", UserSearchKeys.phonePrefix("+1 780"));
+        assertNull(UserSearchKeys.phonePrefix("john"));
+        assertNull(UserSearchKeys.phonePrefix("780a"));
+        assertNull(UserSearchKeys.phonePrefix(" - "));
+    }
+
+    @Test
+    void testOf_BuildsEveryKey() {
+        Map<String, Object> keys = UserSearchKeys.of("Ann Lee", "Ann.Lee@Example.com", "780-555-0000");
+
+        assertEquals("ann lee", keys.get(UserSearchKeys.FIELD_NAME));
+        assertEquals("ann.lee@example.com", keys.get(UserSearchKeys.FIELD_EMAIL));
+        assertEquals("7805550000", keys.get(UserSearchKeys.FIELD_PHONE));
+    }
+}
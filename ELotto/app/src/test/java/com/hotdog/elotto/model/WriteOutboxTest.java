@@ -0,0 +1,313 @@
+package com.hotdog.elotto.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+import android.util.Log;
+
+import com.hotdog.elotto.repository.WriteOutbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the persistent WriteOutbox: coalescing, idempotency keys,
+ * batching and failure handling.
+ *
+ * @author ELotto Team
+ * @version 1.0
+ */
+class WriteOutboxTest {
+
+    private MockedStatic<Log> mockedLog;
+    private MemoryStore store;
+    private FakeCommitter committer;
+    private WriteOutbox outbox;
+    private List<Runnable> scheduled;
+    private List<Long> delays;
+
+    /**
+     * Store that keeps the last saved snapshot in memory.
+     */
+    private static class MemoryStore implements WriteOutbox.Store {
+        List<WriteOutbox.Operation> saved = new ArrayList<>();
+
+        @Override
+        public List<WriteOutbox.Operation> load() {
+            return new ArrayList<>(saved);
+        }
+
+        @Override
+        public void save(List<WriteOutbox.Operation> operations) {
+            saved = new ArrayList<>(operations);
+        }
+    }
+
+    /**
+     * Committer that holds each batch until the test completes it.
+     */
+    private static class FakeCommitter implements WriteOutbox.Committer {
+        final List<List<WriteOutbox.Operation>> batches = new ArrayList<>();
+        final List<WriteOutbox.CommitCallback> callbacks = new ArrayList<>();
+
+        @Override
+        public void commit(List<WriteOutbox.Operation> operations, WriteOutbox.CommitCallback callback) {
+            batches.add(new ArrayList<>(operations));
+            callbacks.add(callback);
+        }
+
+        void succeedLast() {
+            callbacks.get(callbacks.size() - 1).onSuccess();
+        }
+
+        void failLast(boolean permanent) {
+            callbacks.get(callbacks.size() - 1).onError(permanent, "failed");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockedLog = mockStatic(Log.class);
+        store = new MemoryStore();
+        committer = new FakeCommitter();
+        scheduled = new ArrayList<>();
+        delays = new ArrayList<>();
+        outbox = new WriteOutbox(store, committer, Runnable::run, this::schedule);
+    }
+
+    private void schedule(Runnable work, long delayMillis) {
+        scheduled.add(work);
+        delays.add(delayMillis);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedLog.close();
+    }
+
+    private WriteOutbox.Write union(String doc, String value) {
+        return new WriteOutbox.Write(WriteOutbox.Write.Type.ARRAY_UNION, "events", doc,
+                "waitlistEntrantIds", value, false);
+    }
+
+    private WriteOutbox.Write remove(String doc, String value) {
+        return new WriteOutbox.Write(WriteOutbox.Write.Type.ARRAY_REMOVE, "events", doc,
+                "waitlistEntrantIds", value, false);
+    }
+
+    private WriteOutbox.Write set(String field, Object value) {
+        return new WriteOutbox.Write(WriteOutbox.Write.Type.SET_FIELD, "users", "u1", field, value, true);
+    }
+
+    @Test
+    void testEnqueue_PersistsBeforeCommitCompletes() {
+        outbox.enqueue("k1", union("e1", "u1"));
+
+        assertEquals(1, store.saved.size());
+        assertEquals(1, committer.batches.size());
+        assertEquals(1, outbox.getPendingCount());
+    }
+
+    @Test
+    void testEnqueue_SavesOnCallerThread() {
+        List<Runnable> background = new ArrayList<>();
+        outbox = new WriteOutbox(store, committer, background::add, this::schedule);
+
+        outbox.enqueue("k1", union("e1", "u1"));
+
+        // Saved without the persist executor ever running
+        assertTrue(background.isEmpty());
+        assertEquals(1, store.saved.size());
+    }
+
+    @Test
+    void testBackgroundSave_NeverOverwritesNewerQueue() {
+        List<Runnable> background = new ArrayList<>();
+        outbox = new WriteOutbox(store, committer, background::add, this::schedule);
+
+        outbox.enqueue("k1", union("e1", "u1"));
+        committer.succeedLast();
+        outbox.enqueue("k2", union("e2", "u1"));
+        // The save after k1's commit runs late, after k2 is already on disk
+        for (Runnable save : background) {
+            save.run();
+        }
+
+        assertEquals(1, store.saved.size());
+        assertEquals("k2", store.saved.get(0).getKey());
+    }
+
+    @Test
+    void testCommitSuccess_RemovesFromStore() {
+        outbox.enqueue("k1", union("e1", "u1"));
+        committer.succeedLast();
+
+        assertEquals(0, outbox.getPendingCount());
+        assertTrue(store.saved.isEmpty());
+    }
+
+    @Test
+    void testRestart_ReplaysSavedQueue() {
+        outbox.enqueue("k1", union("e1", "u1"));
+
+        // Simulate process death before the commit was acknowledged
+        FakeCommitter newCommitter = new FakeCommitter();
+        WriteOutbox restarted = new WriteOutbox(store, newCommitter, Runnable::run, this::schedule);
+        restarted.drain();
+
+        assertEquals(1, newCommitter.batches.size());
+        assertEquals("k1", newCommitter.batches.get(0).get(0).getKey());
+    }
+
+    @Test
+    void testCoalesce_LeaveSupersedesQueuedJoin() {
+        outbox.enqueue("busy", set("name", "A")); // occupies the committer
+        outbox.enqueue("join", union("e1", "u1"));
+        outbox.enqueue("leave", remove("e1", "u1"));
+
+        List<WriteOutbox.Operation> pending = outbox.getPending();
+        assertEquals(2, pending.size());
+        assertEquals("leave", pending.get(1).getKey());
+    }
+
+    @Test
+    void testCoalesce_LaterFieldSetReplacesEarlier() {
+        outbox.enqueue("busy", union("e1", "u1"));
+        outbox.enqueue(null, set("name", "A"));
+        outbox.enqueue(null, set("name", "B"));
+
+        List<WriteOutbox.Operation> pending = outbox.getPending();
+        assertEquals(2, pending.size());
+        assertEquals("B", pending.get(1).getWrites().get(0).getValue());
+    }
+
+    @Test
+    void testCoalesce_IncrementsAreNeverDropped() {
+        outbox.enqueue("busy", set("name", "A"));
+        outbox.enqueue("read1", new WriteOutbox.Write(WriteOutbox.Write.Type.INCREMENT, "notifications", "u1",
+                "unreadCount", -1L, true));
+        outbox.enqueue("read2", new WriteOutbox.Write(WriteOutbox.Write.Type.INCREMENT, "notifications", "u1",
+                "unreadCount", -1L, true));
+
+        assertEquals(3, outbox.getPendingCount());
+    }
+
+    @Test
+    void testCoalesce_DifferentElementsAreKept() {
+        outbox.enqueue("busy", set("name", "A"));
+        outbox.enqueue(null, union("e1", "u1"));
+        outbox.enqueue(null, union("e1", "u2"));
+
+        assertEquals(3, outbox.getPendingCount());
+    }
+
+    @Test
+    void testCoalesce_InFlightOperationIsNotTouched() {
+        outbox.enqueue("first", set("name", "A"));
+        outbox.enqueue("second", set("name", "B"));
+
+        List<WriteOutbox.Operation> pending = outbox.getPending();
+        assertEquals(2, pending.size());
+        assertEquals(1, pending.get(0).getWrites().size());
+    }
+
+    @Test
+    void testIdempotencyKey_ReplacesQueuedOperation() {
+        outbox.enqueue("busy", set("name", "A"));
+        outbox.enqueue("tap", union("e1", "u1"));
+        outbox.enqueue("tap", union("e1", "u1"));
+
+        assertEquals(2, outbox.getPendingCount());
+    }
+
+    @Test
+    void testDrain_BatchesQueuedOperationsTogether() {
+        outbox.enqueue("busy", set("name", "A"));
+        outbox.enqueue(null, union("e1", "u1"));
+        outbox.enqueue(null, union("e2", "u1"));
+        outbox.enqueue(null, union("e3", "u1"));
+
+        committer.succeedLast();
+
+        assertEquals(2, committer.batches.size());
+        assertEquals(3, committer.batches.get(1).size());
+    }
+
+    @Test
+    void testTransientFailure_KeepsQueueAndStops() {
+        outbox.enqueue("k1", union("e1", "u1"));
+        committer.failLast(false);
+
+        assertEquals(1, outbox.getPendingCount());
+        assertEquals(1, committer.batches.size());
+
+        // Connectivity returns
+        outbox.drain();
+        assertEquals(2, committer.batches.size());
+    }
+
+    @Test
+    void testTransientFailure_RetriesWithBackoff() {
+        outbox.enqueue("k1", union("e1", "u1"));
+        for (int i = 0; i < 8; i++) {
+            committer.failLast(false);
+            assertEquals(i + 1, scheduled.size());
+            scheduled.get(i).run();
+        }
+        assertEquals(Arrays.asList(1000L, 2000L, 4000L, 8000L, 16000L, 32000L, 60000L, 60000L), delays);
+
+        committer.succeedLast();
+        assertEquals(0, outbox.getPendingCount());
+
+        // The backoff starts over after a success
+        outbox.enqueue("k2", union("e2", "u1"));
+        committer.failLast(false);
+        assertEquals(1000L, (long) delays.get(delays.size() - 1));
+    }
+
+    @Test
+    void testTransientFailure_SchedulesOneRetryAtATime() {
+        outbox.enqueue("k1", union("e1", "u1"));
+        committer.failLast(false);
+
+        // Connectivity returns before the retry runs and fails again
+        outbox.drain();
+        committer.failLast(false);
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+        assertEquals(3, committer.batches.size());
+    }
+
+    @Test
+    void testPermanentFailure_IsolatesAndDropsBadOperation() {
+        outbox.enqueue("busy", set("name", "A"));
+        outbox.enqueue("bad", union("deleted", "u1"));
+        outbox.enqueue("good", union("e1", "u1"));
+        committer.succeedLast();
+
+        // The two queued operations went out together and the batch was rejected
+        committer.failLast(true);
+        assertEquals(Arrays.asList("bad"), keys(committer.batches.get(2)));
+
+        committer.failLast(true);
+        assertEquals(Arrays.asList("good"), keys(committer.batches.get(3)));
+
+        committer.succeedLast();
+        assertEquals(0, outbox.getPendingCount());
+    }
+
+    private static List<String> keys(List<WriteOutbox.Operation> operations) {
+        List<String> keys = new ArrayList<>();
+        for (WriteOutbox.Operation operation : operations) {
+            keys.add(operation.getKey());
+        }
+        return keys;
+    }
+}